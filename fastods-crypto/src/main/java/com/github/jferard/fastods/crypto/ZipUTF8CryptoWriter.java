@@ -168,6 +168,11 @@ public class ZipUTF8CryptoWriter implements ZipUTF8Writer {
         this.out.write(bytes);
     }
 
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) {
+        this.out.write(bytes, offset, length);
+    }
+
     @Override
     public void close() throws IOException {
         this.zipUTF8Writer.close();
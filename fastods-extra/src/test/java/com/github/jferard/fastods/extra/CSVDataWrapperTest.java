@@ -149,7 +149,7 @@ public class CSVDataWrapperTest {
             throws IOException, MetaCSVReadException, MetaCSVDataException, MetaCSVParseException {
         PowerMock.resetAll();
         this.prepareWalker();
-        this.walker.setFloatValue(10.5d);
+        this.walker.setFloatValue((Number) 10.5d);
         this.finalizeWalker();
 
         PowerMock.replayAll();
@@ -0,0 +1,241 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.reader;
+
+/**
+ * A lightweight view on a cell (or on a run of repeated cells) of the current row. The view is
+ * reused by the reader: it is only valid until the next call to `OdsReader.nextRow`.
+ *
+ * @author J. Férard
+ */
+public class OdsCellView {
+    private final StringBuilder text;
+    private OdsValueType type;
+    private String value;
+    private String currency;
+    private String formula;
+    private String styleName;
+    private int columnIndex;
+    private int columnsRepeated;
+    private boolean covered;
+
+    /**
+     * Create a new empty view
+     */
+    OdsCellView() {
+        this.text = new StringBuilder();
+        this.reset();
+    }
+
+    /**
+     * Reset the view before reuse
+     */
+    void reset() {
+        this.text.setLength(0);
+        this.type = OdsValueType.VOID;
+        this.value = null;
+        this.currency = null;
+        this.formula = null;
+        this.styleName = null;
+        this.columnIndex = 0;
+        this.columnsRepeated = 1;
+        this.covered = false;
+    }
+
+    /**
+     * @param type the value type
+     */
+    void setType(final OdsValueType type) {
+        this.type = type;
+    }
+
+    /**
+     * @param value the value attribute, depends on the type
+     */
+    void setValue(final String value) {
+        this.value = value;
+    }
+
+    /**
+     * @param currency the currency
+     */
+    void setCurrency(final String currency) {
+        this.currency = currency;
+    }
+
+    /**
+     * @param formula the formula
+     */
+    void setFormula(final String formula) {
+        this.formula = formula;
+    }
+
+    /**
+     * @param styleName the name of the style
+     */
+    void setStyleName(final String styleName) {
+        this.styleName = styleName;
+    }
+
+    /**
+     * @param columnIndex the index of the first column of the view
+     */
+    void setColumnIndex(final int columnIndex) {
+        this.columnIndex = columnIndex;
+    }
+
+    /**
+     * @param columnsRepeated the number of columns covered by this view
+     */
+    void setColumnsRepeated(final int columnsRepeated) {
+        this.columnsRepeated = columnsRepeated;
+    }
+
+    /**
+     * Mark as covered
+     */
+    void setCovered() {
+        this.covered = true;
+    }
+
+    /**
+     * @return the text buffer
+     */
+    StringBuilder getTextBuilder() {
+        return this.text;
+    }
+
+    /**
+     * @return the value type
+     */
+    public OdsValueType getType() {
+        return this.type;
+    }
+
+    /**
+     * @return the text of the cell (paragraphs are separated by a new line). If the cell has no
+     * paragraph, the office:string-value of a string cell.
+     */
+    public String getText() {
+        if (this.text.length() == 0 && this.type == OdsValueType.STRING && this.value != null) {
+            return this.value;
+        }
+        return this.text.toString();
+    }
+
+    /**
+     * @return the raw value: office:value for numbers, office:date-value, office:time-value,
+     * office:boolean-value or office:string-value. For a string cell without
+     * office:string-value, the text. Null for a void cell.
+     */
+    public String getRawValue() {
+        if (this.value == null && this.type == OdsValueType.STRING) {
+            return this.getText();
+        }
+        return this.value;
+    }
+
+    /**
+     * @return the value as a double
+     * @throws IllegalStateException if the cell is not a float, a percentage or a currency cell
+     */
+    public double getDouble() {
+        switch (this.type) {
+            case FLOAT:
+            case PERCENTAGE:
+            case CURRENCY:
+                return Double.parseDouble(this.value);
+            default:
+                throw new IllegalStateException("Not a numeric cell: " + this.type);
+        }
+    }
+
+    /**
+     * @return the value as a boolean
+     * @throws IllegalStateException if the cell is not a boolean cell
+     */
+    public boolean getBoolean() {
+        if (this.type != OdsValueType.BOOLEAN) {
+            throw new IllegalStateException("Not a boolean cell: " + this.type);
+        }
+        return "true".equals(this.value);
+    }
+
+    /**
+     * @return the currency or null
+     */
+    public String getCurrency() {
+        return this.currency;
+    }
+
+    /**
+     * @return the formula or null
+     */
+    public String getFormula() {
+        return this.formula;
+    }
+
+    /**
+     * @return the style name or null
+     */
+    public String getStyleName() {
+        return this.styleName;
+    }
+
+    /**
+     * @return the index of the first column of this view
+     */
+    public int getColumnIndex() {
+        return this.columnIndex;
+    }
+
+    /**
+     * @return the number of columns covered by this view (table:number-columns-repeated)
+     */
+    public int getColumnsRepeated() {
+        return this.columnsRepeated;
+    }
+
+    /**
+     * @return true if the cell is a table:covered-table-cell
+     */
+    public boolean isCovered() {
+        return this.covered;
+    }
+
+    /**
+     * @return true if the cell has no value, no text and no formula
+     */
+    public boolean isEmpty() {
+        return this.type == OdsValueType.VOID && this.text.length() == 0 &&
+                this.formula == null;
+    }
+
+    @Override
+    public String toString() {
+        return "OdsCellView[type=" + this.type + ", value=" + this.getRawValue() + ", text=" +
+                this.text + "]";
+    }
+}
@@ -0,0 +1,420 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.reader;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+/**
+ * A streaming reader for ODS files. The content.xml entry is parsed with StAX, directly from
+ * the zip stream: only the current row is in memory.
+ * <p>
+ * Usage:
+ * <pre>
+ * try (OdsReader reader = OdsReader.open(file)) {
+ *     while (reader.nextTable()) {
+ *         OdsRowView row;
+ *         while ((row = reader.nextRow()) != null) {
+ *             ...
+ *         }
+ *     }
+ * }
+ * </pre>
+ * <p>
+ * Repeated rows (table:number-rows-repeated) are expanded lazily: the same row view is
+ * returned with an increasing row index. Repeated cells (table:number-columns-repeated) are
+ * never expanded: see `OdsRowView.getCell`.
+ *
+ * @author J. Férard
+ */
+public class OdsReader implements Closeable {
+    private static final String CONTENT_XML = "content.xml";
+    private static final String OFFICE_NS = "urn:oasis:names:tc:opendocument:xmlns:office:1.0";
+    private static final String TABLE_NS = "urn:oasis:names:tc:opendocument:xmlns:table:1.0";
+    private static final String TEXT_NS = "urn:oasis:names:tc:opendocument:xmlns:text:1.0";
+
+    /**
+     * @param file the ODS file
+     * @return a reader on the content of the file
+     * @throws IOException if the file can't be opened or has no content.xml entry
+     */
+    public static OdsReader open(final File file) throws IOException {
+        final ZipFile zipFile = new ZipFile(file);
+        final ZipEntry entry = zipFile.getEntry(CONTENT_XML);
+        if (entry == null) {
+            zipFile.close();
+            throw new FileNotFoundException("No " + CONTENT_XML + " in " + file);
+        }
+        return OdsReader.create(zipFile.getInputStream(entry), zipFile);
+    }
+
+    /**
+     * @param in a stream on an ODS archive. The stream is read sequentially until the
+     *           content.xml entry.
+     * @return a reader on the content of the archive
+     * @throws IOException if the stream has no content.xml entry
+     */
+    public static OdsReader open(final InputStream in) throws IOException {
+        final ZipInputStream zipInputStream = new ZipInputStream(in);
+        ZipEntry entry = zipInputStream.getNextEntry();
+        while (entry != null) {
+            if (entry.getName().equals(CONTENT_XML)) {
+                return OdsReader.create(zipInputStream, zipInputStream);
+            }
+            entry = zipInputStream.getNextEntry();
+        }
+        zipInputStream.close();
+        throw new FileNotFoundException("No " + CONTENT_XML + " in stream");
+    }
+
+    /**
+     * @param contentStream a stream on content.xml
+     * @param closeable     the resource to close
+     * @return the reader
+     * @throws IOException if the parser can't be created
+     */
+    static OdsReader create(final InputStream contentStream, final Closeable closeable)
+            throws IOException {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try {
+            return new OdsReader(factory.createXMLStreamReader(contentStream, "UTF-8"),
+                    closeable);
+        } catch (final XMLStreamException e) {
+            closeable.close();
+            throw new IOException(e);
+        }
+    }
+
+    private final XMLStreamReader reader;
+    private final Closeable closeable;
+    private final OdsRowView row;
+    private String tableName;
+    private boolean inTable;
+    private int containerDepth;
+    private int nextRowIndex;
+    private int pendingRepeats;
+
+    /**
+     * @param reader    the StAX reader on content.xml
+     * @param closeable the resource to close
+     */
+    OdsReader(final XMLStreamReader reader, final Closeable closeable) {
+        this.reader = reader;
+        this.closeable = closeable;
+        this.row = new OdsRowView();
+        this.inTable = false;
+    }
+
+    /**
+     * Move to the next table. The remaining rows of the current table are skipped.
+     *
+     * @return true if there is a next table, false if the end of the document was reached.
+     * @throws IOException if the content can't be parsed
+     */
+    public boolean nextTable() throws IOException {
+        try {
+            if (this.inTable) {
+                this.skipLevels(this.containerDepth + 1);
+                this.inTable = false;
+            }
+            while (this.reader.hasNext()) {
+                final int event = this.reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT &&
+                        this.isElement(TABLE_NS, "table")) {
+                    this.tableName = this.reader.getAttributeValue(TABLE_NS, "name");
+                    this.inTable = true;
+                    this.containerDepth = 0;
+                    this.nextRowIndex = 0;
+                    this.pendingRepeats = 0;
+                    return true;
+                }
+            }
+            this.tableName = null;
+            return false;
+        } catch (final XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * @return the name of the current table
+     */
+    public String getTableName() {
+        return this.tableName;
+    }
+
+    /**
+     * @return the next row of the current table, or null if the end of the table was reached.
+     * The returned view is reused.
+     * @throws IOException if the content can't be parsed
+     */
+    public OdsRowView nextRow() throws IOException {
+        if (!this.inTable) {
+            return null;
+        }
+        if (this.pendingRepeats > 0) {
+            this.pendingRepeats--;
+            this.row.setRowIndex(this.nextRowIndex++);
+            return this.row;
+        }
+        try {
+            return this.readRow();
+        } catch (final XMLStreamException e) {
+            throw new IOException(e);
+        } catch (final NumberFormatException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Skip the remaining repetitions of the current row.
+     *
+     * @return the number of skipped rows
+     */
+    public int skipRepeatedRows() {
+        final int skipped = this.pendingRepeats;
+        this.nextRowIndex += skipped;
+        this.pendingRepeats = 0;
+        return skipped;
+    }
+
+    private OdsRowView readRow() throws XMLStreamException {
+        while (this.reader.hasNext()) {
+            final int event = this.reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (this.isElement(TABLE_NS, "table-row")) {
+                    this.parseRow();
+                    return this.row;
+                } else if (this.isRowContainer()) {
+                    this.containerDepth++;
+                } else {
+                    this.skipSubtree();
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (this.containerDepth == 0) { // end of table
+                    this.inTable = false;
+                    return null;
+                }
+                this.containerDepth--;
+            }
+        }
+        this.inTable = false;
+        return null;
+    }
+
+    private boolean isRowContainer() {
+        if (!TABLE_NS.equals(this.reader.getNamespaceURI())) {
+            return false;
+        }
+        final String localName = this.reader.getLocalName();
+        return localName.equals("table-header-rows") || localName.equals("table-row-group") ||
+                localName.equals("table-rows");
+    }
+
+    private void parseRow() throws XMLStreamException {
+        final int rowsRepeated = this.getIntAttribute("number-rows-repeated");
+        this.row.reset(this.nextRowIndex, rowsRepeated,
+                this.reader.getAttributeValue(TABLE_NS, "style-name"));
+        this.nextRowIndex++;
+        this.pendingRepeats = rowsRepeated - 1;
+        while (this.reader.hasNext()) {
+            final int event = this.reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (this.isElement(TABLE_NS, "table-cell")) {
+                    this.parseCell(false);
+                } else if (this.isElement(TABLE_NS, "covered-table-cell")) {
+                    this.parseCell(true);
+                } else {
+                    this.skipSubtree();
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return; // end of row
+            }
+        }
+    }
+
+    private void parseCell(final boolean covered) throws XMLStreamException {
+        final OdsCellView cell = this.row.newCell();
+        if (covered) {
+            cell.setCovered();
+        }
+        cell.setColumnsRepeated(this.getIntAttribute("number-columns-repeated"));
+        cell.setStyleName(this.reader.getAttributeValue(TABLE_NS, "style-name"));
+        cell.setFormula(this.reader.getAttributeValue(TABLE_NS, "formula"));
+        final OdsValueType type =
+                OdsValueType.fromAttribute(this.reader.getAttributeValue(OFFICE_NS, "value-type"));
+        cell.setType(type);
+        switch (type) {
+            case FLOAT:
+            case PERCENTAGE:
+                cell.setValue(this.reader.getAttributeValue(OFFICE_NS, "value"));
+                break;
+            case CURRENCY:
+                cell.setValue(this.reader.getAttributeValue(OFFICE_NS, "value"));
+                cell.setCurrency(this.reader.getAttributeValue(OFFICE_NS, "currency"));
+                break;
+            case DATE:
+                cell.setValue(this.reader.getAttributeValue(OFFICE_NS, "date-value"));
+                break;
+            case TIME:
+                cell.setValue(this.reader.getAttributeValue(OFFICE_NS, "time-value"));
+                break;
+            case BOOLEAN:
+                cell.setValue(this.reader.getAttributeValue(OFFICE_NS, "boolean-value"));
+                break;
+            case STRING:
+                cell.setValue(this.reader.getAttributeValue(OFFICE_NS, "string-value"));
+                break;
+            default:
+                break;
+        }
+
+        final StringBuilder text = cell.getTextBuilder();
+        boolean firstParagraph = true;
+        while (this.reader.hasNext()) {
+            final int event = this.reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (this.isElement(TEXT_NS, "p") || this.isElement(TEXT_NS, "h")) {
+                    if (firstParagraph) {
+                        firstParagraph = false;
+                    } else {
+                        text.append('\n');
+                    }
+                    this.readText(text);
+                } else {
+                    this.skipSubtree(); // annotations, frames, ...
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                break; // end of cell
+            }
+        }
+        this.row.endCell(cell);
+    }
+
+    /**
+     * Read the text of a paragraph. The reader is on the start element and will be on the end
+     * element.
+     */
+    private void readText(final StringBuilder text) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && this.reader.hasNext()) {
+            final int event = this.reader.next();
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    if (this.isElement(TEXT_NS, "s")) {
+                        final String c = this.reader.getAttributeValue(TEXT_NS, "c");
+                        final int count = c == null ? 1 : Integer.parseInt(c);
+                        for (int i = 0; i < count; i++) {
+                            text.append(' ');
+                        }
+                        this.skipSubtree();
+                    } else if (this.isElement(TEXT_NS, "tab")) {
+                        text.append('\t');
+                        this.skipSubtree();
+                    } else if (this.isElement(TEXT_NS, "line-break")) {
+                        text.append('\n');
+                        this.skipSubtree();
+                    } else if (this.isElement(OFFICE_NS, "annotation") ||
+                            this.isElement(TEXT_NS, "note")) {
+                        this.skipSubtree();
+                    } else {
+                        depth++; // span, a, ...
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    text.append(this.reader.getTextCharacters(), this.reader.getTextStart(),
+                            this.reader.getTextLength());
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Skip the current element. The reader is on the start element and will be on the end
+     * element.
+     */
+    private void skipSubtree() throws XMLStreamException {
+        this.skipLevels(1);
+    }
+
+    /**
+     * Skip the current element and some of its ancestors.
+     */
+    private void skipLevels(final int levels) throws XMLStreamException {
+        int depth = levels;
+        while (depth > 0 && this.reader.hasNext()) {
+            final int event = this.reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private boolean isElement(final String namespaceURI, final String localName) {
+        return localName.equals(this.reader.getLocalName()) &&
+                namespaceURI.equals(this.reader.getNamespaceURI());
+    }
+
+    private int getIntAttribute(final String localName) {
+        final String value = this.reader.getAttributeValue(TABLE_NS, localName);
+        if (value == null) {
+            return 1;
+        }
+        return Integer.parseInt(value);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.reader.close();
+        } catch (final XMLStreamException e) {
+            throw new IOException(e);
+        } finally {
+            this.closeable.close();
+        }
+    }
+}
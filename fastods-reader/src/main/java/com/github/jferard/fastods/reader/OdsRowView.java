@@ -0,0 +1,195 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.reader;
+
+import java.util.Arrays;
+
+/**
+ * A lightweight view on the current row. Repeated cells (table:number-columns-repeated) are not
+ * expanded: a single cell view covers the run. The view is reused by the reader: it is only
+ * valid until the next call to `OdsReader.nextRow`.
+ *
+ * @author J. Férard
+ */
+public class OdsRowView {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private OdsCellView[] cells;
+    private int runCount;
+    private int cellCount;
+    private int rowIndex;
+    private int rowsRepeated;
+    private String styleName;
+
+    /**
+     * Create a new empty view
+     */
+    OdsRowView() {
+        this.cells = new OdsCellView[INITIAL_CAPACITY];
+        this.runCount = 0;
+        this.cellCount = 0;
+    }
+
+    /**
+     * Reset the row before reuse
+     *
+     * @param rowIndex     the index of the first row
+     * @param rowsRepeated the number of repetitions of this row
+     * @param styleName    the style name
+     */
+    void reset(final int rowIndex, final int rowsRepeated, final String styleName) {
+        this.rowIndex = rowIndex;
+        this.rowsRepeated = rowsRepeated;
+        this.styleName = styleName;
+        this.runCount = 0;
+        this.cellCount = 0;
+    }
+
+    /**
+     * @return a new cell view at the end of the row, to be filled
+     */
+    OdsCellView newCell() {
+        if (this.runCount == this.cells.length) {
+            this.cells = Arrays.copyOf(this.cells, this.cells.length * 2);
+        }
+        OdsCellView cell = this.cells[this.runCount];
+        if (cell == null) {
+            cell = new OdsCellView();
+            this.cells[this.runCount] = cell;
+        } else {
+            cell.reset();
+        }
+        cell.setColumnIndex(this.cellCount);
+        this.runCount++;
+        return cell;
+    }
+
+    /**
+     * Update the cell count once the last cell is filled
+     *
+     * @param cell the last cell
+     */
+    void endCell(final OdsCellView cell) {
+        this.cellCount += cell.getColumnsRepeated();
+    }
+
+    /**
+     * @param rowIndex the new index (for repeated rows)
+     */
+    void setRowIndex(final int rowIndex) {
+        this.rowIndex = rowIndex;
+    }
+
+    /**
+     * @return the index of the row (0-based)
+     */
+    public int getRowIndex() {
+        return this.rowIndex;
+    }
+
+    /**
+     * @return the number of times this row element is repeated (table:number-rows-repeated)
+     */
+    public int getRowsRepeated() {
+        return this.rowsRepeated;
+    }
+
+    /**
+     * @return the style name or null
+     */
+    public String getStyleName() {
+        return this.styleName;
+    }
+
+    /**
+     * @return the number of cells, repeated cells included
+     */
+    public int getCellCount() {
+        return this.cellCount;
+    }
+
+    /**
+     * @return the number of cells, without the trailing empty cells
+     */
+    public int getUsedCellCount() {
+        for (int i = this.runCount - 1; i >= 0; i--) {
+            final OdsCellView cell = this.cells[i];
+            if (!cell.isEmpty()) {
+                return cell.getColumnIndex() + cell.getColumnsRepeated();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the number of cell views (runs of repeated cells count for one)
+     */
+    public int getRunCount() {
+        return this.runCount;
+    }
+
+    /**
+     * @param runIndex the index of the run
+     * @return the cell view
+     */
+    public OdsCellView getRun(final int runIndex) {
+        if (runIndex < 0 || runIndex >= this.runCount) {
+            throw new IndexOutOfBoundsException("Run index: " + runIndex);
+        }
+        return this.cells[runIndex];
+    }
+
+    /**
+     * @param columnIndex the index of a column
+     * @return the cell view that covers this column, or null if the column is past the end of
+     * the row
+     */
+    public OdsCellView getCell(final int columnIndex) {
+        if (columnIndex < 0) {
+            throw new IndexOutOfBoundsException("Column index: " + columnIndex);
+        }
+        if (columnIndex >= this.cellCount) {
+            return null;
+        }
+        int low = 0;
+        int high = this.runCount - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (this.cells[mid].getColumnIndex() <= columnIndex) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return this.cells[low];
+    }
+
+    /**
+     * @return true if the row has no non empty cell
+     */
+    public boolean isEmpty() {
+        return this.getUsedCellCount() == 0;
+    }
+}
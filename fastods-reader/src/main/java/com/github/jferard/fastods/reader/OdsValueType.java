@@ -0,0 +1,109 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.reader;
+
+/**
+ * 19.387 office:value-type
+ *
+ * @author J. Férard
+ */
+public enum OdsValueType {
+    /**
+     * a boolean
+     */
+    BOOLEAN("boolean"),
+    /**
+     * a currency
+     */
+    CURRENCY("currency"),
+    /**
+     * a date
+     */
+    DATE("date"),
+    /**
+     * a float
+     */
+    FLOAT("float"),
+    /**
+     * a percentage
+     */
+    PERCENTAGE("percentage"),
+    /**
+     * a string
+     */
+    STRING("string"),
+    /**
+     * a duration
+     */
+    TIME("time"),
+    /**
+     * no value
+     */
+    VOID("");
+
+    /**
+     * @param attrValue the value of the office:value-type attribute, may be null
+     * @return the type, VOID if the attribute is null or unknown
+     */
+    public static OdsValueType fromAttribute(final String attrValue) {
+        if (attrValue == null) {
+            return VOID;
+        }
+        switch (attrValue) {
+            case "boolean":
+                return BOOLEAN;
+            case "currency":
+                return CURRENCY;
+            case "date":
+                return DATE;
+            case "float":
+                return FLOAT;
+            case "percentage":
+                return PERCENTAGE;
+            case "string":
+                return STRING;
+            case "time":
+                return TIME;
+            default:
+                return VOID;
+        }
+    }
+
+    private final String attrValue;
+
+    /**
+     * @param attrValue the value of the attribute
+     */
+    OdsValueType(final String attrValue) {
+        this.attrValue = attrValue;
+    }
+
+    /**
+     * @return the value of the office:value-type attribute
+     */
+    public String getAttrValue() {
+        return this.attrValue;
+    }
+}
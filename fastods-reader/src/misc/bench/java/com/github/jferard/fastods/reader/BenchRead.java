@@ -0,0 +1,117 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jferard.fastods.reader;
+
+import com.github.jferard.fastods.NamedOdsDocument;
+import com.github.jferard.fastods.NamedOdsFileWriter;
+import com.github.jferard.fastods.OdsFactory;
+import com.github.jferard.fastods.Table;
+import com.github.jferard.fastods.TableCellWalker;
+import com.github.jferard.fastods.testlib.Bench;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * A bench for the streaming reader: write a large file with FastODS, then read it back and
+ * log the throughput and the heap used.
+ */
+public class BenchRead extends Bench {
+    private final Logger logger;
+    private final OdsFactory odsFactory;
+
+    public BenchRead(final Logger logger, final int rowCount, final int colCount) {
+        super(logger, "FastODS-read", rowCount, colCount);
+        this.logger = logger;
+        this.odsFactory = OdsFactory.create(this.logger, Locale.US);
+    }
+
+    @Test
+    public void test0() throws IOException {
+        this.test();
+    }
+
+    @Override
+    public long test() throws IOException {
+        final File file = new File("generated_files", "fastods_read_benchmark.ods");
+        this.write(file);
+
+        final Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        final long usedBefore = runtime.totalMemory() - runtime.freeMemory();
+        final long t1 = System.currentTimeMillis();
+        long cellCount = 0;
+        long maxUsed = 0;
+        final OdsReader reader = OdsReader.open(file);
+        try {
+            while (reader.nextTable()) {
+                OdsRowView row = reader.nextRow();
+                while (row != null) {
+                    for (int i = 0; i < row.getRunCount(); i++) {
+                        final OdsCellView cell = row.getRun(i);
+                        if (cell.getType() == OdsValueType.FLOAT) {
+                            cell.getDouble();
+                        } else {
+                            cell.getText();
+                        }
+                        cellCount += cell.getColumnsRepeated();
+                    }
+                    if (row.getRowIndex() % 10000 == 0) {
+                        maxUsed = Math.max(maxUsed, runtime.totalMemory() - runtime.freeMemory());
+                    }
+                    row = reader.nextRow();
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        final long t2 = System.currentTimeMillis();
+        this.logger.info("Read " + cellCount + " cells of a " + file.length() + " bytes file in " +
+                (t2 - t1) + " ms (" + (cellCount * 1000 / Math.max(1, t2 - t1)) +
+                " cells/s). Max heap delta: " + (maxUsed - usedBefore) / 1024 + " KB");
+        return t2 - t1;
+    }
+
+    private void write(final File file) throws IOException {
+        final NamedOdsFileWriter writer = this.odsFactory.createWriter(file);
+        final NamedOdsDocument document = writer.document();
+        final Table table = document.addTable("test", this.getRowCount(), this.getColCount());
+        final TableCellWalker walker = table.getWalker();
+        for (int y = 0; y < this.getRowCount(); y++) {
+            for (int x = 0; x < this.getColCount(); x++) {
+                if (x % 2 == 0) {
+                    walker.setFloatValue(this.getRandom().nextInt(1000));
+                } else {
+                    walker.setStringValue("s" + this.getRandom().nextInt(1000));
+                }
+                walker.next();
+            }
+            walker.nextRow();
+        }
+        document.save();
+        writer.close();
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.reader;
+
+import com.github.jferard.fastods.AnonymousOdsFileWriter;
+import com.github.jferard.fastods.OdsDocument;
+import com.github.jferard.fastods.OdsFactory;
+import com.github.jferard.fastods.Table;
+import com.github.jferard.fastods.TableCellWalker;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+public class OdsReaderTest {
+    private static final String CONTENT_START = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+            "<office:document-content " +
+            "xmlns:office=\"urn:oasis:names:tc:opendocument:xmlns:office:1.0\" " +
+            "xmlns:table=\"urn:oasis:names:tc:opendocument:xmlns:table:1.0\" " +
+            "xmlns:text=\"urn:oasis:names:tc:opendocument:xmlns:text:1.0\">" +
+            "<office:body><office:spreadsheet>";
+    private static final String CONTENT_END =
+            "</office:spreadsheet></office:body></office:document-content>";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final File file = this.folder.newFile("round_trip.ods");
+        final AnonymousOdsFileWriter writer =
+                OdsFactory.create(Logger.getLogger("reader"), Locale.US).createWriter();
+        final OdsDocument document = writer.document();
+        final Table table = document.addTable("first");
+        final TableCellWalker walker = table.getWalker();
+        walker.setStringValue("a string");
+        walker.next();
+        walker.setFloatValue(12.5);
+        walker.next();
+        walker.setBooleanValue(true);
+        walker.next();
+        walker.setPercentageValue(0.25);
+        walker.next();
+        walker.setCurrencyValue(10.5, "EUR");
+        walker.nextRow();
+        walker.nextRow();
+        walker.to(3);
+        walker.setFloatValue(7);
+        document.addTable("second");
+        writer.saveAs(file);
+
+        final OdsReader reader = OdsReader.open(file);
+        try {
+            Assert.assertTrue(reader.nextTable());
+            Assert.assertEquals("first", reader.getTableName());
+
+            final OdsRowView row0 = reader.nextRow();
+            Assert.assertEquals(0, row0.getRowIndex());
+            Assert.assertEquals(5, row0.getUsedCellCount());
+            Assert.assertEquals(OdsValueType.STRING, row0.getCell(0).getType());
+            Assert.assertEquals("a string", row0.getCell(0).getText());
+            Assert.assertEquals("a string", row0.getCell(0).getRawValue());
+            Assert.assertEquals(OdsValueType.FLOAT, row0.getCell(1).getType());
+            Assert.assertEquals(12.5, row0.getCell(1).getDouble(), 0.0);
+            Assert.assertTrue(row0.getCell(2).getBoolean());
+            Assert.assertEquals(OdsValueType.PERCENTAGE, row0.getCell(3).getType());
+            Assert.assertEquals(0.25, row0.getCell(3).getDouble(), 0.0);
+            Assert.assertEquals(OdsValueType.CURRENCY, row0.getCell(4).getType());
+            Assert.assertEquals("EUR", row0.getCell(4).getCurrency());
+            Assert.assertEquals(10.5, row0.getCell(4).getDouble(), 0.0);
+
+            final OdsRowView row1 = reader.nextRow();
+            Assert.assertEquals(1, row1.getRowIndex());
+            Assert.assertTrue(row1.isEmpty());
+
+            final OdsRowView row2 = reader.nextRow();
+            Assert.assertEquals(2, row2.getRowIndex());
+            Assert.assertEquals(4, row2.getUsedCellCount());
+            Assert.assertTrue(row2.getCell(0).isEmpty());
+            Assert.assertEquals(7.0, row2.getCell(3).getDouble(), 0.0);
+
+            Assert.assertNull(reader.nextRow());
+            Assert.assertNull(reader.nextRow());
+
+            Assert.assertTrue(reader.nextTable());
+            Assert.assertEquals("second", reader.getTableName());
+            Assert.assertFalse(reader.nextTable());
+            Assert.assertNull(reader.getTableName());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void testRepeatedRowsAndColumns() throws IOException {
+        final OdsReader reader = this.readerFromContent(CONTENT_START +
+                "<table:table table:name=\"t\">" +
+                "<table:table-column table:number-columns-repeated=\"3\"/>" +
+                "<table:table-header-rows>" +
+                "<table:table-row><table:table-cell office:value-type=\"string\">" +
+                "<text:p>head</text:p></table:table-cell></table:table-row>" +
+                "</table:table-header-rows>" +
+                "<table:table-row table:number-rows-repeated=\"3\" table:style-name=\"ro1\">" +
+                "<table:table-cell office:value-type=\"float\" office:value=\"1\" " +
+                "table:number-columns-repeated=\"1000\"/>" +
+                "<table:table-cell/>" +
+                "<table:covered-table-cell/>" +
+                "</table:table-row>" +
+                "<table:table-row table:number-rows-repeated=\"1048570\">" +
+                "<table:table-cell table:number-columns-repeated=\"1024\"/>" +
+                "</table:table-row>" +
+                "</table:table>" + CONTENT_END);
+        try {
+            Assert.assertTrue(reader.nextTable());
+            final OdsRowView header = reader.nextRow();
+            Assert.assertEquals("head", header.getCell(0).getText());
+
+            for (int r = 1; r <= 3; r++) {
+                final OdsRowView row = reader.nextRow();
+                Assert.assertEquals(r, row.getRowIndex());
+                Assert.assertEquals(3, row.getRowsRepeated());
+                Assert.assertEquals("ro1", row.getStyleName());
+                Assert.assertEquals(1002, row.getCellCount());
+                Assert.assertEquals(1000, row.getUsedCellCount());
+                Assert.assertEquals(3, row.getRunCount());
+                Assert.assertEquals(1.0, row.getCell(999).getDouble(), 0.0);
+                Assert.assertEquals(0, row.getCell(999).getColumnIndex());
+                Assert.assertTrue(row.getCell(1000).isEmpty());
+                Assert.assertTrue(row.getCell(1001).isCovered());
+                Assert.assertNull(row.getCell(1002));
+            }
+
+            final OdsRowView empty = reader.nextRow();
+            Assert.assertEquals(4, empty.getRowIndex());
+            Assert.assertTrue(empty.isEmpty());
+            Assert.assertEquals(1048569, reader.skipRepeatedRows());
+            Assert.assertNull(reader.nextRow());
+            Assert.assertFalse(reader.nextTable());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void testText() throws IOException {
+        final OdsReader reader = this.readerFromContent(CONTENT_START +
+                "<table:table table:name=\"t\"><table:table-row>" +
+                "<table:table-cell office:value-type=\"string\">" +
+                "<office:annotation><text:p>a comment</text:p></office:annotation>" +
+                "<text:p>a<text:s text:c=\"3\"/>b<text:tab/>c</text:p>" +
+                "<text:p><text:span>d</text:span><text:line-break/>" +
+                "<text:a>e</text:a><text:s/></text:p>" +
+                "</table:table-cell>" +
+                "<table:table-cell table:formula=\"of:=1+1\" office:value-type=\"float\" " +
+                "office:value=\"2\"><text:p>2</text:p></table:table-cell>" +
+                "<table:table-cell office:value-type=\"date\" " +
+                "office:date-value=\"2020-01-01T00:00:00\"/>" +
+                "<table:table-cell office:value-type=\"time\" " +
+                "office:time-value=\"PT1H\"/>" +
+                "</table:table-row></table:table>" + CONTENT_END);
+        try {
+            Assert.assertTrue(reader.nextTable());
+            final OdsRowView row = reader.nextRow();
+            Assert.assertEquals("a   b\tc\nd\ne ", row.getCell(0).getText());
+            Assert.assertEquals("of:=1+1", row.getCell(1).getFormula());
+            Assert.assertEquals("2", row.getCell(1).getRawValue());
+            Assert.assertEquals("2020-01-01T00:00:00", row.getCell(2).getRawValue());
+            Assert.assertEquals(OdsValueType.TIME, row.getCell(3).getType());
+            Assert.assertEquals("PT1H", row.getCell(3).getRawValue());
+            Assert.assertThrows(IllegalStateException.class, () -> row.getCell(2).getDouble());
+            Assert.assertThrows(IllegalStateException.class, () -> row.getCell(2).getBoolean());
+            Assert.assertNull(reader.nextRow());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void testSkipTable() throws IOException {
+        final OdsReader reader = this.readerFromContent(CONTENT_START +
+                "<table:table table:name=\"t1\"><table:table-row-group>" +
+                "<table:table-row><table:table-cell/></table:table-row>" +
+                "<table:table-row><table:table-cell/></table:table-row>" +
+                "</table:table-row-group></table:table>" +
+                "<table:table table:name=\"t2\"/>" + CONTENT_END);
+        try {
+            Assert.assertTrue(reader.nextTable());
+            Assert.assertNotNull(reader.nextRow());
+            Assert.assertTrue(reader.nextTable());
+            Assert.assertEquals("t2", reader.getTableName());
+            Assert.assertNull(reader.nextRow());
+            Assert.assertFalse(reader.nextTable());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void testNoContent() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ZipOutputStream zos = new ZipOutputStream(out);
+        zos.putNextEntry(new ZipEntry("mimetype"));
+        zos.closeEntry();
+        zos.close();
+        Assert.assertThrows(FileNotFoundException.class,
+                () -> OdsReader.open(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    private OdsReader readerFromContent(final String content) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ZipOutputStream zos = new ZipOutputStream(out);
+        zos.putNextEntry(new ZipEntry("mimetype"));
+        zos.write("application/vnd.oasis.opendocument.spreadsheet"
+                .getBytes(StandardCharsets.US_ASCII));
+        zos.closeEntry();
+        zos.putNextEntry(new ZipEntry("content.xml"));
+        zos.write(content.getBytes(StandardCharsets.UTF_8));
+        zos.closeEntry();
+        zos.close();
+        return OdsReader.open(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
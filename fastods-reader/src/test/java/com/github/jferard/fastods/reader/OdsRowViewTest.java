@@ -0,0 +1,81 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.reader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OdsRowViewTest {
+    @Test
+    public void testGetCell() {
+        final OdsRowView row = new OdsRowView();
+        row.reset(5, 2, "ro1");
+        for (int i = 1; i <= 10; i++) {
+            final OdsCellView cell = row.newCell();
+            cell.setColumnsRepeated(i);
+            if (i % 2 == 1) {
+                cell.setType(OdsValueType.FLOAT);
+                cell.setValue(String.valueOf(i));
+            }
+            row.endCell(cell);
+        }
+        Assert.assertEquals(5, row.getRowIndex());
+        Assert.assertEquals(2, row.getRowsRepeated());
+        Assert.assertEquals("ro1", row.getStyleName());
+        Assert.assertEquals(10, row.getRunCount());
+        Assert.assertEquals(55, row.getCellCount());
+        Assert.assertEquals(45, row.getUsedCellCount());
+        int c = 0;
+        for (int i = 1; i <= 10; i++) {
+            for (int j = 0; j < i; j++) {
+                Assert.assertSame(row.getRun(i - 1), row.getCell(c));
+                c++;
+            }
+        }
+        Assert.assertNull(row.getCell(55));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> row.getCell(-1));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> row.getRun(10));
+    }
+
+    @Test
+    public void testReuse() {
+        final OdsRowView row = new OdsRowView();
+        row.reset(0, 1, null);
+        final OdsCellView cell = row.newCell();
+        cell.setType(OdsValueType.BOOLEAN);
+        cell.setValue("true");
+        row.endCell(cell);
+        Assert.assertFalse(row.isEmpty());
+
+        row.reset(1, 1, null);
+        Assert.assertTrue(row.isEmpty());
+        final OdsCellView cell2 = row.newCell();
+        row.endCell(cell2);
+        Assert.assertSame(cell, cell2);
+        Assert.assertEquals(OdsValueType.VOID, cell2.getType());
+        Assert.assertTrue(row.isEmpty());
+        Assert.assertEquals(1, row.getCellCount());
+    }
+}
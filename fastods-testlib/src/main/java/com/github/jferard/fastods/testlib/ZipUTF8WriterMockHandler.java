@@ -36,6 +36,7 @@ import java.io.StringReader;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Arrays;
 import java.util.Set;
 
 /**
@@ -79,7 +80,13 @@ public class ZipUTF8WriterMockHandler implements InvocationHandler {
             }
             return this.mock;
         } else if (name.equals("write")) {
-            this.mock.write((byte[]) objects[0]);
+            if (objects.length > 1) {
+                final int offset = (Integer) objects[1];
+                this.mock.write(Arrays.copyOfRange((byte[]) objects[0], offset,
+                        offset + (Integer) objects[2]));
+            } else {
+                this.mock.write((byte[]) objects[0]);
+            }
         } else if (name.equals("close")) {
             this.mock.close();
         } else if (name.equals("closeEntry")) {
@@ -28,6 +28,7 @@ import com.github.jferard.fastods.annotation.Beta;
 import com.github.jferard.fastods.attribute.Length;
 import com.github.jferard.fastods.datastyle.DataStyle;
 import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.style.TextStyle;
 import com.github.jferard.fastods.util.Validation;
 
 import java.io.IOException;
@@ -91,6 +92,16 @@ public abstract class AbstractTableCell implements WritableTableCell {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void setFloatValue(final double value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setFloatValue(final long value) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public void setFloatValue(final Number value) {
         throw new UnsupportedOperationException();
@@ -158,6 +169,21 @@ public abstract class AbstractTableCell implements WritableTableCell {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void setFormula(final FormulaTemplate template) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setFormula(final String formula, final CellValue cachedValue) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setFormula(final FormulaTemplate template, final CellValue cachedValue) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public boolean isCovered() {
         throw new UnsupportedOperationException();
@@ -198,6 +224,12 @@ public abstract class AbstractTableCell implements WritableTableCell {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void setMatrixFormula(final String formula, final int matrixRowsSpanned,
+                                 final int matrixColumnsSpanned, final CellValue cachedValue) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public boolean hasValue() {
         return true;
@@ -208,6 +240,26 @@ public abstract class AbstractTableCell implements WritableTableCell {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void setHyperlink(final String text, final String href) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setHyperlink(final String text, final TextStyle ts, final String href) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setStyledText(final String text, final TextStyle ts) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setMultilineText(final String text) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public void setCellMerge(final int rowMerge, final int columnMerge) throws IOException {
         throw new UnsupportedOperationException();
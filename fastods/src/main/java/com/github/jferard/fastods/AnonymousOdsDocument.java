@@ -29,6 +29,7 @@ import com.github.jferard.fastods.odselement.ScriptEventListener;
 import com.github.jferard.fastods.util.*;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -110,6 +111,35 @@ public final class AnonymousOdsDocument implements OdsDocument {
         this.commonOdsDocument.addExtraFile(fullPath, mediaType, bytes);
     }
 
+    @Override
+    public void addExtraFile(final String fullPath, final String mediaType, final Path path) {
+        this.commonOdsDocument.addExtraFile(fullPath, mediaType, path);
+    }
+
+    @Override
+    public void addExtraFile(final String fullPath, final String mediaType,
+                             final InputStreamSupplier supplier) {
+        this.commonOdsDocument.addExtraFile(fullPath, mediaType, supplier);
+    }
+
+    @Override
+    public String addSharedExtraFile(final String fullPath, final String mediaType,
+                                     final byte[] bytes) {
+        return this.commonOdsDocument.addSharedExtraFile(fullPath, mediaType, bytes);
+    }
+
+    @Override
+    public String addSharedExtraFile(final String fullPath, final String mediaType,
+                                     final Path path) throws IOException {
+        return this.commonOdsDocument.addSharedExtraFile(fullPath, mediaType, path);
+    }
+
+    @Override
+    public String addSharedExtraFile(final String fullPath, final String mediaType,
+                                     final InputStreamSupplier supplier) throws IOException {
+        return this.commonOdsDocument.addSharedExtraFile(fullPath, mediaType, supplier);
+    }
+
     @Override
     public void addExtraDir(final String fullPath) {
         this.commonOdsDocument.addExtraDir(fullPath);
@@ -182,6 +212,11 @@ public final class AnonymousOdsDocument implements OdsDocument {
         this.commonOdsDocument.setViewSetting(viewId, item, value);
     }
 
+    @Override
+    public void setAutoCalculate(final boolean autoCalculate) {
+        this.commonOdsDocument.setAutoCalculate(autoCalculate);
+    }
+
     @Override
     public int tableCount() {
         return this.commonOdsDocument.tableCount();
@@ -226,6 +261,27 @@ public final class AnonymousOdsDocument implements OdsDocument {
         this.commonOdsDocument.setObjectStyleMode(mode);
     }
 
+    /**
+     * Spill the rows of the tables to temporary files when their estimated retained size
+     * reaches a threshold. Applies to the existing tables and to the tables created afterwards.
+     * The spilled rows can't be accessed again.
+     *
+     * @param rowSpill the policy, or null to stop spilling rows
+     */
+    public void setRowSpill(final RowSpill rowSpill) {
+        this.commonOdsDocument.setRowSpill(rowSpill);
+    }
+
+    /**
+     * Delete the temporary files of the spilled rows, once the document was saved. The document
+     * can't be saved afterwards.
+     *
+     * @throws IOException if a file can't be closed
+     */
+    public void deleteSpilledRows() throws IOException {
+        this.commonOdsDocument.deleteSpilledRows();
+    }
+
     /**
      * Saves a file.
      * Do not close the writer (see https://github.com/jferard/fastods/issues/138)
@@ -70,6 +70,27 @@ public class AnonymousOdsFileWriter {
         return this.document;
     }
 
+    /**
+     * Spill the rows of the tables to temporary files when their estimated retained size
+     * reaches a threshold. The spilled rows can't be accessed again. Call
+     * {@link #deleteSpilledRows()} in a finally block once the document is saved: the
+     * temporary files are not deleted on exit.
+     *
+     * @param rowSpill the policy, or null to stop spilling rows
+     */
+    public void setRowSpill(final RowSpill rowSpill) {
+        this.document.setRowSpill(rowSpill);
+    }
+
+    /**
+     * Delete the temporary files of the spilled rows, once the document was saved.
+     *
+     * @throws IOException if a file can't be closed
+     */
+    public void deleteSpilledRows() throws IOException {
+        this.document.deleteSpilledRows();
+    }
+
     /**
      * Writes the document to a stream.
      * WARNING: The user shall close the stream (since 0.6.1).
@@ -0,0 +1,181 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.util.Validation;
+import com.github.jferard.fastods.util.XMLSink;
+import com.github.jferard.fastods.util.XMLUtil;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The validation, tooltip and custom attributes set on a range of cells, rather than on each
+ * cell. A decoration is shared by all the cells of the range: no cell, no "cold cell" is
+ * created.
+ *
+ * @author J. Férard
+ */
+final class CellDecoration {
+    /**
+     * @param validation the validation
+     * @return a decoration with a validation
+     */
+    static CellDecoration validation(final Validation validation) {
+        return new CellDecoration(validation, null,
+                Collections.<String, CharSequence>emptyMap());
+    }
+
+    /**
+     * @param tooltip the tooltip
+     * @return a decoration with a tooltip
+     */
+    static CellDecoration tooltip(final Tooltip tooltip) {
+        return new CellDecoration(null, tooltip, Collections.<String, CharSequence>emptyMap());
+    }
+
+    /**
+     * @param attribute the attribute name
+     * @param value     the attribute value
+     * @return a decoration with an attribute
+     */
+    static CellDecoration attribute(final String attribute, final CharSequence value) {
+        return new CellDecoration(null, null,
+                Collections.<String, CharSequence>singletonMap(attribute, value));
+    }
+
+    private final Validation validation;
+    private final Tooltip tooltip;
+    private final Map<String, CharSequence> valueByAttribute;
+
+    /**
+     * @param validation       the validation or null
+     * @param tooltip          the tooltip or null
+     * @param valueByAttribute the custom attributes
+     */
+    CellDecoration(final Validation validation, final Tooltip tooltip,
+                   final Map<String, CharSequence> valueByAttribute) {
+        this.validation = validation;
+        this.tooltip = tooltip;
+        this.valueByAttribute = valueByAttribute;
+    }
+
+    /**
+     * @param other the other decoration, that has precedence
+     * @return a decoration with the elements of this decoration and of the other decoration
+     */
+    CellDecoration mergeWith(final CellDecoration other) {
+        final Map<String, CharSequence> valueByAttribute;
+        if (other.valueByAttribute.isEmpty()) {
+            valueByAttribute = this.valueByAttribute;
+        } else if (this.valueByAttribute.isEmpty()) {
+            valueByAttribute = other.valueByAttribute;
+        } else {
+            valueByAttribute = new LinkedHashMap<String, CharSequence>(this.valueByAttribute);
+            valueByAttribute.putAll(other.valueByAttribute);
+        }
+        return new CellDecoration(
+                other.validation == null ? this.validation : other.validation,
+                other.tooltip == null ? this.tooltip : other.tooltip, valueByAttribute);
+    }
+
+    /**
+     * Append the attributes of the decoration
+     *
+     * @param util                 an util
+     * @param sink                 the destination
+     * @param ownValidation        the validation of the cell, that has precedence, or null
+     * @param ownValueByAttribute the custom attributes of the cell, that have precedence, or
+     *                             null
+     * @throws IOException if an I/O error occurs
+     */
+    void appendAttributes(final XMLUtil util, final XMLSink sink,
+                          final Validation ownValidation,
+                          final Map<String, CharSequence> ownValueByAttribute)
+            throws IOException {
+        for (final Map.Entry<String, CharSequence> entry : this.valueByAttribute.entrySet()) {
+            if (ownValueByAttribute == null ||
+                    !ownValueByAttribute.containsKey(entry.getKey())) {
+                util.appendAttribute(sink, entry.getKey(), entry.getValue());
+            }
+        }
+        if (this.validation != null && ownValidation == null) {
+            util.appendEAttribute(sink, "table:content-validation-name",
+                    this.validation.getName());
+        }
+    }
+
+    /**
+     * @return the tooltip or null
+     */
+    Tooltip getTooltip() {
+        return this.tooltip;
+    }
+
+    /**
+     * Append a blank decorated cell, possibly repeated
+     *
+     * @param util       an util
+     * @param sink       the destination
+     * @param count      the number of cells
+     * @throws IOException if an I/O error occurs
+     */
+    void appendBlankCells(final XMLUtil util, final XMLSink sink, final int count)
+            throws IOException {
+        sink.append("<table:table-cell");
+        if (count >= 2) {
+            util.appendAttribute(sink, "table:number-columns-repeated", count);
+        }
+        this.appendAttributesAndClose(util, sink);
+    }
+
+    /**
+     * Append the attributes of the decoration, the tooltip if any, and close the
+     * table:table-cell tag.
+     *
+     * @param util       an util
+     * @param sink       the destination
+     * @throws IOException if an I/O error occurs
+     */
+    void appendAttributesAndClose(final XMLUtil util, final XMLSink sink)
+            throws IOException {
+        this.appendAttributes(util, sink, null, null);
+        if (this.tooltip == null) {
+            sink.append("/>");
+        } else {
+            sink.append('>');
+            this.tooltip.appendXMLContent(util, sink);
+            sink.append("</table:table-cell>");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CellDecoration[validation=" + this.validation + ", tooltip=" + this.tooltip +
+                ", attributes=" + this.valueByAttribute + "]";
+    }
+}
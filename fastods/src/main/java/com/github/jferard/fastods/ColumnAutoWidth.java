@@ -0,0 +1,142 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.attribute.SimpleLength;
+import com.github.jferard.fastods.odselement.StylesContainer;
+import com.github.jferard.fastods.style.TableColumnStyle;
+
+/**
+ * The automatic width of the columns of a table. The width of a column is estimated from the
+ * text displayed in its cells (approximate glyph metrics, font size, format of the numbers),
+ * plus a padding, and rounded up to a step of 0.25 cm, between a min and a max width.
+ *
+ * Each possible width is a column style named "co-aw" + the width in hundredths of cm. Those
+ * styles are registered when the automatic width is set on a table: in flush mode, this must
+ * be done before the table is added to the document (see `OdsDocument.createTable`).
+ *
+ * @author J. Férard
+ */
+public final class ColumnAutoWidth {
+    /**
+     * The step between two widths, in cm
+     */
+    public static final double STEP_CM = 0.25;
+
+    /**
+     * The padding added to the width of the text, in cm
+     */
+    public static final double PADDING_CM = 0.2;
+
+    /**
+     * Widths between 0.75 cm and 12 cm.
+     */
+    public static final ColumnAutoWidth DEFAULT = ColumnAutoWidth.create(0.75, 12.0);
+
+    /**
+     * @param minWidthCm the min width of a column, in cm
+     * @param maxWidthCm the max width of a column, in cm
+     * @return the automatic width
+     * @throws IllegalArgumentException if the min width is not positive or the max width is
+     *                                  less than the min width
+     */
+    public static ColumnAutoWidth create(final double minWidthCm, final double maxWidthCm) {
+        if (!(minWidthCm > 0) || maxWidthCm < minWidthCm) {
+            throw new IllegalArgumentException(
+                    "Invalid widths: min=" + minWidthCm + ", max=" + maxWidthCm);
+        }
+        return new ColumnAutoWidth(minWidthCm, maxWidthCm);
+    }
+
+    private final double minWidthCm;
+    private final double maxWidthCm;
+    private final TableColumnStyle[] styles;
+
+    private ColumnAutoWidth(final double minWidthCm, final double maxWidthCm) {
+        this.minWidthCm = minWidthCm;
+        this.maxWidthCm = maxWidthCm;
+        final int count = (int) Math.ceil((maxWidthCm - minWidthCm) / STEP_CM - 1e-9) + 1;
+        this.styles = new TableColumnStyle[count];
+        for (int i = 0; i < count; i++) {
+            final double widthCm = Math.min(minWidthCm + i * STEP_CM, maxWidthCm);
+            this.styles[i] = TableColumnStyle.builder("co-aw" + Math.round(widthCm * 100))
+                    .columnWidth(SimpleLength.cm(widthCm)).build();
+        }
+    }
+
+    /**
+     * @return the min width of a column, in cm
+     */
+    public double getMinWidthCm() {
+        return this.minWidthCm;
+    }
+
+    /**
+     * @return the max width of a column, in cm
+     */
+    public double getMaxWidthCm() {
+        return this.maxWidthCm;
+    }
+
+    /**
+     * Add the column styles to a container
+     *
+     * @param stylesContainer the container
+     */
+    void addStyles(final StylesContainer stylesContainer) {
+        for (final TableColumnStyle style : this.styles) {
+            stylesContainer.addContentStyle(style);
+        }
+    }
+
+    /**
+     * @param textWidthCm the width of the widest text of the column, in cm
+     * @return the column style
+     */
+    TableColumnStyle getStyle(final double textWidthCm) {
+        final double widthCm = textWidthCm + PADDING_CM;
+        final int i = (int) Math.ceil((widthCm - this.minWidthCm) / STEP_CM - 1e-9);
+        return this.styles[Math.max(0, Math.min(i, this.styles.length - 1))];
+    }
+
+    /**
+     * @param style a column style
+     * @return true if this style is one of the styles of this automatic width
+     */
+    boolean isAutoStyle(final TableColumnStyle style) {
+        for (final TableColumnStyle autoStyle : this.styles) {
+            if (autoStyle == style) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnAutoWidth[minWidthCm=" + this.minWidthCm + ", maxWidthCm=" +
+                this.maxWidthCm + "]";
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.attribute.CellType;
+import com.github.jferard.fastods.attribute.Length;
+import com.github.jferard.fastods.datastyle.CurrencyStyle;
+import com.github.jferard.fastods.datastyle.DataStyle;
+import com.github.jferard.fastods.datastyle.FloatStyle;
+import com.github.jferard.fastods.datastyle.PercentageStyle;
+import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.style.TableColumnStyle;
+import com.github.jferard.fastods.style.TextProperties;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The estimator of the widths of the columns of a table. The rows are added when they are
+ * written (or just before the preamble of the table is written, in flush mode): the estimator
+ * keeps, for each column, the max width of the displayed texts. Widths never shrink.
+ *
+ * @author J. Férard
+ */
+final class ColumnWidthEstimator {
+    private static final double CM_PER_PT = 2.54 / 72;
+    private static final double DEFAULT_FONT_SIZE_PT = 10;
+    private static final String DATE_SAMPLE = "00/00/0000";
+    private static final String TIME_SAMPLE = "00:00:00";
+    private static final int GENERAL_MAX_LENGTH = 11;
+
+    /**
+     * @param type      the type of the number: FLOAT, PERCENTAGE or CURRENCY
+     * @param value     the value
+     * @param currency  the currency of the cell, or null
+     * @param dataStyle the data style, or null
+     * @return an approximation of the formatted number. The digits are replaced by zeros.
+     */
+    static String formatNumber(final CellType type, final double value, final String currency,
+                               final DataStyle dataStyle) {
+        final FloatStyle floatStyle;
+        final String suffix;
+        double v = value;
+        if (dataStyle instanceof CurrencyStyle) {
+            floatStyle = ((CurrencyStyle) dataStyle).getFloatStyle();
+            suffix = " " + ((CurrencyStyle) dataStyle).getCurrencySymbol();
+        } else if (dataStyle instanceof PercentageStyle) {
+            floatStyle = ((PercentageStyle) dataStyle).getFloatStyle();
+            suffix = "%";
+            v *= 100;
+        } else {
+            floatStyle = dataStyle instanceof FloatStyle ? (FloatStyle) dataStyle : null;
+            if (type == CellType.PERCENTAGE) {
+                suffix = "%";
+                v *= 100;
+            } else if (type == CellType.CURRENCY && currency != null) {
+                suffix = " " + currency;
+            } else {
+                suffix = "";
+            }
+        }
+        if (Double.isNaN(v) || Double.isInfinite(v)) {
+            return Double.toString(v) + suffix;
+        } else if (floatStyle == null) {
+            return formatGeneral(v) + suffix;
+        } else {
+            return formatDigits(v, floatStyle) + suffix;
+        }
+    }
+
+    private static String formatGeneral(final double value) {
+        final String text;
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            text = Long.toString((long) value);
+        } else {
+            text = Double.toString(value);
+        }
+        if (text.length() > GENERAL_MAX_LENGTH) {
+            return text.substring(0, GENERAL_MAX_LENGTH);
+        }
+        return text;
+    }
+
+    private static String formatDigits(final double value, final FloatStyle floatStyle) {
+        final int decimalPlaces = floatStyle.getDecimalPlaces();
+        final double scale = Math.pow(10, decimalPlaces);
+        final double rounded = Math.floor(Math.abs(value) * scale + 0.5) / scale;
+        int integerDigits = rounded < 1 ? 1 : (int) Math.floor(Math.log10(rounded)) + 1;
+        integerDigits = Math.max(integerDigits, floatStyle.getMinIntegerDigits());
+        final StringBuilder sb = new StringBuilder(integerDigits + decimalPlaces + 8);
+        if (value < 0 && rounded != 0) {
+            sb.append('-');
+        }
+        final boolean grouping = floatStyle.isGrouping();
+        for (int i = 0; i < integerDigits; i++) {
+            if (grouping && i > 0 && (integerDigits - i) % 3 == 0) {
+                sb.append(',');
+            }
+            sb.append('0');
+        }
+        if (decimalPlaces > 0) {
+            sb.append('.');
+            for (int i = 0; i < decimalPlaces; i++) {
+                sb.append('0');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param length a length, e.g. "12pt"
+     * @return the length in points, or a negative value if the length can't be parsed
+     */
+    static double toPoints(final Length length) {
+        final String value = length.getValue().toString();
+        int i = value.length();
+        while (i > 0 && Character.isLetter(value.charAt(i - 1))) {
+            i--;
+        }
+        final double number;
+        try {
+            number = Double.parseDouble(value.substring(0, i));
+        } catch (final NumberFormatException e) {
+            return -1;
+        }
+        final String unit = value.substring(i);
+        if (unit.equals("pt")) {
+            return number;
+        } else if (unit.equals("pc")) {
+            return number * 12;
+        } else if (unit.equals("in")) {
+            return number * 72;
+        } else if (unit.equals("cm")) {
+            return number / CM_PER_PT;
+        } else if (unit.equals("mm")) {
+            return number / CM_PER_PT / 10;
+        } else if (unit.equals("em")) {
+            return number * DEFAULT_FONT_SIZE_PT;
+        } else {
+            return -1;
+        }
+    }
+
+    private final ColumnAutoWidth autoWidth;
+    private final Map<TableCellStyle, Font> fontByStyle;
+    private double[] textWidthsCm;
+    private int columnCount;
+
+    /**
+     * @param autoWidth the automatic width
+     */
+    ColumnWidthEstimator(final ColumnAutoWidth autoWidth) {
+        this.autoWidth = autoWidth;
+        this.fontByStyle = new IdentityHashMap<TableCellStyle, Font>();
+        this.textWidthsCm = new double[16];
+        this.columnCount = 0;
+    }
+
+    /**
+     * @return the automatic width
+     */
+    ColumnAutoWidth getAutoWidth() {
+        return this.autoWidth;
+    }
+
+    /**
+     * Add the cells of a row
+     *
+     * @param row the row
+     */
+    void addRow(final TableRowImpl row) {
+        row.addToWidthEstimator(this);
+    }
+
+    /**
+     * Add a text
+     *
+     * @param col   the column
+     * @param text  the displayed text
+     * @param style the style of the cell
+     */
+    void addText(final int col, final CharSequence text, final TableCellStyle style) {
+        final Font font = this.getFont(style);
+        final double widthCm = font.metrics.getWidth(text, font.bold) * font.sizeCm;
+        if (col >= this.textWidthsCm.length) {
+            this.textWidthsCm = Arrays.copyOf(this.textWidthsCm,
+                    Math.max(col + 1, 2 * this.textWidthsCm.length));
+        }
+        if (widthCm > this.textWidthsCm[col]) {
+            this.textWidthsCm[col] = widthCm;
+        }
+        if (col >= this.columnCount) {
+            this.columnCount = col + 1;
+        }
+    }
+
+    /**
+     * Add a number
+     *
+     * @param col      the column
+     * @param type     the type of the number: FLOAT, PERCENTAGE or CURRENCY
+     * @param value    the value
+     * @param currency the currency of the cell, or null
+     * @param style    the style of the cell
+     */
+    void addNumber(final int col, final CellType type, final double value,
+                   final String currency, final TableCellStyle style) {
+        this.addText(col, formatNumber(type, value, currency, style.getDataStyle()), style);
+    }
+
+    /**
+     * Add a date
+     *
+     * @param col   the column
+     * @param style the style of the cell
+     */
+    void addDate(final int col, final TableCellStyle style) {
+        this.addText(col, DATE_SAMPLE, style);
+    }
+
+    /**
+     * Add a time
+     *
+     * @param col   the column
+     * @param style the style of the cell
+     */
+    void addTime(final int col, final TableCellStyle style) {
+        this.addText(col, TIME_SAMPLE, style);
+    }
+
+    /**
+     * @return the number of columns, including the columns without any text
+     */
+    int getColumnCount() {
+        return this.columnCount;
+    }
+
+    /**
+     * @param col the column
+     * @return the style of the column, or null if there is no text in this column
+     */
+    TableColumnStyle getStyle(final int col) {
+        if (col >= this.columnCount || this.textWidthsCm[col] == 0) {
+            return null;
+        }
+        return this.autoWidth.getStyle(this.textWidthsCm[col]);
+    }
+
+    private Font getFont(final TableCellStyle style) {
+        Font font = this.fontByStyle.get(style);
+        if (font == null) {
+            font = Font.create(style);
+            this.fontByStyle.put(style, font);
+        }
+        return font;
+    }
+
+    /**
+     * The font of a cell style: metrics, size and weight. The properties that are not set are
+     * inherited from the parent styles.
+     */
+    private static final class Font {
+        static Font create(final TableCellStyle style) {
+            String fontName = null;
+            double sizePt = -1;
+            double sizePercentage = 100;
+            String fontWeight = null;
+            TableCellStyle curStyle = style;
+            while (curStyle != null) {
+                final TextProperties tp = curStyle.getTextProperties();
+                if (tp != null) {
+                    if (fontName == null) {
+                        fontName = tp.getFontName();
+                    }
+                    if (fontWeight == null) {
+                        fontWeight = tp.getFontWeight();
+                    }
+                    if (sizePt < 0) {
+                        if (tp.getFontSizeLength() != null) {
+                            sizePt = toPoints(tp.getFontSizeLength());
+                        } else if (tp.getFontSizePercentage() > 0) {
+                            sizePercentage *= tp.getFontSizePercentage() / 100;
+                        }
+                    }
+                }
+                final TableCellStyle parentStyle = curStyle.getParentCellStyle();
+                curStyle = parentStyle == curStyle ? null : parentStyle;
+            }
+            if (sizePt < 0) {
+                sizePt = DEFAULT_FONT_SIZE_PT;
+            }
+            final boolean bold = "bold".equals(fontWeight) || "600".equals(fontWeight) ||
+                    "700".equals(fontWeight) || "800".equals(fontWeight) ||
+                    "900".equals(fontWeight);
+            return new Font(GlyphMetrics.forFont(fontName),
+                    sizePt * sizePercentage / 100 * CM_PER_PT, bold);
+        }
+
+        private final GlyphMetrics metrics;
+        private final double sizeCm;
+        private final boolean bold;
+
+        private Font(final GlyphMetrics metrics, final double sizeCm, final boolean bold) {
+            this.metrics = metrics;
+            this.sizeCm = sizeCm;
+            this.bold = bold;
+        }
+    }
+}
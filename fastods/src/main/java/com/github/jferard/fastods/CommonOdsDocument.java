@@ -29,12 +29,13 @@ import com.github.jferard.fastods.odselement.ScriptEventListener;
 import com.github.jferard.fastods.style.*;
 import com.github.jferard.fastods.util.AutoFilter;
 import com.github.jferard.fastods.util.Container;
+import com.github.jferard.fastods.util.InputStreamSupplier;
 import com.github.jferard.fastods.util.NamedRange;
 import com.github.jferard.fastods.util.PilotTable;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.ListIterator;
 
 /**
  * Common part of an ods document.
@@ -144,16 +145,7 @@ class CommonOdsDocument implements OdsDocument {
 
     @Override
     public int getTableNumber(final String name) {
-        final ListIterator<Table> iterator = this.odsElements.getTables().listIterator();
-        while (iterator.hasNext()) {
-            final int n = iterator.nextIndex();
-            final Table tab = iterator.next();
-            if (tab.getName().equals(name)) {
-                return n;
-            }
-        }
-
-        return -1;
+        return this.odsElements.getTableIndex(name);
     }
 
     @Override
@@ -177,6 +169,11 @@ class CommonOdsDocument implements OdsDocument {
         this.odsElements.setViewSetting(viewId, item, value);
     }
 
+    @Override
+    public void setAutoCalculate(final boolean autoCalculate) {
+        this.odsElements.setAutoCalculate(autoCalculate);
+    }
+
     @Override
     public int tableCount() {
         return this.odsElements.getTableCount();
@@ -225,6 +222,35 @@ class CommonOdsDocument implements OdsDocument {
         this.odsElements.addExtraFile(fullPath, mediaType, bytes);
     }
 
+    @Override
+    public void addExtraFile(final String fullPath, final String mediaType, final Path path) {
+        this.odsElements.addExtraFile(fullPath, mediaType, path);
+    }
+
+    @Override
+    public void addExtraFile(final String fullPath, final String mediaType,
+                             final InputStreamSupplier supplier) {
+        this.odsElements.addExtraFile(fullPath, mediaType, supplier);
+    }
+
+    @Override
+    public String addSharedExtraFile(final String fullPath, final String mediaType,
+                                     final byte[] bytes) {
+        return this.odsElements.addSharedExtraFile(fullPath, mediaType, bytes);
+    }
+
+    @Override
+    public String addSharedExtraFile(final String fullPath, final String mediaType,
+                                     final Path path) throws IOException {
+        return this.odsElements.addSharedExtraFile(fullPath, mediaType, path);
+    }
+
+    @Override
+    public String addSharedExtraFile(final String fullPath, final String mediaType,
+                                     final InputStreamSupplier supplier) throws IOException {
+        return this.odsElements.addSharedExtraFile(fullPath, mediaType, supplier);
+    }
+
     @Override
     public void addExtraDir(final String fullPath) {
         this.odsElements.addExtraDir(fullPath);
@@ -255,4 +281,23 @@ class CommonOdsDocument implements OdsDocument {
     public void addNamedRange(final NamedRange namedRange) {
         this.odsElements.addNamedRange(namedRange);
     }
+
+    /**
+     * Spill the rows of the tables to temporary files when their estimated retained size
+     * reaches a threshold. Applies to the existing tables and to the tables created afterwards.
+     *
+     * @param rowSpill the policy, or null to stop spilling rows
+     */
+    public void setRowSpill(final RowSpill rowSpill) {
+        this.odsElements.setRowSpill(rowSpill);
+    }
+
+    /**
+     * Delete the temporary files of the spilled rows. The document can't be saved afterwards.
+     *
+     * @throws IOException if a file can't be closed
+     */
+    public void deleteSpilledRows() throws IOException {
+        this.odsElements.deleteSpilledRows();
+    }
 }
@@ -0,0 +1,220 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.odselement.StylesContainer;
+import com.github.jferard.fastods.style.TextStyle;
+import com.github.jferard.fastods.util.XMLSink;
+import com.github.jferard.fastods.util.XMLUtil;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * The rich content of a cell, in a compact form: a link, a styled span or a multi-line text.
+ * The text itself is the string value of the cell; this object only holds the href and the
+ * style. This avoids the graph Text, List&lt;Paragraph&gt;, Paragraph, Link and the cold
+ * cell for the common cases.
+ *
+ * @author J. Férard
+ */
+final class CompactText {
+    /**
+     * The multi-line text: the style and the href are absent, hence the object is shared.
+     */
+    static final CompactText MULTI_LINE = new CompactText(Kind.MULTI_LINE, null, null);
+
+    /**
+     * @param href the href
+     * @param ts   the style or null
+     * @return the compact content of a link cell
+     */
+    static CompactText link(final String href, final TextStyle ts) {
+        return new CompactText(Kind.LINK, href, ts);
+    }
+
+    /**
+     * @param ts the style
+     * @return the compact content of a styled span cell
+     */
+    static CompactText span(final TextStyle ts) {
+        return new CompactText(Kind.SPAN, null, ts);
+    }
+
+    /**
+     * Decode a compact text
+     *
+     * @param in   the input
+     * @param refs the objects kept by reference
+     * @return the compact text or null
+     * @throws IOException if an I/O error occurs
+     */
+    static CompactText decode(final DataInput in, final CompressedRowStore.ObjectRefs refs)
+            throws IOException {
+        final byte kind = in.readByte();
+        if (kind == -1) {
+            return null;
+        }
+        final Kind k = Kind.values()[kind];
+        if (k == Kind.MULTI_LINE) {
+            return MULTI_LINE;
+        }
+        final String href = CompressedRowStore.readString(in);
+        final TextStyle ts = (TextStyle) refs.get(in.readInt());
+        return new CompactText(k, href, ts);
+    }
+
+    /**
+     * Encode a compact text
+     *
+     * @param out         the output
+     * @param refs        the objects kept by reference
+     * @param compactText the compact text or null
+     * @throws IOException if an I/O error occurs
+     */
+    static void encode(final DataOutput out, final CompressedRowStore.ObjectRefs refs,
+                       final CompactText compactText) throws IOException {
+        if (compactText == null) {
+            out.writeByte(-1);
+            return;
+        }
+        out.writeByte(compactText.kind.ordinal());
+        if (compactText.kind != Kind.MULTI_LINE) {
+            CompressedRowStore.writeString(out, compactText.href);
+            out.writeInt(refs.put(compactText.ts));
+        }
+    }
+
+    private enum Kind {
+        LINK, SPAN, MULTI_LINE
+    }
+
+    private final Kind kind;
+    private final String href;
+    private final TextStyle ts;
+
+    private CompactText(final Kind kind, final String href, final TextStyle ts) {
+        this.kind = kind;
+        this.href = href;
+        this.ts = ts;
+    }
+
+    /**
+     * Add the style to the content.xml automatic styles
+     *
+     * @param stylesContainer the container
+     */
+    void addEmbeddedStylesFromCell(final StylesContainer stylesContainer) {
+        if (this.ts != null) {
+            stylesContainer.addContentFontFaceContainerStyle(this.ts);
+        }
+    }
+
+    /**
+     * Append the text:p elements
+     *
+     * @param util an util
+     * @param sink the destination
+     * @param text the text content, not escaped
+     */
+    void appendXMLContent(final XMLUtil util, final XMLSink sink, final String text) {
+        switch (this.kind) {
+            case LINK:
+                sink.append("<text:p><text:a");
+                if (this.ts != null) {
+                    util.appendEAttribute(sink, "text:style-name", this.ts.getName());
+                }
+                util.appendEAttribute(sink, "xlink:href", this.href);
+                sink.append(" xlink:type=\"simple\">");
+                util.appendEContent(sink, text, 0, text.length());
+                sink.append("</text:a></text:p>");
+                break;
+            case SPAN:
+                sink.append("<text:p><text:span");
+                util.appendEAttribute(sink, "text:style-name", this.ts.getName());
+                sink.append('>');
+                util.appendEContent(sink, text, 0, text.length());
+                sink.append("</text:span></text:p>");
+                break;
+            default: // MULTI_LINE
+                int start = 0;
+                while (true) {
+                    final int found = text.indexOf('\n', start);
+                    final int end = found == -1 ? text.length() : found;
+                    if (start == end) {
+                        sink.append("<text:p/>");
+                    } else {
+                        sink.append("<text:p>");
+                        util.appendEContent(sink, text, start, end);
+                        sink.append("</text:p>");
+                    }
+                    if (found == -1) {
+                        break;
+                    }
+                    start = end + 1;
+                }
+                break;
+        }
+    }
+
+    /**
+     * @param util an util to escape the text content: the elements of a Text are not escaped
+     * @param text the text content, not escaped
+     * @return the equivalent Text object
+     */
+    Text toText(final XMLUtil util, final String text) {
+        final TextBuilder builder = Text.builder();
+        switch (this.kind) {
+            case LINK:
+                builder.par().styledLink(util.escapeXMLContent(text), this.ts, this.href);
+                break;
+            case SPAN:
+                builder.par().styledSpan(util.escapeXMLContent(text), this.ts);
+                break;
+            default: // MULTI_LINE
+                for (final String line : text.split("\n", -1)) {
+                    builder.parContent(util.escapeXMLContent(line));
+                }
+                break;
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return a rough estimate of the heap retained by this object, in bytes
+     */
+    int estimateRetainedSize() {
+        if (this.kind == Kind.MULTI_LINE) {
+            return 0;
+        }
+        return 24 + (this.href == null ? 0 : 40 + 2 * this.href.length());
+    }
+
+    @Override
+    public String toString() {
+        return "CompactText[kind=" + this.kind + ", href=" + this.href + ", ts=" + this.ts + "]";
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.util.ChunkedFullList;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A store for the rows of a table that were not touched for a while. The rows are encoded by
+ * blocks of BLOCK_SIZE rows and the blocks are deflated. The strings and numbers are encoded,
+ * the shared objects (styles, data styles, cold cells, custom cells) are kept by reference in
+ * a table of the block.
+ *
+ * @author J. Férard
+ */
+final class CompressedRowStore {
+    /**
+     * The number of rows of a block
+     */
+    static final int BLOCK_SIZE = 64;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int NO_ROW = 0;
+    private static final int ROW = 1;
+
+    /**
+     * @param out   the output
+     * @param value the string, may be null
+     * @throws IOException if an I/O error occurs
+     */
+    static void writeString(final DataOutput out, final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            final byte[] bytes = value.getBytes(UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * @param in the input
+     * @return the string, may be null
+     * @throws IOException if an I/O error occurs
+     */
+    static String readString(final DataInput in) throws IOException {
+        final int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private final TableModel model;
+    private final Table table;
+    private final RowCompression compression;
+    private final Map<Integer, Block> blockByIndex;
+    private final Deflater deflater;
+    private final Inflater inflater;
+    private int nextBlockToCompress;
+    private int restoredBlockIndex;
+    private long compressedSize;
+    private int decodedBlockIndex;
+    private TableRowImpl[] decodedRows;
+
+    /**
+     * @param model       the model that creates the rows
+     * @param table       the parent table of the rows
+     * @param compression the compression parameters
+     */
+    CompressedRowStore(final TableModel model, final Table table,
+                       final RowCompression compression) {
+        this.model = model;
+        this.table = table;
+        this.compression = compression;
+        this.blockByIndex = new HashMap<Integer, Block>();
+        this.deflater = new Deflater(Deflater.BEST_SPEED);
+        this.inflater = new Inflater();
+        this.nextBlockToCompress = 0;
+        this.restoredBlockIndex = -1;
+        this.compressedSize = 0;
+        this.decodedBlockIndex = -1;
+    }
+
+    /**
+     * A row was created: compress the blocks that are out of the window.
+     *
+     * @param rowIndex the index of the new row
+     * @param rows     the rows of the table
+     * @throws IOException if an I/O error occurs
+     */
+    void rowCreated(final int rowIndex, final ChunkedFullList<TableRowImpl> rows)
+            throws IOException {
+        final int firstRowInWindow = rowIndex - this.compression.getWindowRows();
+        if (firstRowInWindow < 0) {
+            return;
+        }
+        final int firstBlockInWindow = firstRowInWindow / BLOCK_SIZE;
+        while (this.nextBlockToCompress < firstBlockInWindow) {
+            this.compress(this.nextBlockToCompress, rows);
+            this.nextBlockToCompress++;
+        }
+    }
+
+    /**
+     * @param rowIndex the index of the row
+     * @return true if the row is in a compressed block
+     */
+    boolean isCompressed(final int rowIndex) {
+        return this.blockByIndex.containsKey(rowIndex / BLOCK_SIZE);
+    }
+
+    /**
+     * Restore the block of a row in the list of rows. The previously restored block is
+     * compressed again.
+     *
+     * @param rowIndex the index of the row
+     * @param rows     the rows of the table
+     * @throws IOException if an I/O error occurs
+     */
+    void restore(final int rowIndex, final ChunkedFullList<TableRowImpl> rows)
+            throws IOException {
+        final int blockIndex = rowIndex / BLOCK_SIZE;
+        final TableRowImpl[] blockRows = this.decode(blockIndex);
+        final Block block = this.blockByIndex.remove(blockIndex);
+        this.compressedSize -= block.size();
+        if (this.decodedBlockIndex == blockIndex) {
+            this.decodedBlockIndex = -1;
+            this.decodedRows = null;
+        }
+        final int first = blockIndex * BLOCK_SIZE;
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            if (blockRows[i] != null) {
+                rows.set(first + i, blockRows[i]);
+            }
+        }
+        if (this.restoredBlockIndex != -1 && this.restoredBlockIndex < this.nextBlockToCompress) {
+            this.compress(this.restoredBlockIndex, rows);
+        }
+        this.restoredBlockIndex = blockIndex;
+    }
+
+    /**
+     * Restore every block in the list of rows.
+     *
+     * @param rows the rows of the table
+     * @throws IOException if an I/O error occurs
+     */
+    void restoreAll(final ChunkedFullList<TableRowImpl> rows) throws IOException {
+        this.nextBlockToCompress = 0; // nothing will be compressed again
+        for (final Integer blockIndex : new ArrayList<Integer>(this.blockByIndex.keySet())) {
+            this.restore(blockIndex * BLOCK_SIZE, rows);
+        }
+    }
+
+    /**
+     * Get a compressed row without restoring its block. The last block read is kept decoded:
+     * reading the rows in order decodes every block once.
+     *
+     * @param rowIndex the index of the row
+     * @return the row, or null
+     * @throws IOException if an I/O error occurs
+     */
+    TableRowImpl peek(final int rowIndex) throws IOException {
+        final int blockIndex = rowIndex / BLOCK_SIZE;
+        if (this.decodedBlockIndex != blockIndex) {
+            this.decodedRows = this.decode(blockIndex);
+            this.decodedBlockIndex = blockIndex;
+        }
+        return this.decodedRows[rowIndex % BLOCK_SIZE];
+    }
+
+    /**
+     * Forget the blocks whose rows are all before a given index. Used when the rows were
+     * spilled.
+     *
+     * @param rowIndex the index
+     */
+    void discardBefore(final int rowIndex) {
+        final int firstKeptBlock = rowIndex / BLOCK_SIZE;
+        final Iterator<Map.Entry<Integer, Block>> iterator =
+                this.blockByIndex.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Integer, Block> entry = iterator.next();
+            if (entry.getKey() < firstKeptBlock) {
+                this.compressedSize -= entry.getValue().size();
+                iterator.remove();
+            }
+        }
+        if (this.decodedBlockIndex != -1 && this.decodedBlockIndex < firstKeptBlock) {
+            this.decodedBlockIndex = -1;
+            this.decodedRows = null;
+        }
+    }
+
+    /**
+     * @return the number of compressed blocks
+     */
+    int getBlockCount() {
+        return this.blockByIndex.size();
+    }
+
+    /**
+     * @return the size of the compressed blocks, in bytes
+     */
+    long getCompressedSize() {
+        return this.compressedSize;
+    }
+
+    private void compress(final int blockIndex, final ChunkedFullList<TableRowImpl> rows)
+            throws IOException {
+        final int first = blockIndex * BLOCK_SIZE;
+        final ObjectRefs refs = new ObjectRefs();
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final DataOutputStream out =
+                new DataOutputStream(new DeflaterOutputStream(bos, this.deflater));
+        boolean empty = true;
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            final TableRowImpl row = rows.get(first + i);
+            if (row == null) {
+                out.writeByte(NO_ROW);
+            } else {
+                empty = false;
+                out.writeByte(ROW);
+                row.encode(out, refs);
+            }
+        }
+        out.close();
+        this.deflater.reset();
+        if (empty) {
+            return;
+        }
+
+        final Block block = new Block(this.toBuffer(bos.toByteArray()), refs.toArray());
+        this.blockByIndex.put(blockIndex, block);
+        this.compressedSize += block.size();
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            rows.set(first + i, null);
+        }
+    }
+
+    private ByteBuffer toBuffer(final byte[] bytes) {
+        if (this.compression.isOffHeap()) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes);
+            buffer.flip();
+            return buffer;
+        } else {
+            return ByteBuffer.wrap(bytes);
+        }
+    }
+
+    private TableRowImpl[] decode(final int blockIndex) throws IOException {
+        final Block block = this.blockByIndex.get(blockIndex);
+        final ObjectRefs refs = new ObjectRefs(block.refs);
+        final DataInputStream in = new DataInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(block.bytes()), this.inflater));
+        final TableRowImpl[] blockRows = new TableRowImpl[BLOCK_SIZE];
+        final int first = blockIndex * BLOCK_SIZE;
+        try {
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                if (in.readByte() == ROW) {
+                    final TableRowImpl row = this.model.newRow(this.table, first + i);
+                    row.decode(in, refs);
+                    blockRows[i] = row;
+                }
+            }
+        } finally {
+            this.inflater.reset();
+        }
+        return blockRows;
+    }
+
+    /**
+     * The objects that are kept by reference in a block: styles, data styles, cold cells,
+     * custom cells... The index -1 is null.
+     */
+    static final class ObjectRefs {
+        private final List<Object> objects;
+        private final Map<Object, Integer> indexByObject;
+
+        /**
+         * A table for encoding
+         */
+        ObjectRefs() {
+            this.objects = new ArrayList<Object>();
+            this.indexByObject = new IdentityHashMap<Object, Integer>();
+        }
+
+        /**
+         * A table for decoding
+         *
+         * @param objects the objects
+         */
+        ObjectRefs(final Object[] objects) {
+            this.objects = Arrays.asList(objects);
+            this.indexByObject = null;
+        }
+
+        /**
+         * @param object the object, may be null
+         * @return the index of the object
+         */
+        int put(final Object object) {
+            if (object == null) {
+                return -1;
+            }
+            Integer index = this.indexByObject.get(object);
+            if (index == null) {
+                index = this.objects.size();
+                this.objects.add(object);
+                this.indexByObject.put(object, index);
+            }
+            return index;
+        }
+
+        /**
+         * @param index the index
+         * @return the object or null
+         */
+        Object get(final int index) {
+            if (index == -1) {
+                return null;
+            }
+            return this.objects.get(index);
+        }
+
+        /**
+         * @return the objects
+         */
+        Object[] toArray() {
+            return this.objects.toArray();
+        }
+    }
+
+    /**
+     * A compressed block
+     */
+    private static final class Block {
+        private final ByteBuffer data;
+        private final Object[] refs;
+
+        Block(final ByteBuffer data, final Object[] refs) {
+            this.data = data;
+            this.refs = refs;
+        }
+
+        int size() {
+            return this.data.capacity();
+        }
+
+        byte[] bytes() {
+            if (this.data.hasArray()) {
+                return this.data.array();
+            }
+            final byte[] bytes = new byte[this.data.capacity()];
+            this.data.duplicate().get(bytes);
+            return bytes;
+        }
+    }
+}
@@ -38,20 +38,24 @@ import java.util.List;
  */
 public class EndTableFlusher implements OdsAsyncFlusher {
     private final TableAppender appender;
+    private final int firstRowIndex;
     private final List<TableRowImpl> rows;
 
     /**
-     * @param appender the table to end
-     * @param rows     a view on the remaining rows.
+     * @param appender      the table to end
+     * @param firstRowIndex the index of the first remaining row
+     * @param rows          a view on the remaining rows.
      */
-    public EndTableFlusher(final TableAppender appender, final List<TableRowImpl> rows) {
+    public EndTableFlusher(final TableAppender appender, final int firstRowIndex,
+                           final List<TableRowImpl> rows) {
         this.appender = appender;
+        this.firstRowIndex = firstRowIndex;
         this.rows = rows;
     }
 
     @Override
     public void flushInto(final XMLUtil xmlUtil, final ZipUTF8Writer writer) throws IOException {
-        this.appender.flushRows(xmlUtil, writer, this.rows);
+        this.appender.flushRows(xmlUtil, writer, this.firstRowIndex, this.rows);
         this.appender.appendPostamble(writer);
     }
 
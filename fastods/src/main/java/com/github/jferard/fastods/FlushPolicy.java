@@ -0,0 +1,144 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+/**
+ * A policy that decides when the pending rows of a table are flushed to the writer. Only
+ * relevant when the document is written in flush mode (see `OdsFactory.createWriter`).
+ * <p>
+ * The rows are flushed as soon as one of the limits is reached: a number of rows (the rows
+ * are flushed when a row whose index is a multiple of this number is created), an estimated
+ * retained size of the pending rows (a byte budget) or the time elapsed since the last flush.
+ *
+ * @author J. Férard
+ */
+public final class FlushPolicy {
+    /**
+     * The default maximum number of pending rows
+     */
+    public static final int DEFAULT_MAX_ROWS = 8 * 1024;
+
+    /**
+     * The default policy: flush every 8K rows.
+     */
+    public static final FlushPolicy DEFAULT = FlushPolicy.builder().build();
+
+    /**
+     * @return a new builder
+     */
+    public static FlushPolicyBuilder builder() {
+        return new FlushPolicyBuilder();
+    }
+
+    /**
+     * @param maxRows the maximum number of pending rows
+     * @return a policy that flushes every maxRows rows
+     */
+    public static FlushPolicy rows(final int maxRows) {
+        return FlushPolicy.builder().maxRows(maxRows).build();
+    }
+
+    /**
+     * @param maxBytes the maximum estimated retained size of the pending rows, in bytes
+     * @return a policy that flushes the pending rows when their estimated size is above the
+     * budget
+     */
+    public static FlushPolicy bytes(final long maxBytes) {
+        return FlushPolicy.builder().maxRows(Integer.MAX_VALUE).maxBytes(maxBytes).build();
+    }
+
+    private final int maxRows;
+    private final long maxBytes;
+    private final long maxIntervalMillis;
+
+    /**
+     * @param maxRows           the maximum number of pending rows
+     * @param maxBytes          the maximum estimated size of pending rows, or 0 for no limit
+     * @param maxIntervalMillis the maximum time between two flushes, or 0 for no limit
+     */
+    FlushPolicy(final int maxRows, final long maxBytes, final long maxIntervalMillis) {
+        this.maxRows = maxRows;
+        this.maxBytes = maxBytes;
+        this.maxIntervalMillis = maxIntervalMillis;
+    }
+
+    /**
+     * @return the maximum number of pending rows
+     */
+    public int getMaxRows() {
+        return this.maxRows;
+    }
+
+    /**
+     * @return the maximum estimated size of pending rows, or 0 for no limit
+     */
+    public long getMaxBytes() {
+        return this.maxBytes;
+    }
+
+    /**
+     * @return the maximum time between two flushes, or 0 for no limit
+     */
+    public long getMaxIntervalMillis() {
+        return this.maxIntervalMillis;
+    }
+
+    /**
+     * @return true if the retained size of the rows has to be estimated
+     */
+    public boolean hasByteBudget() {
+        return this.maxBytes > 0;
+    }
+
+    /**
+     * @return true if the time has to be checked
+     */
+    public boolean hasInterval() {
+        return this.maxIntervalMillis > 0;
+    }
+
+    /**
+     * @param rowIndex            the index of the new row
+     * @param lastFlushedRowIndex the index of the first pending row
+     * @param pendingBytes        the estimated size of the pending rows
+     * @param elapsedMillis       the time since the last flush
+     * @return true if the pending rows (lastFlushedRowIndex..rowIndex-1) should be flushed
+     */
+    public boolean mustFlush(final int rowIndex, final int lastFlushedRowIndex,
+                             final long pendingBytes, final long elapsedMillis) {
+        if (rowIndex <= lastFlushedRowIndex) {
+            return false;
+        }
+        return rowIndex % this.maxRows == 0 ||
+                (this.maxBytes > 0 && pendingBytes >= this.maxBytes) ||
+                (this.maxIntervalMillis > 0 && elapsedMillis >= this.maxIntervalMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "FlushPolicy[maxRows=" + this.maxRows + ", maxBytes=" + this.maxBytes +
+                ", maxIntervalMillis=" + this.maxIntervalMillis + "]";
+    }
+}
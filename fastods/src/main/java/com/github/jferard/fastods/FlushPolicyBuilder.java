@@ -0,0 +1,91 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+/**
+ * A builder for a flush policy
+ *
+ * @author J. Férard
+ */
+public class FlushPolicyBuilder {
+    private int maxRows;
+    private long maxBytes;
+    private long maxIntervalMillis;
+
+    /**
+     * Create a new builder. The default policy flushes every 8K rows.
+     */
+    FlushPolicyBuilder() {
+        this.maxRows = FlushPolicy.DEFAULT_MAX_ROWS;
+        this.maxBytes = 0;
+        this.maxIntervalMillis = 0;
+    }
+
+    /**
+     * @param maxRows the maximum number of pending rows
+     * @return this for fluent style
+     */
+    public FlushPolicyBuilder maxRows(final int maxRows) {
+        if (maxRows <= 0) {
+            throw new IllegalArgumentException("Max rows must be > 0");
+        }
+        this.maxRows = maxRows;
+        return this;
+    }
+
+    /**
+     * @param maxBytes the maximum estimated retained size of the pending rows, in bytes.
+     * @return this for fluent style
+     */
+    public FlushPolicyBuilder maxBytes(final long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Max bytes must be > 0");
+        }
+        this.maxBytes = maxBytes;
+        return this;
+    }
+
+    /**
+     * Flush the pending rows if the last flush is older than the interval. The time is checked
+     * when a new row is created.
+     *
+     * @param maxIntervalMillis the maximum time between two flushes, in milliseconds.
+     * @return this for fluent style
+     */
+    public FlushPolicyBuilder maxIntervalMillis(final long maxIntervalMillis) {
+        if (maxIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Max interval must be > 0");
+        }
+        this.maxIntervalMillis = maxIntervalMillis;
+        return this;
+    }
+
+    /**
+     * @return the policy
+     */
+    public FlushPolicy build() {
+        return new FlushPolicy(this.maxRows, this.maxBytes, this.maxIntervalMillis);
+    }
+}
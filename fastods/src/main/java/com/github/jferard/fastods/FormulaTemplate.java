@@ -0,0 +1,343 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.ref.CellRef;
+import com.github.jferard.fastods.ref.PositionUtil;
+import com.github.jferard.fastods.util.XMLSink;
+import com.github.jferard.fastods.util.XMLUtil;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 19.642 table:formula
+ * <p>
+ * A formula parsed and escaped once, and shared by many cells. The formula is written for an
+ * anchor cell; the relative references (e.g. {@code [.A1]}, but not {@code [.$A$1]}) are moved
+ * with the cell, as in a copy/paste:
+ * <pre>{@code
+ *     final FormulaTemplate template = FormulaTemplate.create("[.A1]*[.B1]", 0, 2);
+ *     table.setFormula(template, 0, 2, 9999, 2); // C1: [.A1]*[.B1], C2: [.A2]*[.B2], ...
+ * }</pre>
+ * The cells that have a formula template do not need a "cold cell".
+ *
+ * @author J. Férard
+ */
+public final class FormulaTemplate {
+    private static final String FORMULA_ATTRIBUTE_START = " table:formula=\"of:=";
+    private static final String REF_ERROR = "#REF!";
+
+    /**
+     * @param formula the formula, without '=' sign.
+     * @param anchor  the cell for which the formula is written
+     * @return the template
+     * @throws ParseException if a reference can't be parsed
+     */
+    public static FormulaTemplate create(final String formula, final CellRef anchor)
+            throws ParseException {
+        return FormulaTemplate.create(formula, anchor.getRow(), anchor.getColumn());
+    }
+
+    /**
+     * @param formula           the formula, without '=' sign.
+     * @param anchorRowIndex    the row of the cell for which the formula is written
+     * @param anchorColumnIndex the column of the cell for which the formula is written
+     * @return the template
+     * @throws ParseException if a reference can't be parsed
+     */
+    public static FormulaTemplate create(final String formula, final int anchorRowIndex,
+                                         final int anchorColumnIndex) throws ParseException {
+        return new Parser(XMLUtil.create(), formula).parse(anchorRowIndex, anchorColumnIndex);
+    }
+
+    /**
+     * Write a column in the ODS format
+     *
+     * @param sink the destination
+     * @param c    the column index
+     */
+    private static void appendColumn(final XMLSink sink, final int c) {
+        if (c >= PositionUtil.ALPHABET_SIZE) {
+            FormulaTemplate.appendColumn(sink, c / PositionUtil.ALPHABET_SIZE - 1);
+        }
+        sink.append((char) (PositionUtil.ORD_A + c % PositionUtil.ALPHABET_SIZE));
+    }
+
+    private final String formula;
+    private final String[] rawFragments;
+    private final char[][] fragments;
+    private final int[] refRows;
+    private final int[] refCols;
+    private final int[] refStatuses;
+
+    /**
+     * @param formula      the formula, for toString
+     * @param rawFragments the fragments. There is one fragment more than references.
+     * @param fragments    the escaped fragments
+     * @param refRows     the rows of the references, relative to the anchor unless absolute
+     * @param refCols     the columns of the references, relative to the anchor unless absolute
+     * @param refStatuses the statuses of the references (see {@link CellRef#ABSOLUTE_COL} and
+     *                    {@link CellRef#ABSOLUTE_ROW})
+     */
+    FormulaTemplate(final String formula, final String[] rawFragments, final char[][] fragments,
+                    final int[] refRows, final int[] refCols, final int[] refStatuses) {
+        this.formula = formula;
+        this.rawFragments = rawFragments;
+        this.fragments = fragments;
+        this.refRows = refRows;
+        this.refCols = refCols;
+        this.refStatuses = refStatuses;
+    }
+
+    /**
+     * Append the table:formula attribute of a cell.
+     *
+     * @param appendable the destination
+     * @param rowIndex   the row index of the cell
+     * @param colIndex   the column index of the cell
+     * @throws IOException if an I/O error occurs
+     */
+    public void appendXMLAttribute(final Appendable appendable, final int rowIndex,
+                                   final int colIndex) throws IOException {
+        final XMLSink sink = new XMLSink(FORMULA_ATTRIBUTE_START.length() + this.formula.length());
+        this.appendXMLAttribute(sink, rowIndex, colIndex);
+        sink.writeTo(appendable);
+    }
+
+    /**
+     * Append the table:formula attribute of a cell to a sink.
+     *
+     * @param sink     the destination
+     * @param rowIndex the row index of the cell
+     * @param colIndex the column index of the cell
+     */
+    public void appendXMLAttribute(final XMLSink sink, final int rowIndex, final int colIndex) {
+        sink.append(FORMULA_ATTRIBUTE_START);
+        this.appendFormula(sink, rowIndex, colIndex, true);
+        sink.append('"');
+    }
+
+    private void appendFormula(final XMLSink sink, final int rowIndex, final int colIndex,
+                               final boolean escaped) {
+        this.appendFragment(sink, 0, escaped);
+        for (int i = 0; i < this.refRows.length; i++) {
+            final int status = this.refStatuses[i];
+            final int c = (status & CellRef.ABSOLUTE_COL) == 0 ? colIndex + this.refCols[i] :
+                    this.refCols[i];
+            final int r = (status & CellRef.ABSOLUTE_ROW) == 0 ? rowIndex + this.refRows[i] :
+                    this.refRows[i];
+            if (c < 0 || r < 0) {
+                sink.append(REF_ERROR);
+            } else {
+                if ((status & CellRef.ABSOLUTE_COL) != 0) {
+                    sink.append('$');
+                }
+                FormulaTemplate.appendColumn(sink, c);
+                if ((status & CellRef.ABSOLUTE_ROW) != 0) {
+                    sink.append('$');
+                }
+                sink.appendInt(r + 1);
+            }
+            this.appendFragment(sink, i + 1, escaped);
+        }
+    }
+
+    private void appendFragment(final XMLSink sink, final int i, final boolean escaped) {
+        if (escaped) {
+            sink.appendLiteral(this.fragments[i]);
+        } else {
+            sink.append(this.rawFragments[i]);
+        }
+    }
+
+    /**
+     * @param rowIndex the row index of the cell
+     * @param colIndex the column index of the cell
+     * @return the formula of the cell, without '=' sign
+     */
+    public String toFormula(final int rowIndex, final int colIndex) {
+        final XMLSink sink = new XMLSink(this.formula.length() + 16);
+        this.appendFormula(sink, rowIndex, colIndex, false);
+        return sink.toString();
+    }
+
+    /**
+     * @return the number of cell references in the formula
+     */
+    public int getReferenceCount() {
+        return this.refRows.length;
+    }
+
+    @Override
+    public String toString() {
+        return "FormulaTemplate[" + this.formula + "]";
+    }
+
+    /**
+     * A parser for the references of a formula: finds the {@code .A1}, {@code .$A1}, ... parts of
+     * the bracketed references, outside of the string literals and of the quoted table names.
+     */
+    private static class Parser {
+        private final XMLUtil xmlUtil;
+        private final String formula;
+        private final List<String> fragments;
+        private final List<int[]> refs;
+        private int fragmentStart;
+
+        Parser(final XMLUtil xmlUtil, final String formula) {
+            this.xmlUtil = xmlUtil;
+            this.formula = formula;
+            this.fragments = new ArrayList<String>();
+            this.refs = new ArrayList<int[]>();
+        }
+
+        FormulaTemplate parse(final int anchorRowIndex, final int anchorColumnIndex)
+                throws ParseException {
+            final int length = this.formula.length();
+            int i = 0;
+            while (i < length) {
+                final char c = this.formula.charAt(i);
+                if (c == '"') {
+                    i = this.skipQuoted(i, '"');
+                } else if (c == '[') {
+                    i = this.parseBracket(i + 1, anchorRowIndex, anchorColumnIndex);
+                } else {
+                    i++;
+                }
+            }
+            this.fragments.add(this.formula.substring(this.fragmentStart));
+
+            final int count = this.refs.size();
+            final String[] rawFragments = this.fragments.toArray(new String[count + 1]);
+            final char[][] escapedFragments = new char[count + 1][];
+            for (int j = 0; j <= count; j++) {
+                escapedFragments[j] =
+                        this.xmlUtil.escapeXMLAttribute(rawFragments[j]).toCharArray();
+            }
+            final int[] refRows = new int[count];
+            final int[] refCols = new int[count];
+            final int[] refStatuses = new int[count];
+            for (int j = 0; j < count; j++) {
+                final int[] ref = this.refs.get(j);
+                refRows[j] = ref[0];
+                refCols[j] = ref[1];
+                refStatuses[j] = ref[2];
+            }
+            return new FormulaTemplate(this.formula, rawFragments, escapedFragments, refRows, refCols,
+                    refStatuses);
+        }
+
+        /**
+         * @param start the index of the opening quote
+         * @param quote the quote char
+         * @return the index after the closing quote
+         * @throws ParseException if the quote is not closed
+         */
+        private int skipQuoted(final int start, final char quote) throws ParseException {
+            int i = start + 1;
+            final int length = this.formula.length();
+            while (i < length) {
+                if (this.formula.charAt(i) == quote) {
+                    if (i + 1 < length && this.formula.charAt(i + 1) == quote) {
+                        i += 2; // escaped quote
+                        continue;
+                    }
+                    return i + 1;
+                }
+                i++;
+            }
+            throw new ParseException("Missing closing quote: " + this.formula, start);
+        }
+
+        private int parseBracket(final int start, final int anchorRowIndex,
+                                 final int anchorColumnIndex) throws ParseException {
+            int i = start;
+            final int length = this.formula.length();
+            while (i < length) {
+                final char c = this.formula.charAt(i);
+                if (c == ']') {
+                    return i + 1;
+                } else if (c == '\'') {
+                    i = this.skipQuoted(i, '\'');
+                } else if (c == CellRef.TABLE_CELL_SEP) {
+                    i = this.parseLocalAddress(i + 1, anchorRowIndex, anchorColumnIndex);
+                } else {
+                    i++;
+                }
+            }
+            throw new ParseException("Missing closing bracket: " + this.formula, start - 1);
+        }
+
+        /**
+         * Parse a [$]COL[$]ROW address. If the text is not an address (e.g. a whole column),
+         * it is kept as is.
+         */
+        private int parseLocalAddress(final int start, final int anchorRowIndex,
+                                      final int anchorColumnIndex) {
+            final int length = this.formula.length();
+            int i = start;
+            int status = CellRef.RELATIVE;
+            if (i < length && this.formula.charAt(i) == '$') {
+                status |= CellRef.ABSOLUTE_COL;
+                i++;
+            }
+            int col = 0;
+            final int colStart = i;
+            while (i < length && 'A' <= this.formula.charAt(i) && this.formula.charAt(i) <= 'Z') {
+                col = col * PositionUtil.ALPHABET_SIZE + this.formula.charAt(i) -
+                        PositionUtil.ORD_A + 1;
+                i++;
+            }
+            if (i == colStart) {
+                return i;
+            }
+            if (i < length && this.formula.charAt(i) == '$') {
+                status |= CellRef.ABSOLUTE_ROW;
+                i++;
+            }
+            int row = 0;
+            final int rowStart = i;
+            while (i < length && '0' <= this.formula.charAt(i) && this.formula.charAt(i) <= '9') {
+                row = row * 10 + this.formula.charAt(i) - '0';
+                i++;
+            }
+            if (i == rowStart || row == 0) {
+                return i;
+            }
+            col--;
+            row--;
+            this.fragments.add(this.formula.substring(this.fragmentStart, start));
+            this.fragmentStart = i;
+            this.refs.add(new int[]{
+                    (status & CellRef.ABSOLUTE_ROW) == 0 ? row - anchorRowIndex : row,
+                    (status & CellRef.ABSOLUTE_COL) == 0 ? col - anchorColumnIndex : col,
+                    status});
+            return i;
+        }
+    }
+}
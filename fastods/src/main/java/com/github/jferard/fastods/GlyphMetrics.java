@@ -0,0 +1,157 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.style.LOFonts;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Approximate glyph metrics of the fonts of LOFonts. A character is classified (digit, narrow,
+ * lowercase, uppercase, wide, ideographic...) and gets the average advance of its class in the
+ * Liberation Sans font (metrically compatible with Arial), scaled by a factor that depends on
+ * the font. Monospaced fonts have a single advance.
+ *
+ * @author J. Férard
+ */
+final class GlyphMetrics {
+    /**
+     * The metrics of the default font of LibreOffice Calc, Liberation Sans.
+     */
+    static final GlyphMetrics DEFAULT = new GlyphMetrics(1.0, false);
+
+    private static final double BOLD_FACTOR = 1.06;
+    private static final double MONOSPACE_ADVANCE = 0.6;
+    private static final double DIGIT_ADVANCE = 0.556;
+    private static final double NARROW_ADVANCE = 0.25;
+    private static final double LOWERCASE_ADVANCE = 0.54;
+    private static final double UPPERCASE_ADVANCE = 0.68;
+    private static final double WIDE_ADVANCE = 0.87;
+    private static final double SYMBOL_ADVANCE = 0.584;
+    private static final double OTHER_ADVANCE = 0.6;
+    private static final double FULL_WIDTH_ADVANCE = 1.0;
+    private static final String NARROW_CHARS = " ijlftrI.,:;'!|()[]-/\\`";
+    private static final String WIDE_CHARS = "mwMW@%";
+    private static final Map<String, GlyphMetrics> METRICS_BY_FONT_NAME;
+
+    static {
+        METRICS_BY_FONT_NAME = new HashMap<String, GlyphMetrics>();
+        addProportional(LOFonts.CALADEA, 0.93);
+        addProportional(LOFonts.CARLITO, 0.9);
+        addProportional(LOFonts.DEJAVU_SANS, 1.1);
+        addProportional(LOFonts.DEJAVU_SANS_CONDENSED, 0.99);
+        addMonospace(LOFonts.DEJAVU_SANS_MONO);
+        addProportional(LOFonts.DEJAVU_SERIF, 1.08);
+        addProportional(LOFonts.DEJAVU_SERIF_CONDENSED, 0.97);
+        addProportional(LOFonts.GENTIUM_BASIC, 0.92);
+        addProportional(LOFonts.GENTIUM_BOOK_BASIC, 0.94);
+        addMonospace(LOFonts.LIBERATION_MONO);
+        METRICS_BY_FONT_NAME.put(LOFonts.LIBERATION_SANS, DEFAULT);
+        addProportional(LOFonts.LIBERATION_SANS_NARROW, 0.82);
+        addProportional(LOFonts.LIBERATION_SERIF, 0.92);
+        addProportional(LOFonts.LINUX_BIOLINUM_G, 0.9);
+        addProportional(LOFonts.LINUX_LIBERTINE_DISPLAY_G, 0.88);
+        addProportional(LOFonts.LINUX_LIBERTINE_G, 0.9);
+        addProportional(LOFonts.OPENSYMBOL, 1.0);
+        addProportional(LOFonts.NOTO_SANS, 1.03);
+        addMonospace(LOFonts.SOURCE_CODE_PRO);
+        addProportional(LOFonts.SOURCE_SANS_PRO, 0.9);
+        addProportional(LOFonts.SOURCE_SERIF_PRO, 0.97);
+    }
+
+    private static void addProportional(final String fontName, final double scale) {
+        METRICS_BY_FONT_NAME.put(fontName, new GlyphMetrics(scale, false));
+    }
+
+    private static void addMonospace(final String fontName) {
+        METRICS_BY_FONT_NAME.put(fontName, new GlyphMetrics(1.0, true));
+    }
+
+    /**
+     * @param fontName the name of the font, or null
+     * @return the metrics of this font, or the metrics of the default font if the font is unknown
+     */
+    static GlyphMetrics forFont(final String fontName) {
+        if (fontName == null) {
+            return DEFAULT;
+        }
+        final GlyphMetrics metrics = METRICS_BY_FONT_NAME.get(fontName);
+        if (metrics == null) {
+            return DEFAULT;
+        }
+        return metrics;
+    }
+
+    private final double scale;
+    private final boolean monospace;
+
+    private GlyphMetrics(final double scale, final boolean monospace) {
+        this.scale = scale;
+        this.monospace = monospace;
+    }
+
+    /**
+     * @param text the text
+     * @param bold true if the text is bold
+     * @return the approximate width of the text, in em
+     */
+    double getWidth(final CharSequence text, final boolean bold) {
+        double width = 0;
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            width += this.getAdvance(text.charAt(i));
+        }
+        width *= this.scale;
+        if (bold) {
+            width *= BOLD_FACTOR;
+        }
+        return width;
+    }
+
+    private double getAdvance(final char c) {
+        if (c >= '\u2e80' && c < '\ud800' || c >= '\uff00' && c <= '\uff60') {
+            return FULL_WIDTH_ADVANCE; // CJK and full width forms
+        } else if (this.monospace) {
+            return MONOSPACE_ADVANCE;
+        } else if (c >= '0' && c <= '9') {
+            return DIGIT_ADVANCE;
+        } else if (NARROW_CHARS.indexOf(c) >= 0) {
+            return NARROW_ADVANCE;
+        } else if (WIDE_CHARS.indexOf(c) >= 0) {
+            return WIDE_ADVANCE;
+        } else if (c >= 'a' && c <= 'z') {
+            return LOWERCASE_ADVANCE;
+        } else if (c >= 'A' && c <= 'Z') {
+            return UPPERCASE_ADVANCE;
+        } else if (c < 0x80) {
+            return SYMBOL_ADVANCE;
+        } else if (Character.isUpperCase(c)) {
+            return UPPERCASE_ADVANCE;
+        } else {
+            return OTHER_ADVANCE;
+        }
+    }
+}
@@ -38,6 +38,7 @@ import com.github.jferard.fastods.style.TableCellStyle;
 import com.github.jferard.fastods.util.*;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -154,6 +155,11 @@ public class NamedOdsDocument implements OdsDocument, StylesContainer {
         this.commonOdsDocument.setViewSetting(viewId, item, value);
     }
 
+    @Override
+    public void setAutoCalculate(final boolean autoCalculate) {
+        this.commonOdsDocument.setAutoCalculate(autoCalculate);
+    }
+
     @Override
     public int tableCount() {
         return this.commonOdsDocument.tableCount();
@@ -306,6 +312,35 @@ public class NamedOdsDocument implements OdsDocument, StylesContainer {
         this.commonOdsDocument.addExtraFile(fullPath, mediaType, bytes);
     }
 
+    @Override
+    public void addExtraFile(final String fullPath, final String mediaType, final Path path) {
+        this.commonOdsDocument.addExtraFile(fullPath, mediaType, path);
+    }
+
+    @Override
+    public void addExtraFile(final String fullPath, final String mediaType,
+                             final InputStreamSupplier supplier) {
+        this.commonOdsDocument.addExtraFile(fullPath, mediaType, supplier);
+    }
+
+    @Override
+    public String addSharedExtraFile(final String fullPath, final String mediaType,
+                                     final byte[] bytes) {
+        return this.commonOdsDocument.addSharedExtraFile(fullPath, mediaType, bytes);
+    }
+
+    @Override
+    public String addSharedExtraFile(final String fullPath, final String mediaType,
+                                     final Path path) throws IOException {
+        return this.commonOdsDocument.addSharedExtraFile(fullPath, mediaType, path);
+    }
+
+    @Override
+    public String addSharedExtraFile(final String fullPath, final String mediaType,
+                                     final InputStreamSupplier supplier) throws IOException {
+        return this.commonOdsDocument.addSharedExtraFile(fullPath, mediaType, supplier);
+    }
+
     @Override
     public void addExtraDir(final String fullPath) {
         this.commonOdsDocument.addExtraDir(fullPath);
@@ -0,0 +1,124 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.util.ByteQueueOutputStream;
+import com.github.jferard.fastods.util.XMLUtil;
+import com.github.jferard.fastods.util.ZipUTF8Writer;
+import com.github.jferard.fastods.util.ZipUTF8WriterBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.logging.Logger;
+
+/**
+ * A pull source of the bytes of an ODS file, driven by the consumer. Each call to
+ * {@link #next(ByteBuffer)} returns the pending bytes, and asks the {@link OdsRowProducer} for
+ * more rows only if no byte is pending. Hence the row production pauses while the client is
+ * slow, without blocking any thread: a non blocking server calls {@code next} when the
+ * client channel is ready for writing.
+ * <p>
+ * The pending bytes are bounded by the output of one production step (the rows of a batch,
+ * compressed) and by the buffers of the zip writer.
+ *
+ * @author J. Férard
+ */
+public class OdsChunkSource {
+    /**
+     * Create a new source. The document is prepared immediately.
+     *
+     * @param logger     the logger
+     * @param document   the document
+     * @param zipBuilder a builder for the zip writer
+     * @param producer   the producer of rows
+     * @return the source
+     * @throws IOException if an I/O error occurs
+     */
+    static OdsChunkSource create(final Logger logger, final NamedOdsDocument document,
+                                 final ZipUTF8WriterBuilder zipBuilder,
+                                 final OdsRowProducer producer) throws IOException {
+        final ByteQueueOutputStream queue = new ByteQueueOutputStream();
+        final ZipUTF8Writer zipWriter = zipBuilder.build(queue);
+        final NamedOdsFileWriter writer =
+                new OdsFileDirectWriter(logger, XMLUtil.create(), document, zipWriter);
+        document.addObserver(writer);
+        document.prepare();
+        return new OdsChunkSource(document, queue, zipWriter, producer);
+    }
+
+    private final NamedOdsDocument document;
+    private final ByteQueueOutputStream queue;
+    private final ZipUTF8Writer zipWriter;
+    private final OdsRowProducer producer;
+    private boolean producing;
+    private boolean saved;
+
+    /**
+     * @param document  the document
+     * @param queue     the pending bytes
+     * @param zipWriter the zip writer, that writes into the queue
+     * @param producer  the producer of rows
+     */
+    OdsChunkSource(final NamedOdsDocument document, final ByteQueueOutputStream queue,
+                   final ZipUTF8Writer zipWriter, final OdsRowProducer producer) {
+        this.document = document;
+        this.queue = queue;
+        this.zipWriter = zipWriter;
+        this.producer = producer;
+        this.producing = true;
+        this.saved = false;
+    }
+
+    /**
+     * Fill the buffer with the next bytes of the file. If no byte is pending, produce rows until
+     * some bytes are available or the file is complete.
+     *
+     * @param buffer the destination
+     * @return the number of bytes put in the buffer (0 if the buffer is full), or -1 if the file
+     * is complete
+     * @throws IOException if an I/O error occurs
+     */
+    public int next(final ByteBuffer buffer) throws IOException {
+        while (this.queue.isEmpty()) {
+            if (this.producing) {
+                this.producing = this.producer.produce(this.document);
+                this.zipWriter.flush();
+            } else if (!this.saved) {
+                this.document.save();
+                this.saved = true;
+            } else {
+                return -1;
+            }
+        }
+        return this.queue.drainTo(buffer);
+    }
+
+    /**
+     * @return the number of pending bytes
+     */
+    public int pendingBytes() {
+        return this.queue.size();
+    }
+}
@@ -27,10 +27,12 @@ package com.github.jferard.fastods;
 import com.github.jferard.fastods.odselement.ScriptEventListener;
 import com.github.jferard.fastods.odselement.StylesModeSetter;
 import com.github.jferard.fastods.util.AutoFilter;
+import com.github.jferard.fastods.util.InputStreamSupplier;
 import com.github.jferard.fastods.util.NamedRange;
 import com.github.jferard.fastods.util.PilotTable;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 
 /**
@@ -168,6 +170,15 @@ public interface OdsDocument extends StylesModeSetter {
      */
     void setViewSetting(String viewId, String item, String value);
 
+    /**
+     * Set the AutoCalculate setting of the document. Use false if all formula cells have a
+     * cached result (see {@link TableCell#setFormula(String, CellValue)}) to prevent the
+     * recalculation of the formulas when the document is loaded.
+     *
+     * @param autoCalculate true if the formulas should be recalculated automatically
+     */
+    void setAutoCalculate(boolean autoCalculate);
+
     /**
      * Gets the number of the last table.
      *
@@ -205,6 +216,64 @@ public interface OdsDocument extends StylesModeSetter {
      */
     void addExtraFile(final String fullPath, final String mediaType, final byte[] bytes);
 
+    /**
+     * Add an extra file to the document. The file is not read before the document is written:
+     * it must exist until then. PNG, JPEG and ZIP files are STORED.
+     *
+     * @param fullPath  the path of the file in the sequence
+     * @param mediaType the MIME type of the file
+     * @param path      the path of the source file
+     */
+    void addExtraFile(final String fullPath, final String mediaType, final Path path);
+
+    /**
+     * Add an extra file to the document. The supplier is not opened before the document is
+     * written. PNG, JPEG and ZIP files are STORED: the supplier is opened twice.
+     *
+     * @param fullPath  the path of the file in the sequence
+     * @param mediaType the MIME type of the file
+     * @param supplier  the source of the content
+     */
+    void addExtraFile(final String fullPath, final String mediaType,
+                      final InputStreamSupplier supplier);
+
+    /**
+     * Add an extra file to the document, unless a file with the same content was already
+     * added by a `addSharedExtraFile` method. Use the returned path to refer to the file.
+     *
+     * @param fullPath  the path of the file in the sequence
+     * @param mediaType the MIME type of the file
+     * @param bytes     the content
+     * @return the path of the file that holds the content: fullPath or a previous path
+     */
+    String addSharedExtraFile(final String fullPath, final String mediaType, final byte[] bytes);
+
+    /**
+     * Add an extra file to the document, unless a file with the same content was already
+     * added by a `addSharedExtraFile` method. Use the returned path to refer to the file.
+     *
+     * @param fullPath  the path of the file in the sequence
+     * @param mediaType the MIME type of the file
+     * @param path      the path of the source file
+     * @return the path of the file that holds the content: fullPath or a previous path
+     * @throws IOException if the file can't be read
+     */
+    String addSharedExtraFile(final String fullPath, final String mediaType, final Path path)
+            throws IOException;
+
+    /**
+     * Add an extra file to the document, unless a file with the same content was already
+     * added by a `addSharedExtraFile` method. Use the returned path to refer to the file.
+     *
+     * @param fullPath  the path of the file in the sequence
+     * @param mediaType the MIME type of the file
+     * @param supplier  the source of the content
+     * @return the path of the file that holds the content: fullPath or a previous path
+     * @throws IOException if the content can't be read
+     */
+    String addSharedExtraFile(final String fullPath, final String mediaType,
+                              final InputStreamSupplier supplier) throws IOException;
+
     /**
      * Add an extra directory to the manifest.
      *
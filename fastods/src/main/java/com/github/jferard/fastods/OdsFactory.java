@@ -54,6 +54,8 @@ public class OdsFactory {
     private DataStyles format;
     private boolean libreOfficeMode;
     private MetaElement metaElement;
+    private FlushPolicy flushPolicy;
+
     /**
      * Create a new OdsFactory
      *
@@ -65,11 +67,12 @@ public class OdsFactory {
      * @param format                      the data styles
      * @param libreOfficeMode             try to get full compatibility with LO if true
      * @param metaElement                 the meta element
+     * @param flushPolicy                 the flush policy of the tables (flush mode only)
      */
     OdsFactory(final Logger logger, final PositionUtil positionUtil, final IntegerRepresentationCache cache,
                final XMLUtil xmlUtil, final Map<String, String> additionalNamespaceByPrefix,
                final DataStyles format, final boolean libreOfficeMode,
-               final MetaElement metaElement) {
+               final MetaElement metaElement, final FlushPolicy flushPolicy) {
         this.logger = logger;
         this.positionUtil = positionUtil;
         this.cache = cache;
@@ -78,6 +81,7 @@ public class OdsFactory {
         this.format = format;
         this.libreOfficeMode = libreOfficeMode;
         this.metaElement = metaElement;
+        this.flushPolicy = flushPolicy;
     }
 
     /**
@@ -183,6 +187,7 @@ public class OdsFactory {
         final OdsElements odsElements = OdsElements
                 .create(this.positionUtil, this.xmlUtil, this.cache, this.format,
                         this.libreOfficeMode, this.metaElement, this.additionalNamespaceByPrefix);
+        odsElements.setFlushPolicy(this.flushPolicy);
         return NamedOdsDocument.create(this.logger, this.xmlUtil, odsElements);
     }
 
@@ -229,6 +234,27 @@ public class OdsFactory {
         return writer;
     }
 
+    /**
+     * Create a writer that fills a sheet of a template. The returned table has the name of the
+     * sheet. See {@link TemplateOdsFileWriter}.
+     *
+     * @param template  the template file
+     * @param sheetName the name of the sheet to fill
+     * @return the template writer
+     * @throws IOException if an I/O error occurs
+     */
+    public TemplateOdsFileWriter createTemplateWriter(final File template, final String sheetName)
+            throws IOException {
+        final OdsElements odsElements = OdsElements
+                .create(this.positionUtil, this.xmlUtil, this.cache, this.format,
+                        this.libreOfficeMode, this.metaElement, this.additionalNamespaceByPrefix);
+        final AnonymousOdsDocument document =
+                AnonymousOdsDocument.create(this.logger, this.xmlUtil, odsElements);
+        final Table table = document.addTable(sheetName);
+        return TemplateOdsFileWriter.create(this.logger, this.xmlUtil, odsElements, document,
+                table, template);
+    }
+
     /**
      * Create an adapter for a writer.
      *
@@ -247,6 +273,34 @@ public class OdsFactory {
         return writerAdapter;
     }
 
+    /**
+     * Create a pull source of the bytes of a new ODS file: the consumer asks for the bytes, and
+     * the rows are produced on demand. See {@link OdsChunkSource}.
+     *
+     * @param producer the producer of rows
+     * @return the source
+     * @throws IOException if an I/O error occurs
+     */
+    public OdsChunkSource createChunkSource(final OdsRowProducer producer) throws IOException {
+        return this.createChunkSource(producer, ZipUTF8WriterImpl.builder().noZipBuffer());
+    }
+
+    /**
+     * Create a pull source of the bytes of a new ODS file: the consumer asks for the bytes, and
+     * the rows are produced on demand. See {@link OdsChunkSource}.
+     *
+     * @param producer   the producer of rows
+     * @param zipBuilder a builder for the zip writer (buffers, level, sync flush...)
+     * @return the source
+     * @throws IOException if an I/O error occurs
+     */
+    public OdsChunkSource createChunkSource(final OdsRowProducer producer,
+                                           final ZipUTF8WriterBuilderImpl zipBuilder)
+            throws IOException {
+        final NamedOdsDocument document = this.createNamedDocument();
+        return OdsChunkSource.create(this.logger, document, zipBuilder, producer);
+    }
+
     /**
      * the file state
      *
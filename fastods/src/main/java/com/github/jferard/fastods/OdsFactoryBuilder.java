@@ -46,6 +46,7 @@ public class OdsFactoryBuilder {
     private DataStyles format;
     private boolean libreOfficeMode;
     private MetaElement metaElement;
+    private FlushPolicy flushPolicy;
 
     public OdsFactoryBuilder(final Logger logger, final Locale locale) {
         this.logger = logger;
@@ -57,12 +58,13 @@ public class OdsFactoryBuilder {
         this.format = DataStylesBuilder.create(locale).build();
         this.libreOfficeMode = true;
         this.metaElement = MetaElement.create();
+        this.flushPolicy = FlushPolicy.DEFAULT;
     }
 
     public OdsFactory build() {
         return new OdsFactory(this.logger, this.positionUtil, this.cache, this.xmlUtil,
-                this.additionalNamespaceByPrefix, this.format, this.libreOfficeMode, this.metaElement
-        );
+                this.additionalNamespaceByPrefix, this.format, this.libreOfficeMode, this.metaElement,
+                this.flushPolicy);
     }
 
     /**
@@ -76,6 +78,18 @@ public class OdsFactoryBuilder {
         return this;
     }
 
+    /**
+     * Set the policy that decides when the rows of the tables are flushed. Only relevant for
+     * the writers created with a file name (flush mode).
+     *
+     * @param flushPolicy the policy
+     * @return this for fluent style
+     */
+    public OdsFactoryBuilder flushPolicy(final FlushPolicy flushPolicy) {
+        this.flushPolicy = flushPolicy;
+        return this;
+    }
+
     /**
      * Disable the LibreOffice mode. The LibreOffice mode adds a style to every cell, to force
      * LibreOffice to render the cell styles correctly.
@@ -28,6 +28,7 @@ import com.github.jferard.fastods.util.XMLUtil;
 import com.github.jferard.fastods.util.ZipUTF8Writer;
 
 import java.io.IOException;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -55,6 +56,9 @@ public class OdsFileDirectWriter implements NamedOdsFileWriter {
     private final Logger logger;
     private final ZipUTF8Writer writer;
     private final XMLUtil xmlUtil;
+    private int flushCount;
+    private long flushedRowCount;
+    private long flushedCharCount;
 
     /**
      * Create a new ODS file.
@@ -91,5 +95,36 @@ public class OdsFileDirectWriter implements NamedOdsFileWriter {
     @Override
     public void update(final OdsAsyncFlusher flusher) throws IOException {
         flusher.flushInto(this.xmlUtil, this.writer);
+        if (flusher instanceof PreprocessedRowsFlusher) {
+            final PreprocessedRowsFlusher rowsFlusher = (PreprocessedRowsFlusher) flusher;
+            this.flushCount++;
+            this.flushedRowCount += rowsFlusher.getRowCount();
+            this.flushedCharCount += rowsFlusher.getCharCount();
+            if (this.logger.isLoggable(Level.FINE)) {
+                this.logger.log(Level.FINE, "Flushed {0} rows ({1} chars)", new Object[]{
+                        rowsFlusher.getRowCount(), rowsFlusher.getCharCount()});
+            }
+        }
+    }
+
+    /**
+     * @return the number of intermediate row flushes
+     */
+    public int getFlushCount() {
+        return this.flushCount;
+    }
+
+    /**
+     * @return the number of rows written by the intermediate flushes
+     */
+    public long getFlushedRowCount() {
+        return this.flushedRowCount;
+    }
+
+    /**
+     * @return the number of chars written by the intermediate flushes
+     */
+    public long getFlushedCharCount() {
+        return this.flushedCharCount;
     }
 }
\ No newline at end of file
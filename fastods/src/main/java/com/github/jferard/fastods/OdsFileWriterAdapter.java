@@ -27,6 +27,11 @@ package com.github.jferard.fastods;
 import java.io.IOException;
 import java.util.LinkedList;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Logger;
 
 /**
@@ -44,6 +49,9 @@ import java.util.logging.Logger;
  * }
  * this.writerAdapter.flushAdaptee();
  * </pre>
+ * <p>
+ * or {@link #flushUntilEnd()} and {@link #flushUntilEndAsync(Executor)}. The adapter uses
+ * {@code java.util.concurrent.locks} and does not block while holding a monitor.
  *
  * @author Julien Férard
  * @author Martin Schulz
@@ -62,6 +70,15 @@ public class OdsFileWriterAdapter implements NamedOdsFileWriter {
     private final Logger logger;
     private final NamedOdsFileWriter adaptee;
     private final Queue<OdsAsyncFlusher> flushers;
+    /**
+     * guards the queue and the stopped flag. Never held during an I/O operation.
+     */
+    private final Lock lock;
+    private final Condition dataOrStop;
+    /**
+     * serializes the flushes to the adaptee
+     */
+    private final Lock flushLock;
     private boolean stopped;
 
     /**
@@ -76,6 +93,9 @@ public class OdsFileWriterAdapter implements NamedOdsFileWriter {
         this.logger = logger;
         this.adaptee = adaptee;
         this.flushers = flushers;
+        this.lock = new ReentrantLock();
+        this.dataOrStop = this.lock.newCondition();
+        this.flushLock = new ReentrantLock();
     }
 
     @Override
@@ -88,14 +108,19 @@ public class OdsFileWriterAdapter implements NamedOdsFileWriter {
     }
 
     @Override
-    public synchronized void save() {
+    public void save() {
     }
 
     @Override
-    public synchronized void update(final OdsAsyncFlusher flusher) {
-        this.flushers.add(flusher);
-        this.logger.fine("Add new flusher: " + flusher);
-        this.notifyAll();
+    public void update(final OdsAsyncFlusher flusher) {
+        this.lock.lock();
+        try {
+            this.flushers.add(flusher);
+            this.logger.fine("Add new flusher: " + flusher);
+            this.dataOrStop.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
     }
 
     /**
@@ -104,46 +129,119 @@ public class OdsFileWriterAdapter implements NamedOdsFileWriter {
      *
      * @throws IOException if the adaptee throws an IOException
      */
-    public synchronized void flushAdaptee() throws IOException {
-        OdsAsyncFlusher flusher = this.flushers.poll();
-        this.logger.fine("Retrieve first flusher: " + flusher);
-        if (flusher == null) {
-            this.notifyAll(); // wakes up other threads: no flusher available
-            return;
+    public void flushAdaptee() throws IOException {
+        this.flushLock.lock();
+        try {
+            OdsAsyncFlusher flusher = this.poll("Retrieve first flusher: ");
+            while (flusher != null) {
+                this.adaptee.update(flusher);
+                if (flusher.isEnd()) {
+                    this.stop();
+                    return;
+                }
+                flusher = this.poll("Retrieve next flusher: ");
+            }
+        } finally {
+            this.flushLock.unlock();
         }
+    }
 
-        while (flusher != null) {
-            this.adaptee.update(flusher);
-            if (flusher.isEnd()) {
-                this.stopped = true;
-                this.notifyAll(); // wakes up other threads: end of game
-                return;
+    private OdsAsyncFlusher poll(final String message) {
+        this.lock.lock();
+        try {
+            final OdsAsyncFlusher flusher = this.flushers.poll();
+            this.logger.fine(message + flusher);
+            if (flusher == null) {
+                this.dataOrStop.signalAll(); // wakes up other threads: no flusher left
             }
-            flusher = this.flushers.poll();
-            this.logger.fine("Retrieve next flusher: " + flusher);
+            return flusher;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void stop() {
+        this.lock.lock();
+        try {
+            this.stopped = true;
+            this.dataOrStop.signalAll(); // wakes up other threads: end of game
+        } finally {
+            this.lock.unlock();
         }
-        this.notifyAll(); // wakes up other threads: no flusher left
     }
 
     /**
      * @return true if the adapter is stopped
      */
-    public synchronized boolean isNotStopped() {
-        return !this.stopped;
+    public boolean isNotStopped() {
+        this.lock.lock();
+        try {
+            return !this.stopped;
+        } finally {
+            this.lock.unlock();
+        }
     }
 
     /**
      * wait for the data
      */
-    public synchronized void waitForData() {
-        while (this.flushers.isEmpty() && this.isNotStopped()) {
-            try {
-                this.wait();
-            } catch (final InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException(e);
+    public void waitForData() {
+        this.lock.lock();
+        try {
+            while (this.flushers.isEmpty() && !this.stopped) {
+                try {
+                    this.dataOrStop.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                }
             }
+        } finally {
+            this.lock.unlock();
         }
     }
 
+    /**
+     * Flushes the data until the end of the document. This is the consumer loop:
+     * <pre>
+     * while (this.writerAdapter.isNotStopped()) {
+     *     this.writerAdapter.waitForData();
+     *     this.writerAdapter.flushAdaptee();
+     * }
+     * this.writerAdapter.flushAdaptee();
+     * </pre>
+     *
+     * @throws IOException if the adaptee throws an IOException
+     */
+    public void flushUntilEnd() throws IOException {
+        while (this.isNotStopped()) {
+            this.waitForData();
+            this.flushAdaptee();
+        }
+        this.flushAdaptee();
+    }
+
+    /**
+     * Run the consumer loop on an executor. Since the adapter does not hold any monitor, the
+     * executor may run the task on a virtual thread.
+     *
+     * @param executor the executor
+     * @return a future completed when the document was written, or exceptionally if an
+     * exception or an error was thrown.
+     */
+    public CompletableFuture<Void> flushUntilEndAsync(final Executor executor) {
+        final CompletableFuture<Void> future = new CompletableFuture<Void>();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    OdsFileWriterAdapter.this.flushUntilEnd();
+                    future.complete(null);
+                } catch (final Throwable t) { // including Errors, e.g. OutOfMemoryError
+                    future.completeExceptionally(t);
+                }
+            }
+        });
+        return future;
+    }
 }
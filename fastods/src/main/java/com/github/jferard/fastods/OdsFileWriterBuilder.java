@@ -24,6 +24,8 @@
 
 package com.github.jferard.fastods;
 
+import com.github.jferard.fastods.util.AsynchronousFileChannelOutputStream;
+import com.github.jferard.fastods.util.ChannelOutputStream;
 import com.github.jferard.fastods.util.FileOpen;
 import com.github.jferard.fastods.util.FileOpenResult;
 import com.github.jferard.fastods.util.XMLUtil;
@@ -34,6 +36,8 @@ import com.github.jferard.fastods.util.ZipUTF8WriterImpl;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.OutputStream;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.logging.Logger;
 
 /**
@@ -97,6 +101,27 @@ public class OdsFileWriterBuilder {
         return this;
     }
 
+    /**
+     * @param channel where to write. The writes are blocking: if the channel is a selectable
+     *                non-blocking channel, the writer thread waits until the channel is ready.
+     *                For a demand driven output, see {@link OdsChunkSource}.
+     * @return this for fluent style
+     */
+    public OdsFileWriterBuilder channel(final WritableByteChannel channel) {
+        this.out = new ChannelOutputStream(channel);
+        return this;
+    }
+
+    /**
+     * @param channel where to write, from position 0. A block is written to the file while
+     *                the next one is compressed.
+     * @return this for fluent style
+     */
+    public OdsFileWriterBuilder channel(final AsynchronousFileChannel channel) {
+        this.out = new AsynchronousFileChannelOutputStream(channel);
+        return this;
+    }
+
     /**
      * Locks the file
      *
@@ -0,0 +1,45 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import java.io.IOException;
+
+/**
+ * A producer of rows, called by an {@link OdsChunkSource} each time the consumer needs bytes
+ * and no byte is pending. Each call should add a small batch of rows to the document: the
+ * rows are flushed according to the flush policy of the table.
+ *
+ * @author J. Férard
+ */
+public interface OdsRowProducer {
+    /**
+     * Add the next rows to the document.
+     *
+     * @param document the document
+     * @return false if the document is complete, true otherwise
+     * @throws IOException if an I/O error occurs
+     */
+    boolean produce(NamedOdsDocument document) throws IOException;
+}
@@ -27,11 +27,9 @@ package com.github.jferard.fastods;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
-import java.util.Iterator;
 import java.util.List;
 
 public class PreambleAppender {
-    private static final int MAX_COLUMN_COUNT = 1024;
     private final TableModel model;
 
     public PreambleAppender(final TableModel model) {
@@ -69,54 +67,45 @@ public class PreambleAppender {
 
     public void appendColumns(final XMLUtil xmlUtil, final Appendable appendable)
             throws IOException {
-        final Iterator<TableColumnImpl> iterator = this.model.getColumns().iterator();
-        if (!iterator.hasNext()) {
+        final TableColumns columns = this.model.getColumns();
+        final int runCount = columns.getRunCount();
+        if (runCount == 0) {
             TableColumnImpl.DEFAULT_TABLE_COLUMN
-                    .appendXMLToTable(xmlUtil, appendable, MAX_COLUMN_COUNT);
+                    .appendXMLToTable(xmlUtil, appendable, columns.getColumnCount());
             return;
         }
 
-        int headerColumnsCount = this.model.getHeaderColumnsCount();
+        final int headerColumnsCount = this.model.getHeaderColumnsCount();
         if (headerColumnsCount > 0) {
             appendable.append("<table:table-header-columns>");
         }
-        int count = 1;
-        int endCount = MAX_COLUMN_COUNT;
-        TableColumnImpl curColumn = iterator.next(); // will be shifted to prevTCS
-        if (curColumn == null) {
-            curColumn = TableColumnImpl.DEFAULT_TABLE_COLUMN;
-        }
-        while (iterator.hasNext()) {
-            headerColumnsCount--;
-            final TableColumnImpl prevColumn = curColumn;
-            curColumn = iterator.next();
-            if (curColumn == null) {
-                curColumn = TableColumnImpl.DEFAULT_TABLE_COLUMN;
+        int start = 0;
+        for (int run = 0; run < runCount; run++) {
+            final int end = columns.getRunEnd(run);
+            TableColumnImpl column = columns.getRunColumn(run);
+            if (column == null) {
+                column = TableColumnImpl.DEFAULT_TABLE_COLUMN;
             }
-
-            if (headerColumnsCount == 0) {
-                prevColumn.appendXMLToTable(xmlUtil, appendable, count);
-                endCount -= count;
-                count = 1;
+            if (start < headerColumnsCount && headerColumnsCount <= end) {
+                column.appendXMLToTable(xmlUtil, appendable, headerColumnsCount - start);
                 appendable.append("</table:table-header-columns>");
-            } else if (curColumn.equals(prevColumn)) {
-                count++;
-            } else {
-                prevColumn.appendXMLToTable(xmlUtil, appendable, count);
-                endCount -= count;
-                count = 1;
+                start = headerColumnsCount;
+            }
+            if (start < end) {
+                column.appendXMLToTable(xmlUtil, appendable, end - start);
+                start = end;
             }
         }
-        headerColumnsCount--;
-        curColumn.appendXMLToTable(xmlUtil, appendable, count);
-        endCount -= count;
-        if (headerColumnsCount == 0) {
-            appendable.append("</table:table-header-columns>");
-        } else if (headerColumnsCount > 0) {
-            TableColumnImpl.DEFAULT_TABLE_COLUMN.appendXMLToTable(xmlUtil, appendable, headerColumnsCount);
-            endCount -= headerColumnsCount;
+        if (start < headerColumnsCount) {
+            TableColumnImpl.DEFAULT_TABLE_COLUMN
+                    .appendXMLToTable(xmlUtil, appendable, headerColumnsCount - start);
             appendable.append("</table:table-header-columns>");
+            start = headerColumnsCount;
+        }
+        final int trailingCount = columns.getColumnCount() - start;
+        if (trailingCount > 0) {
+            TableColumnImpl.DEFAULT_TABLE_COLUMN
+                    .appendXMLToTable(xmlUtil, appendable, trailingCount);
         }
-        TableColumnImpl.DEFAULT_TABLE_COLUMN.appendXMLToTable(xmlUtil, appendable, endCount);
     }
 }
@@ -24,6 +24,7 @@
 
 package com.github.jferard.fastods;
 
+import com.github.jferard.fastods.util.XMLSink;
 import com.github.jferard.fastods.util.XMLUtil;
 import com.github.jferard.fastods.util.ZipUTF8Writer;
 
@@ -34,12 +35,12 @@ import java.util.List;
 /**
  * An async flusher for a collection of rows
  * <p>
- * Sent when a table with a row index that is a multiple of 1024 is used.
+ * Sent when the flush policy of a table says that the pending rows should be flushed.
  *
  * @author Julien Férard
  */
 class PreprocessedRowsFlusher implements OdsAsyncFlusher {
-    private static final int STRING_BUILDER_SIZE = 1024 * 32;
+    private static final int SINK_SIZE = 1024 * 32;
 
     /**
      * Create an new rows flusher
@@ -54,24 +55,49 @@ class PreprocessedRowsFlusher implements OdsAsyncFlusher {
                                                  final List<TableRowImpl> tableRows)
             throws IOException {
         // create a char sequence
-        final StringBuilder sb = new StringBuilder(STRING_BUILDER_SIZE);
+        final XMLSink sink = new XMLSink(SINK_SIZE);
         for (final TableRowImpl row : tableRows) {
-            TableRowImpl.appendXMLToTable(row, xmlUtil, sb);
+            TableRowImpl.appendXMLToTable(row, xmlUtil, sink);
         }
         // free rows
         Collections.fill(tableRows, null);
 
-        return new PreprocessedRowsFlusher(sb);
+        return new PreprocessedRowsFlusher(sink, tableRows.size());
     }
 
     private final CharSequence cs;
+    private final int rowCount;
 
     /**
      * @param cs the destination
      * @throws IOException if an I/O error occurs
      */
     PreprocessedRowsFlusher(final CharSequence cs) throws IOException {
+        this(cs, 0);
+    }
+
+    /**
+     * @param cs       the destination
+     * @param rowCount the number of rows in cs
+     * @throws IOException if an I/O error occurs
+     */
+    PreprocessedRowsFlusher(final CharSequence cs, final int rowCount) throws IOException {
         this.cs = cs;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * @return the number of rows flushed by this flusher
+     */
+    public int getRowCount() {
+        return this.rowCount;
+    }
+
+    /**
+     * @return the number of chars flushed by this flusher
+     */
+    public int getCharCount() {
+        return this.cs.length();
     }
 
     @Override
@@ -27,6 +27,7 @@ package com.github.jferard.fastods;
 import com.github.jferard.fastods.attribute.Length;
 import com.github.jferard.fastods.datastyle.DataStyle;
 import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.style.TextStyle;
 import com.github.jferard.fastods.util.Validation;
 
 import java.io.IOException;
@@ -66,6 +67,26 @@ public class RowCellWalkerImpl implements RowCellWalker {
         this.row.getOrCreateCell(this.c).setText(text);
     }
 
+    @Override
+    public void setHyperlink(final String text, final String href) {
+        this.row.getOrCreateCell(this.c).setHyperlink(text, href);
+    }
+
+    @Override
+    public void setHyperlink(final String text, final TextStyle ts, final String href) {
+        this.row.getOrCreateCell(this.c).setHyperlink(text, ts, href);
+    }
+
+    @Override
+    public void setStyledText(final String text, final TextStyle ts) {
+        this.row.getOrCreateCell(this.c).setStyledText(text, ts);
+    }
+
+    @Override
+    public void setMultilineText(final String text) {
+        this.row.getOrCreateCell(this.c).setMultilineText(text);
+    }
+
     @Override
     public void setCellMerge(final int rowMerge, final int columnMerge) throws IOException {
         this.row.setCellMerge(this.c, rowMerge, columnMerge);
@@ -123,6 +144,13 @@ public class RowCellWalkerImpl implements RowCellWalker {
                 .setMatrixFormula(formula, matrixRowsSpanned, matrixColumnsSpanned);
     }
 
+    @Override
+    public void setMatrixFormula(final String formula, final int matrixRowsSpanned,
+                                 final int matrixColumnsSpanned, final CellValue cachedValue) {
+        this.row.getOrCreateCell(this.c)
+                .setMatrixFormula(formula, matrixRowsSpanned, matrixColumnsSpanned, cachedValue);
+    }
+
     @Override
     public void setStringValue(final String value) {
         this.row.getOrCreateCell(this.c).setStringValue(value);
@@ -168,6 +196,21 @@ public class RowCellWalkerImpl implements RowCellWalker {
 
     }
 
+    @Override
+    public void setFormula(final FormulaTemplate template) {
+        this.row.getOrCreateCell(this.c).setFormula(template);
+    }
+
+    @Override
+    public void setFormula(final String formula, final CellValue cachedValue) {
+        this.row.getOrCreateCell(this.c).setFormula(formula, cachedValue);
+    }
+
+    @Override
+    public void setFormula(final FormulaTemplate template, final CellValue cachedValue) {
+        this.row.getOrCreateCell(this.c).setFormula(template, cachedValue);
+    }
+
     @Override
     public boolean hasValue() {
         return this.row.getOrCreateCell(this.c).hasValue();
@@ -246,6 +289,16 @@ public class RowCellWalkerImpl implements RowCellWalker {
         this.row.getOrCreateCell(this.c).setFloatValue(value);
     }
 
+    @Override
+    public void setFloatValue(final double value) {
+        this.row.getOrCreateCell(this.c).setFloatValue(value);
+    }
+
+    @Override
+    public void setFloatValue(final long value) {
+        this.row.getOrCreateCell(this.c).setFloatValue(value);
+    }
+
     @Override
     public void setFloatValue(final int value) {
         this.row.getOrCreateCell(this.c).setFloatValue(value);
@@ -0,0 +1,97 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+/**
+ * The compression of the rows of a table that is kept in memory until the document is saved
+ * (anonymous writer). The rows that are older than a window of recently created rows are
+ * encoded and deflated by blocks. A compressed row is restored when it is accessed again, and
+ * the compressed blocks are decoded one at a time when the table is saved.
+ * <p>
+ * Ignored in flush mode, where the old rows are flushed instead.
+ *
+ * @author J. Férard
+ */
+public final class RowCompression {
+    /**
+     * The default number of recent rows that are never compressed
+     */
+    public static final int DEFAULT_WINDOW_ROWS = 1024;
+
+    /**
+     * The default: compressed blocks on the heap, 1024 uncompressed rows.
+     */
+    public static final RowCompression DEFAULT = RowCompression.onHeap(DEFAULT_WINDOW_ROWS);
+
+    /**
+     * @param windowRows the number of recent rows that are never compressed
+     * @return a compression that keeps the compressed blocks in byte arrays
+     */
+    public static RowCompression onHeap(final int windowRows) {
+        return new RowCompression(windowRows, false);
+    }
+
+    /**
+     * @param windowRows the number of recent rows that are never compressed
+     * @return a compression that keeps the compressed blocks in direct byte buffers
+     */
+    public static RowCompression offHeap(final int windowRows) {
+        return new RowCompression(windowRows, true);
+    }
+
+    private final int windowRows;
+    private final boolean offHeap;
+
+    /**
+     * @param windowRows the number of recent rows that are never compressed
+     * @param offHeap    true if the blocks are stored in direct byte buffers
+     */
+    RowCompression(final int windowRows, final boolean offHeap) {
+        if (windowRows < 0) {
+            throw new IllegalArgumentException("Window rows must be >= 0");
+        }
+        this.windowRows = windowRows;
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * @return the number of recent rows that are never compressed
+     */
+    public int getWindowRows() {
+        return this.windowRows;
+    }
+
+    /**
+     * @return true if the blocks are stored in direct byte buffers
+     */
+    public boolean isOffHeap() {
+        return this.offHeap;
+    }
+
+    @Override
+    public String toString() {
+        return "RowCompression[windowRows=" + this.windowRows + ", offHeap=" + this.offHeap + "]";
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import java.io.File;
+
+/**
+ * A policy that spills the rows of a table to a temporary file when the estimated retained size
+ * of the rows in memory reaches a threshold. Only relevant when the document is kept in memory
+ * until it is saved (anonymous writer).
+ * <p>
+ * The spilled rows are finished: they are written as XML to the file and copied into
+ * content.xml when the document is saved. A spilled row can't be accessed again.
+ *
+ * @author J. Férard
+ */
+public final class RowSpill {
+    /**
+     * @param maxRetainedBytes the maximum estimated retained size of the rows in memory, in bytes
+     * @return a policy that spills the rows to the default temporary-file directory
+     */
+    public static RowSpill create(final long maxRetainedBytes) {
+        return new RowSpill(maxRetainedBytes, null);
+    }
+
+    /**
+     * @param maxRetainedBytes the maximum estimated retained size of the rows in memory, in bytes
+     * @param directory        the directory of the temporary files
+     * @return a policy that spills the rows to the given directory
+     */
+    public static RowSpill create(final long maxRetainedBytes, final File directory) {
+        return new RowSpill(maxRetainedBytes, directory);
+    }
+
+    private final long maxRetainedBytes;
+    private final File directory;
+
+    /**
+     * @param maxRetainedBytes the maximum estimated retained size of the rows in memory
+     * @param directory        the directory of the temporary files, or null for the default
+     */
+    RowSpill(final long maxRetainedBytes, final File directory) {
+        if (maxRetainedBytes <= 0) {
+            throw new IllegalArgumentException("Max retained bytes must be > 0");
+        }
+        this.maxRetainedBytes = maxRetainedBytes;
+        this.directory = directory;
+    }
+
+    /**
+     * @return the maximum estimated retained size of the rows in memory, in bytes
+     */
+    public long getMaxRetainedBytes() {
+        return this.maxRetainedBytes;
+    }
+
+    /**
+     * @return the directory of the temporary files, or null for the default
+     */
+    public File getDirectory() {
+        return this.directory;
+    }
+
+    @Override
+    public String toString() {
+        return "RowSpill[maxRetainedBytes=" + this.maxRetainedBytes + ", directory=" +
+                this.directory + "]";
+    }
+}
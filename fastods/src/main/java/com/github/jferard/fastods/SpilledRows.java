@@ -0,0 +1,169 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * The XML of the rows that were spilled to a temporary file, and the state of the appender
+ * after the last spilled row.
+ *
+ * @author J. Férard
+ */
+final class SpilledRows {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * @param directory the directory, or null for the default temporary-file directory
+     * @return a new empty file of spilled rows
+     * @throws IOException if the file can't be created
+     */
+    static SpilledRows create(final File directory) throws IOException {
+        final File file = File.createTempFile("fastods-rows", ".xml", directory);
+        final Writer writer;
+        try {
+            writer = new OutputStreamWriter(
+                    new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE), UTF_8);
+        } catch (final IOException e) {
+            file.delete();
+            throw e;
+        }
+        return new SpilledRows(file, writer);
+    }
+
+    private final File file;
+    private final Writer writer;
+    private boolean deleted;
+    private int rowIndex;
+    private int nullFieldCounter;
+    private boolean atLeastOneRow;
+
+    /**
+     * @param file   the temporary file
+     * @param writer the writer on the file
+     */
+    SpilledRows(final File file, final Writer writer) {
+        this.file = file;
+        this.writer = writer;
+        this.deleted = false;
+        this.rowIndex = 0;
+        this.nullFieldCounter = 0;
+        this.atLeastOneRow = false;
+    }
+
+    /**
+     * @return the destination of the spilled XML
+     */
+    Appendable getAppendable() {
+        return this.writer;
+    }
+
+    /**
+     * Record the state of the appender after a spill
+     *
+     * @param rowIndex         the index of the first row that was not spilled
+     * @param nullFieldCounter the number of pending null rows
+     * @param atLeastOneRow    true if a row was written
+     */
+    void update(final int rowIndex, final int nullFieldCounter, final boolean atLeastOneRow) {
+        this.rowIndex = rowIndex;
+        this.nullFieldCounter = nullFieldCounter;
+        this.atLeastOneRow = atLeastOneRow;
+    }
+
+    /**
+     * @return the index of the first row that was not spilled
+     */
+    int getRowIndex() {
+        return this.rowIndex;
+    }
+
+    /**
+     * @return the number of pending null rows after the last spilled row
+     */
+    int getNullFieldCounter() {
+        return this.nullFieldCounter;
+    }
+
+    /**
+     * @return true if a row was written
+     */
+    boolean hasAtLeastOneRow() {
+        return this.atLeastOneRow;
+    }
+
+    /**
+     * Copy the spilled XML to a destination. The file is left untouched.
+     *
+     * @param appendable the destination
+     * @throws IOException if the file was deleted or can't be read
+     */
+    void copyTo(final Appendable appendable) throws IOException {
+        if (this.deleted) {
+            throw new IOException("The spilled rows were deleted");
+        }
+        this.writer.flush();
+        final Reader reader = new InputStreamReader(new FileInputStream(this.file), UTF_8);
+        try {
+            final char[] buffer = new char[BUFFER_SIZE];
+            int count = reader.read(buffer);
+            while (count != -1) {
+                appendable.append(CharBuffer.wrap(buffer, 0, count));
+                count = reader.read(buffer);
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Close and delete the file. The file is not registered for deletion on exit: this method
+     * must be called, typically in a finally block.
+     *
+     * @throws IOException if the file can't be closed
+     */
+    void delete() throws IOException {
+        if (this.deleted) {
+            return;
+        }
+        this.deleted = true;
+        try {
+            this.writer.close();
+        } finally {
+            this.file.delete();
+        }
+    }
+}
@@ -30,6 +30,7 @@ import com.github.jferard.fastods.odselement.StylesContainer;
 import com.github.jferard.fastods.odselement.config.ConfigElement;
 import com.github.jferard.fastods.odselement.config.ConfigItemMapEntry;
 import com.github.jferard.fastods.ref.PositionUtil;
+import com.github.jferard.fastods.ref.RangeRef;
 import com.github.jferard.fastods.style.TableCellStyle;
 import com.github.jferard.fastods.style.TableColumnStyle;
 import com.github.jferard.fastods.style.TableStyle;
@@ -38,6 +39,7 @@ import com.github.jferard.fastods.util.IntegerRepresentationCache;
 import com.github.jferard.fastods.util.NamedObject;
 import com.github.jferard.fastods.util.NamedRange;
 import com.github.jferard.fastods.util.Protection;
+import com.github.jferard.fastods.util.Validation;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -78,7 +80,8 @@ public class Table implements NamedObject, FrameContent {
         final TableModel model = TableModel
                 .create(positionUtil, cache, xmlUtil, stylesContainer, format, libreOfficeMode,
                         name, rowCapacity, columnCapacity, validationsContainer);
-        return new Table(name, contentElement, model, new TableAppender(model));
+        return new Table(name, contentElement, model,
+                new TableAppender(model, model.getDecorations()));
     }
 
     private final ContentElement contentElement;
@@ -112,6 +115,98 @@ public class Table implements NamedObject, FrameContent {
         this.model.addObserver(observer);
     }
 
+    /**
+     * Set the policy that decides when the rows of this table are flushed. Only relevant in
+     * flush mode.
+     *
+     * @param flushPolicy the policy
+     */
+    public void setFlushPolicy(final FlushPolicy flushPolicy) {
+        this.model.setFlushPolicy(flushPolicy);
+    }
+
+    /**
+     * Reserve the first rows of the table, e.g. for a summary computed from the rows below.
+     * Only relevant in flush mode: the reserved rows are kept in memory and written when the
+     * table ends. The rows that are flushed meanwhile are written to a temporary file, and
+     * copied after the reserved rows. Must be called before the first flush.
+     *
+     * @param rowCount the number of reserved rows
+     * @throws IllegalStateException if some rows were already flushed
+     */
+    public void setReservedRowCount(final int rowCount) {
+        this.model.setReservedRowCount(rowCount);
+    }
+
+    /**
+     * Compress the rows that are older than a window of recent rows. Only relevant when the
+     * document is kept in memory until it is saved (anonymous writer): a compressed row is
+     * restored if it is accessed again. Don't keep a reference to a row once it is out of the
+     * window: the changes made through that reference would be lost.
+     *
+     * @param compression the compression, or null to restore the rows and stop compressing
+     * @throws IOException if an I/O error occurs
+     */
+    public void setRowCompression(final RowCompression compression) throws IOException {
+        this.model.setRowCompression(this, compression);
+    }
+
+    /**
+     * Spill the rows of this table to a temporary file when their estimated retained size
+     * reaches a threshold. Only relevant when the document is kept in memory until it is saved
+     * (anonymous writer): the spilled rows can't be accessed again. Call
+     * {@link #deleteSpilledRows()} in a finally block once the document is saved.
+     *
+     * @param rowSpill the policy, or null to stop spilling rows
+     */
+    public void setRowSpill(final RowSpill rowSpill) {
+        this.model.setRowSpill(rowSpill);
+    }
+
+    /**
+     * Set the automatic width of the columns: the width of each column that has no column
+     * style is estimated from the text of its cells. In anonymous mode, all the rows are used;
+     * in flush mode, the widths are estimated from the rows of the first flush, since the
+     * columns are written before the rows. In flush mode, this must be called before the table
+     * is added to the document (see `OdsDocument.createTable`), because the column styles are
+     * written with the first table.
+     *
+     * @param autoWidth the automatic width, e.g. `ColumnAutoWidth.DEFAULT`, or null to stop
+     *                  estimating the widths.
+     */
+    public void setColumnAutoWidth(final ColumnAutoWidth autoWidth) {
+        this.model.setColumnAutoWidth(autoWidth);
+        this.appender.setColumnAutoWidth(autoWidth != null);
+    }
+
+    /**
+     * Keep the XML of each row once it is written, and reuse it on the next save if the row
+     * was not modified since. Only relevant when the document is saved many times (anonymous
+     * writer): the time of a re-save is proportional to the modified rows, not to the size of
+     * the table, but the memory used by the rows is roughly doubled.
+     *
+     * @param rowXMLCache true to cache the XML of the rows, false to stop using the cache.
+     */
+    public void setRowXMLCache(final boolean rowXMLCache) {
+        this.appender.setRowXMLCache(rowXMLCache);
+    }
+
+    /**
+     * Delete the temporary file of the spilled rows. The table can't be written afterwards.
+     *
+     * @throws IOException if the file can't be closed
+     */
+    public void deleteSpilledRows() throws IOException {
+        this.appender.deleteSpilledRows();
+    }
+
+    /**
+     * @return the size of the compressed rows of this table, in bytes
+     */
+    public long getCompressedRowsSize() {
+        return this.model.getCompressedRowsSize();
+    }
+
     /**
      * Add XML to content.xml
      *
@@ -125,6 +220,19 @@ public class Table implements NamedObject, FrameContent {
         this.appender.appendXMLToContentEntry(util, appendable);
     }
 
+    /**
+     * Add the XML of the rows, without the table tags, to content.xml. Used to splice the
+     * rows into an existing table.
+     *
+     * @param util       an util
+     * @param appendable the output
+     * @throws IOException if the XML could not be written
+     */
+    public void appendRowsXMLContent(final XMLUtil util, final Appendable appendable)
+            throws IOException {
+        this.appender.appendRowsOnly(util, appendable);
+    }
+
     /**
      * Async flush the XML
      *
@@ -200,6 +308,22 @@ public class Table implements NamedObject, FrameContent {
         return this.model.getConfigEntry();
     }
 
+    /**
+     * @return the index of the row 0 of this table in the sheet: 0, unless the rows are spliced
+     * into the sheet of a template (see {@link TemplateOdsFileWriter}). The formula templates, the
+     * auto filters and the named ranges are shifted by this index.
+     */
+    public int getFirstRowIndex() {
+        return this.model.getFirstRowIndex();
+    }
+
+    /**
+     * @param firstRowIndex the index of the row 0 of this table in the sheet
+     */
+    void setFirstRowIndex(final int firstRowIndex) {
+        this.model.setFirstRowIndex(firstRowIndex);
+    }
+
     /**
      * @return the number of the last row (0..)
      */
@@ -255,6 +379,26 @@ public class Table implements NamedObject, FrameContent {
         return new TableCellWalker(this);
     }
 
+    /**
+     * Set a formula template in a range of cells. The cells are created if necessary.
+     *
+     * @param template the template
+     * @param r1       first row of the range
+     * @param c1       first col of the range
+     * @param r2       last row
+     * @param c2       last col
+     * @throws IOException if a row was flushed
+     */
+    public void setFormula(final FormulaTemplate template, final int r1, final int c1,
+                           final int r2, final int c2) throws IOException {
+        for (int r = r1; r <= r2; r++) {
+            final TableRowImpl row = this.getRow(r);
+            for (int c = c1; c <= c2; c++) {
+                row.getOrCreateCell(c).setFormula(template);
+            }
+        }
+    }
+
     /**
      * Set a span over cells
      *
@@ -296,6 +440,19 @@ public class Table implements NamedObject, FrameContent {
         this.model.setColumnStyle(col, ts);
     }
 
+    /**
+     * Set the style of a range of columns. The columns are stored as runs of identical
+     * columns, hence styling a wide range is cheap.
+     *
+     * @param c1 the first column
+     * @param c2 the last column (inclusive)
+     * @param ts The style to be used
+     * @throws IllegalArgumentException if the range is invalid
+     */
+    public void setColumnStyle(final int c1, final int c2, final TableColumnStyle ts) {
+        this.model.setColumnStyle(c1, c2, ts);
+    }
+
     /**
      * Set a custom attribute for a column
      *
@@ -312,6 +469,30 @@ public class Table implements NamedObject, FrameContent {
         this.model.setColumnDefaultCellStyle(col, cellStyle);
     }
 
+    /**
+     * Set the default cell style of a range of columns.
+     *
+     * @param c1        the first column
+     * @param c2        the last column (inclusive)
+     * @param cellStyle the style
+     * @throws IllegalArgumentException if the range is invalid
+     */
+    public void setColumnDefaultCellStyle(final int c1, final int c2,
+                                          final TableCellStyle cellStyle) {
+        this.model.setColumnDefaultCellStyle(c1, c2, cellStyle);
+    }
+
+    /**
+     * Set the number of columns declared in the table. The default is 1024, the historical
+     * limit of LibreOffice; recent versions accept up to 16384 columns.
+     *
+     * @param columnCount the count, between 1 and TableColumns.MAX_COLUMN_COUNT
+     * @throws IllegalArgumentException if the count is invalid
+     */
+    public void setColumnCount(final int columnCount) {
+        this.model.setColumnCount(columnCount);
+    }
+
     /**
      * Set a custom attribute
      *
@@ -386,8 +567,9 @@ public class Table implements NamedObject, FrameContent {
      */
     public void addAutoFilter(final String rangeName, final int r1, final int c1, final int r2,
                               final int c2) {
-        this.contentElement
-                .addAutoFilter(AutoFilter.builder(rangeName, this, r1, c1, r2, c2).build());
+        final int firstRowIndex = this.model.getFirstRowIndex();
+        this.contentElement.addAutoFilter(AutoFilter.builder(rangeName, this,
+                firstRowIndex + r1, c1, firstRowIndex + r2, c2).build());
     }
 
     /**
@@ -401,8 +583,9 @@ public class Table implements NamedObject, FrameContent {
      */
     public void addNamedRange(final String rangeName, final int r1, final int c1, final int r2,
                               final int c2) {
-        this.contentElement
-                .addNamedRange(NamedRange.create(rangeName, this, r1, c1, r2, c2));
+        final int firstRowIndex = this.model.getFirstRowIndex();
+        this.contentElement.addNamedRange(NamedRange.create(rangeName, this,
+                firstRowIndex + r1, c1, firstRowIndex + r2, c2));
     }
 
     /**
@@ -414,6 +597,91 @@ public class Table implements NamedObject, FrameContent {
         this.model.addShape(shape);
     }
 
+    /**
+     * Set a validation on a range of cells. The validation is stored once for the range:
+     * the cells are not created, and the validation is merged with the cells when the rows
+     * are written. A validation set on a cell has precedence. The rows of the range that were
+     * never accessed are written as repeated decorated rows. The range should be set before the
+     * rows are flushed; in flush mode, the rows after the last row written are not decorated.
+     *
+     * @param r1         the first row
+     * @param c1         the first column
+     * @param r2         the last row (inclusive)
+     * @param c2         the last column (inclusive)
+     * @param validation the validation
+     */
+    public void setValidation(final int r1, final int c1, final int r2, final int c2,
+                              final Validation validation) {
+        this.model.setValidation(r1, c1, r2, c2, validation);
+    }
+
+    /**
+     * Set a validation on a range of cells. See
+     * {@link #setValidation(int, int, int, int, Validation)}.
+     *
+     * @param rangeRef   the range
+     * @param validation the validation
+     */
+    public void setValidation(final RangeRef rangeRef, final Validation validation) {
+        this.model.setValidation(rangeRef.getFromRow(), rangeRef.getFromColumn(),
+                rangeRef.getToRow(), rangeRef.getToColumn(), validation);
+    }
+
+    /**
+     * Set a validation on every cell of a column. See
+     * {@link #setValidation(int, int, int, int, Validation)}.
+     *
+     * @param c          the column
+     * @param validation the validation
+     */
+    public void setColumnValidation(final int c, final Validation validation) {
+        this.model.setValidation(0, c, Integer.MAX_VALUE, c, validation);
+    }
+
+    /**
+     * Set a tooltip on a range of cells. See
+     * {@link #setValidation(int, int, int, int, Validation)}.
+     *
+     * @param r1      the first row
+     * @param c1      the first column
+     * @param r2      the last row (inclusive)
+     * @param c2      the last column (inclusive)
+     * @param tooltip the tooltip
+     */
+    public void setTooltip(final int r1, final int c1, final int r2, final int c2,
+                           final Tooltip tooltip) {
+        this.model.setTooltip(r1, c1, r2, c2, tooltip);
+    }
+
+    /**
+     * Set a custom attribute on a range of cells. See
+     * {@link #setValidation(int, int, int, int, Validation)}.
+     *
+     * @param r1        the first row
+     * @param c1        the first column
+     * @param r2        the last row (inclusive)
+     * @param c2        the last column (inclusive)
+     * @param attribute the attribute name, with the namespace
+     * @param value     the attribute value, already escaped
+     */
+    public void setCellAttribute(final int r1, final int c1, final int r2, final int c2,
+                                 final String attribute, final CharSequence value) {
+        this.model.setCellAttribute(r1, c1, r2, c2, attribute, value);
+    }
+
+    /**
+     * Set a custom attribute on every cell of a column. See
+     * {@link #setValidation(int, int, int, int, Validation)}.
+     *
+     * @param c         the column
+     * @param attribute the attribute name, with the namespace
+     * @param value     the attribute value, already escaped
+     */
+    public void setColumnCellAttribute(final int c, final String attribute,
+                                       final CharSequence value) {
+        this.model.setCellAttribute(0, c, Integer.MAX_VALUE, c, attribute, value);
+    }
+
     /**
      * @param protection the protection
      * @throws NoSuchAlgorithmException should not happen
@@ -26,9 +26,11 @@ package com.github.jferard.fastods;
 
 import com.github.jferard.fastods.util.Protection;
 import com.github.jferard.fastods.util.StringUtil;
+import com.github.jferard.fastods.util.XMLSink;
 import com.github.jferard.fastods.util.XMLUtil;
 import com.github.jferard.fastods.util.ZipUTF8Writer;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
@@ -46,19 +48,32 @@ import java.util.Map;
  * @author Martin Schulz
  */
 class TableAppender {
+    /**
+     * The rows are rendered into a sink, which is drained into the destination when its length
+     * reaches this threshold.
+     */
+    private static final int SINK_THRESHOLD = 32 * 1024;
+
     private final TableModel model;
+    private final TableDecorations decorations;
     private boolean preambleWritten;
     private int nullFieldCounter;
     private boolean atLeastOneRow;
+    private SpilledRows spilledRows;
+    private SpilledRows deferredRows;
+    private boolean rowXMLCache;
+    private boolean columnAutoWidth;
 
     /**
      * Create a new appender
      *
-     * @param model the table model
+     * @param model       the table model
+     * @param decorations the range decorations of the table, or null
      */
-    TableAppender(final TableModel model) {
+    TableAppender(final TableModel model, final TableDecorations decorations) {
         this.preambleWritten = false;
         this.model = model;
+        this.decorations = decorations;
         this.atLeastOneRow = false;
     }
 
@@ -71,11 +86,112 @@ class TableAppender {
      */
     public void appendXMLToContentEntry(final XMLUtil util, final Appendable appendable)
             throws IOException {
+        if (this.columnAutoWidth) {
+            this.model.estimateColumnWidths(this.getSpilledRowIndex(),
+                    this.model.getTableRowsUsedSize());
+        }
         this.appendOpenTagAndPreamble(util, appendable);
-        this.appendRows(util, appendable);
+        this.appendSpilledAndRemainingRows(util, appendable);
         this.appendPostamble(appendable);
     }
 
+    /**
+     * Append the rows only, without the table tag, the preamble and the postamble. Used to
+     * splice the rows into the table of an existing document.
+     *
+     * @param util       an util
+     * @param appendable the output
+     * @throws IOException if the XML could not be written
+     */
+    public void appendRowsOnly(final XMLUtil util, final Appendable appendable)
+            throws IOException {
+        this.appendSpilledAndRemainingRows(util, appendable);
+    }
+
+    private void appendSpilledAndRemainingRows(final XMLUtil util, final Appendable appendable)
+            throws IOException {
+        if (this.spilledRows == null) {
+            this.appendLastRows(util, appendable, 0);
+        } else {
+            this.spilledRows.copyTo(appendable);
+            this.nullFieldCounter = this.spilledRows.getNullFieldCounter();
+            this.atLeastOneRow = this.spilledRows.hasAtLeastOneRow();
+            this.appendLastRows(util, appendable, this.spilledRows.getRowIndex());
+        }
+    }
+
+    /**
+     * Spill the rows to a temporary file, from the first row that was not spilled to a given
+     * index.
+     *
+     * @param util       an util
+     * @param spill      the spill policy
+     * @param toRowIndex the index of the first row that is not spilled
+     * @throws IOException if the rows can't be spilled
+     */
+    public void spillRows(final XMLUtil util, final RowSpill spill, final int toRowIndex)
+            throws IOException {
+        final int fromRowIndex;
+        if (this.spilledRows == null) {
+            this.spilledRows = SpilledRows.create(spill.getDirectory());
+            fromRowIndex = 0;
+        } else {
+            fromRowIndex = this.spilledRows.getRowIndex();
+            this.nullFieldCounter = this.spilledRows.getNullFieldCounter();
+            this.atLeastOneRow = this.spilledRows.hasAtLeastOneRow();
+        }
+        if (this.columnAutoWidth) {
+            this.model.estimateColumnWidths(fromRowIndex, toRowIndex);
+        }
+        final Appendable appendable = this.spilledRows.getAppendable();
+        final XMLSink sink = XMLSink.create();
+        this.appendRows(util, sink, appendable, fromRowIndex, toRowIndex);
+        sink.drainTo(appendable);
+        this.spilledRows.update(toRowIndex, this.nullFieldCounter, this.atLeastOneRow);
+    }
+
+    /**
+     * @param rowXMLCache true to reuse the XML of the rows that were not modified since the
+     *                    previous write.
+     */
+    public void setRowXMLCache(final boolean rowXMLCache) {
+        this.rowXMLCache = rowXMLCache;
+    }
+
+    /**
+     * @param columnAutoWidth true to estimate the widths of the columns before the preamble is
+     *                        written.
+     */
+    public void setColumnAutoWidth(final boolean columnAutoWidth) {
+        this.columnAutoWidth = columnAutoWidth;
+    }
+
+    /**
+     * @return the index of the first row that was not spilled
+     */
+    public int getSpilledRowIndex() {
+        return this.spilledRows == null ? 0 : this.spilledRows.getRowIndex();
+    }
+
+    /**
+     * Delete the temporary files of the spilled and deferred rows. The table can't be written
+     * afterwards.
+     *
+     * @throws IOException if a file can't be closed
+     */
+    public void deleteSpilledRows() throws IOException {
+        try {
+            if (this.spilledRows != null) {
+                this.spilledRows.delete();
+            }
+        } finally {
+            if (this.deferredRows != null) {
+                this.deferredRows.delete();
+                this.deferredRows = null;
+            }
+        }
+    }
+
     /**
      * Append the preamble
      *
@@ -117,99 +233,214 @@ class TableAppender {
         appendable.append(">");
     }
 
-    private void appendRows(final XMLUtil util, final Appendable appendable) throws IOException {
-        this.appendRows(util, appendable, 0);
-    }
-
     private void appendRows(final XMLUtil util, final Appendable appendable,
                             final int firstRowIndex) throws IOException {
+        final XMLSink sink = XMLSink.create();
+        this.appendRows(util, sink, appendable, firstRowIndex,
+                this.model.getTableRowsUsedSize());
+        sink.drainTo(appendable);
+    }
+
+    /**
+     * Append the rows from a given index to the end of the table. The untouched rows that
+     * follow the last row, up to the last row of a range decoration, are decorated.
+     */
+    private void appendLastRows(final XMLUtil util, final Appendable appendable,
+                                final int firstRowIndex) throws IOException {
+        final XMLSink sink = XMLSink.create();
+        final int endRowIndex = this.model.getTableRowsUsedSize();
+        this.appendRows(util, sink, appendable, firstRowIndex, endRowIndex);
+        if (this.decorations != null && !this.decorations.isEmpty()) {
+            this.appendTrailingDecoratedRows(util, sink, endRowIndex);
+        }
+        sink.drainTo(appendable);
+    }
+
+    private void appendTrailingDecoratedRows(final XMLUtil util, final XMLSink sink,
+                                             final int endRowIndex) throws IOException {
+        final int headerRowsCount = this.model.getHeaderRowsCount();
+        if (headerRowsCount > 0 && endRowIndex <= headerRowsCount) {
+            return; // the header rows are not closed
+        }
+        final int decoratedEndRowIndex = this.decorations.getLastRow() + 1;
+        final int nullFromRowIndex = endRowIndex - this.nullFieldCounter;
+        if (decoratedEndRowIndex > nullFromRowIndex) {
+            this.nullFieldCounter = decoratedEndRowIndex - nullFromRowIndex;
+            this.flushNullRows(util, sink, decoratedEndRowIndex);
+        }
+    }
+
+    private void appendRows(final XMLUtil util, final XMLSink sink, final Appendable appendable,
+                            final int firstRowIndex, final int endRowIndex) throws IOException {
         final int headerRowsCount = this.model.getHeaderRowsCount();
         if (headerRowsCount == 0) {
-            this.appendRowsWithoutHeaderRows(util, appendable, firstRowIndex);
+            this.appendRowsWithoutHeaderRows(util, sink, appendable, firstRowIndex, endRowIndex);
         } else {
             if (firstRowIndex == 0) {
-                appendable.append("<table:table-header-rows>");
+                sink.append("<table:table-header-rows>");
             }
             if (firstRowIndex < headerRowsCount) {
-                this.appendRowsWithHeaderRows(util, appendable, firstRowIndex, headerRowsCount);
+                this.appendRowsWithHeaderRows(util, sink, appendable, firstRowIndex,
+                        endRowIndex, headerRowsCount);
             } else if (firstRowIndex == headerRowsCount) {
-                appendable.append("</table:table-header-rows>");
-                this.appendRowsWithoutHeaderRows(util, appendable, firstRowIndex);
+                this.flushNullRows(util, sink, firstRowIndex);
+                sink.append("</table:table-header-rows>");
+                this.appendRowsWithoutHeaderRows(util, sink, appendable, firstRowIndex,
+                        endRowIndex);
             } else {
-                this.appendRowsWithoutHeaderRows(util, appendable, firstRowIndex);
+                this.appendRowsWithoutHeaderRows(util, sink, appendable, firstRowIndex,
+                        endRowIndex);
             }
         }
     }
 
-    private void appendRowsWithoutHeaderRows(final XMLUtil util, final Appendable appendable,
-                                             final int firstRowIndex) throws IOException {
-        final int size = this.model.getTableRowsUsedSize();
+    private void appendRowsWithoutHeaderRows(final XMLUtil util, final XMLSink sink,
+                                             final Appendable appendable,
+                                             final int firstRowIndex, final int endRowIndex)
+            throws IOException {
         if (firstRowIndex == 0) {
             this.nullFieldCounter = 0;
         }
 
-        for (int r = firstRowIndex; r < size; r++) {
+        for (int r = firstRowIndex; r < endRowIndex; r++) {
             final TableRowImpl tr = this.model.getTableRow(r);
             if (tr == null) { // we don't append null rows immediately
                 this.nullFieldCounter++;
             } else {
-                this.flushNullRows(util, appendable); // but wait for a non null row
-                tr.appendXMLToTable(util, appendable);
+                this.flushNullRows(util, sink, r); // but wait for a non null row
+                this.appendRow(util, sink, tr);
                 this.atLeastOneRow = true;
                 this.nullFieldCounter = 0;
+                this.drainIfFull(sink, appendable);
             }
         }
         // forget the remaining null rows
     }
 
-    private void appendRowsWithHeaderRows(final XMLUtil util, final Appendable appendable,
-                                          final int firstRowIndex, final int headerRowsCount) throws IOException {
-        final int size = this.model.getTableRowsUsedSize();
+    private void appendRowsWithHeaderRows(final XMLUtil util, final XMLSink sink,
+                                          final Appendable appendable, final int firstRowIndex,
+                                          final int endRowIndex, final int headerRowsCount)
+            throws IOException {
         if (firstRowIndex == 0) {
             this.nullFieldCounter = 0;
         }
 
-        for (int r = firstRowIndex; r < size; r++) {
+        for (int r = firstRowIndex; r < endRowIndex; r++) {
             final TableRowImpl tr = this.model.getTableRow(r);
             if (r == headerRowsCount) {
-                this.flushNullRows(util, appendable);
-                appendable.append("</table:table-header-rows>");
+                this.flushNullRows(util, sink, r);
+                sink.append("</table:table-header-rows>");
                 if (tr == null) {
                     this.nullFieldCounter = 1;
                 } else {
-                    tr.appendXMLToTable(util, appendable);
+                    this.appendRow(util, sink, tr);
                     this.nullFieldCounter = 0;
                 }
                 this.atLeastOneRow = true;
             } else if (tr == null) {
                 this.nullFieldCounter++;
             } else {
-                this.flushNullRows(util, appendable);
-                tr.appendXMLToTable(util, appendable);
+                this.flushNullRows(util, sink, r);
+                this.appendRow(util, sink, tr);
                 this.atLeastOneRow = true;
                 this.nullFieldCounter = 0;
             }
+            this.drainIfFull(sink, appendable);
+        }
+    }
+
+    private void appendRow(final XMLUtil util, final XMLSink sink, final TableRowImpl tr)
+            throws IOException {
+        if (this.rowXMLCache) {
+            tr.appendCachedXMLToTable(util, sink);
+        } else {
+            tr.appendXMLToTable(util, sink);
         }
     }
 
-    private void flushNullRows(final XMLUtil util, final Appendable appendable)
+    private void drainIfFull(final XMLSink sink, final Appendable appendable)
+            throws IOException {
+        if (sink.length() >= SINK_THRESHOLD) {
+            sink.drainTo(appendable);
+        }
+    }
+
+    /**
+     * Append the pending null rows, that is the rows toRowIndex - nullFieldCounter to
+     * toRowIndex - 1, as repeated rows. The null rows of a range decoration are repeated
+     * decorated rows.
+     */
+    private void flushNullRows(final XMLUtil util, final XMLSink sink, final int toRowIndex)
             throws IOException {
         if (this.nullFieldCounter <= 0) {
             return;
         }
 
-        appendable.append("<table:table-row");
-        if (this.nullFieldCounter > 1) {
-            util.appendAttribute(appendable, "table:number-rows-repeated", this.nullFieldCounter);
-        }
-        util.appendAttribute(appendable, "table:style-name", "ro1");
-        appendable.append(">");
-        appendable.append("<table:table-cell/>");
-        appendable.append("</table:table-row>");
+        this.appendNullRows(util, sink, toRowIndex - this.nullFieldCounter, toRowIndex);
         this.atLeastOneRow = true;
         this.nullFieldCounter = 0;
     }
 
+    /**
+     * Append the null rows fromRowIndex to toRowIndex - 1 as repeated rows. The null rows of a
+     * range decoration are repeated decorated rows.
+     */
+    private void appendNullRows(final XMLUtil util, final XMLSink sink, final int fromRowIndex,
+                                final int toRowIndex) throws IOException {
+        if (this.decorations == null || this.decorations.isEmpty()) {
+            this.appendNullRows(util, sink, toRowIndex - fromRowIndex, null);
+        } else {
+            int r = fromRowIndex;
+            while (r < toRowIndex) {
+                final TableDecorations.Segments segments = this.decorations.getSegments(r);
+                final int lastRowIndex = (int) Math.min(
+                        this.decorations.getLastRowWithSameSegments(r), toRowIndex - 1);
+                this.appendNullRows(util, sink, lastRowIndex - r + 1, segments);
+                r = lastRowIndex + 1;
+            }
+        }
+    }
+
+    /**
+     * Append a bunch of rows. The null rows are repeated rows.
+     */
+    private void appendRowsAndNullRows(final XMLUtil util, final XMLSink sink,
+                                       final Appendable appendable, final int firstRowIndex,
+                                       final List<TableRowImpl> rows) throws IOException {
+        int nullFromRowIndex = firstRowIndex;
+        int r = firstRowIndex;
+        for (final TableRowImpl row : rows) {
+            if (row != null) {
+                if (nullFromRowIndex < r) {
+                    this.appendNullRows(util, sink, nullFromRowIndex, r);
+                }
+                row.appendXMLToTable(util, sink);
+                nullFromRowIndex = r + 1;
+                this.drainIfFull(sink, appendable);
+            }
+            r++;
+        }
+        if (nullFromRowIndex < r) {
+            this.appendNullRows(util, sink, nullFromRowIndex, r);
+        }
+    }
+
+    private void appendNullRows(final XMLUtil util, final XMLSink sink, final int count,
+                                final TableDecorations.Segments segments) throws IOException {
+        sink.append("<table:table-row");
+        if (count > 1) {
+            util.appendAttribute(sink, "table:number-rows-repeated", count);
+        }
+        util.appendAttribute(sink, "table:style-name", "ro1");
+        sink.append(">");
+        if (segments == null) {
+            sink.append("<table:table-cell/>");
+        } else {
+            segments.appendBlankCells(util, sink, 0, segments.getLastColumn());
+        }
+        sink.append("</table:table-row>");
+    }
+
     /**
      * Append the postamble
      *
@@ -255,7 +486,7 @@ class TableAppender {
         if (rowIndex == 0) {
             this.appendOpenTagAndPreamble(util, appendable);
         }
-        this.appendRows(util, appendable, rowIndex);
+        this.appendLastRows(util, appendable, rowIndex);
         this.appendPostamble(appendable);
     }
 
@@ -289,18 +520,66 @@ class TableAppender {
     }
 
     /**
-     * Flush a bunch of rows
+     * Flush a bunch of rows. The rows that were never created (null) are written as empty rows.
      *
-     * @param rows the rows
+     * @param xmlUtil       an util
+     * @param writer        the destination
+     * @param firstRowIndex the index of the first row
+     * @param rows          the rows
      * @throws IOException if an I/O error occurs
      */
     public void flushRows(final XMLUtil xmlUtil, final ZipUTF8Writer writer,
-                          final List<TableRowImpl> rows) throws IOException {
-        for (final TableRowImpl row : rows) {
-            TableRowImpl.appendXMLToTable(row, xmlUtil, writer);
+                          final int firstRowIndex, final List<TableRowImpl> rows)
+            throws IOException {
+        final XMLSink sink = XMLSink.create();
+        this.appendRowsAndNullRows(xmlUtil, sink, writer, firstRowIndex, rows);
+        if (!rows.isEmpty()) {
             this.atLeastOneRow = true;
         }
+        sink.drainTo(writer);
+        // free rows
+        Collections.fill(rows, null);
+    }
+
+    /**
+     * Write a bunch of rows to a temporary file, to flush them after the reserved rows.
+     * Frees the rows. The rows that were never created (null) are written as empty rows.
+     *
+     * @param xmlUtil       an util
+     * @param directory     the directory of the temporary file, or null for the default
+     * @param firstRowIndex the index of the first row
+     * @param rows          the rows
+     * @throws IOException if an I/O error occurs
+     */
+    public void deferRows(final XMLUtil xmlUtil, final File directory, final int firstRowIndex,
+                          final List<TableRowImpl> rows) throws IOException {
+        if (this.deferredRows == null) {
+            this.deferredRows = SpilledRows.create(directory);
+        }
+        final Appendable appendable = this.deferredRows.getAppendable();
+        final XMLSink sink = XMLSink.create();
+        this.appendRowsAndNullRows(xmlUtil, sink, appendable, firstRowIndex, rows);
+        sink.drainTo(appendable);
         // free rows
         Collections.fill(rows, null);
     }
+
+    /**
+     * Flush the rows of the temporary file and delete it
+     *
+     * @param writer the destination
+     * @throws IOException if an I/O error occurs
+     */
+    public void flushDeferredRows(final ZipUTF8Writer writer) throws IOException {
+        if (this.deferredRows == null) {
+            return;
+        }
+        try {
+            this.deferredRows.copyTo(writer);
+            this.atLeastOneRow = true;
+        } finally {
+            this.deferredRows.delete();
+            this.deferredRows = null;
+        }
+    }
 }
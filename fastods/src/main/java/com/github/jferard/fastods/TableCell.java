@@ -27,6 +27,7 @@ package com.github.jferard.fastods;
 import com.github.jferard.fastods.attribute.Length;
 import com.github.jferard.fastods.datastyle.DataStyle;
 import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.style.TextStyle;
 import com.github.jferard.fastods.util.Validation;
 
 import java.io.IOException;
@@ -122,6 +123,14 @@ public interface TableCell {
      */
     void setFloatValue(float value);
 
+    /**
+     * Set the float value of the cell. Type will be CellType.FLOAT and data style the
+     * default data style for float.
+     *
+     * @param value a double with the value to be used
+     */
+    void setFloatValue(double value);
+
     /**
      * Set the float value of the cell. Type will be CellType.FLOAT and data style the
      * default data style for float.
@@ -130,6 +139,14 @@ public interface TableCell {
      */
     void setFloatValue(int value);
 
+    /**
+     * Set the float value of the cell. Type will be CellType.FLOAT and data style the
+     * default data style for float.
+     *
+     * @param value a long with the value to be used
+     */
+    void setFloatValue(long value);
+
     /**
      * Set the float value of the cell. Type will be CellType.FLOAT and data style the
      * default data style for float.
@@ -276,6 +293,36 @@ public interface TableCell {
      */
     void setFormula(String formula);
 
+    /**
+     * Sets a formula template in an existing cell. The references of the template are moved
+     * according to the position of the cell. As {@link #setFormula(String)}, the user is
+     * responsible for setting the correct value.
+     *
+     * @param template the formula template.
+     */
+    void setFormula(FormulaTemplate template);
+
+    /**
+     * Sets a formula and its cached result. The cached result is displayed by a spreadsheet
+     * application that does not recalculate the formulas on load:
+     * <pre>{@code
+     *     walker.setFormula("1+1", new FloatValue(2));
+     * }</pre>
+     *
+     * @param formula     the formula, without '=' sign.
+     * @param cachedValue the result of the formula
+     */
+    void setFormula(String formula, CellValue cachedValue);
+
+    /**
+     * Sets a formula template and its cached result.
+     *
+     * @param template    the formula template.
+     * @param cachedValue the result of the formula in this cell
+     * @see #setFormula(String, CellValue)
+     */
+    void setFormula(FormulaTemplate template, CellValue cachedValue);
+
     /**
      * @return true if the cell is covered by a span
      */
@@ -330,6 +377,17 @@ public interface TableCell {
      */
     void setMatrixFormula(String formula, int matrixRowsSpanned, int matrixColumnsSpanned);
 
+    /**
+     * Set a matrix formula and its cached result
+     * @param formula the formula
+     * @param matrixRowsSpanned the number of rows
+     * @param matrixColumnsSpanned the number of columns
+     * @param cachedValue the result of the formula in the top left cell of the matrix
+     * @see #setFormula(String, CellValue)
+     */
+    void setMatrixFormula(String formula, int matrixRowsSpanned, int matrixColumnsSpanned,
+                          CellValue cachedValue);
+
     /**
      * @return true if the cell has a value. A void value is a value
      */
@@ -342,6 +400,41 @@ public interface TableCell {
      */
     void setText(Text text);
 
+    /**
+     * Set a link in this cell. Type will be CellType.STRING. Unlike
+     * {@code setText(Text.builder().par().link(text, href).build())}, this stores only the text
+     * and the href.
+     *
+     * @param text the text of the link, not escaped
+     * @param href the destination
+     */
+    void setHyperlink(String text, String href);
+
+    /**
+     * Set a styled link in this cell. See {@link #setHyperlink(String, String)}.
+     *
+     * @param text the text of the link, not escaped
+     * @param ts   the text style
+     * @param href the destination
+     */
+    void setHyperlink(String text, TextStyle ts, String href);
+
+    /**
+     * Set a text with a single style in this cell. Type will be CellType.STRING. Unlike
+     * {@code setText(Text.styledContent(text, ts))}, this stores only the text and the style.
+     *
+     * @param text the text, not escaped
+     * @param ts   the text style
+     */
+    void setStyledText(String text, TextStyle ts);
+
+    /**
+     * Set a text in this cell, with one paragraph per line. Type will be CellType.STRING.
+     *
+     * @param text the text, lines are separated by '\n', not escaped
+     */
+    void setMultilineText(String text);
+
     /**
      * Merge cells
      *
@@ -30,11 +30,16 @@ import com.github.jferard.fastods.datastyle.DataStyle;
 import com.github.jferard.fastods.datastyle.DataStyles;
 import com.github.jferard.fastods.odselement.StylesContainer;
 import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.style.TextStyle;
 import com.github.jferard.fastods.util.IntegerRepresentationCache;
 import com.github.jferard.fastods.util.Validation;
+import com.github.jferard.fastods.util.XMLSink;
 import com.github.jferard.fastods.util.XMLUtil;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
@@ -52,6 +57,13 @@ public class TableCellImpl implements WritableTableCell {
      * The default date format
      */
     final static SimpleDateFormat DATE_VALUE_FORMAT;
+    private static final byte[] CELL_OPEN =
+            "<table:table-cell".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] COVERED_CELL_OPEN =
+            "<table:covered-table-cell".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CELL_CLOSE =
+            "</table:table-cell>".getBytes(StandardCharsets.US_ASCII);
+    private static final int CELL_SINK_SIZE = 256;
 
     static {
         /*
@@ -62,6 +74,10 @@ public class TableCellImpl implements WritableTableCell {
         DATE_VALUE_FORMAT.setTimeZone(TimeZone.getTimeZone("UTC"));
     }
 
+    private static final int CELL_SIZE = 64;
+    private static final int STRING_SIZE = 40;
+    private static final int COLD_CELL_SIZE = 64;
+
     private final TableRowImpl parentRow;
     private final IntegerRepresentationCache cache;
     private final XMLUtil xmlUtil;
@@ -72,7 +88,26 @@ public class TableCellImpl implements WritableTableCell {
     private TableCellStyle style;
     private CellType type;
     private TableColdCell coldCell;
+    /**
+     * A formula shared by many cells. Rendered at the position of this cell.
+     */
+    private FormulaTemplate formulaTemplate;
+    /**
+     * A link, a styled span or a multi-line text, whose text is the value. Moved to the cold
+     * cell as a Text if a cold cell is needed.
+     */
+    private CompactText compactText;
+    /**
+     * The value as a String. If null and numberKind is set, the value is a number stored in
+     * `numberBits`, and will be formatted on the fly.
+     */
     private String value;
+    private NumberKind numberKind;
+    private long numberBits;
+    /**
+     * True if the cell was modified since the row was last written with the row XML cache.
+     */
+    private boolean dirty;
 
     /**
      * Create the table cell implementation
@@ -97,38 +132,111 @@ public class TableCellImpl implements WritableTableCell {
         this.libreOfficeMode = libreOfficeMode;
         this.parentRow = parentRow;
         this.columnIndex = columnIndex;
+        this.dirty = true;
     }
 
     @Override
     public void appendXMLToTableRow(final XMLUtil util, final Appendable appendable)
             throws IOException {
+        final XMLSink sink = new XMLSink(CELL_SINK_SIZE);
+        this.appendXMLToTableRow(util, sink, null);
+        sink.writeTo(appendable);
+    }
+
+    /**
+     * Generate the XML for the table cell into a sink.
+     *
+     * @param util an util.
+     * @param sink the sink to fill
+     * @throws IOException if an error occurs
+     */
+    public void appendXMLToTableRow(final XMLUtil util, final XMLSink sink) throws IOException {
+        this.appendXMLToTableRow(util, sink, null);
+    }
+
+    /**
+     * Generate the XML for the table cell, merged with a range decoration.
+     *
+     * @param util       an util.
+     * @param sink       the sink to fill
+     * @param decoration the decoration of the range, or null
+     * @throws IOException if an error occurs
+     */
+    void appendXMLToTableRow(final XMLUtil util, final XMLSink sink,
+                             final CellDecoration decoration) throws IOException {
         final boolean covered = this.isCovered();
         if (covered) {
-            appendable.append("<table:covered-table-cell");
+            sink.appendAsciiLiteral(COVERED_CELL_OPEN);
         } else {
-            appendable.append("<table:table-cell");
+            sink.appendAsciiLiteral(CELL_OPEN);
         }
 
         if (this.style != null) {
-            util.appendEAttribute(appendable, "table:style-name", this.style.getName());
+            this.style.appendStyleNameAttribute(util, sink);
         } else if (this.libreOfficeMode) {
             // looks for a parent style to set
-            util.appendEAttribute(appendable, "table:style-name", this.getCurCellStyle().getName());
+            this.getCurCellStyle().appendStyleNameAttribute(util, sink);
         }
 
         if (this.type != null && this.type != CellType.VOID) {
-            util.appendAttribute(appendable, "office:value-type", this.type);
-            util.appendEAttribute(appendable, this.type.getValueAttribute(), this.value);
+            util.appendAttribute(sink, "office:value-type", this.type);
+            if (this.value == null && this.numberKind != null) {
+                this.appendNumberAttribute(util, sink);
+            } else {
+                util.appendEAttribute(sink, this.type.getValueAttribute(), this.value);
+            }
             if (this.type == CellType.CURRENCY) {
                 final String currency = this.getCurrency();
-                util.appendEAttribute(appendable, "office:currency", currency);
+                util.appendEAttribute(sink, "office:currency", currency);
             }
         }
 
+        if (this.formulaTemplate != null) {
+            this.formulaTemplate.appendXMLAttribute(sink, this.parentRow.sheetRowIndex(),
+                    this.columnIndex);
+        }
+
         if (this.hasColdCell()) {
-            this.coldCell.appendXMLToTable(util, appendable);
+            if (decoration == null) {
+                this.coldCell.appendXMLToTable(util, sink);
+            } else {
+                this.coldCell.appendXMLToTable(util, sink, decoration);
+            }
+        } else if (this.compactText != null) {
+            this.appendCompactTextAndClose(util, sink, decoration);
+        } else if (decoration == null) {
+            sink.append("/>");
         } else {
-            appendable.append("/>");
+            decoration.appendAttributesAndClose(util, sink);
+        }
+    }
+
+    private void appendCompactTextAndClose(final XMLUtil util, final XMLSink sink,
+                                           final CellDecoration decoration)
+            throws IOException {
+        if (decoration != null) {
+            decoration.appendAttributes(util, sink, null, null);
+        }
+        sink.append('>');
+        this.compactText.appendXMLContent(util, sink, this.value);
+        if (decoration != null && decoration.getTooltip() != null) {
+            decoration.getTooltip().appendXMLContent(util, sink);
+        }
+        sink.appendAsciiLiteral(CELL_CLOSE);
+    }
+
+    private void appendNumberAttribute(final XMLUtil util, final XMLSink sink) {
+        final String attrName = this.type.getValueAttribute();
+        switch (this.numberKind) {
+            case FLOAT:
+                util.appendAttribute(sink, attrName, Float.intBitsToFloat((int) this.numberBits));
+                break;
+            case DOUBLE:
+                util.appendAttribute(sink, attrName, Double.longBitsToDouble(this.numberBits));
+                break;
+            default: // LONG
+                util.appendAttribute(sink, attrName, this.numberBits);
+                break;
         }
     }
 
@@ -185,7 +293,9 @@ public class TableCellImpl implements WritableTableCell {
 
     @Override
     public void setBooleanValue(final boolean value) {
+        this.compactTextToColdCell();
         this.value = value ? "true" : "false";
+        this.numberKind = null;
         this.type = CellType.BOOLEAN;
         this.setImplicitDataStyle(this.dataStyles.getBooleanDataStyle());
     }
@@ -202,11 +312,18 @@ public class TableCellImpl implements WritableTableCell {
 
     @Override
     public void setCurrencyValue(final float value, final String currency) {
-        this.setCurrencyValue(Float.toString(value), currency);
+        this.setFloatNumber(value);
+        this.setCurrencyType(currency);
     }
 
     private void setCurrencyValue(final String valueAsString, final String currency) {
+        this.compactTextToColdCell();
         this.value = valueAsString;
+        this.numberKind = null;
+        this.setCurrencyType(currency);
+    }
+
+    private void setCurrencyType(final String currency) {
         this.type = CellType.CURRENCY;
         this.setImplicitDataStyle(this.dataStyles.getCurrencyDataStyle());
 
@@ -220,12 +337,73 @@ public class TableCellImpl implements WritableTableCell {
 
     @Override
     public void setCurrencyValue(final Number value, final String currency) {
-        this.setCurrencyValue(value.toString(), currency);
+        if (this.setNumber(value)) {
+            this.setCurrencyType(currency);
+        } else {
+            this.setCurrencyValue(value.toString(), currency);
+        }
+    }
+
+    /**
+     * Store a primitive value of a Number instance, without conversion to a String
+     *
+     * @param value the number
+     * @return true if the number was stored, false if value is not a Float, a Double, a Long or
+     * an Integer.
+     */
+    private boolean setNumber(final Number value) {
+        if (value instanceof Double) {
+            this.setDoubleNumber(value.doubleValue());
+        } else if (value instanceof Float) {
+            this.setFloatNumber(value.floatValue());
+        } else if (value instanceof Long || value instanceof Integer) {
+            this.setLongNumber(value.longValue());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private void setFloatNumber(final float value) {
+        this.compactTextToColdCell();
+        this.value = null;
+        this.numberKind = NumberKind.FLOAT;
+        this.numberBits = Float.floatToRawIntBits(value);
+    }
+
+    private void setDoubleNumber(final double value) {
+        this.compactTextToColdCell();
+        this.value = null;
+        this.numberKind = NumberKind.DOUBLE;
+        this.numberBits = Double.doubleToRawLongBits(value);
+    }
+
+    private void setLongNumber(final long value) {
+        this.compactTextToColdCell();
+        this.value = null;
+        this.numberKind = NumberKind.LONG;
+        this.numberBits = value;
+    }
+
+    /**
+     * The value or the type of the cell is about to change: a compact text (hyperlink, styled or
+     * multiline text) is built from the current value, hence it has to become a Text of the cold
+     * cell, as if it was set by setText.
+     */
+    private void compactTextToColdCell() {
+        if (this.compactText != null) {
+            this.secureColdCell();
+        }
     }
 
     private TableColdCell secureColdCell() {
+        this.dirty = true;
         if (this.coldCell == null) {
             this.coldCell = TableColdCell.create(this.xmlUtil);
+            if (this.compactText != null) {
+                this.coldCell.setText(this.compactText.toText(this.xmlUtil, this.value));
+                this.compactText = null;
+            }
         }
         return this.coldCell;
     }
@@ -236,6 +414,7 @@ public class TableCellImpl implements WritableTableCell {
             return;
         }
 
+        this.dirty = true;
         this.stylesContainer.addDataStyle(dataStyle);
         final TableCellStyle curStyle = this.getCurCellStyle();
         final DataStyle curDataStyle = curStyle.getDataStyle();
@@ -262,6 +441,7 @@ public class TableCellImpl implements WritableTableCell {
      * For implicit data style, e.g. will set an implicit data style if the data style is not set
      */
     private void setImplicitDataStyle(final DataStyle dataStyle) {
+        this.dirty = true;
         if (dataStyle == null) {
             return;
         }
@@ -299,20 +479,35 @@ public class TableCellImpl implements WritableTableCell {
 
     @Override
     public void setDateValue(final Date value) {
+        this.compactTextToColdCell();
         this.value = TableCellImpl.DATE_VALUE_FORMAT.format(value);
+        this.numberKind = null;
         this.type = CellType.DATE;
         this.setImplicitDataStyle(this.dataStyles.getDateDataStyle());
     }
 
     private void setFloatValue(final String valueAsString) {
+        this.compactTextToColdCell();
         this.value = valueAsString;
+        this.numberKind = null;
+        this.setFloatType();
+    }
+
+    private void setFloatType() {
         this.type = CellType.FLOAT;
         this.setImplicitDataStyle(this.dataStyles.getFloatDataStyle());
     }
 
     @Override
     public void setFloatValue(final float value) {
-        this.setFloatValue(Float.toString(value));
+        this.setFloatNumber(value);
+        this.setFloatType();
+    }
+
+    @Override
+    public void setFloatValue(final double value) {
+        this.setDoubleNumber(value);
+        this.setFloatType();
     }
 
     @Override
@@ -320,9 +515,19 @@ public class TableCellImpl implements WritableTableCell {
         this.setFloatValue(this.cache.toString(value));
     }
 
+    @Override
+    public void setFloatValue(final long value) {
+        this.setLongNumber(value);
+        this.setFloatType();
+    }
+
     @Override
     public void setFloatValue(final Number value) {
-        this.setFloatValue(value.toString());
+        if (this.setNumber(value)) {
+            this.setFloatType();
+        } else {
+            this.setFloatValue(value.toString());
+        }
     }
 
     @Override
@@ -331,25 +536,73 @@ public class TableCellImpl implements WritableTableCell {
     }
 
     private void setPercentageValue(final String valueAsString) {
+        this.compactTextToColdCell();
         this.value = valueAsString;
+        this.numberKind = null;
+        this.setPercentageType();
+    }
+
+    private void setPercentageType() {
         this.type = CellType.PERCENTAGE;
         this.setImplicitDataStyle(this.dataStyles.getPercentageDataStyle());
     }
 
     @Override
     public void setPercentageValue(final float value) {
-        this.setPercentageValue(Float.toString(value));
+        this.setFloatNumber(value);
+        this.setPercentageType();
     }
 
     @Override
     public void setPercentageValue(final Number value) {
-        this.setPercentageValue(value.toString());
+        if (this.setNumber(value)) {
+            this.setPercentageType();
+        } else {
+            this.setPercentageValue(value.toString());
+        }
     }
 
     @Override
     public void setStringValue(final String value) {
+        this.dirty = true;
         this.value = value;
+        this.numberKind = null;
+        this.type = CellType.STRING;
+        this.compactText = null;
+    }
+
+    @Override
+    public void setHyperlink(final String text, final String href) {
+        this.setCompactText(text, CompactText.link(href, null));
+    }
+
+    @Override
+    public void setHyperlink(final String text, final TextStyle ts, final String href) {
+        this.setCompactText(text, CompactText.link(href, ts));
+    }
+
+    @Override
+    public void setStyledText(final String text, final TextStyle ts) {
+        this.setCompactText(text, CompactText.span(ts));
+    }
+
+    @Override
+    public void setMultilineText(final String text) {
+        this.setCompactText(text, CompactText.MULTI_LINE);
+    }
+
+    private void setCompactText(final String text, final CompactText compactText) {
+        this.dirty = true;
+        this.value = text;
+        this.numberKind = null;
         this.type = CellType.STRING;
+        compactText.addEmbeddedStylesFromCell(this.stylesContainer);
+        if (this.hasColdCell()) {
+            this.coldCell.setText(compactText.toText(this.xmlUtil, text));
+            this.compactText = null;
+        } else {
+            this.compactText = compactText;
+        }
     }
 
     @Override
@@ -358,6 +611,7 @@ public class TableCellImpl implements WritableTableCell {
             return;
         }
 
+        this.dirty = true;
         // the style is added to container there
         this.stylesContainer.addContentFontFaceContainerStyle(style);
 
@@ -387,8 +641,10 @@ public class TableCellImpl implements WritableTableCell {
 
     @Override
     public void setText(final Text text) {
+        this.compactText = null;
         this.secureColdCell().setText(text);
         this.value = "";
+        this.numberKind = null;
         this.type = CellType.STRING;
         text.addEmbeddedStylesFromCell(this.stylesContainer);
     }
@@ -405,6 +661,7 @@ public class TableCellImpl implements WritableTableCell {
 
     @Override
     public void setTimeValue(final long timeInMillis) {
+        this.compactTextToColdCell();
         if (timeInMillis < 0) {
             this.value = this.xmlUtil
                     .formatNegTimeInterval(0, 0, 0, 0, 0, (double) -timeInMillis / 1000);
@@ -412,6 +669,7 @@ public class TableCellImpl implements WritableTableCell {
             this.value =
                     this.xmlUtil.formatTimeInterval(0, 0, 0, 0, 0, (double) timeInMillis / 1000);
         }
+        this.numberKind = null;
         this.type = CellType.TIME;
         this.setImplicitDataStyle(this.dataStyles.getTimeDataStyle());
     }
@@ -419,7 +677,9 @@ public class TableCellImpl implements WritableTableCell {
     @Override
     public void setTimeValue(final long years, final long months, final long days, final long hours,
                              final long minutes, final double seconds) {
+        this.compactTextToColdCell();
         this.value = this.xmlUtil.formatTimeInterval(years, months, days, hours, minutes, seconds);
+        this.numberKind = null;
         this.type = CellType.TIME;
         this.setImplicitDataStyle(this.dataStyles.getTimeDataStyle());
     }
@@ -427,8 +687,10 @@ public class TableCellImpl implements WritableTableCell {
     @Override
     public void setNegTimeValue(final long years, final long months, final long days,
                                 final long hours, final long minutes, final double seconds) {
+        this.compactTextToColdCell();
         this.value =
                 this.xmlUtil.formatNegTimeInterval(years, months, days, hours, minutes, seconds);
+        this.numberKind = null;
         this.type = CellType.TIME;
         this.setImplicitDataStyle(this.dataStyles.getTimeDataStyle());
     }
@@ -452,17 +714,43 @@ public class TableCellImpl implements WritableTableCell {
 
     @Override
     public void setVoidValue() {
+        this.dirty = true;
+        this.compactText = null;
         this.value = "";
+        this.numberKind = null;
         this.type = CellType.VOID;
     }
 
     @Override
     public void setFormula(final String formula) {
+        this.formulaTemplate = null;
         this.secureColdCell().setFormula(formula);
     }
 
+    @Override
+    public void setFormula(final FormulaTemplate template) {
+        this.dirty = true;
+        if (this.hasColdCell()) {
+            this.coldCell.setFormula(null);
+        }
+        this.formulaTemplate = template;
+    }
+
+    @Override
+    public void setFormula(final String formula, final CellValue cachedValue) {
+        cachedValue.setToCell(this);
+        this.setFormula(formula);
+    }
+
+    @Override
+    public void setFormula(final FormulaTemplate template, final CellValue cachedValue) {
+        cachedValue.setToCell(this);
+        this.setFormula(template);
+    }
+
     @Override
     public void setMatrixFormula(final String formula) {
+        this.formulaTemplate = null;
         this.secureColdCell();
         this.coldCell.setFormula(formula);
         this.coldCell.setMatrixRowsSpanned(1);
@@ -472,14 +760,187 @@ public class TableCellImpl implements WritableTableCell {
     @Override
     public void setMatrixFormula(final String formula, final int matrixRowsSpanned,
                                  final int matrixColumnsSpanned) {
+        this.formulaTemplate = null;
         this.secureColdCell();
         this.coldCell.setFormula(formula);
         this.coldCell.setMatrixRowsSpanned(matrixRowsSpanned);
         this.coldCell.setMatrixColumnsSpanned(matrixColumnsSpanned);
     }
 
+    @Override
+    public void setMatrixFormula(final String formula, final int matrixRowsSpanned,
+                                 final int matrixColumnsSpanned, final CellValue cachedValue) {
+        cachedValue.setToCell(this);
+        this.setMatrixFormula(formula, matrixRowsSpanned, matrixColumnsSpanned);
+    }
+
     @Override
     public boolean hasValue() {
-        return this.value != null || this.hasColdCell();
+        return this.value != null || this.numberKind != null || this.hasColdCell() ||
+                this.formulaTemplate != null;
+    }
+
+    /**
+     * Add the displayed text of this cell to an estimator of the column widths. Rich texts,
+     * formulas without a cached value, covered cells and cells that span many columns are
+     * ignored.
+     *
+     * @param estimator the estimator
+     */
+    void addToWidthEstimator(final ColumnWidthEstimator estimator) {
+        if (this.type == null || this.type == CellType.VOID) {
+            return;
+        }
+        if (this.hasColdCell() && this.coldCell.getColumnsSpanned() != 0 &&
+                this.coldCell.getColumnsSpanned() != 1) {
+            return;
+        }
+        final TableCellStyle curStyle = this.getCurCellStyle();
+        switch (this.type) {
+            case STRING:
+                if (this.compactText == CompactText.MULTI_LINE) {
+                    for (final String line : this.value.split("\n", -1)) {
+                        estimator.addText(this.columnIndex, line, curStyle);
+                    }
+                } else if (this.value != null && !this.value.isEmpty()) {
+                    estimator.addText(this.columnIndex, this.value, curStyle);
+                }
+                break;
+            case FLOAT:
+            case PERCENTAGE:
+            case CURRENCY:
+                final String currency = this.hasColdCell() ? this.coldCell.getCurrency() : null;
+                final double number = this.getNumber();
+                if (Double.isNaN(number) && this.value != null) {
+                    estimator.addText(this.columnIndex, this.value, curStyle);
+                } else {
+                    estimator.addNumber(this.columnIndex, this.type, number, currency, curStyle);
+                }
+                break;
+            case DATE:
+                estimator.addDate(this.columnIndex, curStyle);
+                break;
+            case TIME:
+                estimator.addTime(this.columnIndex, curStyle);
+                break;
+            default: // BOOLEAN
+                estimator.addText(this.columnIndex, "true".equals(this.value) ? "TRUE" : "FALSE",
+                        curStyle);
+                break;
+        }
+    }
+
+    /**
+     * @return the number value of this cell, or NaN
+     */
+    private double getNumber() {
+        if (this.numberKind == null) {
+            if (this.value == null) {
+                return Double.NaN;
+            }
+            try {
+                return Double.parseDouble(this.value);
+            } catch (final NumberFormatException e) {
+                return Double.NaN;
+            }
+        }
+        switch (this.numberKind) {
+            case FLOAT:
+                return Float.intBitsToFloat((int) this.numberBits);
+            case DOUBLE:
+                return Double.longBitsToDouble(this.numberBits);
+            default: // LONG
+                return this.numberBits;
+        }
+    }
+
+    /**
+     * Clear the dirty flag of this cell.
+     *
+     * @return true if the cell was modified since the previous call (or since its creation)
+     */
+    boolean clearDirty() {
+        final boolean wasDirty = this.dirty;
+        this.dirty = false;
+        return wasDirty;
+    }
+
+    /**
+     * @return a rough estimate of the heap retained by this cell, in bytes
+     */
+    int estimateRetainedSize() {
+        int size = CELL_SIZE;
+        if (this.value != null) {
+            size += STRING_SIZE + 2 * this.value.length();
+        }
+        if (this.hasColdCell()) {
+            size += COLD_CELL_SIZE;
+        }
+        if (this.compactText != null) {
+            size += this.compactText.estimateRetainedSize();
+        }
+        return size;
+    }
+
+    /**
+     * Encode this cell. The parent row and the column index are not encoded.
+     *
+     * @param out  the output
+     * @param refs the objects kept by reference
+     * @throws IOException if an I/O error occurs
+     */
+    void encode(final DataOutput out, final CompressedRowStore.ObjectRefs refs)
+            throws IOException {
+        out.writeInt(refs.put(this.dataStyles));
+        out.writeInt(refs.put(this.style));
+        out.writeByte(this.type == null ? -1 : this.type.ordinal());
+        out.writeInt(refs.put(this.coldCell));
+        out.writeInt(refs.put(this.formulaTemplate));
+        CompactText.encode(out, refs, this.compactText);
+        CompressedRowStore.writeString(out, this.value);
+        out.writeByte(this.numberKind == null ? -1 : this.numberKind.ordinal());
+        out.writeLong(this.numberBits);
+    }
+
+    /**
+     * Decode a cell
+     *
+     * @param in              the input
+     * @param refs            the objects kept by reference
+     * @param cache           an util
+     * @param xmlUtil         an util
+     * @param stylesContainer the styles container
+     * @param libreOfficeMode try to get full compatibility with LO if true
+     * @param parentRow       the parent row
+     * @param columnIndex     index in parent row
+     * @return the cell
+     * @throws IOException if an I/O error occurs
+     */
+    static TableCellImpl decode(final DataInput in, final CompressedRowStore.ObjectRefs refs,
+                                final IntegerRepresentationCache cache, final XMLUtil xmlUtil,
+                                final StylesContainer stylesContainer,
+                                final boolean libreOfficeMode, final TableRowImpl parentRow,
+                                final int columnIndex) throws IOException {
+        final DataStyles dataStyles = (DataStyles) refs.get(in.readInt());
+        final TableCellImpl cell = new TableCellImpl(cache, xmlUtil, stylesContainer, dataStyles,
+                libreOfficeMode, parentRow, columnIndex);
+        cell.style = (TableCellStyle) refs.get(in.readInt());
+        final byte type = in.readByte();
+        cell.type = type == -1 ? null : CellType.values()[type];
+        cell.coldCell = (TableColdCell) refs.get(in.readInt());
+        cell.formulaTemplate = (FormulaTemplate) refs.get(in.readInt());
+        cell.compactText = CompactText.decode(in, refs);
+        cell.value = CompressedRowStore.readString(in);
+        final byte numberKind = in.readByte();
+        cell.numberKind = numberKind == -1 ? null : NumberKind.values()[numberKind];
+        cell.numberBits = in.readLong();
+        return cell;
+    }
+
+    /**
+     * The kind of a number stored without conversion to a String
+     */
+    private enum NumberKind {
+        FLOAT, DOUBLE, LONG
     }
 }
\ No newline at end of file
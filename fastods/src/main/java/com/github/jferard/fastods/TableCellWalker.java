@@ -30,6 +30,7 @@ import com.github.jferard.fastods.datastyle.DataStyles;
 import com.github.jferard.fastods.style.TableCellStyle;
 import com.github.jferard.fastods.style.TableColumnStyle;
 import com.github.jferard.fastods.style.TableRowStyle;
+import com.github.jferard.fastods.style.TextStyle;
 import com.github.jferard.fastods.annotation.Beta;
 import com.github.jferard.fastods.util.Validation;
 
@@ -80,6 +81,26 @@ public class TableCellWalker implements RowCellWalker, TableRowWalker, TableColu
         this.cell.setText(text);
     }
 
+    @Override
+    public void setHyperlink(final String text, final String href) {
+        this.cell.setHyperlink(text, href);
+    }
+
+    @Override
+    public void setHyperlink(final String text, final TextStyle ts, final String href) {
+        this.cell.setHyperlink(text, ts, href);
+    }
+
+    @Override
+    public void setStyledText(final String text, final TextStyle ts) {
+        this.cell.setStyledText(text, ts);
+    }
+
+    @Override
+    public void setMultilineText(final String text) {
+        this.cell.setMultilineText(text);
+    }
+
     @Override
     public void setCellMerge(final int rowMerge, final int columnMerge) throws IOException {
         if (rowMerge < 0 || columnMerge < 0) {
@@ -136,6 +157,12 @@ public class TableCellWalker implements RowCellWalker, TableRowWalker, TableColu
         this.cell.setMatrixFormula(formula, matrixRowsSpanned, matrixColumnsSpanned);
     }
 
+    @Override
+    public void setMatrixFormula(final String formula, final int matrixRowsSpanned,
+                                 final int matrixColumnsSpanned, final CellValue cachedValue) {
+        this.cell.setMatrixFormula(formula, matrixRowsSpanned, matrixColumnsSpanned, cachedValue);
+    }
+
     @Override
     public void setStringValue(final String value) {
         this.cell.setStringValue(value);
@@ -180,6 +207,21 @@ public class TableCellWalker implements RowCellWalker, TableRowWalker, TableColu
 
     }
 
+    @Override
+    public void setFormula(final FormulaTemplate template) {
+        this.cell.setFormula(template);
+    }
+
+    @Override
+    public void setFormula(final String formula, final CellValue cachedValue) {
+        this.cell.setFormula(formula, cachedValue);
+    }
+
+    @Override
+    public void setFormula(final FormulaTemplate template, final CellValue cachedValue) {
+        this.cell.setFormula(template, cachedValue);
+    }
+
     @Override
     public boolean hasValue() {
         return this.cell.hasValue();
@@ -225,6 +267,16 @@ public class TableCellWalker implements RowCellWalker, TableRowWalker, TableColu
         this.cell.setFloatValue(value);
     }
 
+    @Override
+    public void setFloatValue(final double value) {
+        this.cell.setFloatValue(value);
+    }
+
+    @Override
+    public void setFloatValue(final long value) {
+        this.cell.setFloatValue(value);
+    }
+
     @Override
     public void setFloatValue(final int value) {
         this.cell.setFloatValue(value);
@@ -27,6 +27,7 @@ package com.github.jferard.fastods;
 import com.github.jferard.fastods.attribute.Length;
 import com.github.jferard.fastods.util.SVGRectangle;
 import com.github.jferard.fastods.util.Validation;
+import com.github.jferard.fastods.util.XMLSink;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -43,6 +44,8 @@ import java.util.Map;
  * @author Martin Schulz
  */
 class TableColdCell {
+    private static final int COLD_CELL_SINK_SIZE = 256;
+
     /**
      * @param xmlUtil an util
      * @return the cold cell
@@ -151,59 +154,102 @@ class TableColdCell {
      */
     public void appendXMLToTable(final XMLUtil util, final Appendable appendable)
             throws IOException {
+        final XMLSink sink = new XMLSink(COLD_CELL_SINK_SIZE);
+        this.appendXMLToTable(util, sink, null);
+        sink.writeTo(appendable);
+    }
+
+    /**
+     * Add "cold" content to a sink and close the cell or covered cell tag.
+     * @param util a util class to write XML data
+     * @param sink the sink to which data will be appended
+     * @throws IOException if data can't be appended
+     */
+    public void appendXMLToTable(final XMLUtil util, final XMLSink sink) throws IOException {
+        this.appendXMLToTable(util, sink, null);
+    }
+
+    /**
+     * Add "cold" content, merged with a range decoration, and close the cell or covered cell
+     * tag. The elements of the cell have precedence over the elements of the decoration.
+     *
+     * @param util       a util class to write XML data
+     * @param sink       the sink to which data will be appended
+     * @param decoration the decoration of the range, or null
+     * @throws IOException if data can't be appended
+     */
+    void appendXMLToTable(final XMLUtil util, final XMLSink sink,
+                          final CellDecoration decoration) throws IOException {
 
         if (this.formula != null) {
-            util.appendEAttribute(appendable, "table:formula", "of:=" + this.formula);
+            util.appendEAttribute(sink, "table:formula", "of:=" + this.formula);
             if (this.matrixRowsSpanned != 0) {
-                util.appendAttribute(appendable, "table:number-matrix-rows-spanned",
+                util.appendAttribute(sink, "table:number-matrix-rows-spanned",
                         this.matrixRowsSpanned);
             }
             if (this.matrixColumnsSpanned != 0) {
-                util.appendAttribute(appendable, "table:number-matrix-columns-spanned",
+                util.appendAttribute(sink, "table:number-matrix-columns-spanned",
                         this.matrixColumnsSpanned);
             }
         }
 
         if (!this.isCovered()) {
             if (this.columnsSpanned != 0) {
-                util.appendAttribute(appendable, "table:number-columns-spanned",
+                util.appendAttribute(sink, "table:number-columns-spanned",
                         this.columnsSpanned);
             }
             if (this.rowsSpanned != 0) {
-                util.appendAttribute(appendable, "table:number-rows-spanned", this.rowsSpanned);
+                util.appendAttribute(sink, "table:number-rows-spanned", this.rowsSpanned);
             }
         }
 
+        final Tooltip tooltip;
+        if (decoration == null) {
+            tooltip = this.tooltip;
+        } else {
+            decoration.appendAttributes(util, sink, this.validation,
+                    this.customValueByAttribute);
+            tooltip = this.tooltip == null ? decoration.getTooltip() : this.tooltip;
+        }
+
         if (this.customValueByAttribute != null) {
             for (final Map.Entry<String, CharSequence> entry : this.customValueByAttribute
                     .entrySet()) {
-                util.appendAttribute(appendable, entry.getKey(), entry.getValue());
+                util.appendAttribute(sink, entry.getKey(), entry.getValue());
             }
         }
 
         if (this.validation != null) {
-            util.appendEAttribute(appendable, "table:content-validation-name",
+            util.appendEAttribute(sink, "table:content-validation-name",
                     this.validation.getName());
         }
 
-        if (this.text == null && this.tooltip == null) {
-            appendable.append("/>");
+        if (this.text == null && tooltip == null) {
+            sink.append("/>");
         } else { // something between <cell> and </cell>
-            appendable.append(">");
+            sink.append('>');
             if (this.text != null) {
-                this.text.appendXMLContent(util, appendable);
+                this.text.appendXMLContent(util, sink);
             }
-            if (this.tooltip != null) {
-                this.tooltip.appendXMLContent(util, appendable);
+            if (tooltip != null) {
+                tooltip.appendXMLContent(util, sink);
             }
             if (this.isCovered()) {
-                appendable.append("</table:covered-table-cell>");
+                sink.append("</table:covered-table-cell>");
             } else {
-                appendable.append("</table:table-cell>");
+                sink.append("</table:table-cell>");
             }
         }
     }
 
+    /**
+     * @return the number of columns spanned, 0 if this cell doesn't span columns, -1 if this
+     * cell is covered
+     */
+    int getColumnsSpanned() {
+        return this.columnsSpanned;
+    }
+
     /**
      * 9.1.5 table:covered-table-cell
      *
@@ -64,6 +64,27 @@ public class TableColumnImpl implements TableColumn {
         this.customValueByAttribute.put(attribute, value);
     }
 
+    /**
+     * @return a copy of this column, that can be modified independently
+     */
+    TableColumnImpl copy() {
+        final TableColumnImpl copy = new TableColumnImpl();
+        copy.columnStyle = this.columnStyle;
+        copy.defaultCellStyle = this.defaultCellStyle;
+        if (this.customValueByAttribute != null) {
+            copy.customValueByAttribute =
+                    new HashMap<String, CharSequence>(this.customValueByAttribute);
+        }
+        return copy;
+    }
+
+    /**
+     * @return the column style, or null
+     */
+    public TableColumnStyle getColumnStyle() {
+        return this.columnStyle;
+    }
+
     public TableCellStyle getColumnDefaultCellStyle() {
         return this.defaultCellStyle;
     }
@@ -0,0 +1,318 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.style.TableColumnStyle;
+import com.github.jferard.fastods.util.EqualityUtil;
+
+import java.util.Arrays;
+
+/**
+ * The columns of a table, stored as runs of identical columns. The memory is proportional
+ * to the number of runs, not to the number of columns, and a run is written as a single
+ * table:table-column with a table:number-columns-repeated attribute.
+ *
+ * @author J. Férard
+ */
+public final class TableColumns {
+    /**
+     * The default number of columns declared in a table (the historical LibreOffice limit).
+     */
+    public static final int DEFAULT_COLUMN_COUNT = 1024;
+
+    /**
+     * The max number of columns of a LibreOffice table.
+     */
+    public static final int MAX_COLUMN_COUNT = 16384;
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * @param columns the columns, null for a default column
+     * @return the columns
+     */
+    public static TableColumns of(final TableColumnImpl... columns) {
+        final TableColumns tableColumns = new TableColumns();
+        for (int c = 0; c < columns.length; c++) {
+            tableColumns.set(c, columns[c]);
+        }
+        return tableColumns;
+    }
+
+    private static void checkRange(final int from, final int to) {
+        if (from < 0 || to <= from || to > MAX_COLUMN_COUNT) {
+            throw new IllegalArgumentException(
+                    "Invalid column range: [" + from + ", " + to + "), max column count is " +
+                            MAX_COLUMN_COUNT);
+        }
+    }
+
+    private int[] runEnds;
+    private TableColumnImpl[] runColumns;
+    private int runCount;
+    private int columnCount;
+
+    /**
+     * Create an empty list of columns
+     */
+    public TableColumns() {
+        this.runEnds = new int[INITIAL_CAPACITY];
+        this.runColumns = new TableColumnImpl[INITIAL_CAPACITY];
+        this.runCount = 0;
+        this.columnCount = DEFAULT_COLUMN_COUNT;
+    }
+
+    /**
+     * @return the number of columns declared in the table
+     */
+    public int getColumnCount() {
+        return this.columnCount;
+    }
+
+    /**
+     * @param columnCount the number of columns declared in the table, between 1 and
+     *                    MAX_COLUMN_COUNT. If some columns beyond this count are set, they are
+     *                    declared anyway.
+     * @throws IllegalArgumentException if the count is invalid
+     */
+    public void setColumnCount(final int columnCount) {
+        if (columnCount <= 0 || columnCount > MAX_COLUMN_COUNT) {
+            throw new IllegalArgumentException(
+                    "Invalid column count: " + columnCount + ", max is " + MAX_COLUMN_COUNT);
+        }
+        this.columnCount = columnCount;
+    }
+
+    /**
+     * @return the index of the last set column + 1
+     */
+    public int usedSize() {
+        return this.runCount == 0 ? 0 : this.runEnds[this.runCount - 1];
+    }
+
+    /**
+     * @return the number of runs
+     */
+    public int getRunCount() {
+        return this.runCount;
+    }
+
+    /**
+     * @param run the index of the run
+     * @return the end of the run (exclusive)
+     */
+    public int getRunEnd(final int run) {
+        return this.runEnds[run];
+    }
+
+    /**
+     * @param run the index of the run
+     * @return the column of the run, or null for a default column. Do not modify it: the
+     * instance may be shared by several runs.
+     */
+    public TableColumnImpl getRunColumn(final int run) {
+        return this.runColumns[run];
+    }
+
+    /**
+     * @param col the column index
+     * @return the column, or null for a default column. Do not modify it: the instance may be
+     * shared by several columns.
+     */
+    public TableColumnImpl get(final int col) {
+        if (col < 0 || col >= this.usedSize()) {
+            return null;
+        }
+        return this.runColumns[this.findRun(col)];
+    }
+
+    /**
+     * Set a column
+     *
+     * @param col    the column index
+     * @param column the column, or null for a default column
+     */
+    public void set(final int col, final TableColumnImpl column) {
+        checkRange(col, col + 1);
+        final int first = this.splitAt(col);
+        final int last = this.splitAt(col + 1);
+        for (int i = first; i < last; i++) {
+            this.runColumns[i] = column;
+        }
+        this.mergeRuns(first, last);
+    }
+
+    /**
+     * Set the style of some columns
+     *
+     * @param from  the first column
+     * @param to    the last column (exclusive)
+     * @param style the style
+     */
+    public void setColumnStyle(final int from, final int to, final TableColumnStyle style) {
+        checkRange(from, to);
+        final int first = this.splitAt(from);
+        final int last = this.splitAt(to);
+        for (int i = first; i < last; i++) {
+            this.copyRunColumn(i).setColumnStyle(style);
+        }
+        this.mergeRuns(first, last);
+    }
+
+    /**
+     * Set the default cell style of some columns
+     *
+     * @param from      the first column
+     * @param to        the last column (exclusive)
+     * @param cellStyle the style
+     */
+    public void setColumnDefaultCellStyle(final int from, final int to,
+                                          final TableCellStyle cellStyle) {
+        checkRange(from, to);
+        final int first = this.splitAt(from);
+        final int last = this.splitAt(to);
+        for (int i = first; i < last; i++) {
+            this.copyRunColumn(i).setColumnDefaultCellStyle(cellStyle);
+        }
+        this.mergeRuns(first, last);
+    }
+
+    /**
+     * Set a custom attribute of some columns
+     *
+     * @param from      the first column
+     * @param to        the last column (exclusive)
+     * @param attribute the attribute
+     * @param value     the value
+     */
+    public void setColumnAttribute(final int from, final int to, final String attribute,
+                                   final CharSequence value) {
+        checkRange(from, to);
+        final int first = this.splitAt(from);
+        final int last = this.splitAt(to);
+        for (int i = first; i < last; i++) {
+            this.copyRunColumn(i).setColumnAttribute(attribute, value);
+        }
+        this.mergeRuns(first, last);
+    }
+
+    /**
+     * @param col the column index, less than usedSize()
+     * @return the index of the run that contains the column
+     */
+    private int findRun(final int col) {
+        int low = 0;
+        int high = this.runCount - 1;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (this.runEnds[mid] <= col) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Ensure that a run starts at a given column
+     *
+     * @param col the column index
+     * @return the index of the run that starts at this column (may be runCount if col is
+     * usedSize())
+     */
+    private int splitAt(final int col) {
+        final int usedSize = this.usedSize();
+        if (col >= usedSize) {
+            if (col > usedSize) {
+                this.insertRun(this.runCount, col, null);
+            }
+            return this.runCount;
+        }
+        final int run = this.findRun(col);
+        final int start = run == 0 ? 0 : this.runEnds[run - 1];
+        if (start == col) {
+            return run;
+        }
+        this.insertRun(run, col, this.runColumns[run]);
+        return run + 1;
+    }
+
+    /**
+     * The new run takes the place of the run at index.
+     */
+    private void insertRun(final int index, final int end, final TableColumnImpl column) {
+        if (this.runCount == this.runEnds.length) {
+            final int capacity = 2 * this.runCount;
+            this.runEnds = Arrays.copyOf(this.runEnds, capacity);
+            this.runColumns = Arrays.copyOf(this.runColumns, capacity);
+        }
+        System.arraycopy(this.runEnds, index, this.runEnds, index + 1, this.runCount - index);
+        System.arraycopy(this.runColumns, index, this.runColumns, index + 1,
+                this.runCount - index);
+        this.runEnds[index] = end;
+        this.runColumns[index] = column;
+        this.runCount++;
+    }
+
+    /**
+     * The column of a run may be shared: replace it by a copy before modifying it. The copies
+     * are merged by mergeRuns.
+     */
+    private TableColumnImpl copyRunColumn(final int run) {
+        final TableColumnImpl column = this.runColumns[run];
+        final TableColumnImpl copy = column == null ? new TableColumnImpl() : column.copy();
+        this.runColumns[run] = copy;
+        return copy;
+    }
+
+    /**
+     * Merge the identical adjacent runs, from the run before first to the run last
+     */
+    private void mergeRuns(final int first, final int last) {
+        final int from = Math.max(first, 1);
+        final int to = Math.min(last, this.runCount - 1);
+        int dest = from - 1;
+        for (int i = from; i <= to; i++) {
+            if (EqualityUtil.equal(this.runColumns[dest], this.runColumns[i])) {
+                this.runEnds[dest] = this.runEnds[i];
+            } else {
+                dest++;
+                this.runEnds[dest] = this.runEnds[i];
+                this.runColumns[dest] = this.runColumns[i];
+            }
+        }
+        final int removed = to - dest;
+        if (removed > 0) {
+            System.arraycopy(this.runEnds, to + 1, this.runEnds, dest + 1,
+                    this.runCount - to - 1);
+            System.arraycopy(this.runColumns, to + 1, this.runColumns, dest + 1,
+                    this.runCount - to - 1);
+            this.runCount -= removed;
+            Arrays.fill(this.runColumns, this.runCount, this.runCount + removed, null);
+        }
+    }
+}
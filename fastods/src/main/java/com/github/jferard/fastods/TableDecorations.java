@@ -0,0 +1,329 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.util.XMLSink;
+import com.github.jferard.fastods.util.XMLUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The decorations (validations, tooltips, custom attributes) set on ranges of a table. Each
+ * range is stored once, as an interval of rows and an interval of columns; the decorations
+ * of a row are computed on demand, as segments of columns, and merged in the XML when the
+ * row is written.
+ *
+ * @author J. Férard
+ */
+class TableDecorations {
+    private final List<Entry> entries;
+    private long cachedFromRow;
+    private long cachedToRow;
+    private Segments cachedSegments;
+
+    /**
+     * Create an empty set of decorations
+     */
+    TableDecorations() {
+        this.entries = new ArrayList<Entry>();
+        this.invalidateCache();
+    }
+
+    /**
+     * Add a decoration. Later decorations have precedence over previous ones.
+     *
+     * @param r1         the first row
+     * @param c1         the first column
+     * @param r2         the last row (inclusive)
+     * @param c2         the last column (inclusive)
+     * @param decoration the decoration
+     */
+    void add(final int r1, final int c1, final int r2, final int c2,
+             final CellDecoration decoration) {
+        if (r1 < 0 || c1 < 0 || r2 < r1 || c2 < c1) {
+            throw new IllegalArgumentException(
+                    "Invalid range: (" + r1 + ", " + c1 + ")-(" + r2 + ", " + c2 + ")");
+        }
+        if (c2 >= TableColumns.MAX_COLUMN_COUNT) {
+            throw new IllegalArgumentException(
+                    "Column " + c2 + " exceeds the max column count: " +
+                            TableColumns.MAX_COLUMN_COUNT);
+        }
+        this.entries.add(new Entry(r1, c1, r2, c2, decoration));
+        this.invalidateCache();
+    }
+
+    private void invalidateCache() {
+        this.cachedFromRow = 0;
+        this.cachedToRow = -1;
+        this.cachedSegments = null;
+    }
+
+    /**
+     * @return the number of decorations. Since decorations are never removed, this is also a
+     * version number: the rows written with a given count are still valid for this count.
+     */
+    int getCount() {
+        return this.entries.size();
+    }
+
+    /**
+     * @return the last decorated row, or -1 if there is no decoration
+     */
+    int getLastRow() {
+        int lastRow = -1;
+        for (final Entry entry : this.entries) {
+            lastRow = Math.max(lastRow, entry.r2);
+        }
+        return lastRow;
+    }
+
+    /**
+     * @return true if there is no decoration
+     */
+    boolean isEmpty() {
+        return this.entries.isEmpty();
+    }
+
+    /**
+     * @param rowIndex the row index
+     * @return the segments of decorated columns in this row, or null if the row is not
+     * decorated.
+     */
+    Segments getSegments(final int rowIndex) {
+        if (this.entries.isEmpty()) {
+            return null;
+        }
+        if (rowIndex < this.cachedFromRow || this.cachedToRow < rowIndex) {
+            this.computeSegments(rowIndex);
+        }
+        return this.cachedSegments;
+    }
+
+    /**
+     * @param rowIndex the row index
+     * @return the last row index such that the rows rowIndex..last have the same segments.
+     */
+    long getLastRowWithSameSegments(final int rowIndex) {
+        this.getSegments(rowIndex);
+        return this.cachedToRow;
+    }
+
+    /**
+     * Compute the segments of a row, and the interval of rows where those segments are valid:
+     * the set of active entries only changes at a start or after an end of an entry.
+     */
+    private void computeSegments(final int rowIndex) {
+        long fromRow = 0;
+        long toRow = Long.MAX_VALUE;
+        final List<Entry> active = new ArrayList<Entry>();
+        for (final Entry entry : this.entries) {
+            if (rowIndex < entry.r1) {
+                toRow = Math.min(toRow, entry.r1 - 1L);
+            } else if (entry.r2 < rowIndex) {
+                fromRow = Math.max(fromRow, entry.r2 + 1L);
+            } else {
+                active.add(entry);
+                fromRow = Math.max(fromRow, entry.r1);
+                toRow = Math.min(toRow, entry.r2);
+            }
+        }
+        this.cachedFromRow = fromRow;
+        this.cachedToRow = toRow;
+        this.cachedSegments = active.isEmpty() ? null : Segments.create(active);
+    }
+
+    /**
+     * Segments of decorated columns of a row.
+     */
+    static class Segments {
+        private static Segments create(final List<Entry> active) {
+            final int[] bounds = new int[2 * active.size()];
+            int i = 0;
+            for (final Entry entry : active) {
+                bounds[i++] = entry.c1;
+                bounds[i++] = entry.c2 + 1;
+            }
+            Arrays.sort(bounds);
+            final int[] starts = new int[bounds.length];
+            final int[] ends = new int[bounds.length];
+            final CellDecoration[] decorations = new CellDecoration[bounds.length];
+            int count = 0;
+            for (int b = 0; b < bounds.length - 1; b++) {
+                final int start = bounds[b];
+                final int end = bounds[b + 1] - 1;
+                if (end < start) {
+                    continue;
+                }
+                CellDecoration decoration = null;
+                for (final Entry entry : active) {
+                    if (entry.c1 <= start && end <= entry.c2) {
+                        decoration = decoration == null ? entry.decoration :
+                                decoration.mergeWith(entry.decoration);
+                    }
+                }
+                if (decoration != null) {
+                    starts[count] = start;
+                    ends[count] = end;
+                    decorations[count] = decoration;
+                    count++;
+                }
+            }
+            return new Segments(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count),
+                    Arrays.copyOf(decorations, count));
+        }
+
+        private final int[] starts;
+        private final int[] ends;
+        private final CellDecoration[] decorations;
+
+        private Segments(final int[] starts, final int[] ends,
+                         final CellDecoration[] decorations) {
+            this.starts = starts;
+            this.ends = ends;
+            this.decorations = decorations;
+        }
+
+        /**
+         * @return the number of segments
+         */
+        int size() {
+            return this.starts.length;
+        }
+
+        /**
+         * @param i the index of the segment
+         * @return the first column of the segment
+         */
+        int getStart(final int i) {
+            return this.starts[i];
+        }
+
+        /**
+         * @param i the index of the segment
+         * @return the last column of the segment (inclusive)
+         */
+        int getEnd(final int i) {
+            return this.ends[i];
+        }
+
+        /**
+         * @param i the index of the segment
+         * @return the decoration of the segment
+         */
+        CellDecoration getDecoration(final int i) {
+            return this.decorations[i];
+        }
+
+        /**
+         * @param c the column index
+         * @return the decoration or null
+         */
+        CellDecoration getDecorationAt(final int c) {
+            int lo = 0;
+            int hi = this.starts.length - 1;
+            while (lo <= hi) {
+                final int mid = (lo + hi) >>> 1;
+                if (c < this.starts[mid]) {
+                    hi = mid - 1;
+                } else if (this.ends[mid] < c) {
+                    lo = mid + 1;
+                } else {
+                    return this.decorations[mid];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @return the last decorated column
+         */
+        int getLastColumn() {
+            return this.ends[this.ends.length - 1];
+        }
+
+        /**
+         * Append blank cells, decorated or not, from a column to another one.
+         *
+         * @param util       an util
+         * @param sink       the destination
+         * @param from       the first column
+         * @param to         the last column (inclusive)
+         * @throws IOException if an I/O error occurs
+         */
+        void appendBlankCells(final XMLUtil util, final XMLSink sink, final int from,
+                              final int to) throws IOException {
+            int c = from;
+            for (int i = 0; i < this.starts.length && c <= to; i++) {
+                final int end = this.ends[i];
+                if (end < c) {
+                    continue;
+                }
+                final int start = Math.max(c, this.starts[i]);
+                if (to < start) {
+                    break;
+                }
+                appendUndecoratedBlankCells(util, sink, start - c);
+                final int last = Math.min(end, to);
+                this.decorations[i].appendBlankCells(util, sink, last - start + 1);
+                c = last + 1;
+            }
+            appendUndecoratedBlankCells(util, sink, to - c + 1);
+        }
+
+        private static void appendUndecoratedBlankCells(final XMLUtil util,
+                                                        final XMLSink sink,
+                                                        final int count) throws IOException {
+            if (count <= 0) {
+                return;
+            }
+            sink.append("<table:table-cell");
+            if (count >= 2) {
+                util.appendAttribute(sink, "table:number-columns-repeated", count);
+            }
+            sink.append("/>");
+        }
+    }
+
+    private static class Entry {
+        private final int r1;
+        private final int c1;
+        private final int r2;
+        private final int c2;
+        private final CellDecoration decoration;
+
+        Entry(final int r1, final int c1, final int r2, final int c2,
+              final CellDecoration decoration) {
+            this.r1 = r1;
+            this.c1 = c1;
+            this.r2 = r2;
+            this.c2 = c2;
+            this.decoration = decoration;
+        }
+    }
+}
@@ -31,14 +31,16 @@ import com.github.jferard.fastods.odselement.config.ConfigElement;
 import com.github.jferard.fastods.odselement.config.ConfigItem;
 import com.github.jferard.fastods.odselement.config.ConfigItemMapEntry;
 import com.github.jferard.fastods.odselement.config.ConfigItemMapEntrySet;
+import com.github.jferard.fastods.odselement.config.ConfigItemMapEntryTemplate;
 import com.github.jferard.fastods.ref.CellRef;
 import com.github.jferard.fastods.ref.PositionUtil;
 import com.github.jferard.fastods.style.TableCellStyle;
 import com.github.jferard.fastods.style.TableColumnStyle;
 import com.github.jferard.fastods.style.TableStyle;
-import com.github.jferard.fastods.util.FastFullList;
+import com.github.jferard.fastods.util.ChunkedFullList;
 import com.github.jferard.fastods.util.IntegerRepresentationCache;
 import com.github.jferard.fastods.util.Protection;
+import com.github.jferard.fastods.util.Validation;
 import com.github.jferard.fastods.util.XMLUtil;
 
 import java.io.IOException;
@@ -56,9 +58,25 @@ import java.util.Map;
  */
 class TableModel {
     /**
-     * The size of the buffer
-     */
-    private static final int BUFFER_SIZE = 8 * 1024;
+     * The default view settings of a table, shared by all the tables with default settings.
+     */
+    private static final ConfigItemMapEntryTemplate DEFAULT_CONFIG = ConfigItemMapEntryTemplate
+            .create(ConfigItem.create(ConfigElement.HORIZONTAL_SPLIT_MODE,
+                    OdsElements.SC_SPLIT_NORMAL),
+                    ConfigItem.create(ConfigElement.VERTICAL_SPLIT_MODE,
+                            OdsElements.SC_SPLIT_NORMAL),
+                    ConfigItem.create(ConfigElement.HORIZONTAL_SPLIT_POSITION, "0"),
+                    ConfigItem.create(ConfigElement.VERTICAL_SPLIT_POSITION, "0"),
+                    ConfigItem.create(ConfigElement.ZOOM_TYPE, "0"),
+                    ConfigItem.create(ConfigElement.ZOOM_VALUE, "100"),
+                    ConfigItem.create(ConfigElement.PAGE_VIEW_ZOOM_VALUE, "60"),
+                    ConfigItem.create(ConfigElement.CURSOR_POSITION_X, "0"),
+                    ConfigItem.create(ConfigElement.CURSOR_POSITION_Y, "0"),
+                    ConfigItem.create(ConfigElement.ACTIVE_SPLIT_RANGE, "2"),
+                    ConfigItem.create(ConfigElement.POSITION_LEFT, "0"),
+                    ConfigItem.create(ConfigElement.POSITION_RIGHT, "0"),
+                    ConfigItem.create(ConfigElement.POSITION_TOP, "0"),
+                    ConfigItem.create(ConfigElement.POSITION_BOTTOM, "0"));
 
     private static void checkCol(final int col) {
         if (col < 0) {
@@ -67,6 +85,14 @@ class TableModel {
         }
     }
 
+    private static void checkCols(final int c1, final int c2) {
+        TableModel.checkCol(c1);
+        if (c2 < c1 || c2 >= TableColumns.MAX_COLUMN_COUNT) {
+            throw new IllegalArgumentException(
+                    "Invalid column range: [" + c1 + ", " + c2 + "]");
+        }
+    }
+
     /**
      * Check if a row index is valid, otherwise throws an exception
      *
@@ -102,37 +128,20 @@ class TableModel {
                                     final String name, final int rowCapacity,
                                     final int columnCapacity,
                                     final ValidationsContainer validationsContainer) {
-        final ConfigItemMapEntrySet configEntry = ConfigItemMapEntrySet.createSet(name);
-        configEntry.add(ConfigItem
-                .create(ConfigElement.HORIZONTAL_SPLIT_MODE, OdsElements.SC_SPLIT_NORMAL));
-        configEntry.add(ConfigItem
-                .create(ConfigElement.VERTICAL_SPLIT_MODE, OdsElements.SC_SPLIT_NORMAL));
-        configEntry.add(ConfigItem.create(ConfigElement.HORIZONTAL_SPLIT_POSITION, "0"));
-        configEntry.add(ConfigItem.create(ConfigElement.VERTICAL_SPLIT_POSITION, "0"));
-        configEntry.add(ConfigItem.create(ConfigElement.ZOOM_TYPE, "0"));
-        configEntry.add(ConfigItem.create(ConfigElement.ZOOM_VALUE, "100"));
-        configEntry.add(ConfigItem.create(ConfigElement.PAGE_VIEW_ZOOM_VALUE, "60"));
-        configEntry.add(ConfigItem.create(ConfigElement.CURSOR_POSITION_X, "0"));
-        configEntry.add(ConfigItem.create(ConfigElement.CURSOR_POSITION_Y, "0"));
-        configEntry.add(ConfigItem.create(ConfigElement.ACTIVE_SPLIT_RANGE, "2"));
-        configEntry.add(ConfigItem.create(ConfigElement.POSITION_LEFT, "0"));
-        configEntry.add(ConfigItem.create(ConfigElement.POSITION_RIGHT, "0"));
-        configEntry.add(ConfigItem.create(ConfigElement.POSITION_TOP, "0"));
-        configEntry.add(ConfigItem.create(ConfigElement.POSITION_BOTTOM, "0"));
-
+        final ConfigItemMapEntrySet configEntry = DEFAULT_CONFIG.createEntry(name);
         return new TableModel(positionUtil, cache, xmlUtil, stylesContainer, format,
-                libreOfficeMode, name, rowCapacity, columnCapacity, configEntry, BUFFER_SIZE,
-                validationsContainer);
+                libreOfficeMode, name, rowCapacity, columnCapacity, configEntry,
+                FlushPolicy.DEFAULT_MAX_ROWS, validationsContainer);
     }
 
-    private final int bufferSize;
+    private FlushPolicy flushPolicy;
     private final int columnCapacity;
     private final ConfigItemMapEntrySet configEntry;
     private final DataStyles format;
     private final PositionUtil positionUtil;
     private final StylesContainer stylesContainer;
-    private final FastFullList<TableRowImpl> tableRows;
-    private final FastFullList<TableColumnImpl> tableColumns;
+    private final ChunkedFullList<TableRowImpl> tableRows;
+    private final TableColumns tableColumns;
     private final IntegerRepresentationCache cache;
     private final XMLUtil xmlUtil;
     private final boolean libreOfficeMode;
@@ -141,16 +150,26 @@ class TableModel {
     private NamedOdsFileWriter observer;
     private int curRowIndex;
     private int lastFlushedRowIndex;
+    private long pendingBytes;
+    private long lastFlushMillis;
     private int lastRowIndex;
     private String name;
     private TableStyle style;
     private List<Shape> shapes;
     private Map<String, CharSequence> customValueByAttribute;
     private final ValidationsContainer validationsContainer;
+    private final TableDecorations decorations;
     private Protection protection;
     private final List<String> printRanges;
     private int headerRowsCount;
     private int headerColumnsCount;
+    private CompressedRowStore rowStore;
+    private RowSpill rowSpill;
+    private int spilledRowIndex;
+    private long unspilledBytes;
+    private ColumnWidthEstimator widthEstimator;
+    private int reservedRowCount;
+    private int firstRowIndex;
 
     /**
      * Create a new table builder
@@ -165,7 +184,7 @@ class TableModel {
      * @param rowCapacity          the row capacity of the table
      * @param columnCapacity       the column capacity of the table
      * @param configEntry          the config
-     * @param bufferSize           the buffer size
+     * @param bufferSize           the max number of rows to buffer before a flush
      * @param validationsContainer a container for validations
      */
     TableModel(final PositionUtil positionUtil, final IntegerRepresentationCache cache,
@@ -184,13 +203,14 @@ class TableModel {
         this.columnCapacity = columnCapacity;
         this.configEntry = configEntry;
         this.validationsContainer = validationsContainer;
+        this.decorations = new TableDecorations();
         this.style = TableStyle.DEFAULT_TABLE_STYLE;
-        this.tableColumns = FastFullList.newListWithCapacity(this.columnCapacity);
-        this.tableRows = FastFullList.newListWithCapacity(rowCapacity);
+        this.tableColumns = new TableColumns();
+        this.tableRows = ChunkedFullList.newListWithCapacity(rowCapacity);
         this.curRowIndex = -1;
         this.lastFlushedRowIndex = 0;
         this.lastRowIndex = -1;
-        this.bufferSize = bufferSize;
+        this.flushPolicy = FlushPolicy.rows(bufferSize);
         this.tablePreambleWritten = false;
         this.printRanges = new ArrayList<String>();
         this.headerRowsCount = 0;
@@ -204,6 +224,138 @@ class TableModel {
      */
     public void addObserver(final NamedOdsFileWriter observer) {
         this.observer = observer;
+        this.lastFlushMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * @param flushPolicy the policy that decides when the rows are flushed (flush mode only)
+     */
+    public void setFlushPolicy(final FlushPolicy flushPolicy) {
+        this.flushPolicy = flushPolicy;
+    }
+
+    /**
+     * @return the policy that decides when the rows are flushed (flush mode only)
+     */
+    public FlushPolicy getFlushPolicy() {
+        return this.flushPolicy;
+    }
+
+    /**
+     * Reserve the first rows of the table (flush mode only). The reserved rows are kept in
+     * memory and written when the table ends; the other rows are flushed to a temporary file
+     * meanwhile, and copied after the reserved rows.
+     *
+     * @param rowCount the number of reserved rows
+     * @throws IllegalArgumentException if the count is negative
+     * @throws IllegalStateException    if some rows were already flushed
+     */
+    public void setReservedRowCount(final int rowCount) {
+        if (rowCount < 0) {
+            throw new IllegalArgumentException("Negative reserved row count: " + rowCount);
+        }
+        if (this.lastFlushedRowIndex > this.reservedRowCount) {
+            throw new IllegalStateException("Some rows were already flushed");
+        }
+        this.reservedRowCount = rowCount;
+        this.lastFlushedRowIndex = rowCount; // the reserved rows are never flushed before
+    }
+
+    /**
+     * @return the number of reserved rows
+     */
+    public int getReservedRowCount() {
+        return this.reservedRowCount;
+    }
+
+    /**
+     * Set the compression of the old rows. Ignored in flush mode.
+     *
+     * @param table       the table
+     * @param compression the compression, or null to restore all rows and stop compressing
+     * @throws IOException if an I/O error occurs
+     */
+    public void setRowCompression(final Table table, final RowCompression compression)
+            throws IOException {
+        if (this.rowStore != null) {
+            this.rowStore.restoreAll(this.tableRows);
+        }
+        if (compression == null) {
+            this.rowStore = null;
+        } else {
+            this.rowStore = new CompressedRowStore(this, table, compression);
+        }
+    }
+
+    /**
+     * Set the policy that spills the rows to a temporary file. Ignored in flush mode.
+     *
+     * @param rowSpill the policy, or null to stop spilling rows
+     */
+    public void setRowSpill(final RowSpill rowSpill) {
+        this.rowSpill = rowSpill;
+        this.unspilledBytes = 0;
+    }
+
+    /**
+     * Set the automatic width of the columns. The column styles of the automatic width are
+     * registered now. In flush mode, the preamble of the table is deferred to the first flush
+     * of rows, in order to estimate the widths from those rows.
+     *
+     * @param autoWidth the automatic width, or null to stop estimating the widths
+     */
+    public void setColumnAutoWidth(final ColumnAutoWidth autoWidth) {
+        if (autoWidth == null) {
+            this.widthEstimator = null;
+        } else {
+            autoWidth.addStyles(this.stylesContainer);
+            this.widthEstimator = new ColumnWidthEstimator(autoWidth);
+        }
+    }
+
+    /**
+     * Add some rows to the estimator of the column widths, and set the estimated style of the
+     * columns that don't have a column style (or have an estimated style). Does nothing if
+     * there is no automatic width.
+     *
+     * @param fromRowIndex the first row
+     * @param toRowIndex   the last row (excluded)
+     * @throws IOException if a compressed row can't be read
+     */
+    public void estimateColumnWidths(final int fromRowIndex, final int toRowIndex)
+            throws IOException {
+        if (this.widthEstimator == null) {
+            return;
+        }
+        for (int r = fromRowIndex; r < toRowIndex; r++) {
+            final TableRowImpl row = this.getTableRow(r);
+            if (row != null) {
+                this.widthEstimator.addRow(row);
+            }
+        }
+        final ColumnAutoWidth autoWidth = this.widthEstimator.getAutoWidth();
+        final int columnCount = this.widthEstimator.getColumnCount();
+        for (int c = 0; c < columnCount; c++) {
+            final TableColumnStyle style = this.widthEstimator.getStyle(c);
+            if (style == null) {
+                continue;
+            }
+            final TableColumnImpl column = this.tableColumns.get(c);
+            final TableColumnStyle curStyle = column == null ? null : column.getColumnStyle();
+            if (curStyle == null || autoWidth.isAutoStyle(curStyle)) {
+                this.tableColumns.setColumnStyle(c, c + 1, style);
+            }
+        }
+    }
+
+    /**
+     * @return the size of the compressed rows, in bytes
+     */
+    public long getCompressedRowsSize() {
+        if (this.rowStore == null) {
+            return 0;
+        }
+        return this.rowStore.getCompressedSize();
     }
 
     /**
@@ -229,16 +381,23 @@ class TableModel {
      */
     public void asyncFlushEndTable(final TableAppender appender) throws IOException {
         if (!this.tablePreambleWritten) {
+            this.estimateColumnWidths(this.lastFlushedRowIndex, this.tableRows.usedSize());
             this.observer.update(new BeginTableFlusher(appender));
         }
-        this.observer.update(new EndTableFlusher(appender,
-                this.tableRows.subList(this.lastFlushedRowIndex, this.tableRows.usedSize())));
+        final int usedSize = this.tableRows.usedSize();
+        if (this.reservedRowCount > 0) {
+            this.observer.update(new ReservedRowsFlusher(appender,
+                    this.tableRows.subList(0, Math.min(this.reservedRowCount, usedSize))));
+        }
+        final int firstRemainingRowIndex = Math.min(this.lastFlushedRowIndex, usedSize);
+        this.observer.update(new EndTableFlusher(appender, firstRemainingRowIndex,
+                this.tableRows.subList(firstRemainingRowIndex, usedSize)));
     }
 
     /**
-     * @return the list of the column styles
+     * @return the columns
      */
-    public FastFullList<TableColumnImpl> getColumns() {
+    public TableColumns getColumns() {
         return this.tableColumns;
     }
 
@@ -292,11 +451,16 @@ class TableModel {
     private TableRowImpl getRowSecure(final Table table, final TableAppender appender,
                                       final int rowIndex, final boolean updateRowIndex)
             throws IOException {
+        if (rowIndex < this.spilledRowIndex) {
+            throw new IOException("Row " + rowIndex + " was spilled to disk");
+        }
         TableRowImpl tr = this.tableRows.get(rowIndex);
+        if (tr == null && this.rowStore != null && this.rowStore.isCompressed(rowIndex)) {
+            this.rowStore.restore(rowIndex, this.tableRows);
+            tr = this.tableRows.get(rowIndex);
+        }
         if (tr == null) {
-            tr = new TableRowImpl(this.cache, this.xmlUtil, this.stylesContainer, this.format,
-                    this.libreOfficeMode, table, rowIndex, this.columnCapacity,
-                    this.validationsContainer);
+            tr = this.newRow(table, rowIndex);
             this.tableRows.set(rowIndex, tr);
             if (rowIndex > this.lastRowIndex) {
                 this.lastRowIndex = rowIndex;
@@ -304,6 +468,13 @@ class TableModel {
 
             if (this.observer != null) {
                 this.asyncTryToFlush(appender, rowIndex);
+            } else {
+                if (this.rowStore != null) {
+                    this.rowStore.rowCreated(rowIndex, this.tableRows);
+                }
+                if (this.rowSpill != null) {
+                    this.tryToSpill(appender, rowIndex);
+                }
             }
         }
         if (updateRowIndex && this.curRowIndex < rowIndex) {
@@ -313,18 +484,112 @@ class TableModel {
     }
 
     /**
-     * async flush if rowIndex % this.bufferSize == 0. If 0, async flush the begin of the table
-     * else if rowIndex is a multiple of this.bufferSize, flush the preprocessed rows
+     * @return the range decorations of the table
+     */
+    TableDecorations getDecorations() {
+        return this.decorations;
+    }
+
+    /**
+     * @return the index of the row 0 of this table in the sheet
+     */
+    int getFirstRowIndex() {
+        return this.firstRowIndex;
+    }
+
+    /**
+     * @param firstRowIndex the index of the row 0 of this table in the sheet, if the rows are
+     *                      spliced into an existing sheet
+     */
+    void setFirstRowIndex(final int firstRowIndex) {
+        this.firstRowIndex = firstRowIndex;
+    }
+
+    /**
+     * @param table    the parent table
+     * @param rowIndex the index of the row
+     * @return a new empty row
+     */
+    TableRowImpl newRow(final Table table, final int rowIndex) {
+        return new TableRowImpl(this.cache, this.xmlUtil, this.stylesContainer, this.format,
+                this.libreOfficeMode, table, rowIndex, this.columnCapacity,
+                this.validationsContainer, this.decorations, this.firstRowIndex);
+    }
+
+    /**
+     * Spill the rows before a new row if the estimated retained size of the rows in memory
+     * reached the threshold of the spill policy.
+     */
+    private void tryToSpill(final TableAppender appender, final int rowIndex)
+            throws IOException {
+        if (rowIndex <= this.spilledRowIndex) {
+            return;
+        }
+        final TableRowImpl previousRow = this.tableRows.get(rowIndex - 1);
+        if (previousRow != null) {
+            this.unspilledBytes += previousRow.estimateRetainedSize();
+        }
+        if (this.unspilledBytes < this.rowSpill.getMaxRetainedBytes()) {
+            return;
+        }
+        appender.spillRows(this.xmlUtil, this.rowSpill, rowIndex);
+        for (int r = this.spilledRowIndex; r < rowIndex; r++) {
+            this.tableRows.set(r, null);
+        }
+        if (this.rowStore != null) {
+            this.rowStore.discardBefore(rowIndex);
+        }
+        this.spilledRowIndex = rowIndex;
+        this.unspilledBytes = 0;
+    }
+
+    /**
+     * async flush if the flush policy says so. If the preamble was not written, async flush the
+     * begin of the table. Else, if the policy limits (rows, estimated bytes, time) are reached,
+     * flush the preprocessed rows and free them.
      */
     private void asyncTryToFlush(final TableAppender appender, final int rowIndex)
             throws IOException {
-        if (this.tablePreambleWritten) {
-            if (rowIndex > 0 && rowIndex % this.bufferSize == 0) {
-                final OdsAsyncFlusher preprocessedRowsFlusher = PreprocessedRowsFlusher
-                        .create(this.xmlUtil, new ArrayList<TableRowImpl>(
-                                this.tableRows.subList(this.lastFlushedRowIndex, rowIndex)));
-                this.observer.update(preprocessedRowsFlusher); // (0..1023), (1024..2047)
+        if (this.tablePreambleWritten || this.widthEstimator != null) {
+            if (rowIndex <= this.lastFlushedRowIndex) {
+                return;
+            }
+            if (this.flushPolicy.hasByteBudget()) {
+                final TableRowImpl previousRow = this.tableRows.get(rowIndex - 1);
+                if (previousRow != null) {
+                    this.pendingBytes += previousRow.estimateRetainedSize();
+                }
+            }
+            final long elapsedMillis;
+            if (this.flushPolicy.hasInterval()) {
+                elapsedMillis = System.currentTimeMillis() - this.lastFlushMillis;
+            } else {
+                elapsedMillis = 0;
+            }
+            if (this.flushPolicy.mustFlush(rowIndex, this.lastFlushedRowIndex, this.pendingBytes,
+                    elapsedMillis)) {
+                if (!this.tablePreambleWritten) { // deferred to estimate the column widths
+                    this.estimateColumnWidths(this.lastFlushedRowIndex, rowIndex);
+                    this.asyncFlushBeginTable(appender);
+                }
+                final List<TableRowImpl> rows =
+                        this.tableRows.subList(this.lastFlushedRowIndex, rowIndex);
+                if (this.reservedRowCount > 0) {
+                    // the rows must be written after the reserved rows
+                    appender.deferRows(this.xmlUtil,
+                            this.rowSpill == null ? null : this.rowSpill.getDirectory(),
+                            this.lastFlushedRowIndex, rows);
+                } else {
+                    // the flusher frees the rows (lastFlushedRowIndex..rowIndex-1) of the model
+                    final OdsAsyncFlusher preprocessedRowsFlusher =
+                            PreprocessedRowsFlusher.create(this.xmlUtil, rows);
+                    this.observer.update(preprocessedRowsFlusher);
+                }
                 this.lastFlushedRowIndex = rowIndex;
+                this.pendingBytes = 0;
+                if (this.flushPolicy.hasInterval()) {
+                    this.lastFlushMillis = System.currentTimeMillis();
+                }
             }
         } else {
             this.asyncFlushBeginTable(appender);
@@ -413,7 +678,20 @@ class TableModel {
      * @throws IllegalArgumentException Thrown if col has an invalid value.
      */
     public void setColumnStyle(final int col, final TableColumnStyle ts) {
-        this.getTableColumn(col).setColumnStyle(ts);
+        this.setColumnStyle(col, col, ts);
+    }
+
+    /**
+     * Set the style of a range of columns.
+     *
+     * @param c1 the first column
+     * @param c2 the last column (inclusive)
+     * @param ts The style to be used
+     * @throws IllegalArgumentException if the range is invalid
+     */
+    public void setColumnStyle(final int c1, final int c2, final TableColumnStyle ts) {
+        TableModel.checkCols(c1, c2);
+        this.tableColumns.setColumnStyle(c1, c2 + 1, ts);
         ts.addToContentStyles(this.stylesContainer);
     }
 
@@ -426,30 +704,37 @@ class TableModel {
      */
     public void setColumnAttribute(final int col, final String attribute,
                                    final CharSequence value) {
-        this.getTableColumn(col).setColumnAttribute(attribute, value);
+        TableModel.checkCols(col, col);
+        this.tableColumns.setColumnAttribute(col, col + 1, attribute, value);
     }
 
     public void setColumnDefaultCellStyle(final int col, final TableCellStyle cellStyle) {
-        final TableColumnImpl tableColumn = this.getTableColumn(col);
-        tableColumn.setColumnDefaultCellStyle(cellStyle);
+        this.setColumnDefaultCellStyle(col, col, cellStyle);
+    }
+
+    /**
+     * Set the default cell style of a range of columns.
+     *
+     * @param c1        the first column
+     * @param c2        the last column (inclusive)
+     * @param cellStyle the style
+     * @throws IllegalArgumentException if the range is invalid
+     */
+    public void setColumnDefaultCellStyle(final int c1, final int c2,
+                                          final TableCellStyle cellStyle) {
+        TableModel.checkCols(c1, c2);
+        this.tableColumns.setColumnDefaultCellStyle(c1, c2 + 1, cellStyle);
         this.stylesContainer.addContentFontFaceContainerStyle(cellStyle);
     }
 
     /**
-     * Get the column
+     * Set the number of columns declared in the table.
      *
-     * @param col the index
-     * @return the column
-     * @throws IllegalArgumentException if the index is invalid
+     * @param columnCount the count, between 1 and TableColumns.MAX_COLUMN_COUNT
+     * @throws IllegalArgumentException if the count is invalid
      */
-    private TableColumnImpl getTableColumn(final int col) {
-        TableModel.checkCol(col);
-        TableColumnImpl tableColumn = this.tableColumns.get(col);
-        if (tableColumn == null) {
-            tableColumn = new TableColumnImpl();
-            this.tableColumns.set(col, tableColumn);
-        }
-        return tableColumn;
+    public void setColumnCount(final int columnCount) {
+        this.tableColumns.setColumnCount(columnCount);
     }
 
     /**
@@ -547,13 +832,19 @@ class TableModel {
     }
 
     /**
-     * Return a table row from its index
+     * Return a table row from its index. If the row is compressed, a decoded copy is returned
+     * and the row stays compressed: this is meant for writing the rows.
      *
      * @param r the index
      * @return the row
+     * @throws IOException if the row can't be decoded
      */
-    public TableRowImpl getTableRow(final int r) {
-        return this.tableRows.get(r);
+    public TableRowImpl getTableRow(final int r) throws IOException {
+        final TableRowImpl tr = this.tableRows.get(r);
+        if (tr == null && this.rowStore != null && this.rowStore.isCompressed(r)) {
+            return this.rowStore.peek(r);
+        }
+        return tr;
     }
 
     /**
@@ -595,6 +886,51 @@ class TableModel {
         shape.addEmbeddedStyles(this.stylesContainer);
     }
 
+    /**
+     * Set a validation on a range of cells, without creating the cells.
+     *
+     * @param r1         the first row
+     * @param c1         the first column
+     * @param r2         the last row (inclusive)
+     * @param c2         the last column (inclusive)
+     * @param validation the validation
+     */
+    public void setValidation(final int r1, final int c1, final int r2, final int c2,
+                              final Validation validation) {
+        this.decorations.add(r1, c1, r2, c2, CellDecoration.validation(validation));
+        this.validationsContainer.addValidation(validation);
+    }
+
+    /**
+     * Set a tooltip on a range of cells, without creating the cells.
+     *
+     * @param r1      the first row
+     * @param c1      the first column
+     * @param r2      the last row (inclusive)
+     * @param c2      the last column (inclusive)
+     * @param tooltip the tooltip
+     */
+    public void setTooltip(final int r1, final int c1, final int r2, final int c2,
+                           final Tooltip tooltip) {
+        this.decorations.add(r1, c1, r2, c2, CellDecoration.tooltip(tooltip));
+        tooltip.addEmbeddedStyles(this.stylesContainer);
+    }
+
+    /**
+     * Set a custom attribute on a range of cells, without creating the cells.
+     *
+     * @param r1        the first row
+     * @param c1        the first column
+     * @param r2        the last row (inclusive)
+     * @param c2        the last column (inclusive)
+     * @param attribute the attribute name
+     * @param value     the attribute value
+     */
+    public void setCellAttribute(final int r1, final int c1, final int r2, final int c2,
+                                 final String attribute, final CharSequence value) {
+        this.decorations.add(r1, c1, r2, c2, CellDecoration.attribute(attribute, value));
+    }
+
     /**
      * Add a new form (experimental feature)
      *
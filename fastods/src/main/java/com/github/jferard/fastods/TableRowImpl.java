@@ -29,12 +29,16 @@ import com.github.jferard.fastods.datastyle.DataStyles;
 import com.github.jferard.fastods.odselement.StylesContainer;
 import com.github.jferard.fastods.style.TableCellStyle;
 import com.github.jferard.fastods.style.TableRowStyle;
-import com.github.jferard.fastods.util.FastFullList;
+import com.github.jferard.fastods.util.ChunkedFullList;
 import com.github.jferard.fastods.util.IntegerRepresentationCache;
 import com.github.jferard.fastods.util.Validation;
+import com.github.jferard.fastods.util.XMLSink;
 import com.github.jferard.fastods.util.XMLUtil;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -62,19 +66,60 @@ public class TableRowImpl implements TableRow {
         }
     }
 
+    /**
+     * Append the XML corresponding to a given row to the sink
+     *
+     * @param row     a TableRow
+     * @param xmlUtil an instance of xml util
+     * @param sink    where to append the row XML
+     * @throws IOException if an error occurs
+     */
+    public static void appendXMLToTable(final TableRowImpl row, final XMLUtil xmlUtil,
+                                        final XMLSink sink) throws IOException {
+        if (row == null) {
+            sink.appendAsciiLiteral(NULL_ROW);
+        } else {
+            row.appendXMLToTable(xmlUtil, sink);
+        }
+    }
+
+
+    private static final byte[] NULL_ROW = "<row />".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ROW_OPEN = "<table:table-row".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ROW_CLOSE =
+            "</table:table-row>".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BLANK_CELL =
+            "<table:table-cell/>".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CELL_OPEN =
+            "<table:table-cell".getBytes(StandardCharsets.US_ASCII);
+    private static final int ROW_SINK_SIZE = 1024;
+    private static final int ROW_SIZE = 96;
+    private static final int CELL_SLOT_SIZE = 8;
+    private static final int CUSTOM_CELL_SIZE = 64;
+    private static final int NO_CELL = 0;
+    private static final int IMPL_CELL = 1;
+    private static final int CUSTOM_CELL = 2;
 
     private final Table parentTable;
     private final int rowIndex;
+    private final int sheetRowIndex;
     private final ValidationsContainer validationsContainer;
+    private final TableDecorations decorations;
     private final StylesContainer stylesContainer;
     private final IntegerRepresentationCache cache;
     private final XMLUtil xmlUtil;
-    private final FastFullList<WritableTableCell> cells;
+    private final ChunkedFullList<WritableTableCell> cells;
     private final boolean libreOfficeMode;
     private DataStyles dataStyles;
     private TableRowStyle rowStyle;
     private TableCellStyle defaultCellStyle;
     private Map<String, CharSequence> customValueByAttribute;
+    /**
+     * The XML of this row, as written by the last call to `appendCachedXMLToTable`, or null if
+     * the row was modified since.
+     */
+    private String cachedXML;
+    private int cachedDecorationsCount;
 
     /**
      * Create a new TableRow
@@ -92,6 +137,30 @@ public class TableRowImpl implements TableRow {
                  final StylesContainer stylesContainer, final DataStyles dataStyles,
                  final boolean libreOfficeMode, final Table parentTable, final int rowIndex,
                  final int columnCapacity, final ValidationsContainer validationsContainer) {
+        this(cache, xmlUtil, stylesContainer, dataStyles, libreOfficeMode, parentTable,
+                rowIndex, columnCapacity, validationsContainer, null, 0);
+    }
+
+    /**
+     * Create a new TableRow
+     *  @param cache       an util
+     * @param xmlUtil         an util
+     * @param stylesContainer the styles container
+     * @param dataStyles      the data styles
+     * @param libreOfficeMode try to get full compatibility with LO if true
+     * @param parentTable     the parent table
+     * @param rowIndex        the index of this row
+     * @param columnCapacity  the max column
+     * @param validationsContainer the container for validations
+     * @param decorations     the range decorations of the table, or null
+     * @param firstRowIndex   the index of the row 0 of the table in the sheet
+     */
+    TableRowImpl(final IntegerRepresentationCache cache, final XMLUtil xmlUtil,
+                 final StylesContainer stylesContainer, final DataStyles dataStyles,
+                 final boolean libreOfficeMode, final Table parentTable, final int rowIndex,
+                 final int columnCapacity, final ValidationsContainer validationsContainer,
+                 final TableDecorations decorations, final int firstRowIndex) {
+        this.decorations = decorations;
         this.cache = cache;
         this.stylesContainer = stylesContainer;
         this.xmlUtil = xmlUtil;
@@ -99,9 +168,10 @@ public class TableRowImpl implements TableRow {
         this.libreOfficeMode = libreOfficeMode;
         this.parentTable = parentTable;
         this.rowIndex = rowIndex;
+        this.sheetRowIndex = firstRowIndex + rowIndex;
         this.validationsContainer = validationsContainer;
         this.rowStyle = TableRowStyle.DEFAULT_TABLE_ROW_STYLE;
-        this.cells = FastFullList.newListWithCapacity(columnCapacity);
+        this.cells = ChunkedFullList.newListWithCapacity(columnCapacity);
     }
 
     /**
@@ -114,11 +184,28 @@ public class TableRowImpl implements TableRow {
      */
     public void appendXMLToTable(final XMLUtil util, final Appendable appendable)
             throws IOException {
-        this.appendRowOpenTag(util, appendable);
+        final XMLSink sink = new XMLSink(ROW_SINK_SIZE);
+        this.appendXMLToTable(util, sink);
+        sink.writeTo(appendable);
+    }
 
+    /**
+     * Write the XML dataStyles for this object to a sink.
+     *
+     * @param util a util for XML writing
+     * @param sink where to write the XML
+     * @throws IOException If an I/O error occurs
+     */
+    public void appendXMLToTable(final XMLUtil util, final XMLSink sink) throws IOException {
+        this.appendRowOpenTag(util, sink);
+
+        final TableDecorations.Segments segments =
+                this.decorations == null ? null : this.decorations.getSegments(this.rowIndex);
         final int size = this.cells.usedSize();
-        if (size == 0) { // relaxNG validation : oneOrMore cells
-            appendable.append("<table:table-cell/>");
+        if (segments != null) {
+            this.appendDecoratedCells(util, sink, segments, size);
+        } else if (size == 0) { // relaxNG validation : oneOrMore cells
+            sink.appendAsciiLiteral(BLANK_CELL);
         } else {
             int nullFieldCounter = 0;
             for (int c = 0; c < size; c++) {
@@ -127,45 +214,127 @@ public class TableRowImpl implements TableRow {
                     nullFieldCounter++;
                     continue;
                 }
-                this.insertBlankCells(util, appendable, nullFieldCounter);
+                this.insertBlankCells(util, sink, nullFieldCounter);
                 nullFieldCounter = 0;
-                cell.appendXMLToTableRow(util, appendable);
+                this.appendCell(util, sink, cell);
             }
-            this.insertBlankCells(util, appendable, nullFieldCounter); // relaxNG
+            this.insertBlankCells(util, sink, nullFieldCounter); // relaxNG
         }
-        appendable.append("</table:table-row>");
+        sink.appendAsciiLiteral(ROW_CLOSE);
     }
 
-    private void appendRowOpenTag(final XMLUtil util, final Appendable appendable)
+    /**
+     * Append a cell. A custom cell writes to the sink as an Appendable.
+     */
+    private void appendCell(final XMLUtil util, final XMLSink sink, final WritableTableCell cell)
             throws IOException {
-        appendable.append("<table:table-row");
+        if (cell instanceof TableCellImpl) {
+            ((TableCellImpl) cell).appendXMLToTableRow(util, sink);
+        } else {
+            cell.appendXMLToTableRow(util, sink);
+        }
+    }
+
+    /**
+     * Write the XML of this row, like `appendXMLToTable`, but reuse the XML written by the
+     * previous call if neither the row, nor its cells, nor the range decorations were modified
+     * since. Rows having custom cells are always rendered. The row is rendered directly into
+     * the sink, and the cache is copied from the sink.
+     *
+     * @param util a util for XML writing
+     * @param sink where to write the XML
+     * @throws IOException If an I/O error occurs
+     */
+    void appendCachedXMLToTable(final XMLUtil util, final XMLSink sink) throws IOException {
+        final int decorationsCount = this.decorations == null ? 0 : this.decorations.getCount();
+        final boolean cellsDirty = this.clearDirtyCells();
+        if (this.cachedXML == null || cellsDirty ||
+                this.cachedDecorationsCount != decorationsCount) {
+            final int start = sink.length();
+            this.appendXMLToTable(util, sink);
+            this.cachedXML = sink.subSequence(start, sink.length()).toString();
+            this.cachedDecorationsCount = decorationsCount;
+        } else {
+            sink.append(this.cachedXML);
+        }
+    }
+
+    /**
+     * @return true if a cell was modified or if the row contains a custom cell. In any case,
+     * all the dirty flags are cleared.
+     */
+    private boolean clearDirtyCells() {
+        boolean dirty = false;
+        final int size = this.cells.usedSize();
+        for (int c = 0; c < size; c++) {
+            final WritableTableCell cell = this.cells.get(c);
+            if (cell instanceof TableCellImpl) {
+                if (((TableCellImpl) cell).clearDirty()) {
+                    dirty = true;
+                }
+            } else if (cell != null) { // we can't track the modifications of a custom cell
+                dirty = true;
+            }
+        }
+        return dirty;
+    }
+
+    /**
+     * Append the cells, merged with the range decorations. Blank cells of a decorated segment
+     * are grouped in repeated cells.
+     */
+    private void appendDecoratedCells(final XMLUtil util, final XMLSink sink,
+                                      final TableDecorations.Segments segments,
+                                      final int size) throws IOException {
+        int blankFrom = 0;
+        for (int c = 0; c < size; c++) {
+            final WritableTableCell cell = this.cells.get(c);
+            if (this.hasNoValue(cell)) {
+                continue;
+            }
+            segments.appendBlankCells(util, sink, blankFrom, c - 1);
+            blankFrom = c + 1;
+            final CellDecoration decoration = segments.getDecorationAt(c);
+            if (decoration != null && cell instanceof TableCellImpl) {
+                ((TableCellImpl) cell).appendXMLToTableRow(util, sink, decoration);
+            } else {
+                this.appendCell(util, sink, cell);
+            }
+        }
+        segments.appendBlankCells(util, sink, blankFrom,
+                Math.max(size - 1, segments.getLastColumn()));
+    }
+
+    private void appendRowOpenTag(final XMLUtil util, final XMLSink sink)
+            throws IOException {
+        sink.appendAsciiLiteral(ROW_OPEN);
         if (this.rowStyle != null) {
-            util.appendEAttribute(appendable, "table:style-name", this.rowStyle.getName());
+            this.rowStyle.appendStyleNameAttribute(util, sink);
         }
         if (this.defaultCellStyle != null) {
-            util.appendEAttribute(appendable, "table:default-cell-style-name",
+            util.appendEAttribute(sink, "table:default-cell-style-name",
                     this.defaultCellStyle.getName());
         }
         if (this.customValueByAttribute != null) {
             for (final Map.Entry<String, CharSequence> entry : this.customValueByAttribute
                     .entrySet()) {
-                util.appendAttribute(appendable, entry.getKey(), entry.getValue());
+                util.appendAttribute(sink, entry.getKey(), entry.getValue());
             }
         }
-        appendable.append(">");
+        sink.append('>');
     }
 
-    private void insertBlankCells(final XMLUtil util, final Appendable appendable,
-                                  final int nullFieldCounter) throws IOException {
+    private void insertBlankCells(final XMLUtil util, final XMLSink sink,
+                                  final int nullFieldCounter) {
         if (nullFieldCounter <= 0) {
             return;
         }
 
-        appendable.append("<table:table-cell");
+        sink.appendAsciiLiteral(CELL_OPEN);
         if (nullFieldCounter >= 2) {
-            util.appendAttribute(appendable, "table:number-columns-repeated", nullFieldCounter);
+            util.appendAttribute(sink, "table:number-columns-repeated", nullFieldCounter);
         }
-        appendable.append("/>");
+        sink.append("/>");
     }
 
     private boolean hasNoValue(final TableCell cell) {
@@ -273,6 +442,7 @@ public class TableRowImpl implements TableRow {
             cell = new TableCellImpl(this.cache, this.xmlUtil, this.stylesContainer,
                     this.dataStyles, this.libreOfficeMode, this, colIndex);
             this.cells.set(colIndex, cell);
+            this.cachedXML = null;
         }
         return cell;
     }
@@ -285,12 +455,14 @@ public class TableRowImpl implements TableRow {
      */
     public void set(final int colIndex, final WritableTableCell cell) {
         this.cells.set(colIndex, cell);
+        this.cachedXML = null;
     }
 
     @Override
     public void setRowStyle(final TableRowStyle rowStyle) {
         this.stylesContainer.addContentStyle(rowStyle);
         this.rowStyle = rowStyle;
+        this.cachedXML = null;
     }
 
     @Override
@@ -333,6 +505,7 @@ public class TableRowImpl implements TableRow {
         this.stylesContainer.addContentFontFaceContainerStyle(ts);
         this.stylesContainer.addContentStyle(ts);
         this.defaultCellStyle = ts;
+        this.cachedXML = null;
     }
 
     @Override
@@ -340,9 +513,18 @@ public class TableRowImpl implements TableRow {
         return this.rowIndex;
     }
 
+    /**
+     * @return the index of this row in the sheet. Differs from the row index if the rows of the
+     * table are spliced into an existing sheet.
+     */
+    int sheetRowIndex() {
+        return this.sheetRowIndex;
+    }
+
     @Override
     public void removeRowStyle() {
         this.rowStyle = null;
+        this.cachedXML = null;
     }
 
     @Override
@@ -351,6 +533,98 @@ public class TableRowImpl implements TableRow {
             this.customValueByAttribute = new HashMap<String, CharSequence>();
         }
         this.customValueByAttribute.put(attribute, value);
+        this.cachedXML = null;
+    }
+
+    /**
+     * Add the cells of this row to an estimator of the column widths. Custom cells are ignored.
+     *
+     * @param estimator the estimator
+     */
+    void addToWidthEstimator(final ColumnWidthEstimator estimator) {
+        final int size = this.cells.usedSize();
+        for (int c = 0; c < size; c++) {
+            final WritableTableCell cell = this.cells.get(c);
+            if (cell instanceof TableCellImpl) {
+                ((TableCellImpl) cell).addToWidthEstimator(estimator);
+            }
+        }
+    }
+
+    /**
+     * @return a rough estimate of the heap retained by this row and its cells, in bytes. Used
+     * by the flush policy.
+     */
+    public long estimateRetainedSize() {
+        final int size = this.cells.usedSize();
+        long retained = ROW_SIZE + (long) CELL_SLOT_SIZE * size;
+        if (this.cachedXML != null) {
+            retained += 2L * this.cachedXML.length();
+        }
+        for (int c = 0; c < size; c++) {
+            final WritableTableCell cell = this.cells.get(c);
+            if (cell instanceof TableCellImpl) {
+                retained += ((TableCellImpl) cell).estimateRetainedSize();
+            } else if (cell != null) {
+                retained += CUSTOM_CELL_SIZE;
+            }
+        }
+        return retained;
+    }
+
+    /**
+     * Encode the content of this row. The parent table and the index are not encoded.
+     *
+     * @param out  the output
+     * @param refs the objects kept by reference
+     * @throws IOException if an I/O error occurs
+     */
+    void encode(final DataOutput out, final CompressedRowStore.ObjectRefs refs)
+            throws IOException {
+        out.writeInt(refs.put(this.dataStyles));
+        out.writeInt(refs.put(this.rowStyle));
+        out.writeInt(refs.put(this.defaultCellStyle));
+        out.writeInt(refs.put(this.customValueByAttribute));
+        final int size = this.cells.usedSize();
+        out.writeInt(size);
+        for (int c = 0; c < size; c++) {
+            final WritableTableCell cell = this.cells.get(c);
+            if (cell == null) {
+                out.writeByte(NO_CELL);
+            } else if (cell instanceof TableCellImpl) {
+                out.writeByte(IMPL_CELL);
+                ((TableCellImpl) cell).encode(out, refs);
+            } else {
+                out.writeByte(CUSTOM_CELL);
+                out.writeInt(refs.put(cell));
+            }
+        }
+    }
+
+    /**
+     * Decode the content of this new row.
+     *
+     * @param in   the input
+     * @param refs the objects kept by reference
+     * @throws IOException if an I/O error occurs
+     */
+    @SuppressWarnings("unchecked")
+    void decode(final DataInput in, final CompressedRowStore.ObjectRefs refs)
+            throws IOException {
+        this.dataStyles = (DataStyles) refs.get(in.readInt());
+        this.rowStyle = (TableRowStyle) refs.get(in.readInt());
+        this.defaultCellStyle = (TableCellStyle) refs.get(in.readInt());
+        this.customValueByAttribute = (Map<String, CharSequence>) refs.get(in.readInt());
+        final int size = in.readInt();
+        for (int c = 0; c < size; c++) {
+            final byte tag = in.readByte();
+            if (tag == IMPL_CELL) {
+                this.cells.set(c, TableCellImpl.decode(in, refs, this.cache, this.xmlUtil,
+                        this.stylesContainer, this.libreOfficeMode, this, c));
+            } else if (tag == CUSTOM_CELL) {
+                this.cells.set(c, (WritableTableCell) refs.get(in.readInt()));
+            }
+        }
     }
 
     public void addValidationToContainer(final Validation validation) {
@@ -0,0 +1,336 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.odselement.OdsElements;
+import com.github.jferard.fastods.style.TableColumnStyle;
+import com.github.jferard.fastods.style.TableRowStyle;
+import com.github.jferard.fastods.style.TableStyle;
+import com.github.jferard.fastods.util.XMLUtil;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Copies the content.xml of a template and splices the generated XML into it:
+ * the automatic styles of the document are appended to the automatic styles of the template, and
+ * the rows of the table replace the trailing empty rows of the marked sheet. Everything else is
+ * copied verbatim: the template is never parsed into a tree.
+ * <p>
+ * See {@link TemplateStyleMerger} for the automatic styles that have the same name as an
+ * automatic style of the template. The template must use the standard "office:", "style:" and
+ * "table:" prefixes.
+ *
+ * @author J. Férard
+ */
+class TemplateContentSplicer {
+    private static final Pattern TABLE_NAME_PATTERN =
+            TemplateTokenizer.attributePattern("table:name");
+    private static final Pattern ROWS_REPEATED_PATTERN =
+            TemplateTokenizer.attributePattern("table:number-rows-repeated");
+    private static final Set<String> DEFAULT_STYLE_KEYS = new HashSet<String>(Arrays.asList(
+            TemplateStyleMerger.getKey(TableStyle.DEFAULT_TABLE_STYLE),
+            TemplateStyleMerger.getKey(TableRowStyle.DEFAULT_TABLE_ROW_STYLE),
+            TemplateStyleMerger.getKey(TableColumnStyle.DEFAULT_TABLE_COLUMN_STYLE)));
+
+    private static boolean isBlank(final CharSequence text) {
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private enum State {
+        BEFORE_TABLE, IN_TABLE, AFTER_TABLE
+    }
+
+    private final XMLUtil xmlUtil;
+    private final OdsElements odsElements;
+    private final Table table;
+    private final StringBuilder pendingRows;
+    private int pendingRowCount;
+    private int rowCount;
+    private TemplateTokenizer tokenizer;
+    private TemplateStyleMerger styleMerger;
+    private boolean inAutomaticStyles;
+    private boolean stylesWritten;
+    private State state;
+
+    /**
+     * @param xmlUtil     the util
+     * @param odsElements the elements, for the automatic styles
+     * @param table       the table to splice. The name of the table is the name of the sheet.
+     */
+    TemplateContentSplicer(final XMLUtil xmlUtil, final OdsElements odsElements,
+                           final Table table) {
+        this.xmlUtil = xmlUtil;
+        this.odsElements = odsElements;
+        this.table = table;
+        this.pendingRows = new StringBuilder();
+    }
+
+    /**
+     * Scan the template content to find the row of the sheet where the rows of the table will be
+     * spliced.
+     *
+     * @param reader the template content.xml
+     * @return the index of the first row after the last non empty row of the sheet
+     * @throws IOException if an I/O error occurs or if the sheet was not found
+     */
+    int findFirstRowIndex(final Reader reader) throws IOException {
+        this.tokenizer = new TemplateTokenizer(reader);
+        this.pendingRows.setLength(0);
+        this.pendingRowCount = 0;
+        this.rowCount = 0;
+        boolean inTable = false;
+        while (this.tokenizer.next()) {
+            final TemplateTokenizer t = this.tokenizer;
+            if (t.isText()) {
+                continue;
+            }
+            final String name = t.getTagName();
+            if (!inTable) {
+                if (name.equals("table:table") && !t.isEndTag() && this.isMarkedTable()) {
+                    if (t.isEmptyTag()) {
+                        return 0;
+                    }
+                    inTable = true;
+                }
+            } else if (name.equals("table:table-row") && !t.isEndTag()) {
+                if (!this.readRow()) { // the pending rows were not trailing rows
+                    this.countPendingRows();
+                }
+                this.pendingRows.setLength(0);
+            } else if ((name.equals("table:table") && t.isEndTag()) ||
+                    name.equals("table:named-expressions")) {
+                return this.rowCount;
+            } else {
+                this.countPendingRows();
+            }
+        }
+        throw new IOException("Sheet not found in template: " + this.table.getName());
+    }
+
+    /**
+     * Copy the template content to the writer, and splice the table.
+     *
+     * @param reader the template content.xml
+     * @param writer the destination
+     * @throws IOException if an I/O error occurs, if the sheet was not found or if an automatic
+     *                     style collides with a style of the template
+     */
+    void splice(final Reader reader, final Writer writer) throws IOException {
+        this.tokenizer = new TemplateTokenizer(reader);
+        this.styleMerger = new TemplateStyleMerger(DEFAULT_STYLE_KEYS);
+        this.inAutomaticStyles = false;
+        this.stylesWritten = false;
+        this.state = State.BEFORE_TABLE;
+        this.pendingRows.setLength(0);
+        this.pendingRowCount = 0;
+        this.rowCount = 0;
+        while (this.tokenizer.next()) {
+            switch (this.state) {
+                case BEFORE_TABLE:
+                    this.processBeforeTable(writer);
+                    break;
+                case IN_TABLE:
+                    this.processInTable(writer);
+                    break;
+                default:
+                    writer.append(this.tokenizer.getToken());
+                    break;
+            }
+        }
+        if (this.state != State.AFTER_TABLE) {
+            throw new IOException("Sheet not found in template: " + this.table.getName());
+        }
+    }
+
+    private void processBeforeTable(final Writer writer) throws IOException {
+        final TemplateTokenizer t = this.tokenizer;
+        if (this.inAutomaticStyles) {
+            if (this.styleMerger.copyTemplateToken(t, writer)) { // </office:automatic-styles>
+                this.writeStyles(writer);
+                writer.append(t.getToken());
+                this.inAutomaticStyles = false;
+            }
+            return;
+        }
+        if (t.isText()) {
+            writer.append(t.getToken());
+            return;
+        }
+        final String name = t.getTagName();
+        if (!this.stylesWritten) {
+            if (name.equals("office:automatic-styles")) {
+                if (t.isEmptyTag()) {
+                    writer.append("<office:automatic-styles>");
+                    this.writeStyles(writer);
+                    writer.append("</office:automatic-styles>");
+                    return;
+                } else if (!t.isEndTag()) {
+                    writer.append(t.getToken());
+                    this.inAutomaticStyles = true;
+                    return;
+                }
+            } else if (name.equals("office:body")) {
+                writer.append("<office:automatic-styles>");
+                this.writeStyles(writer);
+                writer.append("</office:automatic-styles>");
+            }
+        }
+        if (name.equals("table:table") && !t.isEndTag() && this.isMarkedTable()) {
+            if (t.isEmptyTag()) {
+                final CharSequence token = t.getToken();
+                writer.append(token, 0, token.length() - 2).append('>');
+                this.table.appendRowsXMLContent(this.xmlUtil, writer);
+                writer.append("</table:table>");
+                this.state = State.AFTER_TABLE;
+            } else {
+                writer.append(t.getToken());
+                this.state = State.IN_TABLE;
+            }
+            return;
+        }
+        writer.append(t.getToken());
+    }
+
+    /**
+     * Write the automatic styles of the document, but the styles that were declared in the
+     * template.
+     */
+    private void writeStyles(final Writer writer) throws IOException {
+        this.stylesWritten = true;
+        final StringBuilder styles = new StringBuilder();
+        this.odsElements.writeSplicedAutomaticStyles(this.xmlUtil, styles);
+        this.styleMerger.writeStyles(styles, writer);
+    }
+
+    private boolean isMarkedTable() {
+        final String value = this.tokenizer.getAttribute(TABLE_NAME_PATTERN);
+        return value != null && value.equals(this.table.getName());
+    }
+
+    private void processInTable(final Writer writer) throws IOException {
+        final TemplateTokenizer t = this.tokenizer;
+        if (t.isText()) {
+            if (this.pendingRows.length() > 0) {
+                this.pendingRows.append(t.getToken());
+            } else {
+                writer.append(t.getToken());
+            }
+            return;
+        }
+        final String name = t.getTagName();
+        if (name.equals("table:table-row") && !t.isEndTag()) {
+            this.processRow(writer);
+        } else if ((name.equals("table:table") && t.isEndTag()) ||
+                name.equals("table:named-expressions")) {
+            // forget the trailing empty rows and splice the rows
+            this.pendingRows.setLength(0);
+            this.pendingRowCount = 0;
+            this.table.appendRowsXMLContent(this.xmlUtil, writer);
+            writer.append(t.getToken());
+            this.state = State.AFTER_TABLE;
+        } else {
+            this.writePendingRows(writer);
+            writer.append(t.getToken());
+        }
+    }
+
+    private void processRow(final Writer writer) throws IOException {
+        if (!this.readRow()) { // the pending rows were not trailing rows
+            this.writePendingRows(writer);
+        }
+    }
+
+    /**
+     * Append the current row to the pending rows.
+     *
+     * @return true if the row is empty
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean readRow() throws IOException {
+        final TemplateTokenizer t = this.tokenizer;
+        this.pendingRows.append(t.getToken());
+        final String repeated = t.getAttribute(ROWS_REPEATED_PATTERN);
+        this.pendingRowCount += repeated == null ? 1 : Integer.parseInt(repeated.trim());
+        boolean empty = true;
+        if (!t.isEmptyTag()) {
+            int depth = 1;
+            while (depth > 0) {
+                if (!t.next()) {
+                    throw new IOException("Unexpected end of template content");
+                }
+                this.pendingRows.append(t.getToken());
+                if (t.isText()) {
+                    if (empty && !isBlank(t.getToken())) {
+                        empty = false;
+                    }
+                    continue;
+                }
+                final String name = t.getTagName();
+                if (name.equals("table:table-row")) {
+                    if (t.isEndTag()) {
+                        depth--;
+                    } else if (!t.isEmptyTag()) {
+                        depth++;
+                    }
+                }
+                if (empty && this.isNonEmptyMarkup(name)) {
+                    empty = false;
+                }
+            }
+        }
+        return empty;
+    }
+
+    private boolean isNonEmptyMarkup(final String name) {
+        return name.startsWith("draw:") || name.equals("office:annotation") ||
+                this.tokenizer.contains("office:value-type") ||
+                this.tokenizer.contains("table:formula");
+    }
+
+    private void writePendingRows(final Writer writer) throws IOException {
+        if (this.pendingRows.length() > 0) {
+            writer.append(this.pendingRows);
+            this.pendingRows.setLength(0);
+        }
+        this.countPendingRows();
+    }
+
+    private void countPendingRows() {
+        this.rowCount += this.pendingRowCount;
+        this.pendingRowCount = 0;
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.odselement.OdsElements;
+import com.github.jferard.fastods.util.RawZipEntry;
+import com.github.jferard.fastods.util.RawZipReader;
+import com.github.jferard.fastods.util.RawZipWriter;
+import com.github.jferard.fastods.util.XMLUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A writer that fills a sheet of an existing document (the template). The rows of the table
+ * are spliced into the sheet of the template that has the same name: the trailing empty rows
+ * of the sheet are replaced, the other rows are kept. Hence the row 0 of the table is the first
+ * row after the last non empty row of the sheet: see {@link #getFirstRowIndex()}.
+ * <p>
+ * Every entry of the template except content.xml and styles.xml is copied "as is": the
+ * compressed bytes are neither inflated nor deflated. The content.xml entry is streamed, and only
+ * the automatic styles and the rows of the table are inserted. The styles.xml entry is streamed
+ * and the common styles of the document are inserted, unless the document has only the default
+ * styles (e.g. "Default"), that the template must declare: then styles.xml is copied "as is".
+ * A style of the document that collides with a different style of the template is an error.
+ *
+ * @author J. Férard
+ */
+public class TemplateOdsFileWriter {
+    /**
+     * Create a new template writer. The template is scanned to find the first row of the table
+     * in the sheet. Use the factory.
+     *
+     * @param logger      the logger
+     * @param xmlUtil     the util
+     * @param odsElements the elements of the document
+     * @param document    the document that holds the table
+     * @param table       the table to splice
+     * @param template    the template file
+     * @return the writer
+     * @throws IOException if the template can't be read or if the sheet was not found
+     */
+    static TemplateOdsFileWriter create(final Logger logger, final XMLUtil xmlUtil,
+                                        final OdsElements odsElements,
+                                        final AnonymousOdsDocument document, final Table table,
+                                        final File template) throws IOException {
+        final RawZipReader reader = RawZipReader.open(template);
+        try {
+            for (final RawZipEntry entry : reader.getEntries()) {
+                if (entry.getName().equals(CONTENT_XML)) {
+                    final InputStream in = reader.openInflated(entry);
+                    try {
+                        table.setFirstRowIndex(
+                                new TemplateContentSplicer(xmlUtil, odsElements, table)
+                                        .findFirstRowIndex(new InputStreamReader(in, UTF_8)));
+                    } finally {
+                        in.close();
+                    }
+                    return new TemplateOdsFileWriter(logger, xmlUtil, odsElements, document,
+                            table, template);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        throw new FileNotFoundException("No " + CONTENT_XML + " in " + template);
+    }
+
+    /**
+     * The entry that is always spliced
+     */
+    public static final String CONTENT_XML = "content.xml";
+    /**
+     * The entry that is spliced if the document has common styles
+     */
+    public static final String STYLES_XML = "styles.xml";
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int BUFFER_SIZE = 32 * 1024;
+
+    private final Logger logger;
+    private final XMLUtil xmlUtil;
+    private final OdsElements odsElements;
+    private final AnonymousOdsDocument document;
+    private final Table table;
+    private final File template;
+
+    /**
+     * Create a new template writer.
+     *
+     * @param logger      the logger
+     * @param xmlUtil     the util
+     * @param odsElements the elements of the document
+     * @param document    the document that holds the table
+     * @param table       the table to splice
+     * @param template    the template file
+     */
+    TemplateOdsFileWriter(final Logger logger, final XMLUtil xmlUtil,
+                          final OdsElements odsElements, final AnonymousOdsDocument document,
+                          final Table table, final File template) {
+        this.logger = logger;
+        this.xmlUtil = xmlUtil;
+        this.odsElements = odsElements;
+        this.document = document;
+        this.table = table;
+        this.template = template;
+    }
+
+    /**
+     * @return the underlying document, for the styles
+     */
+    public OdsDocument document() {
+        return this.document;
+    }
+
+    /**
+     * @return the table to fill. The name of the table is the name of the sheet in the template.
+     */
+    public Table getTable() {
+        return this.table;
+    }
+
+    /**
+     * @return the index of the row 0 of the table in the sheet, ie. the first row after the last
+     * non empty row of the sheet. Use it to write formulas: the row r of the table is the row
+     * getFirstRowIndex() + r of the sheet. The formula templates are shifted automatically.
+     */
+    public int getFirstRowIndex() {
+        return this.table.getFirstRowIndex();
+    }
+
+    /**
+     * Writes the filled template to a stream.
+     * WARNING: The user shall close the stream.
+     *
+     * @param out The OutputStream that should be used.
+     * @throws IOException The file can't be saved.
+     */
+    public void save(final OutputStream out) throws IOException {
+        final RawZipReader reader = RawZipReader.open(this.template);
+        try {
+            final RawZipWriter zipWriter = new RawZipWriter(out);
+            final TemplateStylesSplicer stylesSplicer =
+                    new TemplateStylesSplicer(this.xmlUtil, this.odsElements);
+            final boolean spliceStyles = stylesSplicer.hasStylesToSplice();
+            boolean contentFound = false;
+            for (final RawZipEntry entry : reader.getEntries()) {
+                if (entry.getName().equals(CONTENT_XML)) {
+                    this.spliceContent(reader, entry, zipWriter);
+                    contentFound = true;
+                } else if (spliceStyles && entry.getName().equals(STYLES_XML)) {
+                    this.spliceStyles(stylesSplicer, reader, entry, zipWriter);
+                } else {
+                    zipWriter.copyRawEntry(reader, entry);
+                }
+            }
+            if (!contentFound) {
+                throw new FileNotFoundException("No " + CONTENT_XML + " in " + this.template);
+            }
+            zipWriter.finish();
+        } finally {
+            reader.close();
+        }
+    }
+
+    private void spliceContent(final RawZipReader reader, final RawZipEntry entry,
+                               final RawZipWriter zipWriter) throws IOException {
+        final InputStream in = reader.openInflated(entry);
+        try {
+            final Reader contentReader = new InputStreamReader(in, UTF_8);
+            final Writer contentWriter = new BufferedWriter(
+                    new OutputStreamWriter(zipWriter.openDeflatedEntry(CONTENT_XML), UTF_8),
+                    BUFFER_SIZE);
+            new TemplateContentSplicer(this.xmlUtil, this.odsElements, this.table)
+                    .splice(contentReader, contentWriter);
+            contentWriter.close();
+        } finally {
+            in.close();
+        }
+    }
+
+    private void spliceStyles(final TemplateStylesSplicer stylesSplicer,
+                              final RawZipReader reader, final RawZipEntry entry,
+                              final RawZipWriter zipWriter) throws IOException {
+        final InputStream in = reader.openInflated(entry);
+        try {
+            final Reader stylesReader = new InputStreamReader(in, UTF_8);
+            final Writer stylesWriter = new BufferedWriter(
+                    new OutputStreamWriter(zipWriter.openDeflatedEntry(STYLES_XML), UTF_8),
+                    BUFFER_SIZE);
+            stylesSplicer.splice(stylesReader, stylesWriter);
+            stylesWriter.close();
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Save the new file.
+     *
+     * @param filename the name of the destination file
+     * @throws IOException If an I/O error occurs during the save
+     */
+    public void saveAs(final String filename) throws IOException {
+        this.saveAs(Paths.get(filename));
+    }
+
+    /**
+     * Save the new file.
+     *
+     * @param path the destination path
+     * @throws IOException If an I/O error occurs
+     */
+    public void saveAs(final Path path) throws IOException {
+        try {
+            final OutputStream out = new BufferedOutputStream(Files.newOutputStream(path),
+                    BUFFER_SIZE);
+            try {
+                this.save(out);
+            } finally {
+                out.close();
+            }
+        } catch (final IOException e) {
+            this.logger.log(Level.SEVERE, "Can't save " + path, e);
+            throw e;
+        }
+    }
+}
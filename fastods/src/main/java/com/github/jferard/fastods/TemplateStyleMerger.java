@@ -0,0 +1,165 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.style.ObjectStyle;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Merges the styles of the document into a list of styles of a template: the automatic styles
+ * of content.xml or the common styles of styles.xml.
+ * <p>
+ * A style of the document that has the same family and name as a style of the template is
+ * dropped if both declarations are identical, or if it is a default style of FastODS (e.g.
+ * "ro1" or "Default"): the template is expected to declare those styles. Any other collision
+ * throws an exception, since the template style would be redefined or the cells would be
+ * restyled.
+ *
+ * @author J. Férard
+ */
+class TemplateStyleMerger {
+    /**
+     * @param style the style
+     * @return the key of the style, as returned by the tokenizer
+     */
+    static String getKey(final ObjectStyle style) {
+        return style.getFamily().getName() + "/" + style.getName();
+    }
+
+    private final Set<String> defaultStyleKeys;
+    private final Map<String, String> templateStyleByKey;
+    private final StringBuilder templateStyle;
+    private String templateStyleKey;
+    private int depth;
+
+    /**
+     * @param defaultStyleKeys the keys of the default styles of FastODS, that the template
+     *                         should declare.
+     */
+    TemplateStyleMerger(final Set<String> defaultStyleKeys) {
+        this.defaultStyleKeys = defaultStyleKeys;
+        this.templateStyleByKey = new HashMap<String, String>();
+        this.templateStyle = new StringBuilder();
+    }
+
+    /**
+     * Copy a token of the list of styles of the template and record the styles. The
+     * end tag of the list is not copied.
+     *
+     * @param tokenizer the template tokenizer, inside the list of styles
+     * @param writer    the destination
+     * @return true if the token is the end tag of the list
+     * @throws IOException if an I/O error occurs
+     */
+    boolean copyTemplateToken(final TemplateTokenizer tokenizer, final Writer writer)
+            throws IOException {
+        final CharSequence token = tokenizer.getToken();
+        if (!tokenizer.isText()) {
+            final String name = tokenizer.getTagName();
+            if (tokenizer.isEndTag()) {
+                if (this.depth == 0) {
+                    return true;
+                }
+                this.depth--;
+            } else if (!name.startsWith("!") && !name.startsWith("?")) {
+                if (this.depth == 0) {
+                    this.templateStyleKey = tokenizer.getStyleKey();
+                    this.templateStyle.setLength(0);
+                }
+                if (!tokenizer.isEmptyTag()) {
+                    this.depth++;
+                }
+            }
+        }
+        if (this.templateStyleKey != null) {
+            this.templateStyle.append(token);
+            if (this.depth == 0) {
+                this.templateStyleByKey
+                        .put(this.templateStyleKey, this.templateStyle.toString());
+                this.templateStyleKey = null;
+            }
+        }
+        writer.append(token);
+        return false;
+    }
+
+    /**
+     * Write the styles of the document, but the styles that are already declared in the
+     * template.
+     *
+     * @param styles the styles of the document
+     * @param writer the destination
+     * @throws IOException if an I/O error occurs or if a style of the document has the same
+     *                     name as a different style of the template.
+     */
+    void writeStyles(final CharSequence styles, final Writer writer) throws IOException {
+        if (this.templateStyleByKey.isEmpty()) {
+            writer.append(styles);
+            return;
+        }
+
+        final TemplateTokenizer tokenizer =
+                new TemplateTokenizer(new StringReader(styles.toString()));
+        final StringBuilder style = new StringBuilder();
+        String key = null;
+        int styleDepth = 0;
+        while (tokenizer.next()) {
+            if (!tokenizer.isText()) {
+                if (tokenizer.isEndTag()) {
+                    styleDepth--;
+                } else {
+                    if (styleDepth == 0) {
+                        key = tokenizer.getStyleKey();
+                    }
+                    if (!tokenizer.isEmptyTag()) {
+                        styleDepth++;
+                    }
+                }
+            }
+            style.append(tokenizer.getToken());
+            if (styleDepth == 0) {
+                this.writeStyle(key, style, writer);
+                key = null;
+                style.setLength(0);
+            }
+        }
+    }
+
+    private void writeStyle(final String key, final CharSequence style, final Writer writer)
+            throws IOException {
+        final String templateStyle = key == null ? null : this.templateStyleByKey.get(key);
+        if (templateStyle == null) {
+            writer.append(style);
+        } else if (!this.defaultStyleKeys.contains(key) && !templateStyle.contentEquals(style)) {
+            throw new IOException("The template already has a different style " + key);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.odselement.OdsElements;
+import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.util.XMLUtil;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Copies the styles.xml of a template and appends the common styles of the document (the
+ * visible cell, column and row styles, and the visible data styles) to the common styles of the
+ * template. Everything else is copied verbatim.
+ * <p>
+ * See {@link TemplateStyleMerger} for the common styles that have the same name as a common
+ * style of the template. The template must use the standard "office:" and "style:" prefixes.
+ *
+ * @author J. Férard
+ */
+class TemplateStylesSplicer {
+    private static final Set<String> DEFAULT_STYLE_KEYS =
+            Collections.singleton(TemplateStyleMerger.getKey(TableCellStyle.DEFAULT_CELL_STYLE));
+
+    private final XMLUtil xmlUtil;
+    private final OdsElements odsElements;
+    private String styles;
+
+    /**
+     * @param xmlUtil     the util
+     * @param odsElements the elements, for the common styles
+     */
+    TemplateStylesSplicer(final XMLUtil xmlUtil, final OdsElements odsElements) {
+        this.xmlUtil = xmlUtil;
+        this.odsElements = odsElements;
+    }
+
+    /**
+     * @return true if the document has common styles that are not default styles, ie. if the
+     * styles.xml of the template must be spliced.
+     * @throws IOException if an I/O error occurs
+     */
+    boolean hasStylesToSplice() throws IOException {
+        final TemplateTokenizer tokenizer =
+                new TemplateTokenizer(new StringReader(this.getStyles()));
+        int depth = 0;
+        while (tokenizer.next()) {
+            if (tokenizer.isText()) {
+                continue;
+            }
+            if (tokenizer.isEndTag()) {
+                depth--;
+            } else {
+                if (depth == 0 && !DEFAULT_STYLE_KEYS.contains(tokenizer.getStyleKey())) {
+                    return true;
+                }
+                if (!tokenizer.isEmptyTag()) {
+                    depth++;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copy the template styles to the writer, and splice the common styles.
+     *
+     * @param reader the template styles.xml
+     * @param writer the destination
+     * @throws IOException if an I/O error occurs or if a common style collides with a style of
+     *                     the template
+     */
+    void splice(final Reader reader, final Writer writer) throws IOException {
+        final TemplateTokenizer tokenizer = new TemplateTokenizer(reader);
+        final TemplateStyleMerger styleMerger = new TemplateStyleMerger(DEFAULT_STYLE_KEYS);
+        boolean inStyles = false;
+        boolean stylesWritten = false;
+        while (tokenizer.next()) {
+            if (inStyles) {
+                if (styleMerger.copyTemplateToken(tokenizer, writer)) { // </office:styles>
+                    styleMerger.writeStyles(this.getStyles(), writer);
+                    writer.append(tokenizer.getToken());
+                    inStyles = false;
+                    stylesWritten = true;
+                }
+                continue;
+            }
+            if (!stylesWritten && !tokenizer.isText()) {
+                final String name = tokenizer.getTagName();
+                if (name.equals("office:styles")) {
+                    if (tokenizer.isEmptyTag()) {
+                        this.writeStylesElement(writer);
+                        stylesWritten = true;
+                        continue;
+                    } else if (!tokenizer.isEndTag()) {
+                        inStyles = true;
+                    }
+                } else if (name.equals("office:automatic-styles") ||
+                        name.equals("office:master-styles") ||
+                        name.equals("office:document-styles") && tokenizer.isEndTag()) {
+                    this.writeStylesElement(writer);
+                    stylesWritten = true;
+                }
+            }
+            writer.append(tokenizer.getToken());
+        }
+    }
+
+    private void writeStylesElement(final Writer writer) throws IOException {
+        writer.append("<office:styles>").append(this.getStyles()).append("</office:styles>");
+    }
+
+    private String getStyles() throws IOException {
+        if (this.styles == null) {
+            final StringBuilder sb = new StringBuilder();
+            this.odsElements.writeSplicedCommonStyles(this.xmlUtil, sb);
+            this.styles = sb.toString();
+        }
+        return this.styles;
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A minimal XML tokenizer for the entries of a template: a token is a text, a tag, a comment,
+ * a processing instruction or a CDATA section, "as is". The template must use the standard
+ * "style:" and "number:" prefixes for the styles.
+ *
+ * @author J. Férard
+ */
+class TemplateTokenizer {
+    private static final Pattern STYLE_NAME_PATTERN = attributePattern("style:name");
+    private static final Pattern STYLE_FAMILY_PATTERN = attributePattern("style:family");
+    private static final Pattern ENTITY_PATTERN = Pattern.compile("&(#x?)?([0-9A-Za-z]+);");
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * @param attribute the name of the attribute
+     * @return a pattern to find the value of the attribute in a tag
+     */
+    static Pattern attributePattern(final String attribute) {
+        return Pattern.compile(
+                "\\s" + Pattern.quote(attribute) + "\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)')");
+    }
+
+    /**
+     * @param value the escaped attribute value
+     * @return the unescaped value
+     */
+    static String unescape(final String value) {
+        if (value.indexOf('&') == -1) {
+            return value;
+        }
+        final Matcher matcher = ENTITY_PATTERN.matcher(value);
+        final StringBuffer sb = new StringBuffer();
+        while (matcher.find()) {
+            final String prefix = matcher.group(1);
+            final String name = matcher.group(2);
+            final String replacement;
+            if (prefix == null) {
+                if (name.equals("amp")) {
+                    replacement = "&";
+                } else if (name.equals("lt")) {
+                    replacement = "<";
+                } else if (name.equals("gt")) {
+                    replacement = ">";
+                } else if (name.equals("quot")) {
+                    replacement = "\"";
+                } else if (name.equals("apos")) {
+                    replacement = "'";
+                } else {
+                    replacement = matcher.group();
+                }
+            } else {
+                final int radix = prefix.length() == 1 ? 10 : 16;
+                replacement = new String(Character.toChars(Integer.parseInt(name, radix)));
+            }
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    private final Reader reader;
+    private final char[] buffer;
+    private final StringBuilder token;
+    private int position;
+    private int limit;
+
+    TemplateTokenizer(final Reader reader) {
+        this.reader = reader;
+        this.buffer = new char[BUFFER_SIZE];
+        this.token = new StringBuilder();
+        this.position = 0;
+        this.limit = 0;
+    }
+
+    CharSequence getToken() {
+        return this.token;
+    }
+
+    boolean contains(final String str) {
+        return this.token.indexOf(str) != -1;
+    }
+
+    boolean isText() {
+        return this.token.length() == 0 || this.token.charAt(0) != '<';
+    }
+
+    boolean isEndTag() {
+        return this.token.length() > 1 && this.token.charAt(1) == '/';
+    }
+
+    boolean isEmptyTag() {
+        final int length = this.token.length();
+        return length > 2 && this.token.charAt(length - 2) == '/';
+    }
+
+    String getTagName() {
+        final int length = this.token.length();
+        int start = 1;
+        if (start < length && this.token.charAt(start) == '/') {
+            start++;
+        }
+        int end = start;
+        while (end < length) {
+            final char c = this.token.charAt(end);
+            if (c == '>' || c == '/' || Character.isWhitespace(c)) {
+                break;
+            }
+            end++;
+        }
+        return this.token.substring(start, end);
+    }
+
+    /**
+     * @param pattern the pattern of the attribute
+     * @return the unescaped value or null
+     */
+    String getAttribute(final Pattern pattern) {
+        final Matcher matcher = pattern.matcher(this.token);
+        if (!matcher.find()) {
+            return null;
+        }
+        final String value = matcher.group(1) == null ? matcher.group(2) : matcher.group(1);
+        return unescape(value);
+    }
+
+    /**
+     * @return a key for the style (family and name), or null if the tag has no name. Data
+     * styles share the same family.
+     */
+    String getStyleKey() {
+        final String styleName = this.getAttribute(STYLE_NAME_PATTERN);
+        if (styleName == null) {
+            return null;
+        }
+        final String family;
+        if (this.getTagName().startsWith("number:")) {
+            family = "data-style";
+        } else {
+            family = this.getAttribute(STYLE_FAMILY_PATTERN);
+        }
+        return family + "/" + styleName;
+    }
+
+    /**
+     * Read the next token.
+     *
+     * @return false if the end of the stream was reached
+     * @throws IOException if an I/O error occurs
+     */
+    boolean next() throws IOException {
+        this.token.setLength(0);
+        final int first = this.peek();
+        if (first == -1) {
+            return false;
+        }
+        if (first != '<') {
+            this.readText();
+            return true;
+        }
+        this.token.append((char) this.read());
+        final int second = this.peek();
+        if (second == '?') {
+            this.readUntil("?>");
+        } else if (second == '!') {
+            this.token.append((char) this.read());
+            if (this.peek() == '-') {
+                this.readUntil("-->");
+            } else if (this.peek() == '[') {
+                this.readUntil("]]>");
+            } else {
+                this.readUntil(">");
+            }
+        } else {
+            this.readTag();
+        }
+        return true;
+    }
+
+    private void readText() throws IOException {
+        while (true) {
+            if (this.position == this.limit && !this.fill()) {
+                return;
+            }
+            final int start = this.position;
+            while (this.position < this.limit && this.buffer[this.position] != '<') {
+                this.position++;
+            }
+            this.token.append(this.buffer, start, this.position - start);
+            if (this.position < this.limit) {
+                return;
+            }
+        }
+    }
+
+    private void readTag() throws IOException {
+        char quote = 0;
+        while (true) {
+            final int c = this.read();
+            if (c == -1) {
+                throw new IOException("Unexpected end of template content");
+            }
+            this.token.append((char) c);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = (char) c;
+            } else if (c == '>') {
+                return;
+            }
+        }
+    }
+
+    private void readUntil(final String end) throws IOException {
+        final int endLength = end.length();
+        final char last = end.charAt(endLength - 1);
+        while (true) {
+            final int c = this.read();
+            if (c == -1) {
+                throw new IOException("Unexpected end of template content");
+            }
+            this.token.append((char) c);
+            final int length = this.token.length();
+            if (c == last && length > endLength &&
+                    this.token.lastIndexOf(end) == length - endLength) {
+                return;
+            }
+        }
+    }
+
+    private int peek() throws IOException {
+        if (this.position == this.limit && !this.fill()) {
+            return -1;
+        }
+        return this.buffer[this.position];
+    }
+
+    private int read() throws IOException {
+        if (this.position == this.limit && !this.fill()) {
+            return -1;
+        }
+        return this.buffer[this.position++];
+    }
+
+    private boolean fill() throws IOException {
+        final int count = this.reader.read(this.buffer, 0, this.buffer.length);
+        if (count <= 0) {
+            return false;
+        }
+        this.position = 0;
+        this.limit = count;
+        return true;
+    }
+}
@@ -103,6 +103,20 @@ public class CurrencyStyle implements DataStyle {
                 .append("</number:currency-symbol>");
     }
 
+    /**
+     * @return the float style used for the number
+     */
+    public FloatStyle getFloatStyle() {
+        return this.floatStyle;
+    }
+
+    /**
+     * @return the currency symbol
+     */
+    public String getCurrencySymbol() {
+        return this.currencySymbol;
+    }
+
     @Override
     public String getName() {
         return this.floatStyle.getName();
@@ -111,6 +111,27 @@ public class FloatStyle implements DataStyle {
         this.numberStyle.appendXMLHelper(util, appendable, numberStyleName, number);
     }
 
+    /**
+     * @return the number of digits after the separator
+     */
+    public int getDecimalPlaces() {
+        return this.decimalPlaces;
+    }
+
+    /**
+     * @return true if the digits are grouped
+     */
+    public boolean isGrouping() {
+        return this.numberStyle.isGrouping();
+    }
+
+    /**
+     * @return the minimum number of integer digits
+     */
+    public int getMinIntegerDigits() {
+        return this.numberStyle.getMinIntegerDigits();
+    }
+
     @Override
     public String getName() {
         return this.numberStyle.getName();
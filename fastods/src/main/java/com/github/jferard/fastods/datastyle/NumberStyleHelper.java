@@ -163,6 +163,20 @@ class NumberStyleHelper implements NumberStyle {
         appendable.append("/>");
     }
 
+    /**
+     * @return true if the digits are grouped
+     */
+    boolean isGrouping() {
+        return this.grouping;
+    }
+
+    /**
+     * @return the minimum number of integer digits
+     */
+    int getMinIntegerDigits() {
+        return this.minIntegerDigits;
+    }
+
     @Override
     public String getName() {
         return this.dataStyle.getName();
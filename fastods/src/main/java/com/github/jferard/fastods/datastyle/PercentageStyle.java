@@ -61,6 +61,13 @@ public class PercentageStyle implements DataStyle {
         this.floatStyle.appendXMLHelper(util, appendable, "percentage-style", percentage);
     }
 
+    /**
+     * @return the float style used for the number
+     */
+    public FloatStyle getFloatStyle() {
+        return this.floatStyle;
+    }
+
     @Override
     public String getName() {
         return this.floatStyle.getName();
@@ -25,6 +25,8 @@
 package com.github.jferard.fastods.odselement;
 
 import com.github.jferard.fastods.Table;
+import com.github.jferard.fastods.FlushPolicy;
+import com.github.jferard.fastods.RowSpill;
 import com.github.jferard.fastods.ValidationsContainer;
 import com.github.jferard.fastods.attribute.CellType;
 import com.github.jferard.fastods.datastyle.DataStyle;
@@ -76,6 +78,8 @@ public class ContentElement implements OdsElement {
     private List<AutoFilter> autoFilters;
     private List<PilotTable> pilotTables;
     private List<NamedRange> namedRanges;
+    private FlushPolicy flushPolicy;
+    private RowSpill rowSpill;
 
     /**
      * @param positionUtil                an util object for positions (e.g. "A1")
@@ -101,6 +105,35 @@ public class ContentElement implements OdsElement {
         this.flushPosition = new FlushPosition();
         this.scriptEvents = new ArrayList<>();
         this.validationsContainer = new ValidationsContainer();
+        this.flushPolicy = FlushPolicy.DEFAULT;
+    }
+
+    /**
+     * @param flushPolicy the flush policy of the tables created by this element
+     */
+    public void setFlushPolicy(final FlushPolicy flushPolicy) {
+        this.flushPolicy = flushPolicy;
+    }
+
+    /**
+     * @param rowSpill the spill policy of the tables of this element, or null to stop spilling
+     */
+    public void setRowSpill(final RowSpill rowSpill) {
+        this.rowSpill = rowSpill;
+        for (final Table table : this.tables) {
+            table.setRowSpill(rowSpill);
+        }
+    }
+
+    /**
+     * Delete the temporary files of the spilled rows.
+     *
+     * @throws IOException if a file can't be closed
+     */
+    public void deleteSpilledRows() throws IOException {
+        for (final Table table : this.tables) {
+            table.deleteSpilledRows();
+        }
     }
 
     /**
@@ -137,6 +170,8 @@ public class ContentElement implements OdsElement {
             table = Table.create(this, this.positionUtil, this.cache, this.xmlUtil, name,
                     rowCapacity, columnCapacity, this.stylesContainer, this.format,
                     this.libreOfficeMode, this.validationsContainer);
+            table.setFlushPolicy(this.flushPolicy);
+            table.setRowSpill(this.rowSpill);
             this.tables.add(table);
         }
         return table;
@@ -164,10 +199,13 @@ public class ContentElement implements OdsElement {
      * @return the newly created table
      */
     public Table createTable(final String name, final int rowCapacity, final int columnCapacity) {
-        return Table
+        final Table table = Table
                 .create(this, this.positionUtil, this.cache, this.xmlUtil, name, rowCapacity,
                         columnCapacity, this.stylesContainer, this.format, this.libreOfficeMode,
                         this.validationsContainer);
+        table.setFlushPolicy(this.flushPolicy);
+        table.setRowSpill(this.rowSpill);
+        return table;
     }
 
     /**
@@ -201,6 +239,24 @@ public class ContentElement implements OdsElement {
         return this.tables.getByName(name);
     }
 
+    /**
+     * @param name the name of the table to find
+     * @return the index of the table, or -1 if none present
+     */
+    public int getTableIndex(final String name) {
+        final int index = this.tables.indexOfName(name);
+        if (index != -1 && this.tables.get(index).getName().equals(name)) {
+            return index;
+        }
+        // a table may have been renamed
+        for (int i = 0; i < this.tables.size(); i++) {
+            if (this.tables.get(i).getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * @return the number of tables in the document
      */
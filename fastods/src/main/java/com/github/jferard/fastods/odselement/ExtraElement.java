@@ -28,11 +28,46 @@ import com.github.jferard.fastods.util.XMLUtil;
 import com.github.jferard.fastods.util.ZipUTF8Writer;
 
 import java.io.IOException;
+import java.util.Locale;
+import java.util.zip.CRC32;
 
 /**
  * An empty element, but present in the zip archive.
  */
 public class ExtraElement implements OdsElement {
+    /**
+     * @param mediaType the MIME type
+     * @return true if the data is already compressed (PNG, JPEG, GIF, ZIP) and should be STORED
+     */
+    static boolean isAlreadyCompressed(final String mediaType) {
+        if (mediaType == null) {
+            return false;
+        }
+        final String type = mediaType.toLowerCase(Locale.US);
+        return type.equals("image/png") || type.equals("image/jpeg") ||
+                type.equals("image/jpg") || type.equals("image/gif") ||
+                type.equals("application/zip") || type.equals("application/x-zip-compressed");
+    }
+
+    /**
+     * @param fullPath  the name of the file in the archive
+     * @param mediaType the MIME type
+     * @param data      the content
+     * @return the element, STORED if the data is already compressed.
+     */
+    public static ExtraElement create(final String fullPath, final String mediaType,
+                                      final byte[] data) {
+        final OdsEntry entry;
+        if (isAlreadyCompressed(mediaType)) {
+            final CRC32 crc32 = new CRC32();
+            crc32.update(data);
+            entry = new StoredOdsEntry(fullPath, mediaType, data.length, crc32.getValue());
+        } else {
+            entry = new StandardOdsEntry(fullPath, mediaType, null);
+        }
+        return new ExtraElement(entry, data);
+    }
+
     private final OdsEntry entry;
     private final byte[] data;
 
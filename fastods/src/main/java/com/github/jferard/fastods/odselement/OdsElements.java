@@ -25,6 +25,8 @@
 package com.github.jferard.fastods.odselement;
 
 import com.github.jferard.fastods.FinalizeFlusher;
+import com.github.jferard.fastods.FlushPolicy;
+import com.github.jferard.fastods.RowSpill;
 import com.github.jferard.fastods.ImmutableElementsFlusher;
 import com.github.jferard.fastods.NamedOdsFileWriter;
 import com.github.jferard.fastods.PrepareContentFlusher;
@@ -45,6 +47,9 @@ import com.github.jferard.fastods.style.TableCellStyle;
 import com.github.jferard.fastods.util.*;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -152,6 +157,7 @@ public class OdsElements implements StylesContainer {
     private final StylesContainerImpl stylesContainer;
     private final StylesElement stylesElement;
     private final Set<OdsElement> extraElements;
+    private final Map<ContentHash, String> pathByHash;
     private NamedOdsFileWriter observer;
 
     /**
@@ -179,6 +185,7 @@ public class OdsElements implements StylesContainer {
         this.stylesElement = stylesElement;
         this.stylesContainer = stylesContainer;
         this.extraElements = new HashSet<>();
+        this.pathByHash = new HashMap<ContentHash, String>();
     }
 
     /**
@@ -227,6 +234,33 @@ public class OdsElements implements StylesContainer {
         this.stylesContainer.setMasterPageStyleMode(mode);
     }
 
+    /**
+     * Set the flush policy of the tables that will be created.
+     *
+     * @param flushPolicy the policy
+     */
+    public void setFlushPolicy(final FlushPolicy flushPolicy) {
+        this.contentElement.setFlushPolicy(flushPolicy);
+    }
+
+    /**
+     * Set the spill policy of the tables.
+     *
+     * @param rowSpill the policy, or null to stop spilling rows
+     */
+    public void setRowSpill(final RowSpill rowSpill) {
+        this.contentElement.setRowSpill(rowSpill);
+    }
+
+    /**
+     * Delete the temporary files of the spilled rows.
+     *
+     * @throws IOException if a file can't be closed
+     */
+    public void deleteSpilledRows() throws IOException {
+        this.contentElement.deleteSpilledRows();
+    }
+
     @Override
     public boolean addNewDataStyleFromCellStyle(final TableCellStyle style) {
         return this.stylesContainer.addNewDataStyleFromCellStyle(style);
@@ -419,6 +453,35 @@ public class OdsElements implements StylesContainer {
         this.contentElement.write(xmlUtil, writer);
     }
 
+    /**
+     * Write the automatic styles and the hidden data styles of the content, without the
+     * office:automatic-styles tags. Used to splice the styles into the content.xml of an
+     * existing document.
+     *
+     * @param xmlUtil    the xml util
+     * @param appendable the destination
+     * @throws IOException if write fails
+     */
+    public void writeSplicedAutomaticStyles(final XMLUtil xmlUtil, final Appendable appendable)
+            throws IOException {
+        this.stylesContainer.writeHiddenDataStyles(xmlUtil, appendable);
+        this.stylesContainer.writeContentAutomaticStyles(xmlUtil, appendable);
+    }
+
+    /**
+     * Write the common styles and the visible data styles, without the office:styles tags.
+     * Used to splice the styles into the styles.xml of an existing document.
+     *
+     * @param xmlUtil    the xml util
+     * @param appendable the destination
+     * @throws IOException if write fails
+     */
+    public void writeSplicedCommonStyles(final XMLUtil xmlUtil, final Appendable appendable)
+            throws IOException {
+        this.stylesContainer.writeStylesCommonStyles(xmlUtil, appendable);
+        this.stylesContainer.writeVisibleDataStyles(xmlUtil, appendable);
+    }
+
     /**
      * Write the meta element to a writer.
      *
@@ -497,6 +560,14 @@ public class OdsElements implements StylesContainer {
         return this.contentElement.getTable(name);
     }
 
+    /**
+     * @param name the name of the table
+     * @return the index of the table, or -1 if none present
+     */
+    public int getTableIndex(final String name) {
+        return this.contentElement.getTableIndex(name);
+    }
+
     /**
      * @return the table count
      */
@@ -520,6 +591,14 @@ public class OdsElements implements StylesContainer {
         this.settingsElement.setActiveTable(table);
     }
 
+    /**
+     * @param autoCalculate true if the formulas should be recalculated automatically
+     * @see Settings#setAutoCalculate(boolean)
+     */
+    public void setAutoCalculate(final boolean autoCalculate) {
+        this.settingsElement.setAutoCalculate(autoCalculate);
+    }
+
     /**
      * Set a view setting
      *
@@ -557,11 +636,104 @@ public class OdsElements implements StylesContainer {
      * @param data      the content
      */
     public void addExtraFile(final String fullPath, final String mediaType, final byte[] data) {
-        final OdsElement element =
-                new ExtraElement(new StandardOdsEntry(fullPath, mediaType, null), data);
+        final OdsElement element = ExtraElement.create(fullPath, mediaType, data);
         this.extraElements.add(element);
     }
 
+    /**
+     * Add an extra file. The data is read from the file when the document is written.
+     *
+     * @param fullPath  the name of the file in the sequence
+     * @param mediaType the MIME type
+     * @param path      the path of the file
+     */
+    public void addExtraFile(final String fullPath, final String mediaType, final Path path) {
+        this.addExtraFile(fullPath, mediaType, OdsElements.fileSupplier(path));
+    }
+
+    private static InputStreamSupplier fileSupplier(final Path path) {
+        return new InputStreamSupplier() {
+            @Override
+            public InputStream open() throws IOException {
+                return Files.newInputStream(path);
+            }
+        };
+    }
+
+    /**
+     * Add an extra file. The data is streamed when the document is written.
+     *
+     * @param fullPath  the name of the file in the sequence
+     * @param mediaType the MIME type
+     * @param supplier  the source of the data
+     */
+    public void addExtraFile(final String fullPath, final String mediaType,
+                             final InputStreamSupplier supplier) {
+        final OdsElement element = new StreamedExtraElement(fullPath, mediaType, supplier);
+        this.extraElements.add(element);
+    }
+
+    /**
+     * Add an extra file, unless a file with the same content (SHA-256) was already added with
+     * this method. In this case, the file is not added again and the path of the previous file
+     * is returned.
+     *
+     * @param fullPath  the name of the file in the sequence
+     * @param mediaType the MIME type
+     * @param data      the content
+     * @return the name of the file that holds the content: fullPath or the previous path
+     */
+    public String addSharedExtraFile(final String fullPath, final String mediaType,
+                                     final byte[] data) {
+        final ContentHash hash = ContentHash.of(data);
+        final String previousPath = this.pathByHash.get(hash);
+        if (previousPath != null) {
+            return previousPath;
+        }
+        this.addExtraFile(fullPath, mediaType, data);
+        this.pathByHash.put(hash, fullPath);
+        return fullPath;
+    }
+
+    /**
+     * Add an extra file, unless a file with the same content (SHA-256) was already added with
+     * a addSharedExtraFile method. The file is read once now, to compute the hash, and once
+     * when the document is written.
+     *
+     * @param fullPath  the name of the file in the sequence
+     * @param mediaType the MIME type
+     * @param path      the path of the file
+     * @return the name of the file that holds the content: fullPath or the previous path
+     * @throws IOException if the file can't be read
+     */
+    public String addSharedExtraFile(final String fullPath, final String mediaType,
+                                     final Path path) throws IOException {
+        return this.addSharedExtraFile(fullPath, mediaType, OdsElements.fileSupplier(path));
+    }
+
+    /**
+     * Add an extra file, unless a file with the same content (SHA-256) was already added with
+     * a addSharedExtraFile method. The supplier is opened once now, to compute the hash, and
+     * once when the document is written.
+     *
+     * @param fullPath  the name of the file in the sequence
+     * @param mediaType the MIME type
+     * @param supplier  the source of the data
+     * @return the name of the file that holds the content: fullPath or the previous path
+     * @throws IOException if the data can't be read
+     */
+    public String addSharedExtraFile(final String fullPath, final String mediaType,
+                                     final InputStreamSupplier supplier) throws IOException {
+        final ContentHash hash = ContentHash.of(supplier);
+        final String previousPath = this.pathByHash.get(hash);
+        if (previousPath != null) {
+            return previousPath;
+        }
+        this.extraElements.add(new StreamedExtraElement(fullPath, mediaType, supplier, hash));
+        this.pathByHash.put(hash, fullPath);
+        return fullPath;
+    }
+
     /**
      * Add an extra dir. If the directoy does not end with a slash,
      * add it.
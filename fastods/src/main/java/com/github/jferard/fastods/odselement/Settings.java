@@ -162,6 +162,7 @@ public class Settings {
     }
 
     private final ConfigItemMapEntrySet firstView;
+    private final ConfigItemSet configurationSettings;
     private final List<ConfigBlock> rootBlocks;
     private final ConfigItemMapNamed tablesMap;
     private final Map<String, ConfigItemMapEntrySet> viewById;
@@ -185,6 +186,7 @@ public class Settings {
         this.viewById = viewById;
         this.firstView = firstView;
         this.tablesMap = tablesMap;
+        this.configurationSettings = configurationSettings;
 
         // build tree
         views.add(this.firstView);
@@ -245,6 +247,18 @@ public class Settings {
         }
     }
 
+    /**
+     * Set the AutoCalculate setting (com.sun.star.document.Settings). If false, the formulas are
+     * not recalculated when the document is loaded or edited: the cached results, if any,
+     * are displayed.
+     *
+     * @param autoCalculate true if the formulas should be recalculated automatically
+     */
+    public void setAutoCalculate(final boolean autoCalculate) {
+        this.configurationSettings.add(
+                ConfigItem.create(ConfigElement.AUTO_CALCULATE, String.valueOf(autoCalculate)));
+    }
+
     /**
      * Set a view setting
      *
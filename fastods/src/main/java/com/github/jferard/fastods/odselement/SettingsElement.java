@@ -144,6 +144,14 @@ public class SettingsElement implements OdsElement {
         this.settings.setActiveTable(table);
     }
 
+    /**
+     * @param autoCalculate true if the formulas should be recalculated automatically
+     * @see Settings#setAutoCalculate(boolean)
+     */
+    public void setAutoCalculate(final boolean autoCalculate) {
+        this.settings.setAutoCalculate(autoCalculate);
+    }
+
     /**
      * Set a view setting
      *
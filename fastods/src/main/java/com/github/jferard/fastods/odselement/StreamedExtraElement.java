@@ -0,0 +1,122 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.odselement;
+
+import com.github.jferard.fastods.util.ContentHash;
+import com.github.jferard.fastods.util.InputStreamSupplier;
+import com.github.jferard.fastods.util.XMLUtil;
+import com.github.jferard.fastods.util.ZipUTF8Writer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+
+/**
+ * An extra file whose data is streamed into the archive when the document is written: the data
+ * is never held in memory. Already compressed data is STORED: the supplier is opened twice, to
+ * compute the CRC-32 and to copy the data, unless the hash of the content is known.
+ */
+public class StreamedExtraElement implements OdsElement {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String fullPath;
+    private final String mediaType;
+    private final InputStreamSupplier supplier;
+    private final ContentHash hash;
+
+    /**
+     * @param fullPath  the name of the file in the archive
+     * @param mediaType the MIME type
+     * @param supplier  the source of the data
+     */
+    public StreamedExtraElement(final String fullPath, final String mediaType,
+                                final InputStreamSupplier supplier) {
+        this(fullPath, mediaType, supplier, null);
+    }
+
+    /**
+     * @param fullPath  the name of the file in the archive
+     * @param mediaType the MIME type
+     * @param supplier  the source of the data
+     * @param hash      the hash of the data, or null
+     */
+    public StreamedExtraElement(final String fullPath, final String mediaType,
+                                final InputStreamSupplier supplier, final ContentHash hash) {
+        this.fullPath = fullPath;
+        this.mediaType = mediaType;
+        this.supplier = supplier;
+        this.hash = hash;
+    }
+
+    @Override
+    public void write(final XMLUtil util, final ZipUTF8Writer writer) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        final OdsEntry entry;
+        if (ExtraElement.isAlreadyCompressed(this.mediaType)) {
+            if (this.hash == null) {
+                entry = this.getStoredEntry(buffer);
+            } else {
+                entry = new StoredOdsEntry(this.fullPath, this.mediaType, this.hash.getSize(),
+                        this.hash.getCrc32());
+            }
+        } else {
+            entry = new StandardOdsEntry(this.fullPath, this.mediaType, null);
+        }
+        writer.putAndRegisterNextEntry(entry);
+        final InputStream in = this.supplier.open();
+        try {
+            int count = in.read(buffer);
+            while (count != -1) {
+                writer.write(buffer, 0, count);
+                count = in.read(buffer);
+            }
+        } finally {
+            in.close();
+        }
+        writer.closeEntry();
+    }
+
+    private OdsEntry getStoredEntry(final byte[] buffer) throws IOException {
+        final CRC32 crc32 = new CRC32();
+        long size = 0;
+        final InputStream in = this.supplier.open();
+        try {
+            int count = in.read(buffer);
+            while (count != -1) {
+                crc32.update(buffer, 0, count);
+                size += count;
+                count = in.read(buffer);
+            }
+        } finally {
+            in.close();
+        }
+        return new StoredOdsEntry(this.fullPath, this.mediaType, size, crc32.getValue());
+    }
+
+    @Override
+    public String toString() {
+        return "StreamedExtraElement[path=" + this.fullPath + "]";
+    }
+}
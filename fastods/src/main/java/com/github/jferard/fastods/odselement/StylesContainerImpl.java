@@ -43,6 +43,7 @@ import com.github.jferard.fastods.util.XMLUtil;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
@@ -60,6 +61,12 @@ public class StylesContainerImpl implements StylesContainer {
      * added to the document at the end.
      */
     private final Map<ChildCellStyleKey, TableCellStyle> anonymousStyleByChildCellStyle;
+    /**
+     * A cache of the previous register, by identity of the style and of the data style. This
+     * avoids hashing the keys of the styles each time a cell gets a value.
+     */
+    private final Map<TableCellStyle, Map<DataStyle, TableCellStyle>>
+            anonymousStyleByDataStyleByStyle;
     /**
      * Data style that will be written in content.xml > automatic-styles
      * Those styles should be hidden
@@ -84,12 +91,32 @@ public class StylesContainerImpl implements StylesContainer {
         this.masterPageStylesContainer = new Container<>(logger);
         this.pageLayoutStylesContainer = new Container<>(logger);
         this.anonymousStyleByChildCellStyle = new HashMap<>();
+        this.anonymousStyleByDataStyleByStyle =
+                new IdentityHashMap<TableCellStyle, Map<DataStyle, TableCellStyle>>();
         this.fontFaces = new HashSet<>();
         this.fontFaces.add(DEFAULT_FONT_FACE);
     }
 
     @Override
     public TableCellStyle addChildCellStyle(final TableCellStyle style, final DataStyle dataStyle) {
+        Map<DataStyle, TableCellStyle> anonymousStyleByDataStyle =
+                this.anonymousStyleByDataStyleByStyle.get(style);
+        if (anonymousStyleByDataStyle == null) {
+            anonymousStyleByDataStyle = new IdentityHashMap<DataStyle, TableCellStyle>();
+            this.anonymousStyleByDataStyleByStyle.put(style, anonymousStyleByDataStyle);
+        } else {
+            final TableCellStyle anonymousStyle = anonymousStyleByDataStyle.get(dataStyle);
+            if (anonymousStyle != null) {
+                return anonymousStyle;
+            }
+        }
+        final TableCellStyle anonymousStyle = this.addChildCellStyleByKey(style, dataStyle);
+        anonymousStyleByDataStyle.put(dataStyle, anonymousStyle);
+        return anonymousStyle;
+    }
+
+    private TableCellStyle addChildCellStyleByKey(final TableCellStyle style,
+                                                  final DataStyle dataStyle) {
         final ChildCellStyleKey childKey = new ChildCellStyleKey(style, dataStyle);
         TableCellStyle anonymousStyle = this.anonymousStyleByChildCellStyle.get(childKey);
         if (anonymousStyle == null) {
@@ -0,0 +1,156 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.odselement.config;
+
+import com.github.jferard.fastods.util.XMLUtil;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * A ConfigItemMapEntrySet that shares the default items of a template until it is modified.
+ * The defaults are copied into the set on the first modification that differs from the default
+ * values, or on the first access to a mutable block.
+ * 3.10.5 config:config-item-map-entry
+ *
+ * @author J. Férard
+ */
+public class ConfigItemMapEntryLazySet extends ConfigItemMapEntrySet {
+    private final ConfigItemMapEntryTemplate template;
+    private boolean materialized;
+
+    /**
+     * @param name     the name of the entry
+     * @param template the default items
+     */
+    ConfigItemMapEntryLazySet(final String name, final ConfigItemMapEntryTemplate template) {
+        super(name, Collections.<ConfigBlock>emptySet());
+        this.template = template;
+        this.materialized = false;
+    }
+
+    /**
+     * @return true if the entry has its own copy of the items
+     */
+    public boolean isMaterialized() {
+        return this.materialized;
+    }
+
+    private void materialize() {
+        if (!this.materialized) {
+            this.materialized = true;
+            this.template.copyInto(this);
+        }
+    }
+
+    @Override
+    public int size() {
+        if (this.materialized) {
+            return super.size();
+        }
+        return this.template.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    @Override
+    public boolean contains(final String name) {
+        if (this.materialized) {
+            return super.contains(name);
+        }
+        return this.template.contains(name);
+    }
+
+    @Override
+    public boolean add(final ConfigBlock block) {
+        this.materialize();
+        return super.add(block);
+    }
+
+    @Override
+    public ConfigBlock put(final ConfigBlock block) {
+        this.materialize();
+        return super.put(block);
+    }
+
+    @Override
+    public void remove(final Object o) {
+        this.materialize();
+        super.remove(o);
+    }
+
+    @Override
+    public void appendXMLContent(final XMLUtil util, final Appendable appendable)
+            throws IOException {
+        if (this.materialized) {
+            super.appendXMLContent(util, appendable);
+            return;
+        }
+        appendable.append("<config:config-item-map-entry");
+        final String name = this.getName();
+        if (name != null) {
+            util.appendEAttribute(appendable, "config:name", name);
+        }
+        appendable.append(">");
+        this.template.appendBlocksXML(util, appendable);
+        appendable.append("</config:config-item-map-entry>");
+    }
+
+    @Override
+    public Iterator<ConfigBlock> iterator() {
+        this.materialize();
+        return super.iterator();
+    }
+
+    @Override
+    public ConfigBlock getByName(final String name) {
+        this.materialize();
+        return super.getByName(name);
+    }
+
+    @Override
+    public String set(final String name, final String value) {
+        if (!this.materialized) {
+            final String defaultValue = this.template.getValue(name);
+            if (defaultValue == null) {
+                return null;
+            } else if (defaultValue.equals(value)) {
+                return defaultValue;
+            }
+        }
+        this.materialize();
+        return super.set(name, value);
+    }
+
+    @Override
+    public boolean add(final String name, final String type, final String value) {
+        this.materialize();
+        return super.add(name, type, value);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.odselement.config;
+
+import com.github.jferard.fastods.util.XMLUtil;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * A shared, read only, set of default config items. The XML of the items is computed once and
+ * shared by all the entries created from this template that were not modified.
+ *
+ * @author J. Férard
+ */
+public final class ConfigItemMapEntryTemplate {
+    /**
+     * @param items the default items
+     * @return the template
+     */
+    public static ConfigItemMapEntryTemplate create(final ConfigItem... items) {
+        final ConfigItemMapEntrySet defaults = ConfigItemMapEntrySet.createSet();
+        for (final ConfigItem item : items) {
+            defaults.add(item);
+        }
+        return new ConfigItemMapEntryTemplate(defaults);
+    }
+
+    private final ConfigItemMapEntrySet defaults;
+    private String blocksXML;
+
+    /**
+     * @param defaults the default items. Must not be modified
+     */
+    ConfigItemMapEntryTemplate(final ConfigItemMapEntrySet defaults) {
+        this.defaults = defaults;
+    }
+
+    /**
+     * @param name the name of the entry
+     * @return a new lazy entry, initialized with the default values
+     */
+    public ConfigItemMapEntryLazySet createEntry(final String name) {
+        return new ConfigItemMapEntryLazySet(name, this);
+    }
+
+    /**
+     * @return the number of items
+     */
+    public int size() {
+        return this.defaults.size();
+    }
+
+    /**
+     * @param name the name of the item
+     * @return true if the item exists
+     */
+    public boolean contains(final String name) {
+        return this.defaults.contains(name);
+    }
+
+    /**
+     * @param name the name of the item
+     * @return the default value of the item, or null
+     */
+    public String getValue(final String name) {
+        final ConfigBlock block = this.defaults.getByName(name);
+        if (block instanceof ConfigItem) {
+            return ((ConfigItem) block).getValue();
+        }
+        return null;
+    }
+
+    /**
+     * Copy the default items into a set
+     *
+     * @param set the destination
+     */
+    void copyInto(final ConfigItemMapEntrySet set) {
+        final Iterator<ConfigBlock> iterator = this.defaults.iterator();
+        while (iterator.hasNext()) {
+            final ConfigItem item = (ConfigItem) iterator.next();
+            set.add(new ConfigItem(item.getName(), item.getType(), item.getValue()));
+        }
+    }
+
+    /**
+     * Append the XML of the default items
+     *
+     * @param util       an util
+     * @param appendable the destination
+     * @throws IOException if an I/O error occurs
+     */
+    void appendBlocksXML(final XMLUtil util, final Appendable appendable) throws IOException {
+        String xml = this.blocksXML;
+        if (xml == null) {
+            final StringBuilder sb = new StringBuilder();
+            final Iterator<ConfigBlock> iterator = this.defaults.iterator();
+            while (iterator.hasNext()) {
+                iterator.next().appendXMLContent(util, sb);
+            }
+            xml = sb.toString();
+            this.blocksXML = xml;
+        }
+        appendable.append(xml);
+    }
+}
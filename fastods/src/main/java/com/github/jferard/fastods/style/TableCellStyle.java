@@ -76,6 +76,7 @@ public class TableCellStyle implements FontFaceContainerStyle {
     private final boolean wrap; // No line wrap when false, line wrap when
     private final DataStyle dataStyle;
     private String key;
+    private String styleNameAttribute;
 
     /**
      * Create a new cell style
@@ -215,6 +216,23 @@ public class TableCellStyle implements FontFaceContainerStyle {
         return this.name;
     }
 
+    /**
+     * Append the attribute {@code table:style-name} with the name of this style. The value
+     * is escaped once, on first use, then kept with the style.
+     *
+     * @param util       an util
+     * @param appendable the destination
+     * @throws IOException if an I/O error occurs
+     */
+    public void appendStyleNameAttribute(final XMLUtil util, final Appendable appendable)
+            throws IOException {
+        if (this.styleNameAttribute == null) {
+            this.styleNameAttribute =
+                    " table:style-name=\"" + util.escapeXMLAttribute(this.name) + "\"";
+        }
+        appendable.append(this.styleNameAttribute);
+    }
+
     /**
      * @return the name without a suffix for data style
      */
@@ -256,6 +274,13 @@ public class TableCellStyle implements FontFaceContainerStyle {
         return this.textProperties.getFontFace();
     }
 
+    /**
+     * @return the text properties of this style, not those of the parent
+     */
+    public TextProperties getTextProperties() {
+        return this.textProperties;
+    }
+
     /**
      * @return true if there is an text align
      */
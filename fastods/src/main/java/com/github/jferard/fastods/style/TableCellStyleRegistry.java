@@ -0,0 +1,128 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.style;
+
+import com.github.jferard.fastods.ThisShouldNotHappen;
+import com.github.jferard.fastods.util.XMLUtil;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * An opt-in registry that maps structurally identical cell styles to a single canonical
+ * instance: the first style registered with given properties (cell, paragraph and text
+ * properties, data style, parent and visibility). Use it when the styles are built at
+ * runtime, e.g. one style per colour bucket:
+ * <pre>
+ *     final TableCellStyle style = registry.canonical(TableCellStyle.builder(name)...build());
+ *     walker.setStyle(style);
+ * </pre>
+ * Only the canonical styles reach the document: the names of the other styles are not
+ * written.
+ *
+ * @author J. Férard
+ */
+public final class TableCellStyleRegistry {
+    /**
+     * @return a new empty registry
+     */
+    public static TableCellStyleRegistry create() {
+        return new TableCellStyleRegistry(XMLUtil.create());
+    }
+
+    private final XMLUtil util;
+    private final Map<String, TableCellStyle> canonicalStyleByKey;
+    private final Map<TableCellStyle, TableCellStyle> canonicalStyleByStyle;
+
+    /**
+     * @param util an util to render the properties of the styles
+     */
+    TableCellStyleRegistry(final XMLUtil util) {
+        this.util = util;
+        this.canonicalStyleByKey = new HashMap<String, TableCellStyle>();
+        this.canonicalStyleByStyle = new IdentityHashMap<TableCellStyle, TableCellStyle>();
+    }
+
+    /**
+     * @param style the style
+     * @return the canonical style, structurally identical to the style. May be the style
+     * itself.
+     */
+    public TableCellStyle canonical(final TableCellStyle style) {
+        TableCellStyle canonicalStyle = this.canonicalStyleByStyle.get(style);
+        if (canonicalStyle == null) {
+            canonicalStyle = this.computeCanonical(style);
+            this.canonicalStyleByStyle.put(style, canonicalStyle);
+        }
+        return canonicalStyle;
+    }
+
+    private TableCellStyle computeCanonical(final TableCellStyle style) {
+        TableCellStyle candidate = style;
+        final TableCellStyle parentStyle = style.getParentCellStyle();
+        if (parentStyle != null) {
+            final TableCellStyle canonicalParentStyle = this.canonical(parentStyle);
+            if (canonicalParentStyle != parentStyle) {
+                candidate = style.toBuilder(style.getName())
+                        .parentCellStyle(canonicalParentStyle).build();
+            }
+        }
+        final String key = this.getKey(candidate);
+        final TableCellStyle canonicalStyle = this.canonicalStyleByKey.get(key);
+        if (canonicalStyle == null) {
+            this.canonicalStyleByKey.put(key, candidate);
+            return candidate;
+        }
+        return canonicalStyle;
+    }
+
+    /**
+     * @param style the style
+     * @return the XML of the style, without the name, and the visibility.
+     */
+    private String getKey(final TableCellStyle style) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(style.isHidden() ? 'H' : 'V');
+        try {
+            style.appendXMLContent(this.util, sb);
+        } catch (final IOException e) { // a StringBuilder does not throw IOExceptions
+            throw ThisShouldNotHappen.illegalState();
+        }
+        final String nameAttribute = " style:name=\"";
+        final int start = sb.indexOf(nameAttribute);
+        final int end = sb.indexOf("\"", start + nameAttribute.length());
+        sb.delete(start, end + 1);
+        return sb.toString();
+    }
+
+    /**
+     * @return the number of canonical styles
+     */
+    public int size() {
+        return this.canonicalStyleByKey.size();
+    }
+}
@@ -46,6 +46,7 @@ public class TableRowStyle implements ObjectStyle {
     private final Length rowHeight;
     private final boolean optimalHeight;
     private String key;
+    private String styleNameAttribute;
 
     /**
      * Create a new table row style.
@@ -102,6 +103,23 @@ public class TableRowStyle implements ObjectStyle {
         return this.name;
     }
 
+    /**
+     * Append the attribute {@code table:style-name} with the name of this style. The value
+     * is escaped once, on first use, then kept with the style.
+     *
+     * @param util       an util
+     * @param appendable the destination
+     * @throws IOException if an I/O error occurs
+     */
+    public void appendStyleNameAttribute(final XMLUtil util, final Appendable appendable)
+            throws IOException {
+        if (this.styleNameAttribute == null) {
+            this.styleNameAttribute =
+                    " table:style-name=\"" + util.escapeXMLAttribute(this.name) + "\"";
+        }
+        appendable.append(this.styleNameAttribute);
+    }
+
     /**
      * Set the row height to a table row.<br>
      * height is a length value.
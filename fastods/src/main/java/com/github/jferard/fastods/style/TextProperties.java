@@ -160,6 +160,35 @@ public class TextProperties implements TagParameters {
         }
     }
 
+    /**
+     * @return the font name or null
+     */
+    public String getFontName() {
+        return this.fontName;
+    }
+
+    /**
+     * @return the font size, or null if the size is a percentage or is not set
+     */
+    public Length getFontSizeLength() {
+        return this.fontSizeLength;
+    }
+
+    /**
+     * @return the font size percentage, or a negative value if the size is a length or is not
+     * set
+     */
+    public double getFontSizePercentage() {
+        return this.fontSizePercentage;
+    }
+
+    /**
+     * @return the font weight or null
+     */
+    public String getFontWeight() {
+        return this.fontWeight;
+    }
+
     public TextPropertiesBuilder toBuilder() {
         return new TextPropertiesBuilder(this.fontColor, this.fontName, this.fontWeight,
                 this.fontStyle, this.fontSizePercentage, this.fontSizeLength,
@@ -0,0 +1,507 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.tool;
+
+import com.github.jferard.fastods.TableCellWalker;
+import com.github.jferard.fastods.ToCellValueConverter;
+import com.github.jferard.fastods.style.TableCellStyle;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A column of a BeanDataWrapper. The getter is compiled once into a functional interface
+ * (with the LambdaMetafactory if the bean class is visible, with a method handle otherwise)
+ * and the value is written with the typed setter of the walker: there is no reflection and no
+ * CellValue in the loop.
+ *
+ * @param <T> the type of the beans
+ * @author J. Férard
+ */
+abstract class BeanColumn<T> {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * @param beanClass    the class of the beans
+     * @param styleByName  the styles that may be referenced by the OdsColumn annotations
+     * @param converter    the converter for the values of unknown types
+     * @param <T>          the type of the beans
+     * @return the columns, sorted
+     */
+    static <T> List<BeanColumn<T>> fromClass(final Class<T> beanClass,
+                                             final Map<String, TableCellStyle> styleByName,
+                                             final ToCellValueConverter converter) {
+        final List<Property> properties = new ArrayList<Property>();
+        for (final Method method : beanClass.getMethods()) {
+            final Property property = Property.fromMethod(method);
+            if (property != null) {
+                properties.add(property);
+            }
+        }
+        Collections.sort(properties, new Comparator<Property>() {
+            @Override
+            public int compare(final Property p1, final Property p2) {
+                final int c = Integer.compare(p1.order, p2.order);
+                return c == 0 ? p1.name.compareTo(p2.name) : c;
+            }
+        });
+        final boolean visible = BeanColumn.isVisible(beanClass);
+        final List<BeanColumn<T>> columns = new ArrayList<BeanColumn<T>>(properties.size());
+        for (final Property property : properties) {
+            final TableCellStyle style;
+            if (property.styleName.isEmpty()) {
+                style = null;
+            } else {
+                style = styleByName.get(property.styleName);
+                if (style == null) {
+                    throw new IllegalArgumentException("Unknown style: " + property.styleName);
+                }
+            }
+            columns.add(BeanColumn.create(beanClass, property, style, visible, converter));
+        }
+        return columns;
+    }
+
+    /**
+     * The generated lambda classes are defined in the class loader of this class: they must
+     * see the bean class, and the getters must be public.
+     */
+    private static boolean isVisible(final Class<?> beanClass) {
+        if (!Modifier.isPublic(beanClass.getModifiers())) {
+            return false;
+        }
+        try {
+            return Class.forName(beanClass.getName(), false, BeanColumn.class.getClassLoader()) ==
+                    beanClass;
+        } catch (final ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static <T> BeanColumn<T> create(final Class<T> beanClass, final Property property,
+                                            final TableCellStyle style, final boolean visible,
+                                            final ToCellValueConverter converter) {
+        final Method method = property.method;
+        final boolean lambda = visible &&
+                Modifier.isPublic(method.getDeclaringClass().getModifiers());
+        final MethodHandle getter;
+        try {
+            if (!lambda) {
+                method.setAccessible(true);
+            }
+            getter = LOOKUP.unreflect(method);
+        } catch (final IllegalAccessException | SecurityException e) {
+            throw new IllegalArgumentException("Can't access getter " + method, e);
+        }
+        final Class<?> type = method.getReturnType();
+        final String header = property.header;
+        try {
+            if (type == double.class || type == float.class) {
+                final ToDoubleFunction<T> f = lambda ?
+                        BeanColumn.<ToDoubleFunction<T>>metafactory(beanClass, getter,
+                                ToDoubleFunction.class, "applyAsDouble", double.class) :
+                        BeanColumn.<T>toDoubleFunction(getter);
+                return new DoubleColumn<T>(header, style, f);
+            } else if (type == long.class) {
+                final ToLongFunction<T> f = lambda ?
+                        BeanColumn.<ToLongFunction<T>>metafactory(beanClass, getter,
+                                ToLongFunction.class, "applyAsLong", long.class) :
+                        BeanColumn.<T>toLongFunction(getter);
+                return new LongColumn<T>(header, style, f);
+            } else if (type == int.class || type == short.class || type == byte.class) {
+                final ToIntFunction<T> f = lambda ?
+                        BeanColumn.<ToIntFunction<T>>metafactory(beanClass, getter,
+                                ToIntFunction.class, "applyAsInt", int.class) :
+                        BeanColumn.<T>toIntFunction(getter);
+                return new IntColumn<T>(header, style, f);
+            } else if (type == boolean.class) {
+                final Predicate<T> f = lambda ?
+                        BeanColumn.<Predicate<T>>metafactory(beanClass, getter, Predicate.class,
+                                "test", boolean.class) :
+                        BeanColumn.<T>predicate(getter);
+                return new BooleanColumn<T>(header, style, f);
+            } else {
+                final Function<T, Object> f;
+                if (lambda && !type.isPrimitive()) {
+                    f = BeanColumn.<Function<T, Object>>metafactory(beanClass, getter,
+                            Function.class, "apply", Object.class);
+                } else {
+                    f = BeanColumn.function(getter);
+                }
+                return BeanColumn.objectColumn(header, style, type, f, converter);
+            }
+        } catch (final Throwable t) {
+            throw new IllegalArgumentException("Can't compile getter " + method, t);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <F> F metafactory(final Class<?> beanClass, final MethodHandle getter,
+                                     final Class<?> interfaceClass, final String methodName,
+                                     final Class<?> returnType) throws Throwable {
+        final MethodType samType = MethodType.methodType(returnType, Object.class);
+        final MethodType instantiatedType =
+                MethodType.methodType(getter.type().returnType(), beanClass);
+        final CallSite site = LambdaMetafactory.metafactory(LOOKUP, methodName,
+                MethodType.methodType(interfaceClass), samType, getter,
+                returnType == Object.class ? instantiatedType :
+                        MethodType.methodType(returnType, beanClass));
+        return (F) site.getTarget().invoke();
+    }
+
+    private static <T> ToDoubleFunction<T> toDoubleFunction(final MethodHandle getter) {
+        final MethodHandle h = getter.asType(MethodType.methodType(double.class, Object.class));
+        return new ToDoubleFunction<T>() {
+            @Override
+            public double applyAsDouble(final T bean) {
+                try {
+                    return (double) h.invokeExact((Object) bean);
+                } catch (final Throwable t) {
+                    throw BeanColumn.propagate(t);
+                }
+            }
+        };
+    }
+
+    private static <T> ToLongFunction<T> toLongFunction(final MethodHandle getter) {
+        final MethodHandle h = getter.asType(MethodType.methodType(long.class, Object.class));
+        return new ToLongFunction<T>() {
+            @Override
+            public long applyAsLong(final T bean) {
+                try {
+                    return (long) h.invokeExact((Object) bean);
+                } catch (final Throwable t) {
+                    throw BeanColumn.propagate(t);
+                }
+            }
+        };
+    }
+
+    private static <T> ToIntFunction<T> toIntFunction(final MethodHandle getter) {
+        final MethodHandle h = getter.asType(MethodType.methodType(int.class, Object.class));
+        return new ToIntFunction<T>() {
+            @Override
+            public int applyAsInt(final T bean) {
+                try {
+                    return (int) h.invokeExact((Object) bean);
+                } catch (final Throwable t) {
+                    throw BeanColumn.propagate(t);
+                }
+            }
+        };
+    }
+
+    private static <T> Predicate<T> predicate(final MethodHandle getter) {
+        final MethodHandle h = getter.asType(MethodType.methodType(boolean.class, Object.class));
+        return new Predicate<T>() {
+            @Override
+            public boolean test(final T bean) {
+                try {
+                    return (boolean) h.invokeExact((Object) bean);
+                } catch (final Throwable t) {
+                    throw BeanColumn.propagate(t);
+                }
+            }
+        };
+    }
+
+    private static <T> Function<T, Object> function(final MethodHandle getter) {
+        final MethodHandle h = getter.asType(MethodType.methodType(Object.class, Object.class));
+        return new Function<T, Object>() {
+            @Override
+            public Object apply(final T bean) {
+                try {
+                    return (Object) h.invokeExact((Object) bean);
+                } catch (final Throwable t) {
+                    throw BeanColumn.propagate(t);
+                }
+            }
+        };
+    }
+
+    private static RuntimeException propagate(final Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        } else if (t instanceof Error) {
+            throw (Error) t;
+        } else {
+            return new IllegalStateException(t);
+        }
+    }
+
+    private static <T> BeanColumn<T> objectColumn(final String header,
+                                                  final TableCellStyle style,
+                                                  final Class<?> type,
+                                                  final Function<T, Object> getter,
+                                                  final ToCellValueConverter converter) {
+        if (type == String.class) {
+            return new BeanColumn<T>(header, style) {
+                @Override
+                protected void setValue(final T bean, final TableCellWalker walker) {
+                    final Object value = getter.apply(bean);
+                    if (value != null) {
+                        walker.setStringValue((String) value);
+                    }
+                }
+            };
+        } else if (Number.class.isAssignableFrom(type)) {
+            return new BeanColumn<T>(header, style) {
+                @Override
+                protected void setValue(final T bean, final TableCellWalker walker) {
+                    final Object value = getter.apply(bean);
+                    if (value != null) {
+                        walker.setFloatValue((Number) value);
+                    }
+                }
+            };
+        } else if (type == Boolean.class) {
+            return new BeanColumn<T>(header, style) {
+                @Override
+                protected void setValue(final T bean, final TableCellWalker walker) {
+                    final Object value = getter.apply(bean);
+                    if (value != null) {
+                        walker.setBooleanValue((Boolean) value);
+                    }
+                }
+            };
+        } else if (Date.class.isAssignableFrom(type)) {
+            return new BeanColumn<T>(header, style) {
+                @Override
+                protected void setValue(final T bean, final TableCellWalker walker) {
+                    final Object value = getter.apply(bean);
+                    if (value != null) {
+                        walker.setDateValue((Date) value);
+                    }
+                }
+            };
+        } else if (Calendar.class.isAssignableFrom(type)) {
+            return new BeanColumn<T>(header, style) {
+                @Override
+                protected void setValue(final T bean, final TableCellWalker walker) {
+                    final Object value = getter.apply(bean);
+                    if (value != null) {
+                        walker.setDateValue((Calendar) value);
+                    }
+                }
+            };
+        } else {
+            return new BeanColumn<T>(header, style) {
+                @Override
+                protected void setValue(final T bean, final TableCellWalker walker) {
+                    final Object value = getter.apply(bean);
+                    if (value != null) {
+                        walker.setCellValue(converter.from(value));
+                    }
+                }
+            };
+        }
+    }
+
+    private final String header;
+    private final TableCellStyle style;
+
+    /**
+     * @param header the header of the column
+     * @param style  the style of the cells, or null
+     */
+    BeanColumn(final String header, final TableCellStyle style) {
+        this.header = header;
+        this.style = style;
+    }
+
+    /**
+     * @return the header of the column
+     */
+    String getHeader() {
+        return this.header;
+    }
+
+    /**
+     * Write the value of a bean in the current cell. The walker does not move.
+     *
+     * @param bean   the bean
+     * @param walker the walker
+     */
+    void write(final T bean, final TableCellWalker walker) {
+        this.setValue(bean, walker);
+        if (this.style != null) {
+            walker.setStyle(this.style);
+        }
+    }
+
+    /**
+     * @param bean   the bean
+     * @param walker the walker
+     */
+    protected abstract void setValue(T bean, TableCellWalker walker);
+
+    /**
+     * A column for a double or float getter
+     */
+    private static final class DoubleColumn<T> extends BeanColumn<T> {
+        private final ToDoubleFunction<T> getter;
+
+        DoubleColumn(final String header, final TableCellStyle style,
+                     final ToDoubleFunction<T> getter) {
+            super(header, style);
+            this.getter = getter;
+        }
+
+        @Override
+        protected void setValue(final T bean, final TableCellWalker walker) {
+            walker.setFloatValue(this.getter.applyAsDouble(bean));
+        }
+    }
+
+    /**
+     * A column for a long getter
+     */
+    private static final class LongColumn<T> extends BeanColumn<T> {
+        private final ToLongFunction<T> getter;
+
+        LongColumn(final String header, final TableCellStyle style,
+                   final ToLongFunction<T> getter) {
+            super(header, style);
+            this.getter = getter;
+        }
+
+        @Override
+        protected void setValue(final T bean, final TableCellWalker walker) {
+            walker.setFloatValue(this.getter.applyAsLong(bean));
+        }
+    }
+
+    /**
+     * A column for an int, short or byte getter
+     */
+    private static final class IntColumn<T> extends BeanColumn<T> {
+        private final ToIntFunction<T> getter;
+
+        IntColumn(final String header, final TableCellStyle style,
+                  final ToIntFunction<T> getter) {
+            super(header, style);
+            this.getter = getter;
+        }
+
+        @Override
+        protected void setValue(final T bean, final TableCellWalker walker) {
+            walker.setFloatValue(this.getter.applyAsInt(bean));
+        }
+    }
+
+    /**
+     * A column for a boolean getter
+     */
+    private static final class BooleanColumn<T> extends BeanColumn<T> {
+        private final Predicate<T> getter;
+
+        BooleanColumn(final String header, final TableCellStyle style,
+                      final Predicate<T> getter) {
+            super(header, style);
+            this.getter = getter;
+        }
+
+        @Override
+        protected void setValue(final T bean, final TableCellWalker walker) {
+            walker.setBooleanValue(this.getter.test(bean));
+        }
+    }
+
+    /**
+     * A property of a bean: a public getter, and the OdsColumn annotation if any.
+     */
+    private static final class Property {
+        /**
+         * @param method the method
+         * @return the property or null if the method is not a getter of a column
+         */
+        static Property fromMethod(final Method method) {
+            if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0 ||
+                    method.isBridge() || method.isSynthetic() ||
+                    method.getDeclaringClass() == Object.class) {
+                return null;
+            }
+            final String methodName = method.getName();
+            final Class<?> type = method.getReturnType();
+            final String name;
+            if (methodName.startsWith("get") && methodName.length() > 3 && type != void.class) {
+                name = Property.decapitalize(methodName.substring(3));
+            } else if (methodName.startsWith("is") && methodName.length() > 2 &&
+                    (type == boolean.class || type == Boolean.class)) {
+                name = Property.decapitalize(methodName.substring(2));
+            } else {
+                return null;
+            }
+            final OdsColumn column = method.getAnnotation(OdsColumn.class);
+            if (column == null) {
+                return new Property(method, name, name, Integer.MAX_VALUE, "");
+            } else if (column.ignore()) {
+                return null;
+            } else {
+                final String header = column.header().isEmpty() ? name : column.header();
+                return new Property(method, name, header, column.order(), column.style());
+            }
+        }
+
+        private static String decapitalize(final String s) {
+            if (s.length() > 1 && Character.isUpperCase(s.charAt(1))) {
+                return s; // URL -> URL, see java.beans.Introspector
+            }
+            return Character.toLowerCase(s.charAt(0)) + s.substring(1);
+        }
+
+        private final Method method;
+        private final String name;
+        private final String header;
+        private final int order;
+        private final String styleName;
+
+        Property(final Method method, final String name, final String header, final int order,
+                 final String styleName) {
+            this.method = method;
+            this.name = name;
+            this.header = header;
+            this.order = order;
+            this.styleName = styleName;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.tool;
+
+import com.github.jferard.fastods.DataWrapper;
+import com.github.jferard.fastods.TableCellWalker;
+import com.github.jferard.fastods.style.TableCellStyle;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+
+/**
+ * A wrapper for a sequence of beans: one row per bean, one column per getter.
+ * The getters are introspected once, when the wrapper is built, and compiled to typed accessors:
+ * <pre>
+ * BeanDataWrapper.builder(Person.class, persons.stream()).autoFilter("persons").build()
+ *         .addToTable(table.getWalker());
+ * </pre>
+ * Use the {@link OdsColumn} annotation to rename, reorder, style or ignore a column.
+ *
+ * @param <T> the type of the beans
+ * @author J. Férard
+ */
+public final class BeanDataWrapper<T> implements DataWrapper {
+    /**
+     * @param beanClass the class of the beans
+     * @param beans     the beans
+     * @param <T>       the type of the beans
+     * @return the builder
+     */
+    public static <T> BeanDataWrapperBuilder<T> builder(final Class<T> beanClass,
+                                                        final Iterator<? extends T> beans) {
+        return new BeanDataWrapperBuilder<T>(beanClass, beans);
+    }
+
+    /**
+     * @param beanClass the class of the beans
+     * @param beans     the beans. The stream is consumed when the wrapper is added to a table.
+     * @param <T>       the type of the beans
+     * @return the builder
+     */
+    public static <T> BeanDataWrapperBuilder<T> builder(final Class<T> beanClass,
+                                                        final Stream<? extends T> beans) {
+        return new BeanDataWrapperBuilder<T>(beanClass, beans.iterator());
+    }
+
+    /**
+     * @param beanClass the class of the beans
+     * @param beans     the beans
+     * @param <T>       the type of the beans
+     * @return the builder
+     */
+    public static <T> BeanDataWrapperBuilder<T> builder(final Class<T> beanClass,
+                                                        final Spliterator<? extends T> beans) {
+        return new BeanDataWrapperBuilder<T>(beanClass, Spliterators.iterator(beans));
+    }
+
+    private final List<BeanColumn<T>> columns;
+    private final Iterator<? extends T> beans;
+    private final boolean header;
+    private final TableCellStyle headerStyle;
+    private final String rangeName;
+
+    /**
+     * @param columns     the compiled columns
+     * @param beans       the beans
+     * @param header      true if the first row contains the headers
+     * @param headerStyle the style of the header cells, null if none
+     * @param rangeName   the name of the auto filter range, null if none
+     */
+    BeanDataWrapper(final List<BeanColumn<T>> columns, final Iterator<? extends T> beans,
+                    final boolean header, final TableCellStyle headerStyle,
+                    final String rangeName) {
+        this.columns = columns;
+        this.beans = beans;
+        this.header = header;
+        this.headerStyle = headerStyle;
+        this.rangeName = rangeName;
+    }
+
+    /**
+     * @return the number of columns
+     */
+    public int getColumnCount() {
+        return this.columns.size();
+    }
+
+    @Override
+    public boolean addToTable(final TableCellWalker walker) throws IOException {
+        final int r1 = walker.rowIndex();
+        final int c1 = walker.colIndex();
+        final int columnCount = this.columns.size();
+        boolean first = true;
+        if (this.header) {
+            this.writeHeader(walker);
+            first = false;
+        }
+        int rowCount = 0;
+        while (this.beans.hasNext()) {
+            final T bean = this.beans.next();
+            if (first) {
+                first = false;
+            } else {
+                walker.nextRow();
+                walker.to(c1);
+            }
+            for (int j = 0; j < columnCount; j++) {
+                if (j > 0) {
+                    walker.next();
+                }
+                this.columns.get(j).write(bean, walker);
+            }
+            rowCount++;
+        }
+        if (this.rangeName != null && rowCount > 0 && columnCount > 0) {
+            walker.getTable().addAutoFilter(this.rangeName, r1, c1, walker.rowIndex(),
+                    c1 + columnCount - 1);
+        }
+        walker.nextRow();
+        return !first;
+    }
+
+    private void writeHeader(final TableCellWalker walker) {
+        final int columnCount = this.columns.size();
+        for (int j = 0; j < columnCount; j++) {
+            if (j > 0) {
+                walker.next();
+            }
+            walker.setStringValue(this.columns.get(j).getHeader());
+            if (this.headerStyle != null) {
+                walker.setStyle(this.headerStyle);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.tool;
+
+import com.github.jferard.fastods.ObjectToCellValueConverter;
+import com.github.jferard.fastods.ToCellValueConverter;
+import com.github.jferard.fastods.attribute.SimpleColor;
+import com.github.jferard.fastods.style.TableCellStyle;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A builder for a BeanDataWrapper
+ *
+ * @param <T> the type of the beans
+ * @author J. Férard
+ */
+public class BeanDataWrapperBuilder<T> {
+    private static final TableCellStyle HEADER_STYLE =
+            TableCellStyle.builder("bean-data-wrapper").backgroundColor(SimpleColor.GRAY64)
+                    .fontWeightBold().build();
+
+    private final Class<T> beanClass;
+    private final Iterator<? extends T> beans;
+    private final Map<String, TableCellStyle> styleByName;
+    private boolean header;
+    private TableCellStyle headerStyle;
+    private String rangeName;
+    private ToCellValueConverter converter;
+
+    /**
+     * @param beanClass the class of the beans
+     * @param beans     the beans
+     */
+    public BeanDataWrapperBuilder(final Class<T> beanClass, final Iterator<? extends T> beans) {
+        this.beanClass = beanClass;
+        this.beans = beans;
+        this.styleByName = new HashMap<String, TableCellStyle>();
+        this.header = true;
+        this.headerStyle = HEADER_STYLE;
+        this.rangeName = null;
+        this.converter = new ObjectToCellValueConverter("USD");
+    }
+
+    /**
+     * Set a header style
+     *
+     * @param headerStyle the cell style for the header
+     * @return this for fluent style
+     */
+    public BeanDataWrapperBuilder<T> headerStyle(final TableCellStyle headerStyle) {
+        this.headerStyle = headerStyle;
+        return this;
+    }
+
+    /**
+     * Remove the default header style
+     *
+     * @return this for fluent style
+     */
+    public BeanDataWrapperBuilder<T> noHeaderStyle() {
+        this.headerStyle = null;
+        return this;
+    }
+
+    /**
+     * Do not write the header row
+     *
+     * @return this for fluent style
+     */
+    public BeanDataWrapperBuilder<T> noHeader() {
+        this.header = false;
+        return this;
+    }
+
+    /**
+     * Register a style for the {@code style} attribute of the {@link OdsColumn} annotation.
+     *
+     * @param name  the name used in the annotation
+     * @param style the cell style
+     * @return this for fluent style
+     */
+    public BeanDataWrapperBuilder<T> style(final String name, final TableCellStyle style) {
+        this.styleByName.put(name, style);
+        return this;
+    }
+
+    /**
+     * Add an auto filter
+     *
+     * @param rangeName the name of the range
+     * @return this for fluent style
+     */
+    public BeanDataWrapperBuilder<T> autoFilter(final String rangeName) {
+        this.rangeName = rangeName;
+        return this;
+    }
+
+    /**
+     * Set the converter for the values of unknown types.
+     *
+     * @param converter the converter
+     * @return this for fluent style
+     */
+    public BeanDataWrapperBuilder<T> converter(final ToCellValueConverter converter) {
+        this.converter = converter;
+        return this;
+    }
+
+    /**
+     * @return the data wrapper
+     * @throws IllegalArgumentException if a getter can't be compiled or a style is unknown
+     */
+    public BeanDataWrapper<T> build() {
+        final List<BeanColumn<T>> columns =
+                BeanColumn.fromClass(this.beanClass, this.styleByName, this.converter);
+        return new BeanDataWrapper<T>(columns, this.beans, this.header, this.headerStyle,
+                this.rangeName);
+    }
+}
@@ -27,6 +27,9 @@ package com.github.jferard.fastods.tool;
 import java.util.LinkedList;
 import java.util.NoSuchElementException;
 import java.util.Queue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Usage:
@@ -58,6 +61,8 @@ import java.util.Queue;
  */
 public class FastOdsBus<E> {
     private final Queue<E> elements;
+    private final Lock lock;
+    private final Condition notEmptyOrClosed;
     private boolean closed;
 
     /**
@@ -65,42 +70,60 @@ public class FastOdsBus<E> {
      */
     public FastOdsBus() {
         this.elements = new LinkedList<E>();
+        this.lock = new ReentrantLock();
+        this.notEmptyOrClosed = this.lock.newCondition();
         this.closed = false;
     }
 
     /**
-     * close the bus
+     * close the bus. The consumers waiting for an element are woken up.
      */
     public void close() {
-        this.closed = true;
+        this.lock.lock();
+        try {
+            this.closed = true;
+            this.notEmptyOrClosed.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
     }
 
     /**
      * Get an element from the bus. Blocking method.
      *
      * @return the next element in the bus
+     * @throws NoSuchElementException if the bus is closed and empty
      */
-    synchronized public E get() {
-        if (this.isClosed()) {
-            throw new NoSuchElementException();
-        }
-
-        while (this.elements.isEmpty()) {
-            try {
-                this.wait();
-            } catch (final InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException(e);
+    public E get() {
+        this.lock.lock();
+        try {
+            while (this.elements.isEmpty()) {
+                if (this.closed) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    this.notEmptyOrClosed.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                }
             }
+            return this.elements.remove();
+        } finally {
+            this.lock.unlock();
         }
-        return this.elements.remove();
     }
 
     /**
      * @return true if the bus was closed
      */
-    synchronized public boolean isClosed() {
-        return this.closed && this.elements.isEmpty();
+    public boolean isClosed() {
+        this.lock.lock();
+        try {
+            return this.closed && this.elements.isEmpty();
+        } finally {
+            this.lock.unlock();
+        }
     }
 
     /**
@@ -108,12 +131,17 @@ public class FastOdsBus<E> {
      *
      * @param element the element
      */
-    synchronized public void put(final E element) {
-        if (this.closed) {
-            throw new IllegalStateException("Bus is closed");
-        }
+    public void put(final E element) {
+        this.lock.lock();
+        try {
+            if (this.closed) {
+                throw new IllegalStateException("Bus is closed");
+            }
 
-        this.elements.add(element);
-        this.notifyAll();
+            this.elements.add(element);
+            this.notEmptyOrClosed.signal();
+        } finally {
+            this.lock.unlock();
+        }
     }
-}
\ No newline at end of file
+}
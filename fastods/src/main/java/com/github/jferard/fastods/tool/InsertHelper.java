@@ -34,11 +34,13 @@ import com.github.jferard.fastods.ref.RangeRef;
 import com.github.jferard.fastods.style.DrawFillBitmap;
 import com.github.jferard.fastods.style.GraphicStyle;
 import com.github.jferard.fastods.util.FileUtil;
+import com.github.jferard.fastods.util.InputStreamSupplier;
 import com.github.jferard.fastods.util.SVGRectangle;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.Locale;
 import java.util.Map;
@@ -64,7 +66,8 @@ public class InsertHelper {
     }
 
     /**
-     * Insert a new image into the document
+     * Insert a new image into the document. An image with the same content as a previously
+     * inserted image is stored only once.
      *
      * @param document  the destination document
      * @param table     the destination table
@@ -80,14 +83,35 @@ public class InsertHelper {
 
         final String sourceName = source.getName();
         final String mediaType = this.getMediaType(sourceName);
-        document.addExtraFile("Pictures/" + destName, mediaType, this.fileUtil.readFile(source));
-        table.addShape(
-                DrawFrame.builder(frameName, new DrawImage("Pictures/" + destName), rectangle)
-                        .build());
+        final String href =
+                document.addSharedExtraFile("Pictures/" + destName, mediaType, source.toPath());
+        table.addShape(DrawFrame.builder(frameName, new DrawImage(href), rectangle).build());
     }
 
     /**
-     * Insert a new image into the document
+     * Insert a new image into the document. The image is streamed when the document is written.
+     * An image with the same content as a previously inserted image is stored only once.
+     *
+     * @param document  the destination document
+     * @param table     the destination table
+     * @param frameName the name of the draw frame
+     * @param supplier  the source of the image
+     * @param destName  the name of the image embedded in the document
+     * @param rectangle the frame coordinates
+     * @throws IOException if an I/O error occurs
+     */
+    public void insertImage(final OdsDocument document, final Table table, final String frameName,
+                            final InputStreamSupplier supplier, final String destName,
+                            final SVGRectangle rectangle) throws IOException {
+        final String mediaType = this.getMediaType(destName);
+        final String href =
+                document.addSharedExtraFile("Pictures/" + destName, mediaType, supplier);
+        table.addShape(DrawFrame.builder(frameName, new DrawImage(href), rectangle).build());
+    }
+
+    /**
+     * Insert a new image into the document. An image with the same content as a previously
+     * inserted image is stored only once.
      *
      * @param document     the destination document
      * @param table        the destination table
@@ -102,11 +126,9 @@ public class InsertHelper {
                             final SVGRectangle rectangle) throws IOException {
 
         final String mediaType = this.getMediaType(destName);
-        document.addExtraFile("Pictures/" + destName, mediaType,
+        final String href = document.addSharedExtraFile("Pictures/" + destName, mediaType,
                 this.fileUtil.readStream(sourceStream));
-        table.addShape(
-                DrawFrame.builder(frameName, new DrawImage("Pictures/" + destName), rectangle)
-                        .build());
+        table.addShape(DrawFrame.builder(frameName, new DrawImage(href), rectangle).build());
     }
 
     private String getMediaType(final String sourceName) {
@@ -123,8 +145,45 @@ public class InsertHelper {
                                               final InputStream sourceStream, final String name,
                                               final String href) throws IOException {
         final byte[] bytes = FileUtil.create().readStream(sourceStream);
-        document.addExtraFile(href, this.getMediaType(href), bytes);
-        return new DrawFillBitmap(name, href);
+        final String sharedHref = document.addSharedExtraFile(href, this.getMediaType(href), bytes);
+        return new DrawFillBitmap(name, sharedHref);
+    }
+
+    /**
+     * Create a bitmap fill. The image is read when the document is written.
+     *
+     * @param document the destination document
+     * @param source   the source of the image
+     * @param name     the name of the fill
+     * @param href     the name of the image embedded in the document
+     * @return the fill
+     * @throws IOException if an I/O error occurs
+     */
+    public DrawFillBitmap createDrawFillImage(final OdsDocument document, final Path source,
+                                              final String name, final String href)
+            throws IOException {
+        final String sharedHref =
+                document.addSharedExtraFile(href, this.getMediaType(href), source);
+        return new DrawFillBitmap(name, sharedHref);
+    }
+
+    /**
+     * Create a bitmap fill. The image is streamed when the document is written.
+     *
+     * @param document the destination document
+     * @param supplier the source of the image
+     * @param name     the name of the fill
+     * @param href     the name of the image embedded in the document
+     * @return the fill
+     * @throws IOException if an I/O error occurs
+     */
+    public DrawFillBitmap createDrawFillImage(final OdsDocument document,
+                                              final InputStreamSupplier supplier,
+                                              final String name, final String href)
+            throws IOException {
+        final String sharedHref =
+                document.addSharedExtraFile(href, this.getMediaType(href), supplier);
+        return new DrawFillBitmap(name, sharedHref);
     }
 
     /**
@@ -0,0 +1,155 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * An output stream on an AsynchronousFileChannel. The bytes are written by blocks. A block is
+ * written while the next one is filled, hence the compression of the document and the I/O
+ * overlap: the producer waits only if it is a whole block ahead of the file.
+ *
+ * @author J. Férard
+ */
+public final class AsynchronousFileChannelOutputStream extends OutputStream {
+    /**
+     * The default size of a block
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    private final AsynchronousFileChannel channel;
+    private ByteBuffer current;
+    private ByteBuffer pending;
+    private Future<Integer> pendingWrite;
+    private long position;
+
+    /**
+     * @param channel the destination, written from position 0
+     */
+    public AsynchronousFileChannelOutputStream(final AsynchronousFileChannel channel) {
+        this(channel, 0, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param channel   the destination
+     * @param position  the position of the first byte in the file
+     * @param blockSize the size of a block
+     */
+    public AsynchronousFileChannelOutputStream(final AsynchronousFileChannel channel,
+                                               final long position, final int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be > 0");
+        }
+        this.channel = channel;
+        this.position = position;
+        this.current = ByteBuffer.allocate(blockSize);
+        this.pending = ByteBuffer.allocate(blockSize);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        if (!this.current.hasRemaining()) {
+            this.submitCurrent();
+        }
+        this.current.put((byte) b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (!this.current.hasRemaining()) {
+                this.submitCurrent();
+            }
+            final int count = Math.min(remaining, this.current.remaining());
+            this.current.put(b, offset, count);
+            offset += count;
+            remaining -= count;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.submitCurrent();
+        this.awaitPending();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.flush();
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Wait for the pending block, then start writing the current block and swap the buffers.
+     */
+    private void submitCurrent() throws IOException {
+        this.awaitPending();
+        this.current.flip();
+        if (!this.current.hasRemaining()) {
+            this.current.clear();
+            return;
+        }
+        final ByteBuffer written = this.current;
+        this.current = this.pending;
+        this.pending = written;
+        this.pendingWrite = this.channel.write(this.pending, this.position);
+    }
+
+    /**
+     * Wait for the end of the pending block. The channel may write a block partially: in this
+     * case, the remaining bytes are written.
+     */
+    private void awaitPending() throws IOException {
+        while (this.pendingWrite != null) {
+            final int count;
+            try {
+                count = this.pendingWrite.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            } catch (final ExecutionException e) {
+                throw new IOException(e.getCause());
+            }
+            this.position += count;
+            if (this.pending.hasRemaining()) {
+                this.pendingWrite = this.channel.write(this.pending, this.position);
+            } else {
+                this.pendingWrite = null;
+                this.pending.clear();
+            }
+        }
+    }
+}
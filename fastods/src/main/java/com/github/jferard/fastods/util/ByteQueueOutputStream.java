@@ -0,0 +1,112 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * An in memory queue of bytes: the writes append bytes at the end of the queue, and
+ * {@link #drainTo(ByteBuffer)} removes bytes from the head of the queue. Used to pull the
+ * bytes of a zip stream chunk by chunk.
+ *
+ * @author J. Férard
+ */
+public final class ByteQueueOutputStream extends OutputStream {
+    private static final int DEFAULT_CAPACITY = 8192;
+
+    private byte[] bytes;
+    private int head;
+    private int tail;
+
+    /**
+     * Create an empty queue
+     */
+    public ByteQueueOutputStream() {
+        this.bytes = new byte[DEFAULT_CAPACITY];
+        this.head = 0;
+        this.tail = 0;
+    }
+
+    @Override
+    public void write(final int b) {
+        this.ensureCapacity(1);
+        this.bytes[this.tail++] = (byte) b;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+        this.ensureCapacity(len);
+        System.arraycopy(b, off, this.bytes, this.tail, len);
+        this.tail += len;
+    }
+
+    /**
+     * @return the number of bytes in the queue
+     */
+    public int size() {
+        return this.tail - this.head;
+    }
+
+    /**
+     * @return true if the queue is empty
+     */
+    public boolean isEmpty() {
+        return this.head == this.tail;
+    }
+
+    /**
+     * Move as many bytes as possible from the queue to the buffer.
+     *
+     * @param buffer the destination
+     * @return the number of bytes moved
+     */
+    public int drainTo(final ByteBuffer buffer) {
+        final int count = Math.min(this.size(), buffer.remaining());
+        buffer.put(this.bytes, this.head, count);
+        this.head += count;
+        if (this.head == this.tail) {
+            this.head = 0;
+            this.tail = 0;
+        }
+        return count;
+    }
+
+    private void ensureCapacity(final int len) {
+        if (this.tail + len <= this.bytes.length) {
+            return;
+        }
+        final int size = this.size();
+        if (size + len <= this.bytes.length / 2) {
+            System.arraycopy(this.bytes, this.head, this.bytes, 0, size);
+        } else {
+            this.bytes = Arrays.copyOfRange(this.bytes, this.head,
+                    this.head + Math.max(2 * this.bytes.length, size + len));
+        }
+        this.head = 0;
+        this.tail = size;
+    }
+}
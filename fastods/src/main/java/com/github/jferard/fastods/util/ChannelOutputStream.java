@@ -0,0 +1,106 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A blocking output stream on a WritableByteChannel: every write returns when the channel has
+ * accepted all the bytes, hence the calling thread is blocked while the client is slow. For a
+ * demand driven output, see {@link com.github.jferard.fastods.OdsChunkSource}.
+ * <p>
+ * If the channel is a selectable channel in non-blocking mode (e.g. a socket channel of a
+ * server), the thread waits in a selector until the channel is ready for writing. Any other
+ * channel must be blocking: if it accepts no byte, the write fails.
+ *
+ * @author J. Férard
+ */
+public final class ChannelOutputStream extends OutputStream {
+    private final WritableByteChannel channel;
+    private final ByteBuffer oneByte;
+    private Selector selector;
+
+    /**
+     * @param channel the destination
+     */
+    public ChannelOutputStream(final WritableByteChannel channel) {
+        this.channel = channel;
+        this.oneByte = ByteBuffer.allocate(1);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        this.oneByte.clear();
+        this.oneByte.put((byte) b);
+        this.oneByte.flip();
+        this.writeFully(this.oneByte);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        this.writeFully(ByteBuffer.wrap(b, off, len));
+    }
+
+    private void writeFully(final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            final int count = this.channel.write(buffer);
+            if (count == 0) {
+                this.awaitWritable();
+            }
+        }
+    }
+
+    private void awaitWritable() throws IOException {
+        if (this.channel instanceof SelectableChannel &&
+                !((SelectableChannel) this.channel).isBlocking()) {
+            final SelectableChannel selectableChannel = (SelectableChannel) this.channel;
+            if (this.selector == null) {
+                this.selector = Selector.open();
+                selectableChannel.register(this.selector, SelectionKey.OP_WRITE);
+            }
+            this.selector.select();
+            this.selector.selectedKeys().clear();
+        } else {
+            throw new IOException("The channel did not accept any byte and can't be selected");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (this.selector != null) {
+                this.selector.close();
+            }
+        } finally {
+            this.channel.close();
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A full list, like FastFullList, but the elements are stored in fixed size pages that are
+ * allocated on demand. The blank element is always null.
+ * <p>
+ * Setting the element at index 1,000,000 allocates a single page (and a small array of page
+ * references) instead of a 2,000,000 elements array, and a growth never copies the elements.
+ * A page where all elements were set to null is released: this is useful when the rows are
+ * flushed.
+ *
+ * @param <E> type of the elements
+ * @author J. Férard
+ */
+public class ChunkedFullList<E> implements Iterable<E> {
+    private static final int MIN_PAGE_BITS = 4;
+    private static final int MAX_PAGE_BITS = 10;
+
+    /**
+     * @param capacity the expected capacity: this is a hint to find the size of the pages.
+     * @param <F>      the type of the elements
+     * @return a new full list
+     */
+    public static <F> ChunkedFullList<F> newListWithCapacity(final int capacity) {
+        int pageBits = MIN_PAGE_BITS;
+        while (pageBits < MAX_PAGE_BITS && (1 << pageBits) < capacity) {
+            pageBits++;
+        }
+        return new ChunkedFullList<F>(pageBits);
+    }
+
+    /**
+     * @param elements the elements
+     * @param <F>      the type of the elements
+     * @return a new full list starting with the elements
+     */
+    @SafeVarargs
+    public static <F> ChunkedFullList<F> newList(final F... elements) {
+        final ChunkedFullList<F> l = ChunkedFullList.newListWithCapacity(elements.length);
+        for (int i = 0; i < elements.length; i++) {
+            l.set(i, elements[i]);
+        }
+        return l;
+    }
+
+    private final int pageBits;
+    private final int pageMask;
+    private Object[][] pages;
+    private int[] counts;
+    private int size;
+
+    /**
+     * @param pageBits the size of a page is 2^pageBits
+     */
+    ChunkedFullList(final int pageBits) {
+        this.pageBits = pageBits;
+        this.pageMask = (1 << pageBits) - 1;
+        this.pages = new Object[1][];
+        this.counts = new int[1];
+        this.size = 0;
+    }
+
+    /**
+     * @return the size really used, that is the index of the last non null element + 1.
+     */
+    public int usedSize() {
+        return this.size;
+    }
+
+    /**
+     * @param index the index
+     * @return the element at the index or null
+     */
+    @SuppressWarnings("unchecked")
+    public E get(final int index) {
+        if (index >= this.size) {
+            return null;
+        }
+        final Object[] page = this.pages[index >>> this.pageBits];
+        if (page == null) {
+            return null;
+        }
+        return (E) page[index & this.pageMask];
+    }
+
+    /**
+     * Set an element
+     *
+     * @param index   the index
+     * @param element the element
+     */
+    public void set(final int index, final E element) {
+        final int p = index >>> this.pageBits;
+        if (element == null) {
+            if (index >= this.size || this.pages[p] == null) {
+                return;
+            }
+            this.remove(p, index & this.pageMask);
+            if (index == this.size - 1) {
+                this.removeTrail();
+            }
+        } else {
+            this.ensurePageCount(p + 1);
+            Object[] page = this.pages[p];
+            if (page == null) {
+                page = new Object[1 << this.pageBits];
+                this.pages[p] = page;
+            }
+            final int i = index & this.pageMask;
+            if (page[i] == null) {
+                this.counts[p]++;
+            }
+            page[i] = element;
+            if (index >= this.size) {
+                this.size = index + 1;
+            }
+        }
+    }
+
+    private void remove(final int p, final int i) {
+        final Object[] page = this.pages[p];
+        if (page[i] != null) {
+            page[i] = null;
+            this.counts[p]--;
+            if (this.counts[p] == 0) {
+                this.pages[p] = null;
+            }
+        }
+    }
+
+    private void ensurePageCount(final int pageCount) {
+        if (pageCount > this.pages.length) {
+            int newLength = this.pages.length * 2;
+            if (newLength < pageCount) {
+                newLength = pageCount;
+            }
+            final Object[][] newPages = new Object[newLength][];
+            System.arraycopy(this.pages, 0, newPages, 0, this.pages.length);
+            this.pages = newPages;
+            final int[] newCounts = new int[newLength];
+            System.arraycopy(this.counts, 0, newCounts, 0, this.counts.length);
+            this.counts = newCounts;
+        }
+    }
+
+    /**
+     * post condition: this.get(this.size-1) != null
+     */
+    private void removeTrail() {
+        int last = this.size - 1;
+        while (last >= 0) {
+            final int p = last >>> this.pageBits;
+            if (this.counts[p] == 0) { // skip the whole page
+                last = (p << this.pageBits) - 1;
+            } else if (this.pages[p][last & this.pageMask] == null) {
+                last--;
+            } else {
+                break;
+            }
+        }
+        this.size = last + 1;
+    }
+
+    /**
+     * @param fromIndex starting index
+     * @param toIndex   last index + 1
+     * @return the sublist view. Setting an element of the view sets the element of the list.
+     */
+    public List<E> subList(final int fromIndex, final int toIndex) {
+        if (fromIndex < 0 || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException(
+                    "fromIndex: " + fromIndex + ", toIndex: " + toIndex);
+        }
+        return new AbstractList<E>() {
+            @Override
+            public E get(final int index) {
+                return ChunkedFullList.this.get(fromIndex + this.checkIndex(index));
+            }
+
+            @Override
+            public E set(final int index, final E element) {
+                final int i = fromIndex + this.checkIndex(index);
+                final E previous = ChunkedFullList.this.get(i);
+                ChunkedFullList.this.set(i, element);
+                return previous;
+            }
+
+            @Override
+            public int size() {
+                return toIndex - fromIndex;
+            }
+
+            private int checkIndex(final int index) {
+                if (index < 0 || index >= this.size()) {
+                    throw new IndexOutOfBoundsException("index: " + index);
+                }
+                return index;
+            }
+        };
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return this.subList(0, this.size).iterator();
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * The SHA-256 digest of some data, with the CRC-32 and the size. Used to store identical extra
+ * files only once.
+ *
+ * @author J. Férard
+ */
+public final class ContentHash {
+    private static final int BUFFER_SIZE = 8192;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * @param data the data
+     * @return the hash of the data
+     */
+    public static ContentHash of(final byte[] data) {
+        final MessageDigest digest = getDigest();
+        digest.update(data);
+        final CRC32 crc32 = new CRC32();
+        crc32.update(data);
+        return new ContentHash(digest.digest(), crc32.getValue(), data.length);
+    }
+
+    /**
+     * @param in the stream. The caller closes the stream.
+     * @return the hash of the data
+     * @throws IOException if an I/O error occurs
+     */
+    public static ContentHash of(final InputStream in) throws IOException {
+        final MessageDigest digest = getDigest();
+        final CRC32 crc32 = new CRC32();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        long size = 0;
+        int count = in.read(buffer);
+        while (count != -1) {
+            digest.update(buffer, 0, count);
+            crc32.update(buffer, 0, count);
+            size += count;
+            count = in.read(buffer);
+        }
+        return new ContentHash(digest.digest(), crc32.getValue(), size);
+    }
+
+    /**
+     * @param supplier the source of the data
+     * @return the hash of the data
+     * @throws IOException if an I/O error occurs
+     */
+    public static ContentHash of(final InputStreamSupplier supplier) throws IOException {
+        final InputStream in = supplier.open();
+        try {
+            return of(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    private static MessageDigest getDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every JRE has SHA-256
+        }
+    }
+
+    private final byte[] digest;
+    private final long crc32;
+    private final long size;
+
+    /**
+     * @param digest the SHA-256 digest
+     * @param crc32  the CRC-32
+     * @param size   the size of the data
+     */
+    ContentHash(final byte[] digest, final long crc32, final long size) {
+        this.digest = digest;
+        this.crc32 = crc32;
+        this.size = size;
+    }
+
+    /**
+     * @return the CRC-32 of the data
+     */
+    public long getCrc32() {
+        return this.crc32;
+    }
+
+    /**
+     * @return the size of the data
+     */
+    public long getSize() {
+        return this.size;
+    }
+
+    /**
+     * @return the digest, in lower case hexadecimal
+     */
+    public String toHex() {
+        final char[] chars = new char[this.digest.length * 2];
+        for (int i = 0; i < this.digest.length; i++) {
+            final int b = this.digest[i] & 0xFF;
+            chars[2 * i] = HEX_DIGITS[b >>> 4];
+            chars[2 * i + 1] = HEX_DIGITS[b & 0xF];
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof ContentHash)) {
+            return false;
+        }
+        final ContentHash other = (ContentHash) o;
+        return this.size == other.size && Arrays.equals(this.digest, other.digest);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.digest);
+    }
+
+    @Override
+    public String toString() {
+        return "ContentHash[sha256=" + this.toHex() + ", size=" + this.size + "]";
+    }
+}
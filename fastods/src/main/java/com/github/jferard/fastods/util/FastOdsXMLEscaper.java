@@ -34,8 +34,14 @@ import java.util.Map;
  */
 public class FastOdsXMLEscaper implements XMLEscaper {
     private static final int BUFFER_SIZE = 65536;
-    private static final char[][] CHAR_SUBSTITUTES_IN_ATTRIBUTE;
-    private static final char[][] CHAR_SUBSTITUTES_IN_CONTENT;
+    /**
+     * The substitutes of the chars up to '>' in an attribute value, null if the char is kept
+     */
+    static final char[][] CHAR_SUBSTITUTES_IN_ATTRIBUTE;
+    /**
+     * The substitutes of the chars up to '>' in a content, null if the char is kept
+     */
+    static final char[][] CHAR_SUBSTITUTES_IN_CONTENT;
 
     /**
      * @return an xml escaper with the default buffer size (65536 bytes)
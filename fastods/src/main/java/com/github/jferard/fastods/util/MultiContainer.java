@@ -28,6 +28,7 @@ import com.github.jferard.fastods.odselement.StylesContainerImpl;
 import com.github.jferard.fastods.util.Container.Mode;
 
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -36,6 +37,9 @@ import java.util.logging.Logger;
  * A multi container contains values indexed by sub container. The sub container is a value
  * inside an enum.
  * Basically, we have a map (K,S) to V.
+ * <p>
+ * A value is always added with the same key (e.g. the key of a style is derived from the
+ * style): adding a value that is already stored in the same sub container is a fast no-op.
  *
  * @param <K> the key type
  * @param <V> the value type
@@ -46,6 +50,10 @@ import java.util.logging.Logger;
 public class MultiContainer<K, S extends Enum<S>, V> {
     private final Map<K, S> subContainerByKey;
     private final Map<S, Map<K, V>> valueByKeyBySubContainer;
+    /**
+     * The sub container of the values that are currently stored, by identity
+     */
+    private final Map<V, S> subContainerByValue;
     private final Logger logger;
     private boolean closed;
     private boolean debug;
@@ -61,6 +69,7 @@ public class MultiContainer<K, S extends Enum<S>, V> {
         this.logger = logger;
         this.subContainerByKey = new HashMap<K, S>();
         this.valueByKeyBySubContainer = new HashMap<S, Map<K, V>>();
+        this.subContainerByValue = new IdentityHashMap<V, S>();
         for (final S subContainer : subContainersEnum.getEnumConstants()) {
             this.valueByKeyBySubContainer.put(subContainer, new HashMap<K, V>());
         }
@@ -87,6 +96,10 @@ public class MultiContainer<K, S extends Enum<S>, V> {
      * @return true
      */
     public boolean add(final K key, final S subContainer, final V value) {
+        if (this.subContainerByValue.get(value) == subContainer) { // already there
+            return this.mode != Mode.CREATE;
+        }
+
         final S curSubContainer = this.subContainerByKey.get(key);
         if (curSubContainer == null) { // key does not exist
             if (this.mode == Mode.UPDATE) {
@@ -104,7 +117,8 @@ public class MultiContainer<K, S extends Enum<S>, V> {
                     throw new IllegalStateException(
                             "MultiContainer put(" + key + ", " + value + ") in " + subContainer);
                 }
-                this.valueByKeyBySubContainer.get(curSubContainer).remove(key);
+                this.subContainerByValue.remove(
+                        this.valueByKeyBySubContainer.get(curSubContainer).remove(key));
             }
         }
 
@@ -121,7 +135,11 @@ public class MultiContainer<K, S extends Enum<S>, V> {
             this.logger.log(Level.SEVERE,
                     "MultiContainer put({0}, {1}) in {2}", new Object[] { key, value, subContainer});
         }
-        valueByKey.put(key, value);
+        final V previousValue = valueByKey.put(key, value);
+        if (previousValue != null) {
+            this.subContainerByValue.remove(previousValue);
+        }
+        this.subContainerByValue.put(value, subContainer);
         return true;
     }
 
@@ -0,0 +1,158 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+/**
+ * An entry of the central directory of a zip archive, as read by a {@link RawZipReader}. The
+ * entry is copied "as is" by the {@link RawZipWriter}: the compressed data is never inflated.
+ *
+ * @author J. Férard
+ */
+public final class RawZipEntry {
+    private final String name;
+    private final byte[] nameBytes;
+    private final int versionNeeded;
+    private final int flags;
+    private final int method;
+    private final int time;
+    private final int date;
+    private final long crc;
+    private final long compressedSize;
+    private final long size;
+    private final long localHeaderOffset;
+
+    /**
+     * @param name              the name of the entry
+     * @param nameBytes         the encoded name
+     * @param versionNeeded     the version needed to extract
+     * @param flags             the general purpose bit flags
+     * @param method            the compression method
+     * @param time              the DOS time
+     * @param date              the DOS date
+     * @param crc               the CRC-32 of the uncompressed data
+     * @param compressedSize    the size of the compressed data
+     * @param size              the size of the uncompressed data
+     * @param localHeaderOffset the offset of the local header
+     */
+    RawZipEntry(final String name, final byte[] nameBytes, final int versionNeeded,
+                final int flags, final int method, final int time, final int date,
+                final long crc, final long compressedSize, final long size,
+                final long localHeaderOffset) {
+        this.name = name;
+        this.nameBytes = nameBytes;
+        this.versionNeeded = versionNeeded;
+        this.flags = flags;
+        this.method = method;
+        this.time = time;
+        this.date = date;
+        this.crc = crc;
+        this.compressedSize = compressedSize;
+        this.size = size;
+        this.localHeaderOffset = localHeaderOffset;
+    }
+
+    /**
+     * @return the name of the entry
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return the encoded name
+     */
+    byte[] getNameBytes() {
+        return this.nameBytes;
+    }
+
+    /**
+     * @return the version needed to extract
+     */
+    int getVersionNeeded() {
+        return this.versionNeeded;
+    }
+
+    /**
+     * @return the general purpose bit flags
+     */
+    int getFlags() {
+        return this.flags;
+    }
+
+    /**
+     * @return the compression method (0 for STORED, 8 for DEFLATED)
+     */
+    public int getMethod() {
+        return this.method;
+    }
+
+    /**
+     * @return the DOS time
+     */
+    int getTime() {
+        return this.time;
+    }
+
+    /**
+     * @return the DOS date
+     */
+    int getDate() {
+        return this.date;
+    }
+
+    /**
+     * @return the CRC-32 of the uncompressed data
+     */
+    public long getCrc() {
+        return this.crc;
+    }
+
+    /**
+     * @return the size of the compressed data
+     */
+    public long getCompressedSize() {
+        return this.compressedSize;
+    }
+
+    /**
+     * @return the size of the uncompressed data
+     */
+    public long getSize() {
+        return this.size;
+    }
+
+    /**
+     * @return the offset of the local header
+     */
+    long getLocalHeaderOffset() {
+        return this.localHeaderOffset;
+    }
+
+    @Override
+    public String toString() {
+        return "RawZipEntry[name=" + this.name + ", method=" + this.method + ", size=" +
+                this.size + ", compressedSize=" + this.compressedSize + "]";
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * A minimal reader of a zip archive. The central directory is read once, and the entries
+ * may be copied without inflating the data (see {@link RawZipWriter#copyRawEntry}) or read
+ * through an inflater. Zip64 archives are not supported.
+ *
+ * @author J. Férard
+ */
+public class RawZipReader implements Closeable {
+    static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    static final int END_SIGNATURE = 0x06054b50;
+    static final int LOCAL_HEADER_SIZE = 30;
+    static final int CENTRAL_HEADER_SIZE = 46;
+    static final int END_SIZE = 22;
+    static final int STORED = 0;
+    static final int DEFLATED = 8;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * @param file the zip file
+     * @return the reader
+     * @throws IOException if the file is not a zip archive
+     */
+    public static RawZipReader open(final File file) throws IOException {
+        final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        final FileChannel channel = randomAccessFile.getChannel();
+        try {
+            return new RawZipReader(channel, readEntries(channel));
+        } catch (final IOException e) {
+            randomAccessFile.close();
+            throw e;
+        }
+    }
+
+    private static List<RawZipEntry> readEntries(final FileChannel channel) throws IOException {
+        final ByteBuffer end = readEnd(channel);
+        final int entryCount = end.getShort(10) & 0xFFFF;
+        final long centralSize = end.getInt(12) & 0xFFFFFFFFL;
+        final long centralOffset = end.getInt(16) & 0xFFFFFFFFL;
+        if (entryCount == 0xFFFF || centralOffset == 0xFFFFFFFFL) {
+            throw new ZipException("Zip64 archives are not supported");
+        }
+        final ByteBuffer central = read(channel, centralOffset, (int) centralSize);
+        final List<RawZipEntry> entries = new ArrayList<RawZipEntry>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            entries.add(readCentralHeader(central));
+        }
+        return entries;
+    }
+
+    private static ByteBuffer readEnd(final FileChannel channel) throws IOException {
+        final long fileSize = channel.size();
+        final int tailSize = (int) Math.min(fileSize, END_SIZE + MAX_COMMENT_SIZE);
+        if (tailSize < END_SIZE) {
+            throw new ZipException("Not a zip archive");
+        }
+        final ByteBuffer tail = read(channel, fileSize - tailSize, tailSize);
+        for (int i = tailSize - END_SIZE; i >= 0; i--) {
+            if (tail.getInt(i) == END_SIGNATURE) {
+                tail.position(i);
+                return tail.slice().order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+        throw new ZipException("End of central directory not found");
+    }
+
+    private static RawZipEntry readCentralHeader(final ByteBuffer central) throws ZipException {
+        final int start = central.position();
+        if (central.remaining() < CENTRAL_HEADER_SIZE ||
+                central.getInt(start) != CENTRAL_HEADER_SIGNATURE) {
+            throw new ZipException("Bad central directory header at " + start);
+        }
+        final int versionNeeded = central.getShort(start + 6) & 0xFFFF;
+        final int flags = central.getShort(start + 8) & 0xFFFF;
+        final int method = central.getShort(start + 10) & 0xFFFF;
+        final int time = central.getShort(start + 12) & 0xFFFF;
+        final int date = central.getShort(start + 14) & 0xFFFF;
+        final long crc = central.getInt(start + 16) & 0xFFFFFFFFL;
+        final long compressedSize = central.getInt(start + 20) & 0xFFFFFFFFL;
+        final long size = central.getInt(start + 24) & 0xFFFFFFFFL;
+        final int nameLength = central.getShort(start + 28) & 0xFFFF;
+        final int extraLength = central.getShort(start + 30) & 0xFFFF;
+        final int commentLength = central.getShort(start + 32) & 0xFFFF;
+        final long localHeaderOffset = central.getInt(start + 42) & 0xFFFFFFFFL;
+        if (compressedSize == 0xFFFFFFFFL || size == 0xFFFFFFFFL ||
+                localHeaderOffset == 0xFFFFFFFFL) {
+            throw new ZipException("Zip64 archives are not supported");
+        }
+        final byte[] nameBytes = new byte[nameLength];
+        central.position(start + CENTRAL_HEADER_SIZE);
+        central.get(nameBytes);
+        central.position(central.position() + extraLength + commentLength);
+        return new RawZipEntry(new String(nameBytes, UTF_8), nameBytes, versionNeeded, flags,
+                method, time, date, crc, compressedSize, size, localHeaderOffset);
+    }
+
+    private static ByteBuffer read(final FileChannel channel, final long position,
+                                   final int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        long p = position;
+        while (buffer.hasRemaining()) {
+            final int count = channel.read(buffer, p);
+            if (count < 0) {
+                throw new EOFException();
+            }
+            p += count;
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private final FileChannel channel;
+    private final List<RawZipEntry> entries;
+
+    /**
+     * @param channel the channel
+     * @param entries the entries of the central directory
+     */
+    RawZipReader(final FileChannel channel, final List<RawZipEntry> entries) {
+        this.channel = channel;
+        this.entries = entries;
+    }
+
+    /**
+     * @return the entries, in the order of the central directory
+     */
+    public List<RawZipEntry> getEntries() {
+        return Collections.unmodifiableList(this.entries);
+    }
+
+    /**
+     * @param name the name of the entry
+     * @return the entry or null
+     */
+    public RawZipEntry getEntry(final String name) {
+        for (final RawZipEntry entry : this.entries) {
+            if (entry.getName().equals(name)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Copy the compressed data of an entry, without inflating it.
+     *
+     * @param entry the entry
+     * @param out   the destination
+     * @throws IOException if an I/O error occurs
+     */
+    public void copyRawData(final RawZipEntry entry, final OutputStream out)
+            throws IOException {
+        final WritableByteChannel target = Channels.newChannel(out);
+        long position = this.getDataOffset(entry);
+        long remaining = entry.getCompressedSize();
+        while (remaining > 0) {
+            final long count = this.channel.transferTo(position, remaining, target);
+            if (count <= 0) {
+                throw new EOFException("Truncated entry " + entry.getName());
+            }
+            position += count;
+            remaining -= count;
+        }
+    }
+
+    /**
+     * @param entry the entry
+     * @return a stream on the uncompressed data of the entry
+     * @throws IOException if an I/O error occurs
+     */
+    public InputStream openInflated(final RawZipEntry entry) throws IOException {
+        final InputStream rawStream = new ChannelRegionInputStream(this.channel,
+                this.getDataOffset(entry), entry.getCompressedSize());
+        switch (entry.getMethod()) {
+            case STORED:
+                return rawStream;
+            case DEFLATED:
+                return new InflaterInputStream(rawStream, new Inflater(true));
+            default:
+                throw new ZipException(
+                        "Unsupported compression method " + entry.getMethod() + " for " +
+                                entry.getName());
+        }
+    }
+
+    private long getDataOffset(final RawZipEntry entry) throws IOException {
+        final long offset = entry.getLocalHeaderOffset();
+        final ByteBuffer localHeader = read(this.channel, offset, LOCAL_HEADER_SIZE);
+        if (localHeader.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+            throw new ZipException("Bad local header for " + entry.getName());
+        }
+        final int nameLength = localHeader.getShort(26) & 0xFFFF;
+        final int extraLength = localHeader.getShort(28) & 0xFFFF;
+        return offset + LOCAL_HEADER_SIZE + nameLength + extraLength;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * A stream on a region of a file channel. The channel position is not used.
+     */
+    private static class ChannelRegionInputStream extends InputStream {
+        private final FileChannel channel;
+        private long position;
+        private long remaining;
+
+        ChannelRegionInputStream(final FileChannel channel, final long position,
+                                 final long length) {
+            this.channel = channel;
+            this.position = position;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            final int count = this.read(b, 0, 1);
+            if (count <= 0) {
+                return -1;
+            }
+            return b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (this.remaining <= 0) {
+                return -1;
+            }
+            final int max = (int) Math.min(len, this.remaining);
+            final int count = this.channel.read(ByteBuffer.wrap(b, off, max), this.position);
+            if (count < 0) {
+                throw new EOFException();
+            }
+            this.position += count;
+            this.remaining -= count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, this.remaining);
+        }
+    }
+}
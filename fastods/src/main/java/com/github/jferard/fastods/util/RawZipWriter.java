@@ -0,0 +1,340 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipException;
+
+/**
+ * A minimal writer of a zip archive. Entries of a {@link RawZipReader} are copied without
+ * inflating and deflating the data again, and new entries are deflated on the fly, with a data
+ * descriptor. Zip64 archives are not supported.
+ *
+ * @author J. Férard
+ */
+public class RawZipWriter implements Closeable {
+    private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+    private static final int DATA_DESCRIPTOR_FLAG = 0x0008;
+    private static final int UTF_8_FLAG = 0x0800;
+    private static final int VERSION = 20;
+    private static final int BUFFER_SIZE = 8192;
+    private static final long MAX_SIZE = 0xFFFFFFFFL;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * @param millis the time in millis
+     * @return the DOS date (high 16 bits) and time (low 16 bits)
+     */
+    static int toDosDateTime(final long millis) {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(millis);
+        final int year = calendar.get(Calendar.YEAR);
+        if (year < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        final int date = ((year - 1980) << 9) | ((calendar.get(Calendar.MONTH) + 1) << 5) |
+                calendar.get(Calendar.DAY_OF_MONTH);
+        final int time = (calendar.get(Calendar.HOUR_OF_DAY) << 11) |
+                (calendar.get(Calendar.MINUTE) << 5) | (calendar.get(Calendar.SECOND) >> 1);
+        return (date << 16) | time;
+    }
+
+    private final CountingOutputStream out;
+    private final List<RawZipEntry> entries;
+    private final int level;
+    private boolean entryOpen;
+    private boolean finished;
+
+    /**
+     * @param out the destination
+     */
+    public RawZipWriter(final OutputStream out) {
+        this(out, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param out   the destination
+     * @param level the compression level of the new entries
+     */
+    public RawZipWriter(final OutputStream out, final int level) {
+        this.out = new CountingOutputStream(out);
+        this.level = level;
+        this.entries = new ArrayList<RawZipEntry>();
+        this.entryOpen = false;
+        this.finished = false;
+    }
+
+    /**
+     * Copy an entry of a zip archive. The compressed data is copied "as is".
+     *
+     * @param reader the source archive
+     * @param entry  the entry
+     * @throws IOException if an I/O error occurs
+     */
+    public void copyRawEntry(final RawZipReader reader, final RawZipEntry entry)
+            throws IOException {
+        this.checkNoOpenEntry();
+        final RawZipEntry copy = new RawZipEntry(entry.getName(), entry.getNameBytes(),
+                entry.getVersionNeeded(), entry.getFlags() & ~DATA_DESCRIPTOR_FLAG,
+                entry.getMethod(), entry.getTime(), entry.getDate(), entry.getCrc(),
+                entry.getCompressedSize(), entry.getSize(), this.out.getCount());
+        this.writeLocalHeader(copy);
+        reader.copyRawData(entry, this.out);
+        this.entries.add(copy);
+    }
+
+    /**
+     * Open a new deflated entry. The entry is written when the returned stream is closed.
+     *
+     * @param name the name of the entry
+     * @return the stream to write the uncompressed data
+     * @throws IOException if an I/O error occurs
+     */
+    public OutputStream openDeflatedEntry(final String name) throws IOException {
+        this.checkNoOpenEntry();
+        final int dosDateTime = toDosDateTime(System.currentTimeMillis());
+        final RawZipEntry header = new RawZipEntry(name, name.getBytes(UTF_8), VERSION,
+                DATA_DESCRIPTOR_FLAG | UTF_8_FLAG, RawZipReader.DEFLATED, dosDateTime & 0xFFFF,
+                dosDateTime >>> 16, 0, 0, 0, this.out.getCount());
+        this.writeLocalHeader(header);
+        this.entryOpen = true;
+        return new DeflatedEntryOutputStream(header);
+    }
+
+    private void checkNoOpenEntry() throws ZipException {
+        if (this.entryOpen) {
+            throw new ZipException("An entry is still open");
+        }
+        if (this.finished) {
+            throw new ZipException("Archive is finished");
+        }
+    }
+
+    private void writeLocalHeader(final RawZipEntry entry) throws IOException {
+        final byte[] nameBytes = entry.getNameBytes();
+        final ByteBuffer header = ByteBuffer.allocate(RawZipReader.LOCAL_HEADER_SIZE +
+                nameBytes.length).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(RawZipReader.LOCAL_HEADER_SIGNATURE);
+        header.putShort((short) entry.getVersionNeeded());
+        header.putShort((short) entry.getFlags());
+        header.putShort((short) entry.getMethod());
+        header.putShort((short) entry.getTime());
+        header.putShort((short) entry.getDate());
+        header.putInt((int) entry.getCrc());
+        header.putInt((int) entry.getCompressedSize());
+        header.putInt((int) entry.getSize());
+        header.putShort((short) nameBytes.length);
+        header.putShort((short) 0);
+        header.put(nameBytes);
+        this.out.write(header.array());
+    }
+
+    private void writeCentralHeader(final RawZipEntry entry) throws IOException {
+        final byte[] nameBytes = entry.getNameBytes();
+        final ByteBuffer header = ByteBuffer.allocate(RawZipReader.CENTRAL_HEADER_SIZE +
+                nameBytes.length).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(RawZipReader.CENTRAL_HEADER_SIGNATURE);
+        header.putShort((short) VERSION);
+        header.putShort((short) entry.getVersionNeeded());
+        header.putShort((short) entry.getFlags());
+        header.putShort((short) entry.getMethod());
+        header.putShort((short) entry.getTime());
+        header.putShort((short) entry.getDate());
+        header.putInt((int) entry.getCrc());
+        header.putInt((int) entry.getCompressedSize());
+        header.putInt((int) entry.getSize());
+        header.putShort((short) nameBytes.length);
+        header.putShort((short) 0); // extra
+        header.putShort((short) 0); // comment
+        header.putShort((short) 0); // disk
+        header.putShort((short) 0); // internal attributes
+        header.putInt(0); // external attributes
+        header.putInt((int) entry.getLocalHeaderOffset());
+        header.put(nameBytes);
+        this.out.write(header.array());
+    }
+
+    /**
+     * Write the central directory. No entry may be added after this call.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void finish() throws IOException {
+        if (this.finished) {
+            return;
+        }
+        this.checkNoOpenEntry();
+        if (this.entries.size() >= 0xFFFF) {
+            throw new ZipException("Zip64 archives are not supported");
+        }
+        final long centralOffset = this.out.getCount();
+        for (final RawZipEntry entry : this.entries) {
+            this.writeCentralHeader(entry);
+        }
+        final long centralSize = this.out.getCount() - centralOffset;
+        if (centralOffset > MAX_SIZE) {
+            throw new ZipException("Zip64 archives are not supported");
+        }
+        final ByteBuffer end = ByteBuffer.allocate(RawZipReader.END_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        end.putInt(RawZipReader.END_SIGNATURE);
+        end.putShort((short) 0);
+        end.putShort((short) 0);
+        end.putShort((short) this.entries.size());
+        end.putShort((short) this.entries.size());
+        end.putInt((int) centralSize);
+        end.putInt((int) centralOffset);
+        end.putShort((short) 0);
+        this.out.write(end.array());
+        this.out.flush();
+        this.finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.finish();
+        } finally {
+            this.out.close();
+        }
+    }
+
+    /**
+     * Deflates the data and writes the data descriptor on close.
+     */
+    private class DeflatedEntryOutputStream extends OutputStream {
+        private final RawZipEntry header;
+        private final Deflater deflater;
+        private final CRC32 crc;
+        private final byte[] buffer;
+        private long size;
+        private boolean closed;
+
+        DeflatedEntryOutputStream(final RawZipEntry header) {
+            this.header = header;
+            this.deflater = new Deflater(RawZipWriter.this.level, true);
+            this.crc = new CRC32();
+            this.buffer = new byte[BUFFER_SIZE];
+            this.size = 0;
+            this.closed = false;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            this.write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (this.closed) {
+                throw new IOException("Entry is closed");
+            }
+            if (len == 0) {
+                return;
+            }
+            this.crc.update(b, off, len);
+            this.size += len;
+            this.deflater.setInput(b, off, len);
+            while (!this.deflater.needsInput()) {
+                this.deflate();
+            }
+        }
+
+        private void deflate() throws IOException {
+            final int count = this.deflater.deflate(this.buffer, 0, this.buffer.length);
+            if (count > 0) {
+                RawZipWriter.this.out.write(this.buffer, 0, count);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            this.deflater.finish();
+            while (!this.deflater.finished()) {
+                this.deflate();
+            }
+            final long compressedSize = this.deflater.getBytesWritten();
+            this.deflater.end();
+            if (this.size > MAX_SIZE || compressedSize > MAX_SIZE) {
+                throw new ZipException("Zip64 archives are not supported");
+            }
+            final ByteBuffer descriptor = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+            descriptor.putInt(DATA_DESCRIPTOR_SIGNATURE);
+            descriptor.putInt((int) this.crc.getValue());
+            descriptor.putInt((int) compressedSize);
+            descriptor.putInt((int) this.size);
+            RawZipWriter.this.out.write(descriptor.array());
+            RawZipWriter.this.entries.add(new RawZipEntry(this.header.getName(),
+                    this.header.getNameBytes(), this.header.getVersionNeeded(),
+                    this.header.getFlags(), this.header.getMethod(), this.header.getTime(),
+                    this.header.getDate(), this.crc.getValue(), compressedSize, this.size,
+                    this.header.getLocalHeaderOffset()));
+            RawZipWriter.this.entryOpen = false;
+        }
+    }
+
+    /**
+     * Counts the written bytes, to compute the offsets.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(final OutputStream out) {
+            super(out);
+            this.count = 0;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            this.out.write(b);
+            this.count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            this.out.write(b, off, len);
+            this.count += len;
+        }
+
+        long getCount() {
+            return this.count;
+        }
+    }
+}
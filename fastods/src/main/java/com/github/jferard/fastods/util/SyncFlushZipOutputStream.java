@@ -0,0 +1,113 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * A ZipOutputStream that emits the compressed data of the current entry with a
+ * Deflater.SYNC_FLUSH on a byte or time interval, and then flushes the destination. The
+ * deflated entries have a data descriptor, hence the entries stay valid. The client receives
+ * the first bytes early and the proxies don't time out.
+ * <p>
+ * The interval is checked when the bytes reach this stream: the buffer of the writer delays
+ * the check.
+ *
+ * @author J. Férard
+ */
+class SyncFlushZipOutputStream extends ZipOutputStream {
+    private final long maxBytes;
+    private final long maxNanos;
+    private boolean deflating;
+    private long bytesSinceFlush;
+    private long lastFlushNanos;
+
+    /**
+     * @param out       the destination
+     * @param maxBytes  the maximum number of uncompressed bytes between two flushes, or 0
+     * @param maxMillis the maximum time between two flushes, or 0
+     */
+    SyncFlushZipOutputStream(final OutputStream out, final long maxBytes, final long maxMillis) {
+        super(out);
+        this.maxBytes = maxBytes;
+        this.maxNanos = maxMillis * 1000000L;
+        this.deflating = false;
+        this.lastFlushNanos = System.nanoTime();
+    }
+
+    @Override
+    public void putNextEntry(final ZipEntry e) throws IOException {
+        super.putNextEntry(e);
+        this.deflating = e.getMethod() != ZipEntry.STORED;
+        this.bytesSinceFlush = 0;
+    }
+
+    @Override
+    public void closeEntry() throws IOException {
+        super.closeEntry();
+        this.deflating = false;
+    }
+
+    @Override
+    public synchronized void write(final byte[] b, final int off, final int len)
+            throws IOException {
+        super.write(b, off, len);
+        this.bytesSinceFlush += len;
+        if (this.deflating && this.mustFlush()) {
+            this.flush();
+        }
+    }
+
+    private boolean mustFlush() {
+        return (this.maxBytes > 0 && this.bytesSinceFlush >= this.maxBytes) ||
+                (this.maxNanos > 0 && System.nanoTime() - this.lastFlushNanos >= this.maxNanos);
+    }
+
+    /**
+     * Emit the pending compressed data of the current entry, then flush the destination.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void flush() throws IOException {
+        if (this.deflating && !this.def.finished()) {
+            int len = this.def.deflate(this.buf, 0, this.buf.length, Deflater.SYNC_FLUSH);
+            while (len > 0) {
+                this.out.write(this.buf, 0, len);
+                if (len < this.buf.length) {
+                    break;
+                }
+                len = this.def.deflate(this.buf, 0, this.buf.length, Deflater.SYNC_FLUSH);
+            }
+        }
+        this.out.flush();
+        this.bytesSinceFlush = 0;
+        this.lastFlushNanos = System.nanoTime();
+    }
+}
@@ -25,8 +25,8 @@
 package com.github.jferard.fastods.util;
 
 import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -36,6 +36,10 @@ import java.util.Set;
  * no duplicates names. If a new object having a name that is the name of an
  * object already present in the list is inserted with {@code add} or
  * {@code set}, then an {@code IllegalArgumentException} is thrown.
+ * <p>
+ * The list is backed by an array list: the access by index and by name is O(1). The index of
+ * a name is O(1) as long as the elements are appended to the list. Insertions or removals
+ * in the middle of the list trigger a rebuild of the index on next lookup.
  *
  * @param <T> a NamedObject type.
  * @author Julien Férard
@@ -43,13 +47,17 @@ import java.util.Set;
 public class UniqueList<T extends NamedObject> extends AbstractList<T> implements List<T> {
     private final Map<String, T> elementByName;
     private final List<T> list;
+    private final Map<String, Integer> indexByName;
+    private boolean indexUpToDate;
 
     /**
      * Creates the list
      */
     public UniqueList() {
-        this.list = new LinkedList<T>();
+        this.list = new ArrayList<T>();
         this.elementByName = new HashMap<String, T>();
+        this.indexByName = new HashMap<String, Integer>();
+        this.indexUpToDate = true;
     }
 
     /*
@@ -64,6 +72,13 @@ public class UniqueList<T extends NamedObject> extends AbstractList<T> implement
         }
 
         this.elementByName.put(elementName, element);
+        if (index == this.list.size()) {
+            if (this.indexUpToDate) {
+                this.indexByName.put(elementName, index);
+            }
+        } else {
+            this.indexUpToDate = false;
+        }
         this.list.add(index, element);
     }
 
@@ -80,6 +95,49 @@ public class UniqueList<T extends NamedObject> extends AbstractList<T> implement
         return this.elementByName.get(name);
     }
 
+    /**
+     * @param name the name
+     * @return the index of the element of the list that has the name, -1 if there is no such
+     * element.
+     */
+    public int indexOfName(final String name) {
+        if (!this.indexUpToDate) {
+            this.indexByName.clear();
+            for (int i = 0; i < this.list.size(); i++) {
+                this.indexByName.put(this.list.get(i).getName(), i);
+            }
+            this.indexUpToDate = true;
+        }
+        final Integer index = this.indexByName.get(name);
+        if (index == null) {
+            return -1;
+        }
+        return index;
+    }
+
+    @Override
+    public int indexOf(final Object o) {
+        if (!(o instanceof NamedObject)) {
+            return -1;
+        }
+        final String name = ((NamedObject) o).getName();
+        if (this.elementByName.get(name) == o) {
+            return this.indexOfName(name);
+        }
+        // the element may have been renamed after it was added: look for the instance
+        for (int i = 0; i < this.list.size(); i++) {
+            if (this.list.get(i) == o) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return this.indexOf(o) != -1;
+    }
+
     /**
      * @return the name set of the objects stored in the list
      */
@@ -90,19 +148,23 @@ public class UniqueList<T extends NamedObject> extends AbstractList<T> implement
     @Override
     public T remove(final int index) {
         final T element = this.list.remove(index);
-        this.elementByName.remove(element.getName());
+        if (this.elementByName.get(element.getName()) == element) {
+            this.elementByName.remove(element.getName());
+        } else { // renamed after it was added
+            this.elementByName.values().remove(element);
+        }
+        this.indexUpToDate = false;
         return element;
     }
 
     @Override
     public boolean remove(final Object o) {
-        if (this.elementByName.containsValue(o)) {
-            this.elementByName.remove(((NamedObject) o).getName());
-            this.list.remove(o);
-            return true;
-        } else {
+        final int index = this.indexOf(o);
+        if (index == -1) {
             return false;
         }
+        this.remove(index);
+        return true;
     }
 
     /**
@@ -110,14 +172,11 @@ public class UniqueList<T extends NamedObject> extends AbstractList<T> implement
      * @return the previous element of that name, null otherwise.
      */
     public T removeByName(final String name) {
-        if (this.elementByName.containsKey(name)) {
-            final T t = this.elementByName.get(name);
-            this.elementByName.remove(name);
-            this.list.remove(t);
-            return t;
-        } else {
+        final int index = this.indexOfName(name);
+        if (index == -1) {
             return null;
         }
+        return this.remove(index);
     }
 
     @Override
@@ -128,6 +187,7 @@ public class UniqueList<T extends NamedObject> extends AbstractList<T> implement
         }
 
         this.elementByName.put(elementName, element);
+        this.indexUpToDate = false;
         return this.list.set(index, element);
     }
 
@@ -0,0 +1,408 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import java.io.IOException;
+
+/**
+ * A growable char buffer used as a destination for the XML of rows and cells.
+ * <p>
+ * The class is final and is the only implementation: the serialization loops see a single
+ * receiver type, numbers are written as digits and values are escaped in place, without an
+ * intermediate String.
+ *
+ * @author Julien Férard
+ */
+public final class XMLSink implements Appendable, CharSequence {
+    private static final int DEFAULT_CAPACITY = 32 * 1024;
+    private static final String MIN_INT = "-2147483648";
+    private static final String MIN_LONG = "-9223372036854775808";
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8,
+            1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17};
+    /**
+     * 2^53: every long below is exactly represented by a double
+     */
+    private static final double MAX_EXACT_DOUBLE = 9007199254740992.0;
+    /**
+     * Double.toString and Float.toString use the computerized scientific notation outside
+     * [10^-3, 10^7[.
+     */
+    private static final double MIN_PLAIN = 1e-3;
+    private static final double MAX_PLAIN = 1e7;
+
+    /**
+     * @return a new sink with the default capacity (32k chars)
+     */
+    public static XMLSink create() {
+        return new XMLSink(DEFAULT_CAPACITY);
+    }
+
+    private char[] buffer;
+    private int length;
+
+    /**
+     * @param capacity the initial capacity
+     */
+    public XMLSink(final int capacity) {
+        this.buffer = new char[capacity];
+        this.length = 0;
+    }
+
+    @Override
+    public XMLSink append(final CharSequence csq) {
+        if (csq == null) {
+            return this.append("null");
+        }
+        return this.append(csq, 0, csq.length());
+    }
+
+    @Override
+    public XMLSink append(final CharSequence csq, final int start, final int end) {
+        if (csq == null) {
+            return this.append("null", start, end);
+        }
+        final int len = end - start;
+        this.ensureCapacity(this.length + len);
+        if (csq instanceof String) {
+            ((String) csq).getChars(start, end, this.buffer, this.length);
+        } else if (csq instanceof XMLSink) {
+            System.arraycopy(((XMLSink) csq).buffer, start, this.buffer, this.length, len);
+        } else {
+            for (int i = start; i < end; i++) {
+                this.buffer[this.length + i - start] = csq.charAt(i);
+            }
+        }
+        this.length += len;
+        return this;
+    }
+
+    @Override
+    public XMLSink append(final char c) {
+        this.ensureCapacity(this.length + 1);
+        this.buffer[this.length++] = c;
+        return this;
+    }
+
+    /**
+     * Append a literal, e.g. a tag name.
+     *
+     * @param chars the chars of the literal
+     * @return this for fluent style
+     */
+    public XMLSink appendLiteral(final char[] chars) {
+        this.ensureCapacity(this.length + chars.length);
+        System.arraycopy(chars, 0, this.buffer, this.length, chars.length);
+        this.length += chars.length;
+        return this;
+    }
+
+    /**
+     * Append an ASCII literal, e.g. a tag name, stored as bytes.
+     *
+     * @param bytes the ASCII bytes of the literal
+     * @return this for fluent style
+     */
+    public XMLSink appendAsciiLiteral(final byte[] bytes) {
+        this.ensureCapacity(this.length + bytes.length);
+        for (final byte b : bytes) {
+            this.buffer[this.length++] = (char) b;
+        }
+        return this;
+    }
+
+    /**
+     * Escape an attribute value and append it, without an intermediate String (same as
+     * {@link FastOdsXMLEscaper#escapeXMLAttribute(String)}).
+     *
+     * @param csq the raw value
+     * @return this for fluent style
+     */
+    public XMLSink appendEscaped(final CharSequence csq) {
+        if (csq == null) {
+            return this.append("null");
+        }
+        return this.appendEscaped(csq, 0, csq.length(),
+                FastOdsXMLEscaper.CHAR_SUBSTITUTES_IN_ATTRIBUTE);
+    }
+
+    /**
+     * Escape a part of a text content and append it, without an intermediate String (same as
+     * {@link FastOdsXMLEscaper#escapeXMLContent(String)}).
+     *
+     * @param csq   the raw text
+     * @param start the index of the first char
+     * @param end   the index after the last char
+     * @return this for fluent style
+     */
+    public XMLSink appendEscapedContent(final CharSequence csq, final int start,
+                                        final int end) {
+        return this.appendEscaped(csq, start, end,
+                FastOdsXMLEscaper.CHAR_SUBSTITUTES_IN_CONTENT);
+    }
+
+    private XMLSink appendEscaped(final CharSequence csq, final int start, final int end,
+                                  final char[][] charSubstitutes) {
+        int identicalFrom = start;
+        for (int i = start; i < end; i++) {
+            final char c = csq.charAt(i);
+            if (c <= '>') {
+                final char[] substitute = charSubstitutes[c];
+                if (substitute != null) {
+                    this.append(csq, identicalFrom, i).appendLiteral(substitute);
+                    identicalFrom = i + 1;
+                }
+            }
+        }
+        return this.append(csq, identicalFrom, end);
+    }
+
+    /**
+     * Append the decimal representation of an int (same as Integer.toString).
+     *
+     * @param value the value
+     * @return this for fluent style
+     */
+    public XMLSink appendInt(final int value) {
+        if (value == Integer.MIN_VALUE) {
+            return this.append(MIN_INT);
+        }
+        final int abs;
+        if (value < 0) {
+            this.append('-');
+            abs = -value;
+        } else {
+            abs = value;
+        }
+        final int digitCount = XMLSink.digitCount(abs);
+        this.ensureCapacity(this.length + digitCount);
+        int v = abs;
+        int i = this.length + digitCount;
+        do {
+            final int q = v / 10;
+            this.buffer[--i] = (char) ('0' + v - q * 10);
+            v = q;
+        } while (v != 0);
+        this.length += digitCount;
+        return this;
+    }
+
+    /**
+     * Append the decimal representation of a long (same as Long.toString).
+     *
+     * @param value the value
+     * @return this for fluent style
+     */
+    public XMLSink appendLong(final long value) {
+        if (Integer.MIN_VALUE < value && value <= Integer.MAX_VALUE) {
+            return this.appendInt((int) value);
+        }
+        if (value == Long.MIN_VALUE) {
+            return this.append(MIN_LONG);
+        }
+        final long abs;
+        if (value < 0) {
+            this.append('-');
+            abs = -value;
+        } else {
+            abs = value;
+        }
+        int digitCount = 1;
+        for (long v = abs / 10; v != 0; v /= 10) {
+            digitCount++;
+        }
+        this.ensureCapacity(this.length + digitCount);
+        long v = abs;
+        int i = this.length + digitCount;
+        do {
+            final long q = v / 10;
+            this.buffer[--i] = (char) ('0' + (int) (v - q * 10));
+            v = q;
+        } while (v != 0);
+        this.length += digitCount;
+        return this;
+    }
+
+    /**
+     * Append the representation of a double (same as Double.toString).
+     * <p>
+     * Values in [10^-3, 10^7[ that have a short decimal representation are written without
+     * allocation: the shortest number of fractional digits k such that m / 10^k == value is
+     * looked for (m and 10^k are exact doubles, hence the division is correctly rounded and the
+     * representation is the one of the JDK). Other values fall back to Double.toString.
+     *
+     * @param value the value
+     * @return this for fluent style
+     */
+    public XMLSink appendDouble(final double value) {
+        final double abs = Math.abs(value);
+        if (MIN_PLAIN <= abs && abs < MAX_PLAIN) {
+            final long integral = (long) abs;
+            if (integral == abs) {
+                return this.appendSign(value).appendLong(integral).append(".0");
+            }
+            for (int k = 1; k < POWERS_OF_TEN.length; k++) {
+                final double power = POWERS_OF_TEN[k];
+                final double m = Math.rint(abs * power);
+                if (m >= MAX_EXACT_DOUBLE) {
+                    break;
+                }
+                if (m / power == abs) {
+                    return this.appendSign(value).appendFixed((long) m, k);
+                }
+            }
+        } else if (abs == 0.0) {
+            return this.append(1 / value < 0 ? "-0.0" : "0.0");
+        }
+        return this.append(Double.toString(value));
+    }
+
+    /**
+     * Append the representation of a float (same as Float.toString). See
+     * {@link #appendDouble(double)}.
+     *
+     * @param value the value
+     * @return this for fluent style
+     */
+    public XMLSink appendFloat(final float value) {
+        final float abs = Math.abs(value);
+        if (MIN_PLAIN <= abs && abs < MAX_PLAIN) {
+            final long integral = (long) abs;
+            if (integral == abs) {
+                return this.appendSign(value).appendLong(integral).append(".0");
+            }
+            for (int k = 1; k < 10; k++) {
+                final double power = POWERS_OF_TEN[k];
+                final double m = Math.rint(abs * power);
+                if ((float) (m / power) == abs) {
+                    return this.appendSign(value).appendFixed((long) m, k);
+                }
+            }
+        } else if (abs == 0.0f) {
+            return this.append(1 / value < 0 ? "-0.0" : "0.0");
+        }
+        return this.append(Float.toString(value));
+    }
+
+    private XMLSink appendSign(final double value) {
+        if (value < 0) {
+            this.append('-');
+        }
+        return this;
+    }
+
+    /**
+     * @param m         the digits
+     * @param fracCount the number of fractional digits
+     * @return this for fluent style
+     */
+    private XMLSink appendFixed(final long m, final int fracCount) {
+        final long power = (long) POWERS_OF_TEN[fracCount];
+        final long integral = m / power;
+        final long fractional = m - integral * power;
+        this.appendLong(integral).append('.');
+        for (long p = power / 10; p > 1 && fractional < p; p /= 10) {
+            this.append('0');
+        }
+        return this.appendLong(fractional);
+    }
+
+    /**
+     * Write the content of this sink to an appendable. The sink is not cleared.
+     *
+     * @param appendable the destination
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeTo(final Appendable appendable) throws IOException {
+        if (this.length > 0) {
+            appendable.append(this);
+        }
+    }
+
+    /**
+     * Write the content of this sink to an appendable and clear the sink.
+     *
+     * @param appendable the destination
+     * @throws IOException if an I/O error occurs
+     */
+    public void drainTo(final Appendable appendable) throws IOException {
+        this.writeTo(appendable);
+        this.clear();
+    }
+
+    /**
+     * Clear the sink. The buffer is kept.
+     */
+    public void clear() {
+        this.length = 0;
+    }
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= this.length) {
+            throw new IndexOutOfBoundsException("index: " + index);
+        }
+        return this.buffer[index];
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        if (start < 0 || end > this.length || start > end) {
+            throw new IndexOutOfBoundsException("start: " + start + ", end: " + end);
+        }
+        return new String(this.buffer, start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(this.buffer, 0, this.length);
+    }
+
+    private void ensureCapacity(final int minCapacity) {
+        if (minCapacity > this.buffer.length) {
+            int newCapacity = this.buffer.length * 2 + 2;
+            if (newCapacity < minCapacity) {
+                newCapacity = minCapacity;
+            }
+            final char[] newBuffer = new char[newCapacity];
+            System.arraycopy(this.buffer, 0, newBuffer, 0, this.length);
+            this.buffer = newBuffer;
+        }
+    }
+
+    private static int digitCount(final int positiveValue) {
+        int count = 1;
+        int bound = 10;
+        while (count < 10 && positiveValue >= bound) {
+            count++;
+            bound *= 10;
+        }
+        return count;
+    }
+}
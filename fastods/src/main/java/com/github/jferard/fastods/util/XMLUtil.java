@@ -55,6 +55,7 @@ public class XMLUtil {
     }
 
     private final XMLEscaper escaper;
+    private final boolean fastOdsEscaper;
 
     /**
      * Create a new util
@@ -63,6 +64,7 @@ public class XMLUtil {
      */
     XMLUtil(final XMLEscaper escaper) {
         this.escaper = escaper;
+        this.fastOdsEscaper = escaper instanceof FastOdsXMLEscaper;
     }
 
     /**
@@ -110,6 +112,132 @@ public class XMLUtil {
         this.appendAttribute(appendable, attrName, Integer.toString(attrValue));
     }
 
+    /**
+     * Append a new element to the appendable element, the name of the element is
+     * attrName and the value is attrValue.
+     *
+     * @param appendable The StringBuilder to which the new element should be added.
+     * @param attrName   The new element name
+     * @param attrValue  The value of the element
+     * @throws IOException If an I/O error occurs
+     */
+    public void appendAttribute(final Appendable appendable, final CharSequence attrName,
+                                final long attrValue) throws IOException {
+        this.appendAttribute(appendable, attrName, Long.toString(attrValue));
+    }
+
+    /**
+     * Append a new element to the appendable element, the name of the element is
+     * attrName and the value is attrValue, as Float.toString would write it.
+     *
+     * @param appendable The StringBuilder to which the new element should be added.
+     * @param attrName   The new element name
+     * @param attrValue  The value of the element
+     * @throws IOException If an I/O error occurs
+     */
+    public void appendAttribute(final Appendable appendable, final CharSequence attrName,
+                                final float attrValue) throws IOException {
+        this.appendAttribute(appendable, attrName, Float.toString(attrValue));
+    }
+
+    /**
+     * Append a new element to the appendable element, the name of the element is
+     * attrName and the value is attrValue, as Double.toString would write it.
+     *
+     * @param appendable The StringBuilder to which the new element should be added.
+     * @param attrName   The new element name
+     * @param attrValue  The value of the element
+     * @throws IOException If an I/O error occurs
+     */
+    public void appendAttribute(final Appendable appendable, final CharSequence attrName,
+                                final double attrValue) throws IOException {
+        this.appendAttribute(appendable, attrName, Double.toString(attrValue));
+    }
+
+    /**
+     * Escape then append to a sink. See {@link #appendEAttribute(Appendable, CharSequence,
+     * String)}: the value is escaped directly into the sink.
+     *
+     * @param sink         the destination
+     * @param attrName     the name of the attribute
+     * @param attrRawValue the value of the attribute, not escaped
+     */
+    public void appendEAttribute(final XMLSink sink, final CharSequence attrName,
+                                 final String attrRawValue) {
+        sink.append(' ').append(attrName).append("=\"");
+        if (this.fastOdsEscaper) {
+            sink.appendEscaped(attrRawValue);
+        } else {
+            sink.append(this.escaper.escapeXMLAttribute(attrRawValue));
+        }
+        sink.append('"');
+    }
+
+    /**
+     * Escape a part of a text content, then append it to a sink.
+     *
+     * @param sink  the destination
+     * @param text  the text, not escaped
+     * @param start the index of the first char
+     * @param end   the index after the last char
+     */
+    public void appendEContent(final XMLSink sink, final String text, final int start,
+                               final int end) {
+        if (this.fastOdsEscaper) {
+            sink.appendEscapedContent(text, start, end);
+        } else {
+            sink.append(this.escaper.escapeXMLContent(text.substring(start, end)));
+        }
+    }
+
+    /**
+     * Append an int attribute to a sink, without an intermediate String.
+     *
+     * @param sink      the destination
+     * @param attrName  the name of the attribute
+     * @param attrValue the value of the attribute
+     */
+    public void appendAttribute(final XMLSink sink, final CharSequence attrName,
+                                final int attrValue) {
+        sink.append(' ').append(attrName).append("=\"").appendInt(attrValue).append('"');
+    }
+
+    /**
+     * Append a long attribute to a sink, without an intermediate String.
+     *
+     * @param sink      the destination
+     * @param attrName  the name of the attribute
+     * @param attrValue the value of the attribute
+     */
+    public void appendAttribute(final XMLSink sink, final CharSequence attrName,
+                                final long attrValue) {
+        sink.append(' ').append(attrName).append("=\"").appendLong(attrValue).append('"');
+    }
+
+    /**
+     * Append a float attribute to a sink, as Float.toString would write it.
+     *
+     * @param sink      the destination
+     * @param attrName  the name of the attribute
+     * @param attrValue the value of the attribute
+     */
+    public void appendAttribute(final XMLSink sink, final CharSequence attrName,
+                                final float attrValue) {
+        sink.append(' ').append(attrName).append("=\"").appendFloat(attrValue).append('"');
+    }
+
+    /**
+     * Append a double attribute to a sink, as Double.toString would write it.
+     *
+     * @param sink      the destination
+     * @param attrName  the name of the attribute
+     * @param attrValue the value of the attribute
+     */
+    public void appendAttribute(final XMLSink sink, final CharSequence attrName,
+                                final double attrValue) {
+        sink.append(' ').append(attrName).append("=\"").appendDouble(attrValue).append('"');
+    }
+
     /**
      * Append a space, then a new element to the appendable element, the name of the element is
      * attrName and the value is attrValue. The value won't be escaped.
@@ -29,6 +29,7 @@ import com.github.jferard.fastods.odselement.OdsEntry;
 import java.io.Closeable;
 import java.io.Flushable;
 import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * A writer for a zip file/ It's a writer and a zipper
@@ -89,4 +90,18 @@ public interface ZipUTF8Writer extends Closeable, Flushable, Appendable {
      * @throws IOException if an I/O error occurs
      */
     void write(byte[] bytes) throws IOException;
+
+    /**
+     * Write raw bytes to the output stream. The default implementation copies the slice and
+     * calls {@link #write(byte[])}: override it to avoid the copy.
+     *
+     * @param bytes  the bytes to write
+     * @param offset the start offset in the bytes
+     * @param length the number of bytes to write
+     * @throws IOException if an I/O error occurs
+     */
+    default void write(final byte[] bytes, final int offset, final int length)
+            throws IOException {
+        this.write(Arrays.copyOfRange(bytes, offset, offset + length));
+    }
 }
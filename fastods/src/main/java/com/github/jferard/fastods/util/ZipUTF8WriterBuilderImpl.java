@@ -31,6 +31,8 @@ import java.io.BufferedWriter;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.zip.Deflater;
 import java.util.zip.ZipOutputStream;
@@ -48,6 +50,8 @@ public class ZipUTF8WriterBuilderImpl implements ZipUTF8WriterBuilder {
     private int level;
     private int writerBufferSize;
     private int zipBufferSize;
+    private long syncFlushBytes;
+    private long syncFlushMillis;
 
     /**
      * Create a new builder
@@ -56,6 +60,8 @@ public class ZipUTF8WriterBuilderImpl implements ZipUTF8WriterBuilder {
         this.level = Deflater.BEST_SPEED;
         this.writerBufferSize = ZipUTF8WriterBuilderImpl.DEFAULT_BUFFER;
         this.zipBufferSize = ZipUTF8WriterBuilderImpl.DEFAULT_BUFFER;
+        this.syncFlushBytes = 0;
+        this.syncFlushMillis = 0;
         this.xmlUtil = XMLUtil.create();
     }
 
@@ -73,7 +79,13 @@ public class ZipUTF8WriterBuilderImpl implements ZipUTF8WriterBuilder {
                 bufferedOut = new BufferedOutputStream(out, this.zipBufferSize);
                 break;
         }
-        final ZipOutputStream zipOut = new ZipOutputStream(bufferedOut);
+        final ZipOutputStream zipOut;
+        if (this.syncFlushBytes > 0 || this.syncFlushMillis > 0) {
+            zipOut = new SyncFlushZipOutputStream(bufferedOut, this.syncFlushBytes,
+                    this.syncFlushMillis);
+        } else {
+            zipOut = new ZipOutputStream(bufferedOut);
+        }
         zipOut.setMethod(ZipOutputStream.DEFLATED);
         zipOut.setLevel(this.level);
         final Writer writer = new OutputStreamWriter(zipOut, StandardCharsets.UTF_8);
@@ -93,6 +105,28 @@ public class ZipUTF8WriterBuilderImpl implements ZipUTF8WriterBuilder {
                 ManifestElement.create());
     }
 
+    /**
+     * Build the new writer, with a given channel. The writes are blocking: if the channel is a
+     * selectable non-blocking channel, the writer thread waits until the channel is ready.
+     *
+     * @param channel the destination
+     * @return the writer
+     */
+    public ZipUTF8Writer build(final WritableByteChannel channel) {
+        return this.build(new ChannelOutputStream(channel));
+    }
+
+    /**
+     * Build the new writer, with a given asynchronous file channel. A block is written to the
+     * file while the next one is compressed.
+     *
+     * @param channel the destination, written from position 0
+     * @return the writer
+     */
+    public ZipUTF8Writer build(final AsynchronousFileChannel channel) {
+        return this.build(new AsynchronousFileChannelOutputStream(channel));
+    }
+
     /**
      * Set the zip level.
      *
@@ -104,6 +138,24 @@ public class ZipUTF8WriterBuilderImpl implements ZipUTF8WriterBuilder {
         return this;
     }
 
+    /**
+     * Emit the compressed data with a Deflater.SYNC_FLUSH and flush the destination on a byte
+     * or time interval. This costs some compression ratio, but the client receives bytes
+     * during long exports. A small writer buffer gives a finer granularity.
+     *
+     * @param maxBytes  the maximum number of uncompressed bytes between two flushes, or 0
+     * @param maxMillis the maximum time between two flushes, in milliseconds, or 0
+     * @return this for fluent style
+     */
+    public ZipUTF8WriterBuilderImpl syncFlush(final long maxBytes, final long maxMillis) {
+        if (maxBytes < 0 || maxMillis < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.syncFlushBytes = maxBytes;
+        this.syncFlushMillis = maxMillis;
+        return this;
+    }
+
     /**
      * Set the buffer size for the writer to 0
      *
@@ -137,4 +137,10 @@ public class ZipUTF8WriterImpl implements ZipUTF8Writer {
     public void write(final byte[] bytes) throws IOException {
         this.zipStream.write(bytes);
     }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length)
+            throws IOException {
+        this.zipStream.write(bytes, offset, length);
+    }
 }
@@ -0,0 +1,146 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.testlib.Bench;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * A bench for concurrent small documents: each document is produced by a task and flushed by
+ * another task ({@link OdsFileWriterAdapter#flushUntilEndAsync}), with one platform thread per
+ * task, then with one virtual thread per task if the JVM provides them (JDK 21+).
+ */
+public class BenchConcurrentDocuments extends Bench {
+    private static final int DOCUMENT_COUNT = 10000;
+
+    private final Logger logger;
+    private final OdsFactory odsFactory;
+
+    public BenchConcurrentDocuments(final Logger logger, final int rowCount, final int colCount) {
+        super(logger, "FastODS-concurrent", rowCount, colCount);
+        this.logger = logger;
+        this.odsFactory = OdsFactory.create(this.logger, Locale.US);
+    }
+
+    @Test
+    public void test0() throws IOException {
+        this.test();
+    }
+
+    @Override
+    public long test() throws IOException {
+        this.logger.info("testConcurrentDocuments: " + DOCUMENT_COUNT + " documents of " +
+                this.getRowCount() + " rows, " + this.getColCount() + " columns");
+        final File dir = new File("generated_files", "concurrent");
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Can't create " + dir);
+        }
+        final long platformTime = this.run(Executors.newCachedThreadPool(), dir);
+        this.logger.info("Platform threads: " + platformTime + " ms");
+        final ExecutorService virtualExecutor = this.newVirtualThreadPerTaskExecutor();
+        if (virtualExecutor == null) {
+            this.logger.info("Virtual threads: not available on this JVM");
+            return platformTime;
+        }
+        final long virtualTime = this.run(virtualExecutor, dir);
+        this.logger.info("Virtual threads: " + virtualTime + " ms");
+        return virtualTime;
+    }
+
+    private long run(final ExecutorService executor, final File dir) throws IOException {
+        final long t1 = System.currentTimeMillis();
+        try {
+            final List<CompletableFuture<Void>> futures =
+                    new ArrayList<CompletableFuture<Void>>(2 * DOCUMENT_COUNT);
+            for (int i = 0; i < DOCUMENT_COUNT; i++) {
+                final OdsFileWriterAdapter writerAdapter = this.odsFactory
+                        .createWriterAdapter(new File(dir, "fastods_concurrent_" + i + ".ods"));
+                futures.add(writerAdapter.flushUntilEndAsync(executor));
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        this.produce(writerAdapter.document());
+                    } catch (final IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }, executor));
+            }
+            for (final CompletableFuture<Void> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (final ExecutionException e) {
+            throw new IOException(e);
+        } finally {
+            executor.shutdown();
+        }
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return System.currentTimeMillis() - t1;
+    }
+
+    private void produce(final NamedOdsDocument document) throws IOException {
+        final Table table = document.addTable("test", this.getRowCount(), this.getColCount());
+        final TableCellWalker walker = table.getWalker();
+        for (int y = 0; y < this.getRowCount(); y++) {
+            for (int x = 0; x < this.getColCount(); x++) {
+                walker.setFloatValue(y * x);
+                walker.next();
+            }
+            walker.nextRow();
+        }
+        document.save();
+    }
+
+    /**
+     * @return the executor or null if the JVM does not have virtual threads
+     */
+    private ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (final NoSuchMethodException | IllegalAccessException |
+                InvocationTargetException e) {
+            return null;
+        }
+    }
+}
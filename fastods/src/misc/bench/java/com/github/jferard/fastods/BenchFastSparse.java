@@ -0,0 +1,84 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.testlib.Bench;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * A memory bench for sparse tables: a few cells are written up to row 1M and column 10K. The
+ * heap used before the save is logged.
+ */
+public class BenchFastSparse extends Bench {
+    private static final int MAX_ROW = 1000 * 1000;
+    private static final int MAX_COL = 10 * 1000;
+
+    private final Logger logger;
+    private final OdsFactory odsFactory;
+
+    public BenchFastSparse(final Logger logger, final int rowCount, final int colCount) {
+        super(logger, "FastODS-sparse", rowCount, colCount);
+        this.logger = logger;
+        this.odsFactory = OdsFactory.create(this.logger, Locale.US);
+    }
+
+    @Test
+    public void test0() throws IOException {
+        this.test();
+    }
+
+    @Override
+    public long test() throws IOException {
+        this.logger.info("testFastSparse: filling " + this.getRowCount() + " rows, " +
+                this.getColCount() + " cells per row, up to (" + MAX_ROW + ", " + MAX_COL + ")");
+        final Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        final long m1 = runtime.totalMemory() - runtime.freeMemory();
+        final long t1 = System.currentTimeMillis();
+        final AnonymousOdsFileWriter writer = this.odsFactory.createWriter();
+        final OdsDocument document = writer.document();
+        final Table table = document.addTable("test");
+
+        for (int y = 0; y < this.getRowCount(); y++) {
+            final TableRowImpl row = table.getRow(this.getRandom().nextInt(MAX_ROW));
+            for (int x = 0; x < this.getColCount(); x++) {
+                final TableCell cell = row.getOrCreateCell(this.getRandom().nextInt(MAX_COL));
+                cell.setFloatValue(this.getRandom().nextInt(1000));
+            }
+        }
+        table.getRow(MAX_ROW - 1).getOrCreateCell(MAX_COL - 1).setStringValue("last");
+
+        System.gc();
+        final long m2 = runtime.totalMemory() - runtime.freeMemory();
+        this.logger.info("Heap used by the table: " + (m2 - m1) / 1024 + " kB");
+        writer.saveAs(new File("generated_files", "fastods_sparse_benchmark.ods"));
+        final long t2 = System.currentTimeMillis();
+        this.logger.info("Filled in " + (t2 - t1) + " ms");
+        return t2 - t1;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.testlib.Bench;
+import com.github.jferard.fastods.util.ZipUTF8Writer;
+import com.github.jferard.fastods.util.ZipUTF8WriterBuilderImpl;
+import com.github.jferard.fastods.util.ZipUTF8WriterImpl;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * A bench for the periodic DEFLATE sync flushes: the same table is saved without sync flush
+ * and with a sync flush every 64 kB. The times and the sizes of the files are logged.
+ */
+public class BenchFastSyncFlush extends Bench {
+    private static final long SYNC_FLUSH_BYTES = 64 * 1024;
+
+    private final Logger logger;
+    private final OdsFactory odsFactory;
+
+    public BenchFastSyncFlush(final Logger logger, final int rowCount, final int colCount) {
+        super(logger, "FastODS-syncflush", rowCount, colCount);
+        this.logger = logger;
+        this.odsFactory = OdsFactory.create(this.logger, Locale.US);
+    }
+
+    @Test
+    public void test0() throws IOException {
+        this.test();
+    }
+
+    @Override
+    public long test() throws IOException {
+        this.logger.info("testFastSyncFlush: filling a " + this.getRowCount() + " rows, " +
+                this.getColCount() + " columns spreadsheet");
+        final AnonymousOdsFileWriter writer = this.odsFactory.createWriter();
+        final OdsDocument document = writer.document();
+        final Table table = document.addTable("test", this.getRowCount(), this.getColCount());
+        final TableCellWalker walker = table.getWalker();
+        for (int y = 0; y < this.getRowCount(); y++) {
+            for (int x = 0; x < this.getColCount(); x++) {
+                walker.setFloatValue(this.getRandom().nextInt(1000));
+                walker.next();
+            }
+            walker.nextRow();
+        }
+
+        final File plain = new File("generated_files", "fastods_nosync_benchmark.ods");
+        final long plainTime = this.save(writer, ZipUTF8WriterImpl.builder(), plain);
+        final File sync = new File("generated_files", "fastods_sync_benchmark.ods");
+        final long syncTime =
+                this.save(writer, ZipUTF8WriterImpl.builder().syncFlush(SYNC_FLUSH_BYTES, 0),
+                        sync);
+        this.logger.info("No sync flush: " + plainTime + " ms, " + plain.length() + " bytes");
+        this.logger.info("Sync flush every " + SYNC_FLUSH_BYTES + " bytes: " + syncTime + " ms, " +
+                sync.length() + " bytes (" + (100 * sync.length() / plain.length()) + "%)");
+        return syncTime;
+    }
+
+    private long save(final AnonymousOdsFileWriter writer, final ZipUTF8WriterBuilderImpl builder,
+                      final File file) throws IOException {
+        final long t1 = System.currentTimeMillis();
+        final OutputStream out = new FileOutputStream(file);
+        try {
+            final ZipUTF8Writer zipWriter = builder.build(out);
+            writer.save(zipWriter);
+            zipWriter.finish();
+            zipWriter.flush();
+        } finally {
+            out.close();
+        }
+        return System.currentTimeMillis() - t1;
+    }
+}
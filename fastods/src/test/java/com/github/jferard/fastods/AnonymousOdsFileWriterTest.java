@@ -171,6 +171,35 @@ public class AnonymousOdsFileWriterTest {
         this.checkEmptyDocument();
     }
 
+    @Test
+    public final void testRowXMLCache() throws IOException {
+        final AnonymousOdsFileWriter writer = this.odsFactory.createWriter();
+        final Table table = writer.document().addTable("t");
+        table.setRowXMLCache(true);
+        for (int r = 0; r < 3; r++) {
+            final TableRowImpl row = table.getRow(r);
+            for (int c = 0; c < 3; c++) {
+                row.getOrCreateCell(c).setFloatValue(10 * r + c);
+            }
+        }
+        final XMLUtil util = XMLUtil.create();
+        final StringBuilder sb1 = new StringBuilder();
+        table.appendXMLContent(util, sb1);
+
+        table.getRow(1).getOrCreateCell(2).setStringValue("x");
+        table.getRow(2).setRowStyle(TableRowStyle.builder("r").build());
+        final StringBuilder sb2 = new StringBuilder();
+        table.appendXMLContent(util, sb2);
+        table.setRowXMLCache(false);
+        final StringBuilder sb3 = new StringBuilder();
+        table.appendXMLContent(util, sb3);
+
+        Assert.assertNotEquals(sb1.toString(), sb2.toString());
+        Assert.assertEquals(sb3.toString(), sb2.toString());
+        writer.save(this.os);
+        writer.save(new ByteArrayOutputStream());
+    }
+
     @Test
     public final void testSaveEmptyDocumentToWriter() throws IOException {
         final AnonymousOdsFileWriter writer = this.odsFactory.createWriter();
@@ -0,0 +1,81 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.odselement.StylesContainer;
+import com.github.jferard.fastods.style.TableColumnStyle;
+import org.easymock.EasyMock;
+import org.junit.Assert;
+import org.junit.Test;
+import org.powermock.api.easymock.PowerMock;
+
+public class ColumnAutoWidthTest {
+    @Test
+    public void testCreateErrors() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> ColumnAutoWidth.create(0, 1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ColumnAutoWidth.create(2, 1));
+    }
+
+    @Test
+    public void testGetStyle() {
+        final ColumnAutoWidth autoWidth = ColumnAutoWidth.DEFAULT;
+        Assert.assertEquals(0.75, autoWidth.getMinWidthCm(), 0.0);
+        Assert.assertEquals(12.0, autoWidth.getMaxWidthCm(), 0.0);
+        Assert.assertEquals("co-aw75", autoWidth.getStyle(0).getName());
+        Assert.assertEquals("co-aw75", autoWidth.getStyle(0.3).getName());
+        Assert.assertEquals("co-aw125", autoWidth.getStyle(1.0).getName());
+        Assert.assertEquals("co-aw1200", autoWidth.getStyle(100).getName());
+    }
+
+    @Test
+    public void testIsAutoStyle() {
+        final ColumnAutoWidth autoWidth = ColumnAutoWidth.create(1, 2);
+        Assert.assertTrue(autoWidth.isAutoStyle(autoWidth.getStyle(1.2)));
+        Assert.assertFalse(autoWidth.isAutoStyle(ColumnAutoWidth.DEFAULT.getStyle(1.2)));
+        Assert.assertFalse(autoWidth.isAutoStyle(TableColumnStyle.DEFAULT_TABLE_COLUMN_STYLE));
+    }
+
+    @Test
+    public void testAddStyles() {
+        final StylesContainer container = PowerMock.createMock(StylesContainer.class);
+        final ColumnAutoWidth autoWidth = ColumnAutoWidth.create(1, 1.6);
+
+        PowerMock.resetAll();
+        EasyMock.expect(container.addContentStyle(EasyMock.isA(TableColumnStyle.class)))
+                .andReturn(true).times(4);
+
+        PowerMock.replayAll();
+        autoWidth.addStyles(container);
+
+        PowerMock.verifyAll();
+        Assert.assertEquals("co-aw160", autoWidth.getStyle(10).getName());
+    }
+
+    @Test
+    public void testToString() {
+        Assert.assertEquals("ColumnAutoWidth[minWidthCm=1.0, maxWidthCm=2.0]",
+                ColumnAutoWidth.create(1, 2).toString());
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.attribute.CellType;
+import com.github.jferard.fastods.attribute.SimpleLength;
+import com.github.jferard.fastods.datastyle.CurrencyStyleBuilder;
+import com.github.jferard.fastods.datastyle.FloatStyle;
+import com.github.jferard.fastods.datastyle.FloatStyleBuilder;
+import com.github.jferard.fastods.datastyle.PercentageStyleBuilder;
+import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.style.TableColumnStyle;
+import com.github.jferard.fastods.util.XMLUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+public class ColumnWidthEstimatorTest {
+    private Locale locale;
+    private ColumnWidthEstimator estimator;
+
+    @Before
+    public void setUp() {
+        this.locale = Locale.US;
+        this.estimator = new ColumnWidthEstimator(ColumnAutoWidth.DEFAULT);
+    }
+
+    @Test
+    public void testFormatGeneral() {
+        Assert.assertEquals("12",
+                ColumnWidthEstimator.formatNumber(CellType.FLOAT, 12, null, null));
+        Assert.assertEquals("1.5", ColumnWidthEstimator.formatNumber(CellType.FLOAT, 1.5, null,
+                null));
+        Assert.assertEquals("0.333333333",
+                ColumnWidthEstimator.formatNumber(CellType.FLOAT, 1.0 / 3, null, null));
+        Assert.assertEquals("50%",
+                ColumnWidthEstimator.formatNumber(CellType.PERCENTAGE, 0.5, null, null));
+        Assert.assertEquals("3 EUR",
+                ColumnWidthEstimator.formatNumber(CellType.CURRENCY, 3, "EUR", null));
+        Assert.assertEquals("NaN",
+                ColumnWidthEstimator.formatNumber(CellType.FLOAT, Double.NaN, null, null));
+    }
+
+    @Test
+    public void testFormatFloatStyle() {
+        final FloatStyle floatStyle = new FloatStyleBuilder("f", this.locale).decimalPlaces(2)
+                .groupThousands(true).build();
+        Assert.assertEquals("0,000,000.00",
+                ColumnWidthEstimator.formatNumber(CellType.FLOAT, 1234567.891, null, floatStyle));
+        Assert.assertEquals("-0.00",
+                ColumnWidthEstimator.formatNumber(CellType.FLOAT, -0.5, null, floatStyle));
+        Assert.assertEquals("0.00",
+                ColumnWidthEstimator.formatNumber(CellType.FLOAT, -0.001, null, floatStyle));
+
+        final FloatStyle minDigitsStyle = new FloatStyleBuilder("g", this.locale)
+                .decimalPlaces(0).minIntegerDigits(4).build();
+        Assert.assertEquals("0000",
+                ColumnWidthEstimator.formatNumber(CellType.FLOAT, 12, null, minDigitsStyle));
+    }
+
+    @Test
+    public void testFormatPercentageAndCurrencyStyles() {
+        Assert.assertEquals("00.0%", ColumnWidthEstimator.formatNumber(CellType.PERCENTAGE,
+                0.125, null,
+                new PercentageStyleBuilder("p", this.locale).decimalPlaces(1).build()));
+        Assert.assertEquals("0,000.00 $", ColumnWidthEstimator.formatNumber(CellType.CURRENCY,
+                1000, null, new CurrencyStyleBuilder("c", this.locale).currencySymbol("$")
+                        .decimalPlaces(2).groupThousands(true).build()));
+    }
+
+    @Test
+    public void testToPoints() {
+        Assert.assertEquals(12, ColumnWidthEstimator.toPoints(SimpleLength.pt(12)), 1e-9);
+        Assert.assertEquals(72, ColumnWidthEstimator.toPoints(SimpleLength.in(1)), 1e-9);
+        Assert.assertEquals(72, ColumnWidthEstimator.toPoints(SimpleLength.cm(2.54)), 1e-9);
+        Assert.assertEquals(72, ColumnWidthEstimator.toPoints(SimpleLength.mm(25.4)), 1e-9);
+        Assert.assertEquals(12, ColumnWidthEstimator.toPoints(SimpleLength.pc(1)), 1e-9);
+        Assert.assertEquals(20, ColumnWidthEstimator.toPoints(SimpleLength.em(2)), 1e-9);
+    }
+
+    @Test
+    public void testAddText() {
+        final TableCellStyle style = TableCellStyle.DEFAULT_CELL_STYLE;
+        this.estimator.addText(0, "a", style);
+        this.estimator.addText(3, "a long text, a long text", style);
+        this.estimator.addText(3, "short", style);
+
+        Assert.assertEquals(4, this.estimator.getColumnCount());
+        Assert.assertEquals("co-aw75", this.estimator.getStyle(0).getName());
+        Assert.assertNull(this.estimator.getStyle(1));
+        Assert.assertNull(this.estimator.getStyle(5));
+        final TableColumnStyle style3 = this.estimator.getStyle(3);
+        Assert.assertTrue(ColumnAutoWidth.DEFAULT.isAutoStyle(style3));
+        Assert.assertNotEquals("co-aw75", style3.getName());
+    }
+
+    @Test
+    public void testFonts() {
+        final String text = "Some text in a column";
+        final TableCellStyle boldStyle = TableCellStyle.builder("b").fontWeightBold().build();
+        final TableCellStyle bigStyle = TableCellStyle.builder("s")
+                .fontSize(SimpleLength.pt(20)).build();
+        final TableCellStyle monoStyle = TableCellStyle.builder("m")
+                .fontName("Liberation Mono").build();
+        this.estimator.addText(0, text, TableCellStyle.DEFAULT_CELL_STYLE);
+        this.estimator.addText(1, text, boldStyle);
+        this.estimator.addText(2, text, bigStyle);
+        this.estimator.addText(3, text, monoStyle);
+
+        final double w0 = this.getWidthCm(0);
+        Assert.assertTrue(this.getWidthCm(1) >= w0);
+        Assert.assertTrue(this.getWidthCm(2) > this.getWidthCm(1));
+        Assert.assertTrue(this.getWidthCm(3) > w0);
+    }
+
+    @Test
+    public void testTableColumnStyles() throws IOException {
+        final OdsFactory odsFactory = OdsFactory.create(Logger.getLogger(""), this.locale);
+        final AnonymousOdsFileWriter writer = odsFactory.createWriter();
+        final Table table = writer.document().addTable("t");
+        final TableColumnStyle fixedStyle = TableColumnStyle.builder("fixed")
+                .columnWidth(SimpleLength.cm(3)).build();
+        table.setColumnAutoWidth(ColumnAutoWidth.DEFAULT);
+        table.setColumnStyle(2, fixedStyle);
+        for (int r = 0; r < 3; r++) {
+            final TableRowImpl row = table.getRow(r);
+            row.getOrCreateCell(0).setFloatValue(r);
+            row.getOrCreateCell(1).setStringValue("a much longer text in a wide column " + r);
+            row.getOrCreateCell(2).setStringValue("x");
+        }
+        final StringBuilder sb = new StringBuilder();
+        table.appendXMLContent(XMLUtil.create(), sb);
+
+        final String xml = sb.toString();
+        Assert.assertTrue(xml.contains("<table:table-column table:style-name=\"co-aw75\""));
+        Assert.assertTrue(xml.contains("<table:table-column table:style-name=\"fixed\""));
+        final int start = xml.indexOf("co-aw", xml.indexOf("co-aw75") + 1);
+        final String name = xml.substring(start, xml.indexOf('"', start));
+        Assert.assertTrue(Integer.parseInt(name.substring(5)) > 400);
+    }
+
+    private double getWidthCm(final int col) {
+        return Double.parseDouble(
+                this.estimator.getStyle(col).getName().substring(5)) / 100;
+    }
+}
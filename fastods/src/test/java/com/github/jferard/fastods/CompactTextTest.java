@@ -0,0 +1,105 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.style.TextStyle;
+import com.github.jferard.fastods.testlib.DomTester;
+import com.github.jferard.fastods.util.XMLSink;
+import com.github.jferard.fastods.util.XMLUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+public class CompactTextTest {
+    private XMLUtil util;
+
+    @Before
+    public void setUp() {
+        this.util = XMLUtil.create();
+    }
+
+    @Test
+    public void testLinkAsText() throws IOException {
+        this.assertSameAsText(CompactText.link("https://example.com/?a&b", null), "a & b");
+        this.assertSameAsText(CompactText.link("#Sheet2", TextStyle.DEFAULT_TEXT_STYLE), "s");
+    }
+
+    @Test
+    public void testSpanAsText() throws IOException {
+        this.assertSameAsText(CompactText.span(TextStyle.DEFAULT_TEXT_STYLE), "a < b");
+    }
+
+    @Test
+    public void testMultiLineAsText() throws IOException {
+        this.assertSameAsText(CompactText.MULTI_LINE, "a\n\n<b>\n");
+        this.assertSameAsText(CompactText.MULTI_LINE, "");
+    }
+
+    @Test
+    public void testEncodeDecode() throws IOException {
+        final CompressedRowStore.ObjectRefs refs = new CompressedRowStore.ObjectRefs();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        final CompactText link = CompactText.link("href", TextStyle.DEFAULT_TEXT_STYLE);
+        CompactText.encode(out, refs, link);
+        CompactText.encode(out, refs, CompactText.MULTI_LINE);
+        CompactText.encode(out, refs, null);
+        out.close();
+
+        final DataInputStream in =
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        Assert.assertEquals(this.toXML(link, "t"), this.toXML(CompactText.decode(in, refs), "t"));
+        Assert.assertSame(CompactText.MULTI_LINE, CompactText.decode(in, refs));
+        Assert.assertNull(CompactText.decode(in, refs));
+    }
+
+    @Test
+    public void testEstimateRetainedSize() {
+        Assert.assertEquals(0, CompactText.MULTI_LINE.estimateRetainedSize());
+        Assert.assertEquals(24, CompactText.span(TextStyle.DEFAULT_TEXT_STYLE)
+                .estimateRetainedSize());
+        Assert.assertEquals(72, CompactText.link("href", null).estimateRetainedSize());
+    }
+
+    private void assertSameAsText(final CompactText compactText, final String text)
+            throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        compactText.toText(this.util, text).appendXMLContent(this.util, sb);
+        DomTester.assertEquals("<c>" + sb + "</c>", "<c>" + this.toXML(compactText, text) + "</c>");
+    }
+
+    private String toXML(final CompactText compactText, final String text)
+            throws IOException {
+        final XMLSink sink = XMLSink.create();
+        compactText.appendXMLContent(this.util, sink, text);
+        return sink.toString();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.style.TableRowStyle;
+import com.github.jferard.fastods.util.XMLUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+public class CompressedRowStoreTest {
+    private static final int ROW_COUNT = 1000;
+
+    private OdsFactory odsFactory;
+    private XMLUtil xmlUtil;
+    private TableCellStyle cellStyle;
+    private TableRowStyle rowStyle;
+
+    @Before
+    public void setUp() {
+        this.odsFactory = OdsFactory.create(Logger.getLogger("compressed"), Locale.US);
+        this.xmlUtil = XMLUtil.create();
+        this.cellStyle = TableCellStyle.builder("bold").fontWeightBold().build();
+        this.rowStyle = TableRowStyle.builder("row").build();
+    }
+
+    @Test
+    public void testSameXML() throws IOException {
+        final Table expected = this.createTable(null);
+        final Table actual = this.createTable(RowCompression.onHeap(100));
+        Assert.assertTrue(actual.getCompressedRowsSize() > 0);
+        Assert.assertEquals(this.getRowsXML(expected), this.getRowsXML(actual));
+        Assert.assertTrue(actual.getCompressedRowsSize() > 0);
+    }
+
+    @Test
+    public void testSameXMLOffHeap() throws IOException {
+        final Table expected = this.createTable(null);
+        final Table actual = this.createTable(RowCompression.offHeap(0));
+        Assert.assertEquals(this.getRowsXML(expected), this.getRowsXML(actual));
+    }
+
+    @Test
+    public void testRestore() throws IOException {
+        final Table expected = this.createTable(null);
+        final Table actual = this.createTable(RowCompression.onHeap(100));
+        final long size = actual.getCompressedRowsSize();
+        expected.getRow(10).getOrCreateCell(3).setStringValue("changed");
+        actual.getRow(10).getOrCreateCell(3).setStringValue("changed");
+        Assert.assertTrue(actual.getCompressedRowsSize() < size);
+        Assert.assertTrue(this.getRowXML(actual, 10).contains("\"changed\""));
+
+        // the first block is compressed again when another block is restored
+        actual.getRow(500).getOrCreateCell(0);
+        expected.getRow(500).getOrCreateCell(0);
+        Assert.assertEquals(this.getRowsXML(expected), this.getRowsXML(actual));
+    }
+
+    @Test
+    public void testStopCompression() throws IOException {
+        final Table expected = this.createTable(null);
+        final Table actual = this.createTable(RowCompression.DEFAULT);
+        actual.getRow(ROW_COUNT + 2000).getOrCreateCell(0).setStringValue("last");
+        expected.getRow(ROW_COUNT + 2000).getOrCreateCell(0).setStringValue("last");
+        Assert.assertTrue(actual.getCompressedRowsSize() > 0);
+        actual.setRowCompression(null);
+        Assert.assertEquals(0, actual.getCompressedRowsSize());
+        Assert.assertEquals(this.getRowsXML(expected), this.getRowsXML(actual));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWindow() {
+        RowCompression.onHeap(-1);
+    }
+
+    private Table createTable(final RowCompression compression) throws IOException {
+        final Table table = this.odsFactory.createWriter().document().addTable("t");
+        table.setRowCompression(compression);
+        for (int r = 0; r < ROW_COUNT; r++) {
+            if (r % 7 == 3) {
+                continue;
+            }
+            final TableRowImpl row = table.getRow(r);
+            if (r % 5 == 0) {
+                row.setRowStyle(this.rowStyle);
+            }
+            row.getOrCreateCell(0).setStringValue("row " + r + " é");
+            row.getOrCreateCell(1).setFloatValue(r * 1.5);
+            row.getOrCreateCell(2).setFloatValue(r);
+            if (r % 3 == 0) {
+                final TableCell cell = row.getOrCreateCell(4);
+                cell.setBooleanValue(r % 2 == 0);
+                cell.setStyle(this.cellStyle);
+                cell.setTooltip("tooltip " + r);
+            }
+        }
+        return table;
+    }
+
+    private String getRowXML(final Table table, final int r) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        table.getRow(r).appendXMLToTable(this.xmlUtil, sb);
+        return sb.toString();
+    }
+
+    private String getRowsXML(final Table table) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        table.appendRowsXMLContent(this.xmlUtil, sb);
+        return sb.toString();
+    }
+}
@@ -55,11 +55,11 @@ public class EndTableFlusherTest {
         final List<TableRowImpl> rows = Collections.emptyList();
 
         PowerMock.resetAll();
-        this.appender.flushRows(this.util, this.w, rows);
+        this.appender.flushRows(this.util, this.w, 10, rows);
         this.appender.appendPostamble(this.w);
 
         PowerMock.replayAll();
-        final OdsAsyncFlusher f = new EndTableFlusher(this.appender, rows);
+        final OdsAsyncFlusher f = new EndTableFlusher(this.appender, 10, rows);
         f.flushInto(this.util, this.w);
 
         PowerMock.verifyAll();
@@ -72,11 +72,11 @@ public class EndTableFlusherTest {
         final List<TableRowImpl> rows = Arrays.asList(r1, r2);
 
         PowerMock.resetAll();
-        this.appender.flushRows(this.util, this.w, rows);
+        this.appender.flushRows(this.util, this.w, 10, rows);
         this.appender.appendPostamble(this.w);
 
         PowerMock.replayAll();
-        final OdsAsyncFlusher f = new EndTableFlusher(this.appender, rows);
+        final OdsAsyncFlusher f = new EndTableFlusher(this.appender, 10, rows);
         f.flushInto(this.util, this.w);
 
         PowerMock.verifyAll();
@@ -88,7 +88,7 @@ public class EndTableFlusherTest {
 
         PowerMock.resetAll();
         PowerMock.replayAll();
-        final OdsAsyncFlusher f = new EndTableFlusher(this.appender, rows);
+        final OdsAsyncFlusher f = new EndTableFlusher(this.appender, 10, rows);
         PowerMock.verifyAll();
 
         Assert.assertFalse(f.isEnd());
@@ -0,0 +1,87 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FlushPolicyTest {
+    @Test
+    public void testDefault() {
+        final FlushPolicy policy = FlushPolicy.DEFAULT;
+        Assert.assertEquals(8 * 1024, policy.getMaxRows());
+        Assert.assertEquals(0, policy.getMaxBytes());
+        Assert.assertEquals(0, policy.getMaxIntervalMillis());
+        Assert.assertFalse(policy.hasByteBudget());
+        Assert.assertFalse(policy.hasInterval());
+        Assert.assertFalse(policy.mustFlush(8 * 1024 - 1, 0, Long.MAX_VALUE, Long.MAX_VALUE));
+        Assert.assertTrue(policy.mustFlush(8 * 1024, 0, 0, 0));
+        Assert.assertFalse(policy.mustFlush(8 * 1024, 8 * 1024, 0, 0));
+    }
+
+    @Test
+    public void testRows() {
+        final FlushPolicy policy = FlushPolicy.rows(10);
+        Assert.assertFalse(policy.mustFlush(0, 0, 0, 0));
+        Assert.assertFalse(policy.mustFlush(9, 0, 0, 0));
+        Assert.assertTrue(policy.mustFlush(10, 0, 0, 0));
+        Assert.assertFalse(policy.mustFlush(12, 3, 0, 0));
+        Assert.assertTrue(policy.mustFlush(20, 10, 0, 0));
+    }
+
+    @Test
+    public void testBytes() {
+        final FlushPolicy policy = FlushPolicy.bytes(1000);
+        Assert.assertTrue(policy.hasByteBudget());
+        Assert.assertFalse(policy.mustFlush(100000, 0, 999, 0));
+        Assert.assertTrue(policy.mustFlush(1, 0, 1000, 0));
+        Assert.assertFalse(policy.mustFlush(0, 0, 1000, 0));
+    }
+
+    @Test
+    public void testInterval() {
+        final FlushPolicy policy = FlushPolicy.builder().maxIntervalMillis(50).build();
+        Assert.assertTrue(policy.hasInterval());
+        Assert.assertFalse(policy.mustFlush(1, 0, 0, 49));
+        Assert.assertTrue(policy.mustFlush(1, 0, 0, 50));
+    }
+
+    @Test
+    public void testBuilderErrors() {
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> FlushPolicy.builder().maxRows(0));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> FlushPolicy.builder().maxBytes(-1));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> FlushPolicy.builder().maxIntervalMillis(0));
+    }
+
+    @Test
+    public void testToString() {
+        Assert.assertEquals("FlushPolicy[maxRows=5, maxBytes=100, maxIntervalMillis=10]",
+                FlushPolicy.builder().maxRows(5).maxBytes(100).maxIntervalMillis(10).build()
+                        .toString());
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.ref.PositionUtil;
+import com.github.jferard.fastods.util.XMLSink;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.text.ParseException;
+
+public class FormulaTemplateTest {
+    @Test
+    public void testRelative() throws ParseException {
+        final FormulaTemplate template = FormulaTemplate.create("[.A1]*[.B1]", 0, 2);
+        Assert.assertEquals(2, template.getReferenceCount());
+        Assert.assertEquals("[.A1]*[.B1]", template.toFormula(0, 2));
+        Assert.assertEquals("[.A100]*[.B100]", template.toFormula(99, 2));
+        Assert.assertEquals("[.Z5]*[.AA5]", template.toFormula(4, 27));
+    }
+
+    @Test
+    public void testAbsolute() throws ParseException {
+        final FormulaTemplate template =
+                FormulaTemplate.create("[.$A$1]+[.$B2]+[.C$3]+[$Sheet1.D4]", 1, 1);
+        Assert.assertEquals("[.$A$1]+[.$B11]+[.D$3]+[$Sheet1.E13]", template.toFormula(10, 2));
+    }
+
+    @Test
+    public void testRange() throws ParseException, IOException {
+        final FormulaTemplate template = FormulaTemplate.create("SUM([.A1:.A10])",
+                PositionUtil.create().newCellRef("B10"));
+        Assert.assertEquals("SUM([.A11:.A20])", template.toFormula(19, 1));
+    }
+
+    @Test
+    public void testStringsAndQuotedTableNames() throws ParseException {
+        final FormulaTemplate template = FormulaTemplate.create(
+                "IF([.A1]=\"[.B1]\";['a.B1 ]''s'.A1];\"x\"\"y\")", 0, 0);
+        Assert.assertEquals(2, template.getReferenceCount());
+        Assert.assertEquals("IF([.B2]=\"[.B1]\";['a.B1 ]''s'.B2];\"x\"\"y\")",
+                template.toFormula(1, 1));
+    }
+
+    @Test
+    public void testNotAnAddress() throws ParseException {
+        final FormulaTemplate template = FormulaTemplate.create("SUM([.A:.B])+[.1]+1.5", 0, 0);
+        Assert.assertEquals(0, template.getReferenceCount());
+        Assert.assertEquals("SUM([.A:.B])+[.1]+1.5", template.toFormula(5, 5));
+    }
+
+    @Test
+    public void testRefError() throws ParseException {
+        final FormulaTemplate template = FormulaTemplate.create("[.A1]", 1, 0);
+        Assert.assertEquals("[.#REF!]", template.toFormula(0, 0));
+    }
+
+    @Test
+    public void testEscapedAttribute() throws ParseException, IOException {
+        final FormulaTemplate template = FormulaTemplate.create("IF([.A1]<0;\"<&>\";1)", 0, 1);
+        final StringBuilder sb = new StringBuilder();
+        template.appendXMLAttribute(sb, 2, 1);
+        Assert.assertEquals(" table:formula=\"of:=IF([.A3]&lt;0;&quot;&lt;&amp;&gt;&quot;;1)\"",
+                sb.toString());
+
+        final XMLSink sink = XMLSink.create();
+        template.appendXMLAttribute(sink, 2, 1);
+        Assert.assertEquals(sb.toString(), sink.toString());
+    }
+
+    @Test
+    public void testMissingBracket() {
+        Assert.assertThrows(ParseException.class,
+                () -> FormulaTemplate.create("[.A1*2", 0, 0));
+    }
+
+    @Test
+    public void testMissingQuote() {
+        Assert.assertThrows(ParseException.class,
+                () -> FormulaTemplate.create("\"abc", 0, 0));
+    }
+
+    @Test
+    public void testToString() throws ParseException {
+        Assert.assertEquals("FormulaTemplate[[.A1]]",
+                FormulaTemplate.create("[.A1]", 0, 0).toString());
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.powermock.api.easymock.PowerMock;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+public class OdsChunkSourceTest {
+    private OdsFactory odsFactory;
+    private int calls;
+    private Table table;
+
+    @Before
+    public void setUp() {
+        final Logger logger = PowerMock.createNiceMock(Logger.class);
+        PowerMock.replay(logger);
+        this.odsFactory = OdsFactory.create(logger, Locale.US);
+        this.calls = 0;
+    }
+
+    @Test
+    public void testProductionIsDrivenByTheConsumer() throws IOException {
+        final OdsChunkSource source = this.odsFactory.createChunkSource(this::produce);
+
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Assert.assertEquals(64, source.next(buffer));
+        Assert.assertEquals(0, this.calls);
+        Assert.assertEquals(0, source.next(buffer));
+        Assert.assertEquals(0, this.calls);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(buffer.array(), 0, buffer.position());
+        while (this.calls == 0) {
+            buffer.clear();
+            Assert.assertNotEquals(-1, source.next(buffer));
+            out.write(buffer.array(), 0, buffer.position());
+        }
+        Assert.assertEquals(1, this.calls);
+
+        this.drain(source, buffer, out);
+        Assert.assertEquals(5, this.calls);
+        buffer.clear();
+        Assert.assertEquals(-1, source.next(buffer));
+
+        final String content = this.getContent(out.toByteArray());
+        Assert.assertTrue(content.contains("office:string-value=\"r0\""));
+        Assert.assertTrue(content.contains("office:string-value=\"r49\""));
+        Assert.assertTrue(content.endsWith("</office:document-content>"));
+    }
+
+    @Test
+    public void testEmptyProducer() throws IOException {
+        final OdsChunkSource source = this.odsFactory.createChunkSource(document -> {
+            this.calls++;
+            return false;
+        });
+
+        final ByteBuffer buffer = ByteBuffer.allocate(1024);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.drain(source, buffer, out);
+        Assert.assertEquals(1, this.calls);
+        Assert.assertEquals(0, source.pendingBytes());
+        Assert.assertTrue(this.getContent(out.toByteArray()).contains("<office:spreadsheet>"));
+    }
+
+    private boolean produce(final NamedOdsDocument document) throws IOException {
+        if (this.calls == 0) {
+            this.table = document.addTable("t");
+            this.table.setFlushPolicy(FlushPolicy.rows(10));
+        }
+        for (int r = 0; r < 10; r++) {
+            this.table.nextRow().getOrCreateCell(0).setStringValue("r" + (10 * this.calls + r));
+        }
+        this.calls++;
+        return this.calls < 5;
+    }
+
+    private void drain(final OdsChunkSource source, final ByteBuffer buffer,
+                       final ByteArrayOutputStream out) throws IOException {
+        while (true) {
+            buffer.clear();
+            if (source.next(buffer) == -1) {
+                return;
+            }
+            out.write(buffer.array(), 0, buffer.position());
+        }
+    }
+
+    private String getContent(final byte[] bytes) throws IOException {
+        final ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(bytes));
+        ZipEntry entry = zis.getNextEntry();
+        while (entry != null) {
+            if (entry.getName().equals("content.xml")) {
+                final ByteArrayOutputStream content = new ByteArrayOutputStream();
+                final byte[] buf = new byte[1024];
+                int count = zis.read(buf);
+                while (count != -1) {
+                    content.write(buf, 0, count);
+                    count = zis.read(buf);
+                }
+                return new String(content.toByteArray(), StandardCharsets.UTF_8);
+            }
+            entry = zis.getNextEntry();
+        }
+        throw new AssertionError("No content.xml");
+    }
+}
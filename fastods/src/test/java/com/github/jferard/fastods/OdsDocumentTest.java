@@ -452,12 +452,9 @@ public abstract class OdsDocumentTest<E extends OdsDocument> {
 
     @Test
     public void testGetTableNumberFail() {
-        final Table t = PowerMock.createMock(Table.class);
-
         PowerMock.resetAll();
         TestHelper.initMockDocument(this.odsElements);
-        EasyMock.expect(this.odsElements.getTables()).andReturn(Collections.singletonList(t));
-        EasyMock.expect(t.getName()).andReturn("not ok");
+        EasyMock.expect(this.odsElements.getTableIndex("ok")).andReturn(-1);
 
         PowerMock.replayAll();
         final E document = this.getDocument();
@@ -469,12 +466,9 @@ public abstract class OdsDocumentTest<E extends OdsDocument> {
 
     @Test
     public void testGetTableNumberSuccess() {
-        final Table t = PowerMock.createMock(Table.class);
-
         PowerMock.resetAll();
         TestHelper.initMockDocument(this.odsElements);
-        EasyMock.expect(this.odsElements.getTables()).andReturn(Collections.singletonList(t));
-        EasyMock.expect(t.getName()).andReturn("ok");
+        EasyMock.expect(this.odsElements.getTableIndex("ok")).andReturn(0);
 
         PowerMock.replayAll();
         final E document = this.getDocument();
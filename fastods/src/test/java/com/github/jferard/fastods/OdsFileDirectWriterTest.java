@@ -26,12 +26,14 @@ package com.github.jferard.fastods;
 
 import com.github.jferard.fastods.util.XMLUtil;
 import com.github.jferard.fastods.util.ZipUTF8Writer;
+import org.easymock.EasyMock;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.powermock.api.easymock.PowerMock;
 
 import java.io.IOException;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static org.junit.Assert.*;
@@ -62,4 +64,27 @@ public class OdsFileDirectWriterTest {
 
         PowerMock.verifyAll();
     }
-}
\ No newline at end of file
+
+    @Test
+    public final void testFlushSizes() throws IOException {
+        final XMLUtil util = XMLUtil.create();
+        final ZipUTF8Writer w = PowerMock.createMock(ZipUTF8Writer.class);
+        final Logger logger = PowerMock.createMock(Logger.class);
+        final NamedOdsDocument document = PowerMock.createMock(NamedOdsDocument.class);
+        final PreprocessedRowsFlusher flusher =
+                new PreprocessedRowsFlusher("<table:table-row/><table:table-row/>", 2);
+
+        PowerMock.resetAll();
+        EasyMock.expect(w.append("<table:table-row/><table:table-row/>")).andReturn(w);
+        EasyMock.expect(logger.isLoggable(Level.FINE)).andReturn(false);
+
+        PowerMock.replayAll();
+        final OdsFileDirectWriter writer = new OdsFileDirectWriter(logger, util, document, w);
+        writer.update(flusher);
+
+        PowerMock.verifyAll();
+        Assert.assertEquals(1, writer.getFlushCount());
+        Assert.assertEquals(2, writer.getFlushedRowCount());
+        Assert.assertEquals(36, writer.getFlushedCharCount());
+    }
+}
@@ -34,6 +34,11 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 /**
@@ -318,4 +323,95 @@ public class OdsFileWriterAdapterTest {
         this.wa.waitForData();
         PowerMock.verifyAll();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFlushUntilEndAsync() throws Exception {
+        final FinalizeFlusher ff = PowerMock.createMock(FinalizeFlusher.class);
+        this.flushers.add(this.f);
+        this.flushers.add(ff);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        PowerMock.resetAll();
+        this.logger.fine(EasyMock.anyString());
+        EasyMock.expectLastCall().anyTimes();
+        EasyMock.expect(this.f.isEnd()).andReturn(false);
+        EasyMock.expect(ff.isEnd()).andReturn(true);
+        this.w.update(this.f);
+        this.w.update(ff);
+
+        PowerMock.replayAll();
+        try {
+            this.wa.flushUntilEndAsync(executor).get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        PowerMock.verifyAll();
+        Assert.assertFalse(this.wa.isNotStopped());
+    }
+
+    @Test
+    public void testFlushUntilEndAsyncWaits() throws Exception {
+        final FinalizeFlusher ff = PowerMock.createMock(FinalizeFlusher.class);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        PowerMock.resetAll();
+        this.logger.fine(EasyMock.anyString());
+        EasyMock.expectLastCall().anyTimes();
+        EasyMock.expect(ff.isEnd()).andReturn(true);
+        this.w.update(ff);
+
+        PowerMock.replayAll();
+        try {
+            final Future<Void> future = this.wa.flushUntilEndAsync(executor);
+            Thread.sleep(50);
+            Assert.assertFalse(future.isDone());
+            this.wa.update(ff);
+            future.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        PowerMock.verifyAll();
+    }
+
+    @Test
+    public void testFlushUntilEndAsyncError() throws Exception {
+        final IOException e = new IOException();
+        this.flushers.add(this.f);
+
+        PowerMock.resetAll();
+        this.logger.fine(EasyMock.anyString());
+        EasyMock.expectLastCall().anyTimes();
+        this.w.update(this.f);
+        EasyMock.expectLastCall().andThrow(e);
+
+        PowerMock.replayAll();
+        final Future<Void> future = this.wa.flushUntilEndAsync(Runnable::run);
+
+        PowerMock.verifyAll();
+        final ExecutionException ee =
+                Assert.assertThrows(ExecutionException.class, () -> future.get());
+        Assert.assertSame(e, ee.getCause());
+    }
+
+    @Test
+    public void testFlushUntilEndAsyncErrorIsNotLost() throws Exception {
+        final OutOfMemoryError e = new OutOfMemoryError();
+        this.flushers.add(this.f);
+
+        PowerMock.resetAll();
+        this.logger.fine(EasyMock.anyString());
+        EasyMock.expectLastCall().anyTimes();
+        this.w.update(this.f);
+        EasyMock.expectLastCall().andThrow(e);
+
+        PowerMock.replayAll();
+        final Future<Void> future = this.wa.flushUntilEndAsync(Runnable::run);
+
+        PowerMock.verifyAll();
+        final ExecutionException ee =
+                Assert.assertThrows(ExecutionException.class, () -> future.get());
+        Assert.assertSame(e, ee.getCause());
+    }
+}
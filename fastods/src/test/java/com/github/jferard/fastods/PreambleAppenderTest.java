@@ -27,7 +27,6 @@ package com.github.jferard.fastods;
 
 import com.github.jferard.fastods.style.TableColumnStyle;
 import com.github.jferard.fastods.testlib.DomTester;
-import com.github.jferard.fastods.util.FastFullList;
 import com.github.jferard.fastods.util.XMLUtil;
 import org.easymock.EasyMock;
 import org.junit.Before;
@@ -56,7 +55,7 @@ public class PreambleAppenderTest {
         PowerMock.resetAll();
         EasyMock.expect(this.tm.getHeaderColumnsCount()).andReturn(0);
         EasyMock.expect(this.tm.getColumns())
-                .andReturn(FastFullList.newList(x, x, x, x, x, y, y, y, x, x));
+                .andReturn(TableColumns.of(x, x, x, x, x, y, y, y, x, x));
 
         PowerMock.replayAll();
         final StringBuilder sb = new StringBuilder();
@@ -83,7 +82,7 @@ public class PreambleAppenderTest {
 
         PowerMock.resetAll();
         EasyMock.expect(this.tm.getColumns())
-                .andReturn(FastFullList.<TableColumnImpl>newList());
+                .andReturn(new TableColumns());
 
         PowerMock.replayAll();
         final StringBuilder sb = new StringBuilder();
@@ -102,7 +101,7 @@ public class PreambleAppenderTest {
         PowerMock.resetAll();
         EasyMock.expect(this.tm.getHeaderColumnsCount()).andReturn(0);
         EasyMock.expect(this.tm.getColumns())
-                .andReturn(FastFullList.newList(null, null, x));
+                .andReturn(TableColumns.of(null, null, x));
 
         PowerMock.replayAll();
         final StringBuilder sb = new StringBuilder();
@@ -127,7 +126,7 @@ public class PreambleAppenderTest {
         PowerMock.resetAll();
         EasyMock.expect(this.tm.getHeaderColumnsCount()).andReturn(2);
         EasyMock.expect(this.tm.getColumns())
-                .andReturn(FastFullList.newList(x, x, x, x, x, y, y, y, x, x));
+                .andReturn(TableColumns.of(x, x, x, x, x, y, y, y, x, x));
 
         PowerMock.replayAll();
         final StringBuilder sb = new StringBuilder();
@@ -161,7 +160,7 @@ public class PreambleAppenderTest {
         PowerMock.resetAll();
         EasyMock.expect(this.tm.getHeaderColumnsCount()).andReturn(5);
         EasyMock.expect(this.tm.getColumns())
-                .andReturn(FastFullList.newList(x, x, x, x, x, y, y, y, x, x));
+                .andReturn(TableColumns.of(x, x, x, x, x, y, y, y, x, x));
 
         PowerMock.replayAll();
         final StringBuilder sb = new StringBuilder();
@@ -192,7 +191,7 @@ public class PreambleAppenderTest {
         PowerMock.resetAll();
         EasyMock.expect(this.tm.getHeaderColumnsCount()).andReturn(10);
         EasyMock.expect(this.tm.getColumns())
-                .andReturn(FastFullList.newList(x, x, x, x, x, y, y, y, x, x));
+                .andReturn(TableColumns.of(x, x, x, x, x, y, y, y, x, x));
 
         PowerMock.replayAll();
         final StringBuilder sb = new StringBuilder();
@@ -223,7 +222,7 @@ public class PreambleAppenderTest {
         PowerMock.resetAll();
         EasyMock.expect(this.tm.getHeaderColumnsCount()).andReturn(11);
         EasyMock.expect(this.tm.getColumns())
-                .andReturn(FastFullList.newList(x, x, x, x, x, y, y, y, x, x));
+                .andReturn(TableColumns.of(x, x, x, x, x, y, y, y, x, x));
 
         PowerMock.replayAll();
         final StringBuilder sb = new StringBuilder();
@@ -248,6 +247,38 @@ public class PreambleAppenderTest {
         PowerMock.verifyAll();
     }
 
+    @Test
+    public void testWideColumns() throws IOException {
+        final TableColumns columns = new TableColumns();
+        columns.setColumnCount(TableColumns.MAX_COLUMN_COUNT);
+        columns.setColumnStyle(1, 10000, TableColumnStyle.builder("x").build());
+        columns.setColumnStyle(2, 3, TableColumnStyle.builder("y").build());
+
+        PowerMock.resetAll();
+        EasyMock.expect(this.tm.getHeaderColumnsCount()).andReturn(2);
+        EasyMock.expect(this.tm.getColumns()).andReturn(columns);
+
+        PowerMock.replayAll();
+        final StringBuilder sb = new StringBuilder();
+        this.preambleAppender.appendColumns(this.xmlUtil, sb);
+        DomTester.assertEquals(
+                "<table:table-header-columns>" +
+                        "<table:table-column table:style-name=\"co1\" " +
+                        "table:default-cell-style-name=\"Default\"/>" +
+                        "<table:table-column table:style-name=\"x\" " +
+                        "table:default-cell-style-name=\"Default\"/>" +
+                        "</table:table-header-columns>" +
+                        "<table:table-column table:style-name=\"y\" " +
+                        "table:default-cell-style-name=\"Default\"/>" +
+                        "<table:table-column table:style-name=\"x\" " +
+                        "table:number-columns-repeated=\"9997\" " +
+                        "table:default-cell-style-name=\"Default\"/>" +
+                        "<table:table-column table:style-name=\"co1\" " +
+                        "table:number-columns-repeated=\"6384\" " +
+                        "table:default-cell-style-name=\"Default\"/>", sb.toString());
+        PowerMock.verifyAll();
+    }
+
     private TableColumnImpl newTC(final String name) {
         final TableColumnStyle tcs = TableColumnStyle.builder(name).build();
         final TableColumnImpl tc = new TableColumnImpl();
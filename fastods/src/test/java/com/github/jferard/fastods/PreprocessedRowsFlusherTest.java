@@ -24,6 +24,7 @@
 
 package com.github.jferard.fastods;
 
+import com.github.jferard.fastods.util.XMLSink;
 import com.github.jferard.fastods.util.XMLUtil;
 import com.github.jferard.fastods.util.ZipUTF8Writer;
 import org.easymock.Capture;
@@ -85,8 +86,8 @@ public class PreprocessedRowsFlusherTest {
         final List<TableRowImpl> rows = Arrays.asList(r1, r2);
 
         PowerMock.resetAll();
-        r1.appendXMLToTable(EasyMock.eq(this.util), EasyMock.anyObject(StringBuilder.class));
-        r2.appendXMLToTable(EasyMock.eq(this.util), EasyMock.anyObject(StringBuilder.class));
+        r1.appendXMLToTable(EasyMock.eq(this.util), EasyMock.anyObject(XMLSink.class));
+        r2.appendXMLToTable(EasyMock.eq(this.util), EasyMock.anyObject(XMLSink.class));
         EasyMock.expect(this.w.append(EasyMock.anyObject(StringBuilder.class))).andReturn(this.sb);
 
         PowerMock.replayAll();
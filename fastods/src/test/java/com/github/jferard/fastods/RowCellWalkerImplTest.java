@@ -31,6 +31,7 @@ import com.github.jferard.fastods.datastyle.DataStylesBuilder;
 import com.github.jferard.fastods.odselement.StylesContainer;
 import com.github.jferard.fastods.odselement.StylesContainerImpl;
 import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.style.TextStyle;
 import com.github.jferard.fastods.util.IntegerRepresentationCache;
 import com.github.jferard.fastods.util.Validation;
 import com.github.jferard.fastods.util.XMLUtil;
@@ -42,6 +43,7 @@ import org.junit.function.ThrowingRunnable;
 import org.powermock.api.easymock.PowerMock;
 
 import java.io.IOException;
+import java.text.ParseException;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
@@ -127,6 +129,25 @@ public class RowCellWalkerImplTest {
         PowerMock.verifyAll();
     }
 
+    @Test
+    public final void testCompactTexts() {
+        PowerMock.resetAll();
+        expect(this.row.getOrCreateCell(8)).andReturn(this.cell).times(4);
+        this.cell.setHyperlink("a", "b");
+        this.cell.setHyperlink("a", TextStyle.DEFAULT_TEXT_STYLE, "b");
+        this.cell.setStyledText("a", TextStyle.DEFAULT_TEXT_STYLE);
+        this.cell.setMultilineText("a\nb");
+
+        PowerMock.replayAll();
+        this.cellWalker.to(8);
+        this.cellWalker.setHyperlink("a", "b");
+        this.cellWalker.setHyperlink("a", TextStyle.DEFAULT_TEXT_STYLE, "b");
+        this.cellWalker.setStyledText("a", TextStyle.DEFAULT_TEXT_STYLE);
+        this.cellWalker.setMultilineText("a\nb");
+
+        PowerMock.verifyAll();
+    }
+
     @Test
     public final void testCellMerge() throws IOException {
         PowerMock.resetAll();
@@ -215,6 +236,34 @@ public class RowCellWalkerImplTest {
         PowerMock.verifyAll();
     }
 
+    @Test
+    public final void testFormulaTemplate() throws ParseException {
+        final FormulaTemplate template = FormulaTemplate.create("[.A1]", 0, 0);
+        PowerMock.resetAll();
+        expect(this.row.getOrCreateCell(10)).andReturn(this.cell);
+        this.cell.setFormula(template);
+
+        PowerMock.replayAll();
+        this.cellWalker.to(10);
+        this.cellWalker.setFormula(template);
+
+        PowerMock.verifyAll();
+    }
+
+    @Test
+    public final void testFormulaWithCachedValue() {
+        final CellValue value = new FloatValue(2);
+        PowerMock.resetAll();
+        expect(this.row.getOrCreateCell(10)).andReturn(this.cell);
+        this.cell.setFormula("1+1", value);
+
+        PowerMock.replayAll();
+        this.cellWalker.to(10);
+        this.cellWalker.setFormula("1+1", value);
+
+        PowerMock.verifyAll();
+    }
+
     @Test
     public final void testIsCovered() {
         PowerMock.resetAll();
@@ -617,6 +666,20 @@ public class RowCellWalkerImplTest {
         PowerMock.verifyAll();
     }
 
+    @Test
+    public final void testSetMatrixFormulaSpannedWithCachedValue() {
+        final CellValue cachedValue = new FloatValue(1);
+
+        PowerMock.resetAll();
+        EasyMock.expect(this.row.getOrCreateCell(0)).andReturn(this.cell);
+        this.cell.setMatrixFormula("=A1", 10, 8, cachedValue);
+
+        PowerMock.replayAll();
+        this.cellWalker.setMatrixFormula("=A1", 10, 8, cachedValue);
+
+        PowerMock.verifyAll();
+    }
+
     @Test
     public final void testSetAttribute() {
         PowerMock.resetAll();
@@ -0,0 +1,161 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.util.XMLUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+public class RowSpillTest {
+    private static final int ROW_COUNT = 500;
+
+    private OdsFactory odsFactory;
+    private XMLUtil xmlUtil;
+
+    @Before
+    public void setUp() {
+        this.odsFactory = OdsFactory.create(Logger.getLogger("spill"), Locale.US);
+        this.xmlUtil = XMLUtil.create();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroBytes() {
+        RowSpill.create(0);
+    }
+
+    @Test
+    public void testToString() {
+        Assert.assertEquals("RowSpill[maxRetainedBytes=10, directory=null]",
+                RowSpill.create(10).toString());
+    }
+
+    @Test
+    public void testSameXML() throws IOException {
+        final Table expected = this.createTable(null, null, 0);
+        final Table actual = this.createTable(RowSpill.create(1000), null, 0);
+        try {
+            final String xml = this.getXML(expected);
+            Assert.assertEquals(xml, this.getXML(actual));
+            Assert.assertEquals(xml, this.getXML(actual)); // twice
+        } finally {
+            actual.deleteSpilledRows();
+        }
+    }
+
+    @Test
+    public void testSameXMLWithHeaderRows() throws IOException {
+        final Table expected = this.createTable(null, null, 20);
+        final Table actual = this.createTable(RowSpill.create(500), null, 20);
+        try {
+            Assert.assertEquals(this.getXML(expected), this.getXML(actual));
+        } finally {
+            actual.deleteSpilledRows();
+        }
+    }
+
+    @Test
+    public void testSameXMLWithCompression() throws IOException {
+        final Table expected = this.createTable(null, null, 0);
+        final Table actual = this.createTable(RowSpill.create(5000), RowCompression.onHeap(10), 0);
+        try {
+            Assert.assertEquals(this.getXML(expected), this.getXML(actual));
+        } finally {
+            actual.deleteSpilledRows();
+        }
+    }
+
+    @Test
+    public void testSpilledRow() throws IOException {
+        final Table table = this.createTable(RowSpill.create(1000), null, 0);
+        try {
+            table.getRow(0);
+            Assert.fail();
+        } catch (final IOException e) {
+            Assert.assertEquals("Row 0 was spilled to disk", e.getMessage());
+        } finally {
+            table.deleteSpilledRows();
+        }
+    }
+
+    @Test
+    public void testDocument() throws IOException {
+        final AnonymousOdsFileWriter writer = this.odsFactory.createWriter();
+        final OdsDocument document = writer.document();
+        final Table table = document.addTable("t");
+        writer.setRowSpill(RowSpill.create(100));
+        final Table other = document.addTable("u");
+        for (int r = 0; r < 100; r++) {
+            table.getRow(r).getOrCreateCell(0).setStringValue("a");
+            other.getRow(r).getOrCreateCell(0).setStringValue("b");
+        }
+        try {
+            table.getRow(0);
+            Assert.fail();
+        } catch (final IOException e) {
+            // spilled
+        }
+        try {
+            other.getRow(0);
+            Assert.fail();
+        } catch (final IOException e) {
+            // spilled
+        }
+        writer.deleteSpilledRows();
+        try {
+            this.getXML(table);
+            Assert.fail();
+        } catch (final IOException e) {
+            Assert.assertEquals("The spilled rows were deleted", e.getMessage());
+        }
+    }
+
+    private Table createTable(final RowSpill rowSpill, final RowCompression compression,
+                              final int headerRowsCount) throws IOException {
+        final Table table = this.odsFactory.createWriter().document().addTable("t");
+        table.setRowSpill(rowSpill);
+        table.setRowCompression(compression);
+        table.setHeaderRowsCount(headerRowsCount);
+        for (int r = 0; r < ROW_COUNT; r++) {
+            if (r % 7 == 3 || r % 50 < 5) {
+                continue;
+            }
+            final TableRowImpl row = table.getRow(r);
+            row.getOrCreateCell(0).setStringValue("row " + r);
+            row.getOrCreateCell(1).setFloatValue(r);
+        }
+        return table;
+    }
+
+    private String getXML(final Table table) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        table.appendXMLContent(this.xmlUtil, sb);
+        return sb.toString();
+    }
+}
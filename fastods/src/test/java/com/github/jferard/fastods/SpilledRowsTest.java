@@ -0,0 +1,67 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class SpilledRowsTest {
+    @Test
+    public void testCopy() throws IOException {
+        final SpilledRows spilledRows = SpilledRows.create(null);
+        try {
+            final StringBuilder text = new StringBuilder();
+            for (int i = 0; i < 5000; i++) {
+                text.append("<row>é").append(i).append("</row>");
+            }
+            spilledRows.getAppendable().append(text);
+            spilledRows.update(10, 2, true);
+
+            final StringBuilder sb = new StringBuilder();
+            spilledRows.copyTo(sb);
+            Assert.assertEquals(text.toString(), sb.toString());
+            Assert.assertEquals(10, spilledRows.getRowIndex());
+            Assert.assertEquals(2, spilledRows.getNullFieldCounter());
+            Assert.assertTrue(spilledRows.hasAtLeastOneRow());
+        } finally {
+            spilledRows.delete();
+        }
+    }
+
+    @Test
+    public void testDelete() throws IOException {
+        final SpilledRows spilledRows = SpilledRows.create(null);
+        spilledRows.delete();
+        spilledRows.delete(); // idempotent
+        try {
+            spilledRows.copyTo(new StringBuilder());
+            Assert.fail();
+        } catch (final IOException e) {
+            Assert.assertEquals("The spilled rows were deleted", e.getMessage());
+        }
+    }
+}
@@ -33,7 +33,6 @@ import com.github.jferard.fastods.style.TableColumnStyle;
 import com.github.jferard.fastods.style.TableRowStyle;
 import com.github.jferard.fastods.testlib.DomTester;
 import com.github.jferard.fastods.testlib.ZipUTF8WriterMockHandler;
-import com.github.jferard.fastods.util.FastFullList;
 import com.github.jferard.fastods.util.Protection;
 import com.github.jferard.fastods.util.SVGRectangle;
 import com.github.jferard.fastods.util.XMLUtil;
@@ -48,8 +47,10 @@ import org.powermock.api.easymock.PowerMock;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 import java.util.logging.Logger;
 
@@ -75,7 +76,7 @@ public class TableAppenderTest {
         this.tm = PowerMock.createMock(TableModel.class);
         final XMLUtil xmlUtil = XMLUtil.create();
         this.ds = DataStylesBuilder.create(Locale.US).build();
-        this.tableAppender = new TableAppender(this.tm);
+        this.tableAppender = new TableAppender(this.tm, null);
         this.xmlUtil = xmlUtil;
     }
 
@@ -88,7 +89,7 @@ public class TableAppenderTest {
         EasyMock.expect(this.tm.getCustomValueByAttribute()).andReturn(null);
         EasyMock.expect(this.tm.getProtection()).andReturn(null);
         EasyMock.expect(this.tm.getColumns())
-                .andReturn(FastFullList.<TableColumnImpl>newListWithCapacity(1));
+                .andReturn(new TableColumns());
         EasyMock.expect(this.tm.getShapes()).andReturn(Collections.<Shape>emptyList());
         EasyMock.expect(this.tm.getForms()).andReturn(Collections.<XMLConvertible>singletonList(
                 new XMLConvertible() {
@@ -123,7 +124,7 @@ public class TableAppenderTest {
         EasyMock.expect(this.tm.getProtection()).andReturn(null);
         EasyMock.expect(this.tm.getShapes()).andReturn(Collections.<Shape>singletonList(drawFrame));
         EasyMock.expect(this.tm.getColumns())
-                .andReturn(FastFullList.<TableColumnImpl>newListWithCapacity(1));
+                .andReturn(new TableColumns());
         EasyMock.expect(this.tm.getForms()).andReturn(Collections.<XMLConvertible>emptyList());
 
         PowerMock.replayAll();
@@ -153,7 +154,7 @@ public class TableAppenderTest {
         EasyMock.expect(this.tm.getProtection()).andReturn(null);
         EasyMock.expect(this.tm.getHeaderColumnsCount()).andReturn(0);
         EasyMock.expect(this.tm.getColumns())
-                .andReturn(FastFullList.newList(this.newTC("x")));
+                .andReturn(TableColumns.of(this.newTC("x")));
         EasyMock.expect(this.tm.getShapes()).andReturn(Collections.<Shape>emptyList());
         EasyMock.expect(this.tm.getForms()).andReturn(Collections.<XMLConvertible>emptyList());
 
@@ -180,7 +181,7 @@ public class TableAppenderTest {
         EasyMock.expect(this.tm.getProtection()).andReturn(null);
         EasyMock.expect(this.tm.getHeaderColumnsCount()).andReturn(0);
         EasyMock.expect(this.tm.getColumns())
-                .andReturn(FastFullList.newList(this.newTC("x"), this.newTC("x")));
+                .andReturn(TableColumns.of(this.newTC("x"), this.newTC("x")));
         EasyMock.expect(this.tm.getShapes()).andReturn(Collections.<Shape>emptyList());
         EasyMock.expect(this.tm.getForms()).andReturn(Collections.<XMLConvertible>emptyList());
 
@@ -209,7 +210,7 @@ public class TableAppenderTest {
         EasyMock.expect(this.tm.getProtection()).andReturn(null);
         EasyMock.expect(this.tm.getHeaderColumnsCount()).andReturn(0);
         EasyMock.expect(this.tm.getColumns())
-                .andReturn(FastFullList.newList(x, x, this.newTC("y"), x));
+                .andReturn(TableColumns.of(x, x, this.newTC("y"), x));
         EasyMock.expect(this.tm.getShapes()).andReturn(Collections.<Shape>emptyList());
         EasyMock.expect(this.tm.getForms()).andReturn(Collections.<XMLConvertible>emptyList());
 
@@ -243,7 +244,7 @@ public class TableAppenderTest {
         EasyMock.expect(this.tm.getProtection()).andReturn(null);
         EasyMock.expect(this.tm.getHeaderColumnsCount()).andReturn(0);
         EasyMock.expect(this.tm.getColumns())
-                .andReturn(FastFullList.newList(x, x, x, x, x, y, y, y, x, x));
+                .andReturn(TableColumns.of(x, x, x, x, x, y, y, y, x, x));
         EasyMock.expect(this.tm.getShapes()).andReturn(Collections.<Shape>emptyList());
         EasyMock.expect(this.tm.getForms()).andReturn(Collections.<XMLConvertible>emptyList());
 
@@ -276,7 +277,7 @@ public class TableAppenderTest {
         EasyMock.expect(this.tm.getCustomValueByAttribute()).andReturn(null);
         EasyMock.expect(this.tm.getProtection()).andReturn(null);
         EasyMock.expect(this.tm.getColumns())
-                .andReturn(FastFullList.<TableColumnImpl>builder().build());
+                .andReturn(new TableColumns());
         EasyMock.expect(this.tm.getTableRowsUsedSize()).andReturn(0);
         EasyMock.expect(this.tm.getShapes()).andReturn(Collections.<Shape>emptyList());
         EasyMock.expect(this.tm.getForms()).andReturn(Collections.<XMLConvertible>emptyList());
@@ -297,8 +298,8 @@ public class TableAppenderTest {
     public final void testAppendTwoWriters() throws IOException {
         final StringBuilder sb1 = new StringBuilder();
         final StringBuilder sb2 = new StringBuilder();
-        final FastFullList<TableColumnImpl> emptyFullList =
-                FastFullList.<TableColumnImpl>builder().build();
+        final TableColumns emptyFullList =
+                new TableColumns();
 
         PowerMock.resetAll();
         EasyMock.expect(this.tm.getName()).andReturn("tb").times(2);
@@ -325,8 +326,8 @@ public class TableAppenderTest {
     @Test
     public final void testAppendRows() throws IOException {
         final StringBuilder sb = new StringBuilder();
-        final FastFullList<TableColumnImpl> emptyFullList =
-                FastFullList.<TableColumnImpl>builder().build();
+        final TableColumns emptyFullList =
+                new TableColumns();
         PowerMock.resetAll();
         final TableRowImpl tr0 = this.newTR("tr0");
         final TableRowImpl tr1 = this.newTR("tr1");
@@ -377,8 +378,8 @@ public class TableAppenderTest {
     @Test
     public final void testAppendRowsWithHeaderRows() throws IOException {
         final StringBuilder sb = new StringBuilder();
-        final FastFullList<TableColumnImpl> emptyFullList =
-                FastFullList.<TableColumnImpl>builder().build();
+        final TableColumns emptyFullList =
+                new TableColumns();
         final TableRowImpl tr0 = this.newTR("tr0");
         final TableRowImpl tr1 = this.newTR("tr1");
         final TableRowImpl tr2 = this.newTR("tr2");
@@ -500,7 +501,7 @@ public class TableAppenderTest {
         EasyMock.expect(this.tm.getCustomValueByAttribute()).andReturn(null);
         EasyMock.expect(this.tm.getForms()).andReturn(null);
         EasyMock.expect(this.tm.getShapes()).andReturn(null);
-        EasyMock.expect(this.tm.getColumns()).andReturn(FastFullList.newListWithCapacity(0));
+        EasyMock.expect(this.tm.getColumns()).andReturn(new TableColumns());
         EasyMock.expect(this.tm.getHeaderRowsCount()).andReturn(0);
         EasyMock.expect(this.tm.getTableRow(0)).andReturn(tr0);
         EasyMock.expect(this.tm.getTableRow(1)).andReturn(tr1);
@@ -528,8 +529,8 @@ public class TableAppenderTest {
     @Test
     public final void testAppendRowsWithHeaderRows2() throws IOException {
         final StringBuilder sb = new StringBuilder();
-        final FastFullList<TableColumnImpl> emptyFullList =
-                FastFullList.<TableColumnImpl>builder().build();
+        final TableColumns emptyFullList =
+                new TableColumns();
         final TableRowImpl tr0 = this.newTR("tr0");
 
         PowerMock.resetAll();
@@ -591,7 +592,7 @@ public class TableAppenderTest {
         PowerMock.replayAll();
         final UnregisteredOdsEntry entry = new UnregisteredOdsEntry("entrypath");
         writer.putNextEntry(entry);
-        this.tableAppender.flushRows(this.xmlUtil, writer, Arrays.asList(tr3, tr4));
+        this.tableAppender.flushRows(this.xmlUtil, writer, 3, Arrays.asList(tr3, tr4));
 
         PowerMock.verifyAll();
         Assert.assertEquals(Collections.singleton(entry.toString()), handler.getEntryNames());
@@ -603,6 +604,85 @@ public class TableAppenderTest {
                 handler.getEntryAsString(entry.toString()));
     }
 
+    @Test
+    public final void testFlushUntouchedReservedRows() throws IOException {
+        final ZipUTF8WriterMockHandler handler = ZipUTF8WriterMockHandler.create();
+        final ZipUTF8Writer writer = handler.getInstance(ZipUTF8Writer.class);
+
+        final TableRowImpl tr0 = this.newTR("tr0");
+        final TableRowImpl tr3 = this.newTR("tr3");
+        final List<TableRowImpl> deferred = new ArrayList<TableRowImpl>(Arrays.asList(tr3, null));
+
+        PowerMock.resetAll();
+
+        PowerMock.replayAll();
+        final UnregisteredOdsEntry entry = new UnregisteredOdsEntry("entrypath");
+        writer.putNextEntry(entry);
+        this.tableAppender.deferRows(this.xmlUtil, null, 3, deferred);
+        this.tableAppender.flushRows(this.xmlUtil, writer, 0, Arrays.asList(tr0, null, null));
+        this.tableAppender.flushDeferredRows(writer);
+
+        PowerMock.verifyAll();
+        DomTester.assertEquals(
+                "<table:table-row table:style-name=\"tr0\">" +
+                        "<table:table-cell/></table:table-row>" +
+                        "<table:table-row table:number-rows-repeated=\"2\" " +
+                        "table:style-name=\"ro1\"><table:table-cell/></table:table-row>" +
+                        "<table:table-row table:style-name=\"tr3\">" +
+                        "<table:table-cell/></table:table-row>" +
+                        "<table:table-row table:style-name=\"ro1\">" +
+                        "<table:table-cell/></table:table-row>",
+                handler.getEntryAsString(entry.toString()));
+    }
+
+    @Test
+    public final void testDeleteDeferredRows() throws IOException {
+        final ZipUTF8Writer writer = PowerMock.createMock(ZipUTF8Writer.class);
+        final List<TableRowImpl> deferred =
+                new ArrayList<TableRowImpl>(Arrays.asList(this.newTR("tr3")));
+
+        PowerMock.resetAll();
+
+        PowerMock.replayAll();
+        this.tableAppender.deferRows(this.xmlUtil, null, 3, deferred);
+        this.tableAppender.deleteSpilledRows();
+        this.tableAppender.flushDeferredRows(writer); // nothing left to flush
+
+        PowerMock.verifyAll();
+    }
+
+    @Test
+    public final void testDeferRows() throws IOException {
+        final ZipUTF8WriterMockHandler handler = ZipUTF8WriterMockHandler.create();
+        final ZipUTF8Writer writer = handler.getInstance(ZipUTF8Writer.class);
+
+        final TableRowImpl tr0 = this.newTR("tr0");
+        final TableRowImpl tr3 = this.newTR("tr3");
+        final TableRowImpl tr4 = this.newTR("tr4");
+        final List<TableRowImpl> deferred = new ArrayList<TableRowImpl>(Arrays.asList(tr3, tr4));
+
+        PowerMock.resetAll();
+
+        PowerMock.replayAll();
+        final UnregisteredOdsEntry entry = new UnregisteredOdsEntry("entrypath");
+        writer.putNextEntry(entry);
+        this.tableAppender.flushDeferredRows(writer); // nothing to flush
+        this.tableAppender.deferRows(this.xmlUtil, null, 3, deferred);
+        this.tableAppender.flushRows(this.xmlUtil, writer, 0, Arrays.asList(tr0));
+        this.tableAppender.flushDeferredRows(writer);
+
+        PowerMock.verifyAll();
+        Assert.assertEquals(Arrays.asList(null, null), deferred);
+        DomTester.assertEquals(
+                "<table:table-row table:style-name=\"tr0\">" +
+                        "<table:table-cell/></table:table-row>" +
+                        "<table:table-row table:style-name=\"tr3\">" +
+                        "<table:table-cell/></table:table-row>" +
+                        "<table:table-row table:style-name=\"tr4\"><table:table-cell/>" +
+                        "</table:table-row>",
+                handler.getEntryAsString(entry.toString()));
+    }
+
     @Test
     public void testHeaderColums() throws IOException {
         final TableColumnImpl x = this.newTC("x");
@@ -615,7 +695,7 @@ public class TableAppenderTest {
         EasyMock.expect(this.tm.getCustomValueByAttribute()).andReturn(null);
         EasyMock.expect(this.tm.getProtection()).andReturn(null);
         EasyMock.expect(this.tm.getColumns())
-                .andReturn(FastFullList.newList(x, x, x, x, x, y, y, y, x, x));
+                .andReturn(TableColumns.of(x, x, x, x, x, y, y, y, x, x));
         EasyMock.expect(this.tm.getHeaderColumnsCount()).andReturn(2);
         EasyMock.expect(this.tm.getForms()).andReturn(Collections.<XMLConvertible>emptyList());
         EasyMock.expect(this.tm.getShapes()).andReturn(Collections.<Shape>emptyList());
@@ -657,7 +737,7 @@ public class TableAppenderTest {
         EasyMock.expect(this.tm.getForms()).andReturn(Collections.<XMLConvertible>emptyList());
         EasyMock.expect(this.tm.getShapes()).andReturn(Collections.<Shape>emptyList());
         EasyMock.expect(this.tm.getColumns())
-                .andReturn(FastFullList.<TableColumnImpl>newListWithCapacity(1));
+                .andReturn(new TableColumns());
 
         PowerMock.replayAll();
         this.tableAppender.appendOpenTagAndPreamble(this.xmlUtil, sb);
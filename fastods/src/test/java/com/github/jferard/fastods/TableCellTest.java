@@ -23,6 +23,7 @@
  */
 package com.github.jferard.fastods;
 
+import com.github.jferard.fastods.attribute.CellType;
 import com.github.jferard.fastods.attribute.SimpleLength;
 import com.github.jferard.fastods.datastyle.BooleanStyle;
 import com.github.jferard.fastods.datastyle.BooleanStyleBuilder;
@@ -41,6 +42,7 @@ import com.github.jferard.fastods.style.TableCellStyle;
 import com.github.jferard.fastods.style.TextStyle;
 import com.github.jferard.fastods.testlib.DomTester;
 import com.github.jferard.fastods.util.IntegerRepresentationCache;
+import com.github.jferard.fastods.util.XMLSink;
 import com.github.jferard.fastods.util.XMLUtil;
 import org.easymock.EasyMock;
 import org.junit.Assert;
@@ -52,11 +54,13 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.text.ParseException;
 import java.util.Calendar;
 import java.util.Locale;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest(TableColdCell.class)
+@PrepareForTest({TableColdCell.class, ColumnWidthEstimator.class})
 public class TableCellTest {
     private static final long TIME_IN_MILLIS = 1234567891011L;
     private static final int COLUMN_INDEX = 11;
@@ -314,6 +318,56 @@ public class TableCellTest {
                         "office:value=\"9.999\"/>");
     }
 
+    @Test
+    public final void testFloatLong() throws IOException {
+        PowerMock.resetAll();
+        this.cell.setFloatValue(12345678901L);
+        PowerMock.replayAll();
+        PowerMock.verifyAll();
+        this.assertCellXMLEquals(
+                "<table:table-cell office:value-type=\"float\" " +
+                        "office:value=\"12345678901\"/>");
+    }
+
+    @Test
+    public final void testFloatNumberLong() throws IOException {
+        PowerMock.resetAll();
+        this.cell.setFloatValue(Long.valueOf(-7L));
+        PowerMock.replayAll();
+        PowerMock.verifyAll();
+        this.assertCellXMLEquals(
+                "<table:table-cell office:value-type=\"float\" " +
+                        "office:value=\"-7\"/>");
+    }
+
+    @Test
+    public final void testFloatDoubleThenNumber() {
+        final ColumnWidthEstimator estimator = PowerMock.createMock(ColumnWidthEstimator.class);
+        PowerMock.resetAll();
+        EasyMock.expect(this.table.findDefaultCellStyle(COLUMN_INDEX)).andReturn(this.tcs);
+        estimator.addNumber(COLUMN_INDEX, CellType.FLOAT, 10.25, null, this.tcs);
+
+        PowerMock.replayAll();
+        this.cell.setFloatValue(1.5);
+        this.cell.setFloatValue(new BigDecimal("10.25"));
+        ((TableCellImpl) this.cell).addToWidthEstimator(estimator);
+
+        PowerMock.verifyAll();
+    }
+
+    @Test
+    public final void testFloatDoubleSink() throws IOException {
+        PowerMock.resetAll();
+        this.cell.setFloatValue(0.1);
+        PowerMock.replayAll();
+        final XMLSink sink = XMLSink.create();
+        this.cell.appendXMLToTableRow(this.xmlUtil, sink);
+        PowerMock.verifyAll();
+        DomTester.assertEquals(
+                "<table:table-cell office:value-type=\"float\" " +
+                        "office:value=\"0.1\"/>", sink.toString());
+    }
+
     private void playAndReplayFloatNullStyle() {
         final TableCellStyle cs = PowerMock.createMock(TableCellStyle.class);
 
@@ -546,6 +600,135 @@ public class TableCellTest {
                         "</table:table-cell>");
     }
 
+    @Test
+    public final void testHyperlink() throws IOException {
+        PowerMock.resetAll();
+        PowerMock.replayAll();
+        this.cell.setHyperlink("a & b", "https://example.com/?a=1&b=2");
+
+        PowerMock.verifyAll();
+        this.assertCellXMLEquals(
+                "<table:table-cell office:value-type=\"string\" " +
+                        "office:string-value=\"a &amp; b\"><text:p>" +
+                        "<text:a xlink:href=\"https://example.com/?a=1&amp;b=2\" " +
+                        "xlink:type=\"simple\">a &amp; b</text:a></text:p>" +
+                        "</table:table-cell>");
+    }
+
+    @Test
+    public final void testStyledHyperlink() throws IOException {
+        PowerMock.resetAll();
+        EasyMock.expect(this.stc.addContentFontFaceContainerStyle(TextStyle.DEFAULT_TEXT_STYLE))
+                .andReturn(true);
+
+        PowerMock.replayAll();
+        this.cell.setHyperlink("link", TextStyle.DEFAULT_TEXT_STYLE, "#Sheet2");
+
+        PowerMock.verifyAll();
+        this.assertCellXMLEquals(
+                "<table:table-cell office:value-type=\"string\" " +
+                        "office:string-value=\"link\"><text:p>" +
+                        "<text:a text:style-name=\"Default\" xlink:href=\"#Sheet2\" " +
+                        "xlink:type=\"simple\">link</text:a></text:p>" +
+                        "</table:table-cell>");
+    }
+
+    @Test
+    public final void testStyledText() throws IOException {
+        PowerMock.resetAll();
+        EasyMock.expect(this.stc.addContentFontFaceContainerStyle(TextStyle.DEFAULT_TEXT_STYLE))
+                .andReturn(true);
+
+        PowerMock.replayAll();
+        this.cell.setStyledText("text", TextStyle.DEFAULT_TEXT_STYLE);
+
+        PowerMock.verifyAll();
+        this.assertCellXMLEquals(
+                "<table:table-cell office:value-type=\"string\" office:string-value=\"text\">" +
+                        "<text:p><text:span " +
+                        "text:style-name=\"Default\">text</text:span></text:p>" +
+                        "</table:table-cell>");
+    }
+
+    @Test
+    public final void testMultilineText() throws IOException {
+        PowerMock.resetAll();
+        PowerMock.replayAll();
+        this.cell.setMultilineText("a\n\nb");
+
+        PowerMock.verifyAll();
+        this.assertCellXMLEquals(
+                "<table:table-cell office:value-type=\"string\" " +
+                        "office:string-value=\"a&#10;&#10;b\">" +
+                        "<text:p>a</text:p><text:p/><text:p>b</text:p>" +
+                        "</table:table-cell>");
+    }
+
+    @Test
+    public final void testHyperlinkThenTooltip() throws IOException {
+        PowerMock.resetAll();
+        EasyMock.expect(TableColdCell.create(EasyMock.eq(this.xmlUtil))).andReturn(this.tcc);
+
+        PowerMock.replayAll();
+        this.cell.setHyperlink("a<b", "https://example.com");
+        this.cell.setTooltip("tip");
+
+        PowerMock.verifyAll();
+        this.assertCellXMLEquals(
+                "<table:table-cell office:value-type=\"string\" " +
+                        "office:string-value=\"a&lt;b\"><text:p>" +
+                        "<text:a xlink:href=\"https://example.com\" " +
+                        "xlink:type=\"simple\">a&lt;b</text:a></text:p>" +
+                        "<office:annotation><text:p>tip</text:p></office:annotation>" +
+                        "</table:table-cell>");
+    }
+
+    @Test
+    public final void testHyperlinkThenString() throws IOException {
+        PowerMock.resetAll();
+        PowerMock.replayAll();
+        this.cell.setHyperlink("link", "https://example.com");
+        this.cell.setStringValue("text");
+
+        PowerMock.verifyAll();
+        this.assertCellXMLEquals(
+                "<table:table-cell office:value-type=\"string\" " +
+                        "office:string-value=\"text\"/>");
+    }
+
+    @Test
+    public final void testHyperlinkThenFloat() throws IOException {
+        PowerMock.resetAll();
+        EasyMock.expect(TableColdCell.create(EasyMock.eq(this.xmlUtil))).andReturn(this.tcc);
+
+        PowerMock.replayAll();
+        this.cell.setHyperlink("x", "http://a");
+        this.cell.setFloatValue(3.0);
+
+        PowerMock.verifyAll();
+        this.assertCellXMLEquals(
+                "<table:table-cell office:value-type=\"float\" office:value=\"3.0\">" +
+                        "<text:p><text:a xlink:href=\"http://a\" " +
+                        "xlink:type=\"simple\">x</text:a></text:p>" +
+                        "</table:table-cell>");
+    }
+
+    @Test
+    public final void testMultilineTextThenDecimal() throws IOException {
+        PowerMock.resetAll();
+        EasyMock.expect(TableColdCell.create(EasyMock.eq(this.xmlUtil))).andReturn(this.tcc);
+
+        PowerMock.replayAll();
+        this.cell.setMultilineText("a\nb");
+        this.cell.setFloatValue(new BigDecimal("1.50"));
+
+        PowerMock.verifyAll();
+        this.assertCellXMLEquals(
+                "<table:table-cell office:value-type=\"float\" office:value=\"1.50\">" +
+                        "<text:p>a</text:p><text:p>b</text:p>" +
+                        "</table:table-cell>");
+    }
+
     @Test
     public final void testString() throws IOException {
         PowerMock.resetAll();
@@ -675,6 +858,61 @@ public class TableCellTest {
         this.assertCellXMLEquals("<table:table-cell table:formula=\"of:=1\"/>");
     }
 
+    @Test
+    public final void testFormulaTemplate() throws IOException, ParseException {
+        final FormulaTemplate template = FormulaTemplate.create("[.A1]*[.B1]", 0, 2);
+
+        PowerMock.resetAll();
+        PowerMock.replayAll();
+        this.cell.setFormula(template);
+
+        PowerMock.verifyAll();
+        Assert.assertTrue(this.cell.hasValue());
+        this.assertCellXMLEquals(
+                "<table:table-cell table:formula=\"of:=[.J11]*[.K11]\"/>");
+    }
+
+    @Test
+    public final void testFormulaWithCachedValue() throws IOException {
+        PowerMock.resetAll();
+        EasyMock.expect(TableColdCell.create(EasyMock.eq(this.xmlUtil))).andReturn(this.tcc);
+
+        PowerMock.replayAll();
+        this.cell.setFormula("1+1", new FloatValue(2));
+
+        PowerMock.verifyAll();
+        this.assertCellXMLEquals("<table:table-cell office:value-type=\"float\" " +
+                "office:value=\"2\" table:formula=\"of:=1+1\"/>");
+    }
+
+    @Test
+    public final void testFormulaTemplateWithCachedValue() throws IOException, ParseException {
+        final FormulaTemplate template = FormulaTemplate.create("[.A1]&\"!\"", 0, 1);
+
+        PowerMock.resetAll();
+        PowerMock.replayAll();
+        this.cell.setFormula(template, new StringValue("x!"));
+
+        PowerMock.verifyAll();
+        this.assertCellXMLEquals("<table:table-cell office:value-type=\"string\" " +
+                "office:string-value=\"x!\" table:formula=\"of:=[.K11]&amp;&quot;!&quot;\"/>");
+    }
+
+    @Test
+    public final void testFormulaTemplateReplacesFormula() throws IOException, ParseException {
+        final FormulaTemplate template = FormulaTemplate.create("[.A1]", 0, 0);
+
+        PowerMock.resetAll();
+        EasyMock.expect(TableColdCell.create(EasyMock.eq(this.xmlUtil))).andReturn(this.tcc);
+
+        PowerMock.replayAll();
+        this.cell.setFormula("1");
+        this.cell.setFormula(template);
+
+        PowerMock.verifyAll();
+        this.assertCellXMLEquals("<table:table-cell table:formula=\"of:=[.L11]\"/>");
+    }
+
     @Test
     public final void testColumnsSpanned() throws IOException {
         PowerMock.resetAll();
@@ -992,7 +1230,7 @@ public class TableCellTest {
         cold.setMatrixRowsSpanned(1);
         cold.setMatrixColumnsSpanned(1);
         EasyMock.expect(cold.isCovered()).andReturn(false);
-        cold.appendXMLToTable(EasyMock.eq(this.xmlUtil), EasyMock.isA(Appendable.class));
+        cold.appendXMLToTable(EasyMock.eq(this.xmlUtil), EasyMock.isA(XMLSink.class));
 
         PowerMock.replayAll();
         this.cell.setMatrixFormula("f");
@@ -1012,7 +1250,7 @@ public class TableCellTest {
         cold.setMatrixRowsSpanned(2);
         cold.setMatrixColumnsSpanned(3);
         EasyMock.expect(cold.isCovered()).andReturn(true);
-        cold.appendXMLToTable(EasyMock.eq(this.xmlUtil), EasyMock.isA(Appendable.class));
+        cold.appendXMLToTable(EasyMock.eq(this.xmlUtil), EasyMock.isA(XMLSink.class));
 
         PowerMock.replayAll();
         this.cell.setMatrixFormula("f", 2, 3);
@@ -1022,6 +1260,21 @@ public class TableCellTest {
         Assert.assertEquals("<table:covered-table-cell", cellXML);
     }
 
+    @Test
+    public final void testSetMatrixSpannedWithCachedValue() throws IOException {
+        PowerMock.resetAll();
+        EasyMock.expect(TableColdCell.create(EasyMock.eq(this.xmlUtil))).andReturn(this.tcc);
+
+        PowerMock.replayAll();
+        this.cell.setMatrixFormula("f", 2, 3, new FloatValue(2));
+
+        PowerMock.verifyAll();
+        this.assertCellXMLEquals("<table:table-cell office:value-type=\"float\" " +
+                "office:value=\"2\" table:formula=\"of:=f\" " +
+                "table:number-matrix-rows-spanned=\"2\" " +
+                "table:number-matrix-columns-spanned=\"3\"/>");
+    }
+
     @Test
     public void testAppendXML() throws IOException {
         PowerMock.resetAll();
@@ -31,6 +31,7 @@ import com.github.jferard.fastods.datastyle.DataStyles;
 import com.github.jferard.fastods.style.TableCellStyle;
 import com.github.jferard.fastods.style.TableColumnStyle;
 import com.github.jferard.fastods.style.TableRowStyle;
+import com.github.jferard.fastods.style.TextStyle;
 import com.github.jferard.fastods.util.Validation;
 import com.github.jferard.fastods.util.XMLUtil;
 import org.easymock.EasyMock;
@@ -40,6 +41,7 @@ import org.junit.Test;
 import org.powermock.api.easymock.PowerMock;
 
 import java.io.IOException;
+import java.text.ParseException;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
@@ -238,6 +240,26 @@ public class TableCellWalkerTest {
         PowerMock.verifyAll();
     }
 
+    @Test
+    public final void testCompactTexts() throws IOException {
+        PowerMock.resetAll();
+        this.to(0, 8);
+        this.cell.setHyperlink("a", "b");
+        this.cell.setHyperlink("a", TextStyle.DEFAULT_TEXT_STYLE, "b");
+        this.cell.setStyledText("a", TextStyle.DEFAULT_TEXT_STYLE);
+        this.cell.setMultilineText("a\nb");
+
+        PowerMock.replayAll();
+        this.cellWalker = new TableCellWalker(this.table);
+        this.cellWalker.to(8);
+        this.cellWalker.setHyperlink("a", "b");
+        this.cellWalker.setHyperlink("a", TextStyle.DEFAULT_TEXT_STYLE, "b");
+        this.cellWalker.setStyledText("a", TextStyle.DEFAULT_TEXT_STYLE);
+        this.cellWalker.setMultilineText("a\nb");
+
+        PowerMock.verifyAll();
+    }
+
     @Test
     public final void testCellMerge() throws IOException {
         PowerMock.resetAll();
@@ -318,6 +340,21 @@ public class TableCellWalkerTest {
         PowerMock.verifyAll();
     }
 
+    @Test
+    public final void testMatrixFormulaWithCachedValue() throws IOException {
+        final CellValue cachedValue = new FloatValue(1);
+
+        PowerMock.resetAll();
+        this.initWalker(0);
+        this.cell.setMatrixFormula("f", 5, 4, cachedValue);
+
+        PowerMock.replayAll();
+        this.cellWalker = new TableCellWalker(this.table);
+        this.cellWalker.setMatrixFormula("f", 5, 4, cachedValue);
+
+        PowerMock.verifyAll();
+    }
+
     @Test
     public final void testStringValue() throws IOException {
         PowerMock.resetAll();
@@ -415,6 +452,36 @@ public class TableCellWalkerTest {
         PowerMock.verifyAll();
     }
 
+    @Test
+    public final void testFormulaTemplate() throws IOException, ParseException {
+        final FormulaTemplate template = FormulaTemplate.create("[.A1]", 0, 0);
+        PowerMock.resetAll();
+        this.to(0, 10);
+        this.cell.setFormula(template);
+
+        PowerMock.replayAll();
+        this.cellWalker = new TableCellWalker(this.table);
+        this.cellWalker.to(10);
+        this.cellWalker.setFormula(template);
+
+        PowerMock.verifyAll();
+    }
+
+    @Test
+    public final void testFormulaWithCachedValue() throws IOException {
+        final CellValue value = new FloatValue(2);
+        PowerMock.resetAll();
+        this.to(0, 10);
+        this.cell.setFormula("1+1", value);
+
+        PowerMock.replayAll();
+        this.cellWalker = new TableCellWalker(this.table);
+        this.cellWalker.to(10);
+        this.cellWalker.setFormula("1+1", value);
+
+        PowerMock.verifyAll();
+    }
+
     @Test
     public final void testIsCovered() throws IOException {
         PowerMock.resetAll();
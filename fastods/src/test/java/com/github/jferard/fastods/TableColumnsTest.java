@@ -0,0 +1,126 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.style.TableColumnStyle;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TableColumnsTest {
+    private TableColumns columns;
+    private TableColumnStyle x;
+    private TableColumnStyle y;
+
+    @Before
+    public void setUp() {
+        this.columns = new TableColumns();
+        this.x = TableColumnStyle.builder("x").build();
+        this.y = TableColumnStyle.builder("y").build();
+    }
+
+    @Test
+    public void testEmpty() {
+        Assert.assertEquals(0, this.columns.usedSize());
+        Assert.assertEquals(0, this.columns.getRunCount());
+        Assert.assertEquals(1024, this.columns.getColumnCount());
+        Assert.assertNull(this.columns.get(0));
+    }
+
+    @Test
+    public void testColumnCount() {
+        this.columns.setColumnCount(16384);
+        Assert.assertEquals(16384, this.columns.getColumnCount());
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> this.columns.setColumnCount(0));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> this.columns.setColumnCount(16385));
+    }
+
+    @Test
+    public void testInvalidRanges() {
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> this.columns.setColumnStyle(-1, 2, this.x));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> this.columns.setColumnStyle(2, 2, this.x));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> this.columns.setColumnStyle(0, 16385, this.x));
+    }
+
+    @Test
+    public void testWideRange() {
+        this.columns.setColumnStyle(0, 16384, this.x);
+        Assert.assertEquals(16384, this.columns.usedSize());
+        Assert.assertEquals(1, this.columns.getRunCount());
+        Assert.assertEquals(this.x, this.columns.get(16383).getColumnStyle());
+    }
+
+    @Test
+    public void testSplitAndMerge() {
+        this.columns.setColumnStyle(2, 10, this.x);
+        Assert.assertEquals(2, this.columns.getRunCount());
+        Assert.assertNull(this.columns.get(1));
+        Assert.assertEquals(this.x, this.columns.get(2).getColumnStyle());
+
+        this.columns.setColumnStyle(5, 6, this.y);
+        Assert.assertEquals(4, this.columns.getRunCount());
+        Assert.assertEquals(5, this.columns.getRunEnd(1));
+        Assert.assertEquals(6, this.columns.getRunEnd(2));
+        Assert.assertEquals(this.y, this.columns.get(5).getColumnStyle());
+        Assert.assertEquals(this.x, this.columns.get(6).getColumnStyle());
+
+        this.columns.setColumnStyle(5, 6, this.x);
+        Assert.assertEquals(2, this.columns.getRunCount());
+        Assert.assertEquals(10, this.columns.getRunEnd(1));
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        final TableCellStyle cellStyle = TableCellStyle.builder("c").build();
+        this.columns.setColumnStyle(0, 4, this.x);
+        final TableColumnImpl column = this.columns.get(0);
+        this.columns.setColumnDefaultCellStyle(1, 2, cellStyle);
+        this.columns.setColumnAttribute(3, 4, "attr", "value");
+
+        Assert.assertEquals(4, this.columns.getRunCount());
+        Assert.assertSame(column, this.columns.get(0));
+        Assert.assertNull(column.getColumnDefaultCellStyle());
+        Assert.assertEquals(cellStyle, this.columns.get(1).getColumnDefaultCellStyle());
+        Assert.assertEquals(this.x, this.columns.get(3).getColumnStyle());
+        Assert.assertNotEquals(column, this.columns.get(3));
+    }
+
+    @Test
+    public void testOf() {
+        final TableColumnImpl column = new TableColumnImpl();
+        column.setColumnStyle(this.x);
+        final TableColumns tableColumns = TableColumns.of(null, null, column, column);
+        Assert.assertEquals(4, tableColumns.usedSize());
+        Assert.assertEquals(2, tableColumns.getRunCount());
+        Assert.assertNull(tableColumns.getRunColumn(0));
+        Assert.assertEquals(column, tableColumns.getRunColumn(1));
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.datastyle.DataStylesBuilder;
+import com.github.jferard.fastods.odselement.StylesContainerImpl;
+import com.github.jferard.fastods.testlib.DomTester;
+import com.github.jferard.fastods.util.IntegerRepresentationCache;
+import com.github.jferard.fastods.util.Validation;
+import com.github.jferard.fastods.util.XMLUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.powermock.api.easymock.PowerMock;
+
+import java.io.IOException;
+import java.util.Locale;
+
+public class TableDecorationsTest {
+    private TableDecorations decorations;
+    private XMLUtil xmlUtil;
+    private Validation validation;
+    private ValidationsContainer vc;
+
+    @Before
+    public void setUp() {
+        this.decorations = new TableDecorations();
+        this.xmlUtil = XMLUtil.create();
+        this.validation = Validation.builder("v").dontAllowEmptyCells().build();
+        this.vc = PowerMock.createMock(ValidationsContainer.class);
+    }
+
+    @Test
+    public void testEmpty() {
+        Assert.assertTrue(this.decorations.isEmpty());
+        Assert.assertNull(this.decorations.getSegments(0));
+    }
+
+    @Test
+    public void testInvalidRanges() {
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> this.decorations.add(2, 0, 1, 0, CellDecoration.attribute("a", "b")));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> this.decorations.add(0, 3, 1, 2, CellDecoration.attribute("a", "b")));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> this.decorations.add(-1, 0, 1, 0, CellDecoration.attribute("a", "b")));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> this.decorations.add(0, 0, 1, 16384, CellDecoration.attribute("a", "b")));
+    }
+
+    @Test
+    public void testSegments() {
+        this.decorations.add(0, 1, 9, 4, CellDecoration.attribute("a", "1"));
+        this.decorations.add(5, 3, 19, 6, CellDecoration.attribute("b", "2"));
+
+        final TableDecorations.Segments segments = this.decorations.getSegments(7);
+        Assert.assertEquals(3, segments.size());
+        Assert.assertEquals(1, segments.getStart(0));
+        Assert.assertEquals(2, segments.getEnd(0));
+        Assert.assertEquals(3, segments.getStart(1));
+        Assert.assertEquals(4, segments.getEnd(1));
+        Assert.assertEquals(5, segments.getStart(2));
+        Assert.assertEquals(6, segments.getEnd(2));
+        Assert.assertEquals(6, segments.getLastColumn());
+        Assert.assertNull(segments.getDecorationAt(0));
+        Assert.assertSame(segments.getDecoration(1), segments.getDecorationAt(4));
+        Assert.assertNull(segments.getDecorationAt(7));
+    }
+
+    @Test
+    public void testSegmentsCache() {
+        this.decorations.add(0, 1, 9, 4, CellDecoration.attribute("a", "1"));
+        this.decorations.add(5, 3, 19, 6, CellDecoration.attribute("b", "2"));
+
+        Assert.assertEquals(4, this.decorations.getLastRowWithSameSegments(0));
+        Assert.assertEquals(9, this.decorations.getLastRowWithSameSegments(5));
+        Assert.assertSame(this.decorations.getSegments(5), this.decorations.getSegments(9));
+        Assert.assertEquals(1, this.decorations.getSegments(10).size());
+        Assert.assertNull(this.decorations.getSegments(20));
+        Assert.assertEquals(Long.MAX_VALUE, this.decorations.getLastRowWithSameSegments(20));
+    }
+
+    @Test
+    public void testBlankRow() throws IOException {
+        this.decorations.add(0, 1, 9, 2, CellDecoration.validation(this.validation));
+        this.decorations.add(0, 2, 9, 3, CellDecoration.attribute("a", "1"));
+
+        this.assertRowXMLEquals("<table:table-row table:style-name=\"ro1\">" +
+                "<table:table-cell/>" +
+                "<table:table-cell table:content-validation-name=\"v\"/>" +
+                "<table:table-cell a=\"1\" table:content-validation-name=\"v\"/>" +
+                "<table:table-cell a=\"1\"/>" +
+                "</table:table-row>", this.newRow(5));
+    }
+
+    @Test
+    public void testRepeatedBlankCells() throws IOException {
+        this.decorations.add(0, 0, 9, 99, CellDecoration.attribute("a", "1"));
+        final TableRowImpl row = this.newRow(0);
+        row.getOrCreateCell(3).setStringValue("x");
+
+        this.assertRowXMLEquals("<table:table-row table:style-name=\"ro1\">" +
+                "<table:table-cell table:number-columns-repeated=\"3\" a=\"1\"/>" +
+                "<table:table-cell office:value-type=\"string\" office:string-value=\"x\" " +
+                "a=\"1\"/>" +
+                "<table:table-cell table:number-columns-repeated=\"96\" a=\"1\"/>" +
+                "</table:table-row>", row);
+    }
+
+    @Test
+    public void testCellHasPrecedence() throws IOException {
+        final Validation other = Validation.builder("w").dontAllowEmptyCells().build();
+        this.decorations.add(0, 0, 9, 0, CellDecoration.validation(this.validation));
+        this.decorations.add(0, 0, 9, 0, CellDecoration.attribute("a", "1"));
+        this.decorations.add(0, 0, 9, 0, CellDecoration.attribute("b", "2"));
+        final TableRowImpl row = this.newRow(0);
+
+        PowerMock.resetAll();
+        this.vc.addValidation(other);
+
+        PowerMock.replayAll();
+        final TableCell cell = row.getOrCreateCell(0);
+        cell.setValidation(other);
+        cell.setAttribute("a", "3");
+
+        PowerMock.verifyAll();
+        this.assertRowXMLEquals("<table:table-row table:style-name=\"ro1\">" +
+                "<table:table-cell b=\"2\" a=\"3\" table:content-validation-name=\"w\"/>" +
+                "</table:table-row>", row);
+    }
+
+    @Test
+    public void testTooltip() throws IOException {
+        this.decorations.add(0, 1, 9, 1,
+                CellDecoration.tooltip(Tooltip.builder(this.xmlUtil, "tip").build()));
+        final TableRowImpl row = this.newRow(0);
+        row.getOrCreateCell(1).setStringValue("x");
+
+        this.assertRowXMLEquals("<table:table-row table:style-name=\"ro1\">" +
+                "<table:table-cell/>" +
+                "<table:table-cell office:value-type=\"string\" office:string-value=\"x\">" +
+                "<office:annotation><text:p>tip</text:p></office:annotation>" +
+                "</table:table-cell>" +
+                "</table:table-row>", row);
+    }
+
+    @Test
+    public void testUndecoratedRow() throws IOException {
+        this.decorations.add(0, 1, 9, 1, CellDecoration.attribute("a", "1"));
+
+        this.assertRowXMLEquals("<table:table-row table:style-name=\"ro1\">" +
+                "<table:table-cell/>" +
+                "</table:table-row>", this.newRow(10));
+    }
+
+    private TableRowImpl newRow(final int rowIndex) {
+        return new TableRowImpl(IntegerRepresentationCache.create(), this.xmlUtil,
+                PowerMock.createMock(StylesContainerImpl.class),
+                DataStylesBuilder.create(Locale.US).build(), false,
+                PowerMock.createMock(Table.class), rowIndex, 100, this.vc, this.decorations, 0);
+    }
+
+    private void assertRowXMLEquals(final String xml, final TableRowImpl row)
+            throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        row.appendXMLToTable(this.xmlUtil, sb);
+        DomTester.assertEquals(xml, sb.toString());
+    }
+}
@@ -35,7 +35,6 @@ import com.github.jferard.fastods.style.TableCellStyle;
 import com.github.jferard.fastods.style.TableColumnStyle;
 import com.github.jferard.fastods.style.TableStyle;
 import com.github.jferard.fastods.testlib.DomTester;
-import com.github.jferard.fastods.util.FastFullList;
 import com.github.jferard.fastods.util.IntegerRepresentationCache;
 import com.github.jferard.fastods.util.Protection;
 import com.github.jferard.fastods.util.SVGRectangle;
@@ -47,6 +46,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.powermock.api.easymock.PowerMock;
 
+import java.io.File;
 import java.io.IOException;
 import java.text.ParseException;
 import java.util.ArrayList;
@@ -376,6 +376,142 @@ public class TableModelTest {
         PowerMock.verifyAll();
     }
 
+    @Test
+    public void testNotifyFreesRows() throws IOException {
+        final NamedOdsFileWriter o = PowerMock.createMock(NamedOdsFileWriter.class);
+
+        PowerMock.resetAll();
+        o.update(EasyMock.isA(BeginTableFlusher.class));
+        o.update(EasyMock.isA(PreprocessedRowsFlusher.class));
+
+        PowerMock.replayAll();
+        this.model.setFlushPolicy(FlushPolicy.rows(3));
+        this.model.addObserver(o);
+        for (int r = 0; r < 4; r++) {
+            this.model.getRow(this.table, this.appender, r);
+        }
+
+        PowerMock.verifyAll();
+        Assert.assertNull(this.model.getTableRow(0));
+        Assert.assertNull(this.model.getTableRow(2));
+        Assert.assertNotNull(this.model.getTableRow(3));
+        Assert.assertEquals(4, this.model.getRowCount());
+    }
+
+    @Test
+    public void testColumnAutoWidthDefersPreamble() throws IOException {
+        final NamedOdsFileWriter o = PowerMock.createMock(NamedOdsFileWriter.class);
+
+        PowerMock.resetAll();
+        EasyMock.expect(this.stc.addContentStyle(EasyMock.isA(TableColumnStyle.class)))
+                .andReturn(true).anyTimes();
+        EasyMock.expect(this.table.findDefaultCellStyle(EasyMock.anyInt()))
+                .andReturn(TableCellStyle.DEFAULT_CELL_STYLE).anyTimes();
+
+        PowerMock.replayAll();
+        this.model.setColumnAutoWidth(ColumnAutoWidth.DEFAULT);
+        this.model.setFlushPolicy(FlushPolicy.rows(3));
+        this.model.addObserver(o);
+        for (int r = 0; r < 3; r++) {
+            final TableRowImpl row = this.model.getRow(this.table, this.appender, r);
+            row.getOrCreateCell(0).setStringValue("a");
+            row.getOrCreateCell(2).setStringValue("a much longer text " + r);
+        }
+
+        PowerMock.verifyAll();
+        Assert.assertEquals(0, this.model.getColumns().usedSize());
+
+        PowerMock.resetAll();
+        EasyMock.expect(this.table.findDefaultCellStyle(EasyMock.anyInt()))
+                .andReturn(TableCellStyle.DEFAULT_CELL_STYLE).anyTimes();
+        o.update(EasyMock.isA(BeginTableFlusher.class));
+        o.update(EasyMock.isA(PreprocessedRowsFlusher.class));
+
+        PowerMock.replayAll();
+        this.model.getRow(this.table, this.appender, 3);
+
+        PowerMock.verifyAll();
+        final TableColumns columns = this.model.getColumns();
+        Assert.assertEquals("co-aw75", columns.get(0).getColumnStyle().getName());
+        Assert.assertNull(columns.get(1));
+        Assert.assertTrue(ColumnAutoWidth.DEFAULT.isAutoStyle(columns.get(2).getColumnStyle()));
+        Assert.assertNotEquals("co-aw75", columns.get(2).getColumnStyle().getName());
+    }
+
+    @Test
+    public void testReservedRows() throws IOException {
+        final NamedOdsFileWriter o = PowerMock.createMock(NamedOdsFileWriter.class);
+
+        PowerMock.resetAll();
+        o.update(EasyMock.isA(BeginTableFlusher.class));
+        this.appender.deferRows(EasyMock.eq(this.xmlUtil), EasyMock.<File>isNull(),
+                EasyMock.anyInt(),
+                EasyMock.<List<TableRowImpl>>anyObject());
+        EasyMock.expectLastCall().times(2); // rows 2 and 3-5
+        o.update(EasyMock.isA(ReservedRowsFlusher.class));
+        o.update(EasyMock.isA(EndTableFlusher.class));
+
+        PowerMock.replayAll();
+        this.model.setFlushPolicy(FlushPolicy.rows(3));
+        this.model.setReservedRowCount(2);
+        this.model.addObserver(o);
+        for (int r = 0; r < 7; r++) {
+            this.model.getRow(this.table, this.appender, r);
+        }
+        final TableRowImpl summaryRow = this.model.getRow(this.table, this.appender, 0);
+        this.model.asyncFlushEndTable(this.appender);
+
+        PowerMock.verifyAll();
+        Assert.assertEquals(2, this.model.getReservedRowCount());
+        Assert.assertSame(summaryRow, this.model.getTableRow(0));
+        Assert.assertNotNull(this.model.getTableRow(1));
+        Assert.assertThrows(IllegalStateException.class,
+                () -> this.model.setReservedRowCount(1));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> this.model.setReservedRowCount(-1));
+    }
+
+    @Test
+    public void testNotifyByteBudget() throws IOException {
+        final NamedOdsFileWriter o = PowerMock.createMock(NamedOdsFileWriter.class);
+
+        PowerMock.resetAll();
+        o.update(EasyMock.isA(BeginTableFlusher.class));
+        o.update(EasyMock.isA(PreprocessedRowsFlusher.class));
+
+        PowerMock.replayAll();
+        this.model.setFlushPolicy(FlushPolicy.bytes(1000));
+        this.model.addObserver(o);
+        final TableRowImpl row = this.model.getRow(this.table, this.appender, 0);
+        for (int c = 0; c < 10; c++) {
+            row.getOrCreateCell(c).setStringValue("0123456789");
+        }
+        this.model.getRow(this.table, this.appender, 1); // flush row 0
+        this.model.getRow(this.table, this.appender, 2); // row 1 is small
+        this.model.getRow(this.table, this.appender, 3);
+
+        PowerMock.verifyAll();
+    }
+
+    @Test
+    public void testNotifyInterval() throws IOException, InterruptedException {
+        final NamedOdsFileWriter o = PowerMock.createMock(NamedOdsFileWriter.class);
+
+        PowerMock.resetAll();
+        o.update(EasyMock.isA(BeginTableFlusher.class));
+        o.update(EasyMock.isA(PreprocessedRowsFlusher.class));
+
+        PowerMock.replayAll();
+        this.model.setFlushPolicy(FlushPolicy.builder().maxRows(Integer.MAX_VALUE)
+                .maxIntervalMillis(20).build());
+        this.model.addObserver(o);
+        this.model.getRow(this.table, this.appender, 0);
+        Thread.sleep(40);
+        this.model.getRow(this.table, this.appender, 1);
+
+        PowerMock.verifyAll();
+    }
+
     @Test
     public final void testFindDefaultCellStyle() {
         PowerMock.resetAll();
@@ -422,7 +558,7 @@ public class TableModelTest {
 
         PowerMock.replayAll();
         this.model.setColumnAttribute(1, "attr", "value");
-        final FastFullList<TableColumnImpl> columns = this.model.getColumns();
+        final TableColumns columns = this.model.getColumns();
 
         PowerMock.verifyAll();
         final StringBuilder sb = new StringBuilder();
@@ -471,7 +607,7 @@ public class TableModelTest {
         this.model.setColumnDefaultCellStyle(1, cellStyle);
 
         PowerMock.verifyAll();
-        final FastFullList<TableColumnImpl> columns = this.model.getColumns();
+        final TableColumns columns = this.model.getColumns();
         Assert.assertEquals(2, columns.usedSize());
         Assert.assertNull(columns.get(0));
         Assert.assertEquals(cellStyle, columns.get(1).getColumnDefaultCellStyle());
@@ -33,6 +33,7 @@ import com.github.jferard.fastods.style.TableRowStyle;
 import com.github.jferard.fastods.testlib.DomTester;
 import com.github.jferard.fastods.util.IntegerRepresentationCache;
 import com.github.jferard.fastods.util.Validation;
+import com.github.jferard.fastods.util.XMLSink;
 import com.github.jferard.fastods.util.XMLUtil;
 import org.easymock.EasyMock;
 import org.junit.Assert;
@@ -314,6 +315,69 @@ public class TableRowTest {
                 "</table:table-row>");
     }
 
+    @Test
+    public final void testCachedXMLReused() throws IOException {
+        final TableRowStyle trs = PowerMock.createMock(TableRowStyle.class);
+
+        PowerMock.resetAll();
+        EasyMock.expect(this.stc.addContentStyle(trs)).andReturn(true);
+        trs.appendStyleNameAttribute(EasyMock.eq(this.xmlUtil), EasyMock.isA(Appendable.class));
+
+        PowerMock.replayAll();
+        this.row.setRowStyle(trs);
+        this.row.getOrCreateCell(1).setStringValue("a");
+        final XMLSink sb1 = XMLSink.create();
+        this.row.appendCachedXMLToTable(this.xmlUtil, sb1);
+        final XMLSink sb2 = XMLSink.create();
+        this.row.appendCachedXMLToTable(this.xmlUtil, sb2);
+
+        PowerMock.verifyAll();
+        Assert.assertEquals(sb1.toString(), sb2.toString());
+    }
+
+    @Test
+    public final void testCachedXMLCellModified() throws IOException {
+        PowerMock.resetAll();
+        PowerMock.replayAll();
+        final TableCell cell = this.row.getOrCreateCell(1);
+        cell.setStringValue("a");
+        final XMLSink sb1 = XMLSink.create();
+        this.row.appendCachedXMLToTable(this.xmlUtil, sb1);
+        cell.setStringValue("b");
+        final XMLSink sb2 = XMLSink.create();
+        this.row.appendCachedXMLToTable(this.xmlUtil, sb2);
+        this.row.setRowAttribute("foo", "bar");
+        final XMLSink sb3 = XMLSink.create();
+        this.row.appendCachedXMLToTable(this.xmlUtil, sb3);
+
+        PowerMock.verifyAll();
+        DomTester.assertEquals("<table:table-row table:style-name=\"ro1\">" +
+                "<table:table-cell/>" +
+                "<table:table-cell office:value-type=\"string\" office:string-value=\"b\"/>" +
+                "</table:table-row>", sb2.toString());
+        DomTester.assertEquals("<table:table-row table:style-name=\"ro1\" foo=\"bar\">" +
+                "<table:table-cell/>" +
+                "<table:table-cell office:value-type=\"string\" office:string-value=\"b\"/>" +
+                "</table:table-row>", sb3.toString());
+    }
+
+    @Test
+    public final void testCachedXMLCustomCell() throws IOException {
+        final WritableTableCell cell = PowerMock.createMock(WritableTableCell.class);
+
+        PowerMock.resetAll();
+        EasyMock.expect(cell.hasValue()).andReturn(true).times(2);
+        cell.appendXMLToTableRow(EasyMock.eq(this.xmlUtil), EasyMock.isA(Appendable.class));
+        EasyMock.expectLastCall().times(2);
+
+        PowerMock.replayAll();
+        this.row.set(0, cell);
+        this.row.appendCachedXMLToTable(this.xmlUtil, XMLSink.create());
+        this.row.appendCachedXMLToTable(this.xmlUtil, XMLSink.create());
+
+        PowerMock.verifyAll();
+    }
+
     private void assertTableXMLEquals(final String xml) throws IOException {
         final StringBuilder sb = new StringBuilder();
         this.row.appendXMLToTable(this.xmlUtil, sb);
@@ -40,6 +40,7 @@ import com.github.jferard.fastods.util.AutoFilter;
 import com.github.jferard.fastods.util.IntegerRepresentationCache;
 import com.github.jferard.fastods.util.Protection;
 import com.github.jferard.fastods.util.SVGRectangle;
+import com.github.jferard.fastods.util.Validation;
 import com.github.jferard.fastods.util.XMLUtil;
 import org.easymock.Capture;
 import org.easymock.EasyMock;
@@ -88,6 +89,44 @@ public class TableTest {
         this.tableWithMockModel = new Table("test", this.ce, this.model, this.appender);
     }
 
+    @Test
+    public final void testSetFormulaTemplate() throws IOException, ParseException {
+        final FormulaTemplate template = FormulaTemplate.create("[.A1]*[.B1]", 0, 2);
+
+        PowerMock.resetAll();
+        PowerMock.replayAll();
+        this.table.setFormula(template, 0, 2, 2, 2);
+
+        PowerMock.verifyAll();
+        final StringBuilder sb = new StringBuilder();
+        this.table.getRow(1).appendXMLToTable(this.xmlUtil, sb);
+        DomTester.assertEquals("<table:table-row table:style-name=\"ro1\">" +
+                "<table:table-cell table:number-columns-repeated=\"2\"/>" +
+                "<table:table-cell table:formula=\"of:=[.A2]*[.B2]\"/>" +
+                "</table:table-row>", sb.toString());
+    }
+
+    @Test
+    public final void testRangeDecorations() throws IOException {
+        final Validation validation = Validation.builder("v").dontAllowEmptyCells().build();
+
+        PowerMock.resetAll();
+        PowerMock.replayAll();
+        this.table.setValidation(0, 1, 4, 2, validation);
+        this.table.setColumnCellAttribute(2, "a", "1");
+        this.table.getRow(1).getOrCreateCell(1).setStringValue("x");
+
+        PowerMock.verifyAll();
+        final StringBuilder sb = new StringBuilder();
+        this.table.getRow(1).appendXMLToTable(this.xmlUtil, sb);
+        DomTester.assertEquals("<table:table-row table:style-name=\"ro1\">" +
+                "<table:table-cell/>" +
+                "<table:table-cell office:value-type=\"string\" office:string-value=\"x\" " +
+                "table:content-validation-name=\"v\"/>" +
+                "<table:table-cell a=\"1\" table:content-validation-name=\"v\"/>" +
+                "</table:table-row>", sb.toString());
+    }
+
     @Test
     public final void testContentEntry() throws IOException {
         final List<TableColumnStyle> tcss = new ArrayList<TableColumnStyle>(4);
@@ -185,6 +224,36 @@ public class TableTest {
         Assert.assertEquals(7, rowCount);
     }
 
+    @Test
+    public final void testRangeDecorationsOfUntouchedRows() throws IOException {
+        final Validation validation = Validation.builder("v").dontAllowEmptyCells().build();
+
+        PowerMock.resetAll();
+        PowerMock.replayAll();
+        this.table.setValidation(1, 1, 5, 1, validation);
+        this.table.getRow(3).getOrCreateCell(0).setStringValue("x");
+
+        PowerMock.verifyAll();
+        final String DECORATED = "<table:table-cell/>" +
+                "<table:table-cell table:content-validation-name=\"v\"/>";
+        this.assertTableXMLEquals("<table:table table:name=\"my_table\" table:style-name=\"ta1\" " +
+                "table:print=\"false\">" +
+                "<table:table-column table:style-name=\"co1\" " +
+                "table:number-columns-repeated=\"1024\" " +
+                "table:default-cell-style-name=\"Default\"/>" +
+                "<table:table-row table:style-name=\"ro1\">" +
+                "<table:table-cell/></table:table-row>" +
+                "<table:table-row table:number-rows-repeated=\"2\" table:style-name=\"ro1\">" +
+                DECORATED + "</table:table-row>" +
+                "<table:table-row table:style-name=\"ro1\">" +
+                "<table:table-cell office:value-type=\"string\" office:string-value=\"x\"/>" +
+                "<table:table-cell table:content-validation-name=\"v\"/>" +
+                "</table:table-row>" +
+                "<table:table-row table:number-rows-repeated=\"2\" table:style-name=\"ro1\">" +
+                DECORATED + "</table:table-row>" +
+                "</table:table>");
+    }
+
     @Test
     public final void testRowsSpanned() throws IOException {
         PowerMock.resetAll();
@@ -305,6 +374,7 @@ public class TableTest {
         final Capture<AutoFilter> af = EasyMock.newCapture();
 
         PowerMock.resetAll();
+        EasyMock.expect(this.model.getFirstRowIndex()).andReturn(0);
         this.ce.addAutoFilter(EasyMock.capture(af));
 
         PowerMock.replayAll();
@@ -316,6 +386,23 @@ public class TableTest {
                 "table:target-range-address=\"test.C2:test.E4\"/>", af.getValue());
     }
 
+    @Test
+    public final void testAddAutoFilterSplicedTable() throws IOException {
+        final Capture<AutoFilter> af = EasyMock.newCapture();
+
+        PowerMock.resetAll();
+        EasyMock.expect(this.model.getFirstRowIndex()).andReturn(10);
+        this.ce.addAutoFilter(EasyMock.capture(af));
+
+        PowerMock.replayAll();
+        this.tableWithMockModel.addAutoFilter("range", 1, 2, 3, 4);
+
+        PowerMock.verifyAll();
+        TestHelper.assertXMLEquals("<table:database-range table:name=\"range\" " +
+                "table:display-filter-buttons=\"true\" " +
+                "table:target-range-address=\"test.C12:test.E14\"/>", af.getValue());
+    }
+
     @Test
     public final void testAsyncFlushBeginTable() throws IOException {
         PowerMock.resetAll();
@@ -0,0 +1,253 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.odselement.OdsElements;
+import com.github.jferard.fastods.util.XMLUtil;
+import org.easymock.EasyMock;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.powermock.api.easymock.PowerMock;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+
+public class TemplateContentSplicerTest {
+    private static final String PROLOG = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+            "<office:document-content xmlns:office=\"o\" xmlns:table=\"t\">";
+    private static final String OTHER_TABLE = "<table:table table:name=\"other\">" +
+            "<table:table-row><table:table-cell/></table:table-row></table:table>";
+    private static final String TITLE_ROW = "<table:table-row>" +
+            "<table:table-cell office:value-type=\"string\" office:string-value=\"title\"/>" +
+            "</table:table-row>";
+    private static final String EMPTY_ROW = "<table:table-row table:number-rows-repeated=\"5\">" +
+            "<table:table-cell table:number-columns-repeated=\"3\"/></table:table-row>";
+
+    private XMLUtil util;
+    private OdsElements odsElements;
+    private Table table;
+
+    @Before
+    public void setUp() {
+        this.util = XMLUtil.create();
+        this.odsElements = PowerMock.createMock(OdsElements.class);
+        this.table = PowerMock.createMock(Table.class);
+    }
+
+    @Test
+    public void testSplice() throws IOException {
+        final String template = PROLOG +
+                "<office:automatic-styles><style:style style:name=\"ce1\"/>" +
+                "</office:automatic-styles><office:body><office:spreadsheet>" + OTHER_TABLE +
+                "<table:table table:name=\"data\"><table:table-column/>" + TITLE_ROW +
+                EMPTY_ROW + "\n" + EMPTY_ROW + "</table:table>" + OTHER_TABLE +
+                "</office:spreadsheet></office:body></office:document-content>";
+
+        final String expected = PROLOG +
+                "<office:automatic-styles><style:style style:name=\"ce1\"/><STYLES/>" +
+                "</office:automatic-styles><office:body><office:spreadsheet>" + OTHER_TABLE +
+                "<table:table table:name=\"data\"><table:table-column/>" + TITLE_ROW +
+                "<ROWS/></table:table>" + OTHER_TABLE +
+                "</office:spreadsheet></office:body></office:document-content>";
+        Assert.assertEquals(expected, this.splice("data", template));
+    }
+
+    @Test
+    public void testSpliceKeepInnerEmptyRows() throws IOException {
+        final String template = PROLOG +
+                "<office:automatic-styles/><office:body><office:spreadsheet>" +
+                "<table:table table:name=\"data\">" + EMPTY_ROW + "<!-- a comment -->" +
+                TITLE_ROW + EMPTY_ROW + "<table:named-expressions/></table:table>" +
+                "</office:spreadsheet></office:body></office:document-content>";
+
+        final String expected = PROLOG +
+                "<office:automatic-styles><STYLES/></office:automatic-styles>" +
+                "<office:body><office:spreadsheet>" +
+                "<table:table table:name=\"data\">" + EMPTY_ROW + "<!-- a comment -->" +
+                TITLE_ROW + "<ROWS/><table:named-expressions/></table:table>" +
+                "</office:spreadsheet></office:body></office:document-content>";
+        Assert.assertEquals(expected, this.splice("data", template));
+    }
+
+    @Test
+    public void testSpliceEmptyTableNoStyles() throws IOException {
+        final String template = PROLOG +
+                "<office:body><office:spreadsheet><table:table table:name='a&amp;b'/>" +
+                "</office:spreadsheet></office:body></office:document-content>";
+
+        final String expected = PROLOG +
+                "<office:automatic-styles><STYLES/></office:automatic-styles>" +
+                "<office:body><office:spreadsheet><table:table table:name='a&amp;b'>" +
+                "<ROWS/></table:table>" +
+                "</office:spreadsheet></office:body></office:document-content>";
+        Assert.assertEquals(expected, this.splice("a&b", template));
+    }
+
+    @Test
+    public void testSpliceNestedRow() throws IOException {
+        final String nestedRow = "<table:table-row><table:table-cell>" +
+                "<table:table><table:table-row><table:table-cell/></table:table-row>" +
+                "</table:table><text:p> </text:p></table:table-cell></table:table-row>";
+        final String template = PROLOG +
+                "<office:automatic-styles/><office:body><office:spreadsheet>" +
+                "<table:table table:name=\"data\">" + nestedRow + TITLE_ROW + "</table:table>" +
+                "</office:spreadsheet></office:body></office:document-content>";
+
+        final String expected = PROLOG +
+                "<office:automatic-styles><STYLES/></office:automatic-styles>" +
+                "<office:body><office:spreadsheet>" +
+                "<table:table table:name=\"data\">" + nestedRow + TITLE_ROW +
+                "<ROWS/></table:table>" +
+                "</office:spreadsheet></office:body></office:document-content>";
+        Assert.assertEquals(expected, this.splice("data", template));
+    }
+
+    @Test
+    public void testSpliceStylesDeclaredInTemplate() throws IOException {
+        final String template = PROLOG +
+                "<office:automatic-styles><style:style style:name=\"ro1\" " +
+                "style:family=\"table-row\"><style:table-row-properties/></style:style>" +
+                "<number:number-style style:name=\"N0\"><number:number/></number:number-style>" +
+                "</office:automatic-styles><office:body><office:spreadsheet>" +
+                "<table:table table:name=\"data\"/>" +
+                "</office:spreadsheet></office:body></office:document-content>";
+        final String styles = "<style:style style:name=\"ro1\" style:family=\"table-row\">" +
+                "<style:table-row-properties style:row-height=\"1cm\"/></style:style>" +
+                "<style:style style:name=\"ro1\" style:family=\"table-cell\"/>" +
+                "<number:number-style style:name=\"N0\"><number:number/></number:number-style>" +
+                "<number:date-style style:name=\"N1\"><number:day/></number:date-style>";
+
+        final String expected = PROLOG +
+                "<office:automatic-styles><style:style style:name=\"ro1\" " +
+                "style:family=\"table-row\"><style:table-row-properties/></style:style>" +
+                "<number:number-style style:name=\"N0\"><number:number/></number:number-style>" +
+                "<style:style style:name=\"ro1\" style:family=\"table-cell\"/>" +
+                "<number:date-style style:name=\"N1\"><number:day/></number:date-style>" +
+                "</office:automatic-styles><office:body><office:spreadsheet>" +
+                "<table:table table:name=\"data\"><ROWS/></table:table>" +
+                "</office:spreadsheet></office:body></office:document-content>";
+        Assert.assertEquals(expected, this.splice("data", template, styles));
+    }
+
+    @Test(expected = IOException.class)
+    public void testSpliceStylesCollision() throws IOException {
+        final String template = PROLOG +
+                "<office:automatic-styles>" +
+                "<number:number-style style:name=\"N0\"><number:number/></number:number-style>" +
+                "</office:automatic-styles><office:body><office:spreadsheet>" +
+                "<table:table table:name=\"data\"/>" +
+                "</office:spreadsheet></office:body></office:document-content>";
+        final String styles =
+                "<number:date-style style:name=\"N0\"><number:day/></number:date-style>";
+        this.splice("data", template, styles);
+    }
+
+    @Test
+    public void testFindFirstRowIndex() throws IOException {
+        final String template = PROLOG + "<office:body><office:spreadsheet>" + OTHER_TABLE +
+                "<table:table table:name=\"data\"><table:table-column/>" + TITLE_ROW +
+                EMPTY_ROW + TITLE_ROW + "<table:table-row table:number-rows-repeated=\"2\">" +
+                "<table:table-cell office:value-type=\"float\" office:value=\"1\"/>" +
+                "</table:table-row>" + EMPTY_ROW + "\n" + EMPTY_ROW + "</table:table>" +
+                OTHER_TABLE + "</office:spreadsheet></office:body></office:document-content>";
+        Assert.assertEquals(9, this.findFirstRowIndex("data", template));
+    }
+
+    @Test
+    public void testFindFirstRowIndexEmptyTable() throws IOException {
+        final String template = PROLOG + "<office:body><office:spreadsheet>" + OTHER_TABLE +
+                "<table:table table:name=\"data\"/>" +
+                "</office:spreadsheet></office:body></office:document-content>";
+        Assert.assertEquals(0, this.findFirstRowIndex("data", template));
+    }
+
+    @Test(expected = IOException.class)
+    public void testFindFirstRowIndexMissingSheet() throws IOException {
+        final String template = PROLOG + "<office:body><office:spreadsheet>" + OTHER_TABLE +
+                "</office:spreadsheet></office:body></office:document-content>";
+        this.findFirstRowIndex("data", template);
+    }
+
+    @Test(expected = IOException.class)
+    public void testMissingSheet() throws IOException {
+        final String template = PROLOG +
+                "<office:automatic-styles/><office:body><office:spreadsheet>" + OTHER_TABLE +
+                "</office:spreadsheet></office:body></office:document-content>";
+        this.splice("data", template);
+    }
+
+    @Test
+    public void testUnescape() {
+        Assert.assertEquals("a<b>&\"c'd", TemplateTokenizer
+                .unescape("a&lt;b&gt;&amp;&quot;c&apos;d"));
+        Assert.assertEquals("AB", TemplateTokenizer.unescape("&#65;&#x42;"));
+        Assert.assertEquals("&foo;", TemplateTokenizer.unescape("&foo;"));
+    }
+
+    private int findFirstRowIndex(final String sheetName, final String template)
+            throws IOException {
+        PowerMock.resetAll();
+        EasyMock.expect(this.table.getName()).andReturn(sheetName).anyTimes();
+
+        PowerMock.replayAll();
+        final int firstRowIndex = new TemplateContentSplicer(this.util, this.odsElements,
+                this.table).findFirstRowIndex(new StringReader(template));
+
+        PowerMock.verifyAll();
+        return firstRowIndex;
+    }
+
+    private String splice(final String sheetName, final String template) throws IOException {
+        return this.splice(sheetName, template, "<STYLES/>");
+    }
+
+    private String splice(final String sheetName, final String template, final String styles)
+            throws IOException {
+        PowerMock.resetAll();
+        EasyMock.expect(this.table.getName()).andReturn(sheetName).anyTimes();
+        this.odsElements.writeSplicedAutomaticStyles(EasyMock.eq(this.util),
+                EasyMock.isA(Appendable.class));
+        EasyMock.expectLastCall().andAnswer(() -> {
+            ((Appendable) EasyMock.getCurrentArguments()[1]).append(styles);
+            return null;
+        }).times(0, 1);
+        this.table.appendRowsXMLContent(EasyMock.eq(this.util), EasyMock.isA(Writer.class));
+        EasyMock.expectLastCall().andAnswer(() -> {
+            ((Writer) EasyMock.getCurrentArguments()[1]).append("<ROWS/>");
+            return null;
+        }).times(0, 1);
+
+        PowerMock.replayAll();
+        final StringWriter writer = new StringWriter();
+        new TemplateContentSplicer(this.util, this.odsElements, this.table)
+                .splice(new StringReader(template), writer);
+
+        PowerMock.verifyAll();
+        return writer.toString();
+    }
+}
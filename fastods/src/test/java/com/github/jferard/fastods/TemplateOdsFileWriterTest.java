@@ -0,0 +1,231 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.style.TableCellStyle;
+import com.github.jferard.fastods.util.RawZipReader;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+public class TemplateOdsFileWriterTest {
+    private OdsFactory odsFactory;
+    private File template;
+
+    @Before
+    public void setUp() throws IOException {
+        this.odsFactory = OdsFactory.create(Logger.getLogger("template"), Locale.US);
+        final AnonymousOdsFileWriter writer = this.odsFactory.createWriter();
+        final OdsDocument document = writer.document();
+        final Table table = document.addTable("data");
+        table.getRow(0).getOrCreateCell(0).setStringValue("the title");
+        table.getRow(3); // trailing empty rows
+        document.addTable("other").getRow(0).getOrCreateCell(0).setStringValue("other value");
+        this.template = File.createTempFile("fastods-template", ".ods");
+        this.template.deleteOnExit();
+        writer.saveAs(this.template.getPath());
+    }
+
+    @Test
+    public void testSave() throws IOException {
+        final TemplateOdsFileWriter writer =
+                this.odsFactory.createTemplateWriter(this.template, "data");
+        final Table table = writer.getTable();
+        Assert.assertEquals("data", table.getName());
+        final TableRowImpl row = table.getRow(0);
+        row.getOrCreateCell(0).setStringValue("a value");
+        row.getOrCreateCell(1).setFloatValue(10.5);
+
+        final File out = File.createTempFile("fastods-filled", ".ods");
+        out.deleteOnExit();
+        writer.saveAs(out.getPath());
+
+        final ZipFile templateZip = new ZipFile(this.template);
+        final ZipFile outZip = new ZipFile(out);
+        try {
+            Assert.assertEquals(this.getNames(templateZip), this.getNames(outZip));
+            for (final String name : this.getNames(templateZip)) {
+                if (name.equals(TemplateOdsFileWriter.CONTENT_XML)) {
+                    continue;
+                }
+                final ZipEntry expected = templateZip.getEntry(name);
+                final ZipEntry actual = outZip.getEntry(name);
+                Assert.assertEquals(name, expected.getMethod(), actual.getMethod());
+                Assert.assertEquals(name, expected.getCrc(), actual.getCrc());
+                Assert.assertEquals(name, expected.getCompressedSize(),
+                        actual.getCompressedSize());
+            }
+            final String content = this.read(outZip, TemplateOdsFileWriter.CONTENT_XML);
+            final int titleIndex = content.indexOf("the title");
+            final int valueIndex = content.indexOf("a value");
+            Assert.assertTrue(titleIndex >= 0);
+            Assert.assertTrue(valueIndex > titleIndex);
+            Assert.assertTrue(content.indexOf("office:value=\"10.5\"") > valueIndex);
+            Assert.assertTrue(content.indexOf("other value") > valueIndex);
+            // the automatic styles of the template are not duplicated
+            Assert.assertEquals(content.indexOf("style:name=\"ro1\""),
+                    content.lastIndexOf("style:name=\"ro1\""));
+        } finally {
+            templateZip.close();
+            outZip.close();
+        }
+    }
+
+    @Test
+    public void testSaveRelativeFormula() throws IOException, ParseException {
+        final TemplateOdsFileWriter writer =
+                this.odsFactory.createTemplateWriter(this.template, "data");
+        Assert.assertEquals(1, writer.getFirstRowIndex());
+        final Table table = writer.getTable();
+        Assert.assertEquals(1, table.getFirstRowIndex());
+        final TableRowImpl row = table.getRow(0);
+        row.getOrCreateCell(0).setFloatValue(1);
+        row.getOrCreateCell(1).setFloatValue(2);
+        row.getOrCreateCell(2).setFormula(FormulaTemplate.create("[.A1]+[.B1]", 0, 2));
+
+        final File out = File.createTempFile("fastods-filled", ".ods");
+        out.deleteOnExit();
+        writer.saveAs(out.getPath());
+
+        final ZipFile outZip = new ZipFile(out);
+        try {
+            final String content = this.read(outZip, TemplateOdsFileWriter.CONTENT_XML);
+            // the row 0 of the table is the row 1 (A2) of the sheet
+            Assert.assertTrue(content.contains("table:formula=\"of:=[.A2]+[.B2]\""));
+        } finally {
+            outZip.close();
+        }
+    }
+
+    @Test
+    public void testSaveCommonStyles() throws IOException {
+        final TemplateOdsFileWriter writer =
+                this.odsFactory.createTemplateWriter(this.template, "data");
+        final TableCellStyle boldStyle =
+                TableCellStyle.builder("bold").fontWeightBold().build();
+        final TableCell cell = writer.getTable().getRow(0).getOrCreateCell(0);
+        cell.setStringValue("a bold value");
+        cell.setStyle(boldStyle);
+
+        final File out = File.createTempFile("fastods-filled", ".ods");
+        out.deleteOnExit();
+        writer.saveAs(out.getPath());
+
+        final ZipFile outZip = new ZipFile(out);
+        try {
+            final String styles = this.read(outZip, TemplateOdsFileWriter.STYLES_XML);
+            final int boldIndex = styles.indexOf("style:name=\"bold\"");
+            Assert.assertTrue(boldIndex > styles.indexOf("<office:styles>"));
+            Assert.assertTrue(boldIndex < styles.indexOf("</office:styles>"));
+            // the default style of the template is not duplicated
+            Assert.assertEquals(styles.indexOf("style:name=\"Default\" style:family"),
+                    styles.lastIndexOf("style:name=\"Default\" style:family"));
+            final String content = this.read(outZip, TemplateOdsFileWriter.CONTENT_XML);
+            Assert.assertTrue(content.contains("table:style-name=\"bold\""));
+        } finally {
+            outZip.close();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testSaveCommonStyleCollision() throws IOException {
+        final AnonymousOdsFileWriter templateWriter = this.odsFactory.createWriter();
+        final Table templateTable = templateWriter.document().addTable("data");
+        templateTable.getRow(0).getOrCreateCell(0).setStyle(
+                TableCellStyle.builder("emphasis").fontWeightBold().build());
+        final File styledTemplate = File.createTempFile("fastods-template", ".ods");
+        styledTemplate.deleteOnExit();
+        templateWriter.saveAs(styledTemplate.getPath());
+
+        final TemplateOdsFileWriter writer =
+                this.odsFactory.createTemplateWriter(styledTemplate, "data");
+        writer.getTable().getRow(0).getOrCreateCell(0).setStyle(
+                TableCellStyle.builder("emphasis").fontStyleItalic().build());
+        writer.save(new ByteArrayOutputStream());
+    }
+
+    @Test(expected = IOException.class)
+    public void testMissingSheet() throws IOException {
+        final TemplateOdsFileWriter writer =
+                this.odsFactory.createTemplateWriter(this.template, "missing");
+        writer.save(new ByteArrayOutputStream());
+    }
+
+    @Test
+    public void testMimetypeFirstAndStored() throws IOException {
+        final TemplateOdsFileWriter writer =
+                this.odsFactory.createTemplateWriter(this.template, "data");
+        final File out = File.createTempFile("fastods-filled", ".ods");
+        out.deleteOnExit();
+        writer.saveAs(out.getPath());
+
+        final RawZipReader reader = RawZipReader.open(out);
+        try {
+            Assert.assertEquals("mimetype", reader.getEntries().get(0).getName());
+            Assert.assertEquals(ZipEntry.STORED, reader.getEntries().get(0).getMethod());
+        } finally {
+            reader.close();
+        }
+    }
+
+    private List<String> getNames(final ZipFile zipFile) {
+        final List<String> names = new ArrayList<String>();
+        final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+            names.add(entries.nextElement().getName());
+        }
+        return names;
+    }
+
+    private String read(final ZipFile zipFile, final String name) throws IOException {
+        final InputStream in = zipFile.getInputStream(zipFile.getEntry(name));
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            int count = in.read(buffer);
+            while (count != -1) {
+                out.write(buffer, 0, count);
+                count = in.read(buffer);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods;
+
+import com.github.jferard.fastods.odselement.OdsElements;
+import com.github.jferard.fastods.util.XMLUtil;
+import org.easymock.EasyMock;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.powermock.api.easymock.PowerMock;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+public class TemplateStylesSplicerTest {
+    private static final String PROLOG = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+            "<office:document-styles xmlns:office=\"o\" xmlns:style=\"s\">";
+    private static final String DEFAULT = "<style:style style:name=\"Default\" " +
+            "style:family=\"table-cell\"><style:table-cell-properties/></style:style>";
+    private static final String BOLD = "<style:style style:name=\"bold\" " +
+            "style:family=\"table-cell\"><style:text-properties fo:font-weight=\"bold\"/>" +
+            "</style:style>";
+    private static final String AUTOMATIC_AND_MASTER = "<office:automatic-styles/>" +
+            "<office:master-styles/></office:document-styles>";
+
+    private XMLUtil util;
+    private OdsElements odsElements;
+
+    @Before
+    public void setUp() {
+        this.util = XMLUtil.create();
+        this.odsElements = PowerMock.createMock(OdsElements.class);
+    }
+
+    @Test
+    public void testHasStylesToSplice() throws IOException {
+        Assert.assertFalse(this.hasStylesToSplice(""));
+        Assert.assertFalse(this.hasStylesToSplice(DEFAULT));
+        Assert.assertTrue(this.hasStylesToSplice(DEFAULT + BOLD));
+    }
+
+    @Test
+    public void testSplice() throws IOException {
+        final String template = PROLOG + "<office:styles>" + DEFAULT + "</office:styles>" +
+                AUTOMATIC_AND_MASTER;
+        final String styles = "<style:style style:name=\"Default\" style:family=\"table-cell\"/>" +
+                BOLD;
+
+        final String expected = PROLOG + "<office:styles>" + DEFAULT + BOLD + "</office:styles>" +
+                AUTOMATIC_AND_MASTER;
+        Assert.assertEquals(expected, this.splice(template, styles));
+    }
+
+    @Test
+    public void testSpliceEmptyStyles() throws IOException {
+        final String template = PROLOG + "<office:styles/>" + AUTOMATIC_AND_MASTER;
+
+        final String expected = PROLOG + "<office:styles>" + DEFAULT + BOLD + "</office:styles>" +
+                AUTOMATIC_AND_MASTER;
+        Assert.assertEquals(expected, this.splice(template, DEFAULT + BOLD));
+    }
+
+    @Test
+    public void testSpliceNoStyles() throws IOException {
+        final String template = PROLOG + AUTOMATIC_AND_MASTER;
+
+        final String expected = PROLOG + "<office:styles>" + BOLD + "</office:styles>" +
+                AUTOMATIC_AND_MASTER;
+        Assert.assertEquals(expected, this.splice(template, BOLD));
+    }
+
+    @Test
+    public void testSpliceSameStyle() throws IOException {
+        final String template = PROLOG + "<office:styles>" + BOLD + "</office:styles>" +
+                AUTOMATIC_AND_MASTER;
+
+        Assert.assertEquals(template, this.splice(template, BOLD));
+    }
+
+    @Test(expected = IOException.class)
+    public void testSpliceCollision() throws IOException {
+        final String template = PROLOG + "<office:styles>" + BOLD + "</office:styles>" +
+                AUTOMATIC_AND_MASTER;
+        final String styles = "<style:style style:name=\"bold\" style:family=\"table-cell\">" +
+                "<style:text-properties fo:font-style=\"italic\"/></style:style>";
+        this.splice(template, styles);
+    }
+
+    private boolean hasStylesToSplice(final String styles) throws IOException {
+        PowerMock.resetAll();
+        this.expectStyles(styles);
+
+        PowerMock.replayAll();
+        final boolean hasStylesToSplice =
+                new TemplateStylesSplicer(this.util, this.odsElements).hasStylesToSplice();
+
+        PowerMock.verifyAll();
+        return hasStylesToSplice;
+    }
+
+    private String splice(final String template, final String styles) throws IOException {
+        PowerMock.resetAll();
+        this.expectStyles(styles);
+
+        PowerMock.replayAll();
+        final StringWriter writer = new StringWriter();
+        new TemplateStylesSplicer(this.util, this.odsElements)
+                .splice(new StringReader(template), writer);
+
+        PowerMock.verifyAll();
+        return writer.toString();
+    }
+
+    private void expectStyles(final String styles) throws IOException {
+        this.odsElements.writeSplicedCommonStyles(EasyMock.eq(this.util),
+                EasyMock.isA(Appendable.class));
+        EasyMock.expectLastCall().andAnswer(() -> {
+            ((Appendable) EasyMock.getCurrentArguments()[1]).append(styles);
+            return null;
+        });
+    }
+}
@@ -47,6 +47,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.powermock.api.easymock.PowerMock;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Locale;
 import java.util.Optional;
@@ -142,6 +143,17 @@ public class OdsElementsTest {
         PowerMock.verifyAll();
     }
 
+    @Test
+    public void testAutoCalculate() {
+        PowerMock.resetAll();
+        this.settingsElement.setAutoCalculate(false);
+
+        PowerMock.replayAll();
+        this.odsElements.setAutoCalculate(false);
+
+        PowerMock.verifyAll();
+    }
+
     @Test
     public void testAutofilter() {
         final Table t = PowerMock.createMock(Table.class);
@@ -451,6 +463,41 @@ public class OdsElementsTest {
 
     }
 
+    @Test
+    public final void testAddSharedExtraFile() throws IOException {
+        final ZipUTF8WriterMockHandler handler = ZipUTF8WriterMockHandler.create();
+        final ZipUTF8Writer writer = handler.getInstance(ZipUTF8Writer.class);
+        final byte[] bytes = {'c', 'o', 'n', 't', 'e', 'n', 't'};
+
+        PowerMock.resetAll();
+        this.logger.log(Level.FINER, "Writing extra elements to zip file");
+        this.logger
+                .log(EasyMock.eq(Level.FINEST), EasyMock.eq("Writing ods element: {0} to zip file"),
+                        EasyMock.isA(OdsElement.class));
+        EasyMock.expectLastCall().times(2);
+
+        PowerMock.replayAll();
+        Assert.assertEquals("Pictures/a.png",
+                this.odsElements.addSharedExtraFile("Pictures/a.png", "image/png", bytes));
+        Assert.assertEquals("Pictures/a.png",
+                this.odsElements.addSharedExtraFile("Pictures/b.png", "image/png", bytes.clone()));
+        Assert.assertEquals("Pictures/a.png", this.odsElements
+                .addSharedExtraFile("Pictures/c.png", "image/png",
+                        () -> new ByteArrayInputStream(bytes)));
+        Assert.assertEquals("Pictures/d.png", this.odsElements
+                .addSharedExtraFile("Pictures/d.png", "image/png",
+                        () -> new ByteArrayInputStream(new byte[]{'o', 't', 'h', 'e', 'r'})));
+        this.odsElements.writeExtras(this.util, writer);
+        writer.finish();
+
+        PowerMock.verifyAll();
+        Assert.assertEquals("content",
+                handler.getEntryAsString("StoredOdsEntry[path=Pictures/a.png]"));
+        Assert.assertEquals("other",
+                handler.getEntryAsString("StoredOdsEntry[path=Pictures/d.png]"));
+        Assert.assertEquals(3, handler.getEntryNames().size()); // a, d and the manifest
+    }
+
     @Test
     public final void testSetModes() {
         final Container.Mode mode = Container.Mode.UPDATE;
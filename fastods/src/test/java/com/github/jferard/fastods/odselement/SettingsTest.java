@@ -268,6 +268,17 @@ public class SettingsTest {
                         "</config:config-item-set>", s.getRootBlocks().get(0));
      }
 
+    @Test
+    public void testSetAutoCalculate() {
+        final ConfigItemSet configurationSettings = (ConfigItemSet) this.blocks.get(1);
+        Assert.assertEquals("true",
+                ((ConfigItem) configurationSettings.getByName("AutoCalculate")).getValue());
+
+        this.defaultSettings.setAutoCalculate(false);
+        Assert.assertEquals("false",
+                ((ConfigItem) configurationSettings.getByName("AutoCalculate")).getValue());
+    }
+
     @Test
     public void testSetActiveTable() throws IOException {
         final Table table = PowerMock.createMock(Table.class);
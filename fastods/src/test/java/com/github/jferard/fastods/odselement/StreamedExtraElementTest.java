@@ -0,0 +1,144 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.odselement;
+
+import com.github.jferard.fastods.util.XMLUtil;
+import com.github.jferard.fastods.util.ZipUTF8Writer;
+import com.github.jferard.fastods.util.ZipUTF8WriterImpl;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+public class StreamedExtraElementTest {
+    private static final byte[] DATA = "some data, some data, some data".getBytes();
+
+    private XMLUtil util;
+    private int openCount;
+
+    @Before
+    public void setUp() {
+        this.util = XMLUtil.create();
+        this.openCount = 0;
+    }
+
+    @Test
+    public void testDeflated() throws IOException {
+        final StreamedExtraElement element =
+                new StreamedExtraElement("a.xml", "text/xml", this::open);
+        final ZipEntry entry = this.writeAndGetEntry(element, "a.xml");
+        Assert.assertEquals(ZipEntry.DEFLATED, entry.getMethod());
+        Assert.assertEquals(1, this.openCount);
+    }
+
+    @Test
+    public void testStored() throws IOException {
+        final StreamedExtraElement element =
+                new StreamedExtraElement("Pictures/a.png", "image/png", this::open);
+        final ZipEntry entry = this.writeAndGetEntry(element, "Pictures/a.png");
+        Assert.assertEquals(ZipEntry.STORED, entry.getMethod());
+        Assert.assertEquals(DATA.length, entry.getSize());
+        Assert.assertEquals(2, this.openCount);
+        Assert.assertEquals("StreamedExtraElement[path=Pictures/a.png]", element.toString());
+    }
+
+    @Test
+    public void testPath() throws IOException {
+        final File file = File.createTempFile("fastods-extra", ".jpg");
+        file.deleteOnExit();
+        final Path path = file.toPath();
+        Files.write(path, DATA);
+        final OdsElement element =
+                new StreamedExtraElement("Pictures/a.jpg", "image/jpeg",
+                        () -> Files.newInputStream(path));
+        final ZipEntry entry = this.writeAndGetEntry(element, "Pictures/a.jpg");
+        Assert.assertEquals(ZipEntry.STORED, entry.getMethod());
+    }
+
+    @Test
+    public void testByteArrayStored() throws IOException {
+        final ZipEntry entry =
+                this.writeAndGetEntry(ExtraElement.create("a.zip", "application/zip", DATA),
+                        "a.zip");
+        Assert.assertEquals(ZipEntry.STORED, entry.getMethod());
+        final ZipEntry entry2 =
+                this.writeAndGetEntry(ExtraElement.create("a.txt", "text/plain", DATA),
+                        "a.txt");
+        Assert.assertEquals(ZipEntry.DEFLATED, entry2.getMethod());
+    }
+
+    @Test
+    public void testIsAlreadyCompressed() {
+        Assert.assertTrue(ExtraElement.isAlreadyCompressed("image/PNG"));
+        Assert.assertTrue(ExtraElement.isAlreadyCompressed("image/jpeg"));
+        Assert.assertFalse(ExtraElement.isAlreadyCompressed("image/svg+xml"));
+        Assert.assertFalse(ExtraElement.isAlreadyCompressed(null));
+    }
+
+    private InputStream open() {
+        this.openCount++;
+        return new ByteArrayInputStream(DATA);
+    }
+
+    private ZipEntry writeAndGetEntry(final OdsElement element, final String name)
+            throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ZipUTF8Writer writer = ZipUTF8WriterImpl.builder().build(out);
+        element.write(this.util, writer);
+        writer.finish();
+        writer.close();
+
+        final ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()));
+        try {
+            ZipEntry entry = zis.getNextEntry();
+            while (entry != null) {
+                if (entry.getName().equals(name)) {
+                    final ByteArrayOutputStream data = new ByteArrayOutputStream();
+                    final byte[] buffer = new byte[1024];
+                    int count = zis.read(buffer);
+                    while (count != -1) {
+                        data.write(buffer, 0, count);
+                        count = zis.read(buffer);
+                    }
+                    Assert.assertArrayEquals(DATA, data.toByteArray());
+                    return entry;
+                }
+                entry = zis.getNextEntry();
+            }
+        } finally {
+            zis.close();
+        }
+        throw new AssertionError("No entry " + name);
+    }
+}
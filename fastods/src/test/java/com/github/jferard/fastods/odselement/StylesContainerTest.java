@@ -427,6 +427,24 @@ public class StylesContainerTest {
         PowerMock.verifyAll();
     }
 
+    @Test
+    public void testAddChildCellStyleSameKeys() {
+        PowerMock.resetAll();
+
+        PowerMock.replayAll();
+        final TableCellStyle tcs = TableCellStyle.builder("tcs").build();
+        final TableCellStyle tcs2 = TableCellStyle.builder("tcs").build();
+        final DataStyle ds = new BooleanStyleBuilder("bs", this.locale).build();
+        final DataStyle ds2 = new BooleanStyleBuilder("bs", this.locale).build();
+
+        final TableCellStyle childCellStyle = this.stylesContainer.addChildCellStyle(tcs, ds);
+        Assert.assertSame(childCellStyle, this.stylesContainer.addChildCellStyle(tcs, ds));
+        Assert.assertSame(childCellStyle, this.stylesContainer.addChildCellStyle(tcs2, ds));
+        Assert.assertSame(childCellStyle, this.stylesContainer.addChildCellStyle(tcs, ds2));
+
+        PowerMock.verifyAll();
+    }
+
     @Test
     public void testWriteVisibleDataStyles() throws IOException {
         PowerMock.resetAll();
@@ -0,0 +1,125 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.odselement.config;
+
+import com.github.jferard.fastods.TestHelper;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+public class ConfigItemMapEntryLazySetTest {
+    private ConfigItemMapEntryTemplate template;
+
+    @Before
+    public void setUp() {
+        this.template = ConfigItemMapEntryTemplate
+                .create(new ConfigItem("a", "int", "0"), new ConfigItem("b", "short", "100"));
+    }
+
+    @Test
+    public void testDefault() throws IOException {
+        final ConfigItemMapEntryLazySet entry = this.template.createEntry("t");
+        Assert.assertEquals("t", entry.getName());
+        Assert.assertEquals(2, entry.size());
+        Assert.assertFalse(entry.isEmpty());
+        Assert.assertTrue(entry.contains("a"));
+        Assert.assertFalse(entry.contains("c"));
+        Assert.assertEquals("100", entry.set("b", "100"));
+        Assert.assertNull(entry.set("c", "1"));
+        Assert.assertFalse(entry.isMaterialized());
+
+        final ConfigItemMapEntrySet expected = ConfigItemMapEntrySet.createSet("t");
+        expected.add(new ConfigItem("a", "int", "0"));
+        expected.add(new ConfigItem("b", "short", "100"));
+        Assert.assertEquals(TestHelper.toXML(expected), TestHelper.toXML(entry));
+        Assert.assertFalse(entry.isMaterialized());
+    }
+
+    @Test
+    public void testSet() throws IOException {
+        final ConfigItemMapEntryLazySet entry = this.template.createEntry("t");
+        final ConfigItemMapEntryLazySet entry2 = this.template.createEntry("t2");
+        Assert.assertEquals("100", entry.set("b", "50"));
+        Assert.assertTrue(entry.isMaterialized());
+        Assert.assertEquals("50", ((ConfigItem) entry.getByName("b")).getValue());
+        TestHelper.assertXMLUnsortedEquals(
+                "<config:config-item-map-entry config:name=\"t\">" +
+                        "<config:config-item config:name=\"a\" config:type=\"int\">0" +
+                        "</config:config-item>" +
+                        "<config:config-item config:name=\"b\" config:type=\"short\">50" +
+                        "</config:config-item>" +
+                        "</config:config-item-map-entry>", entry);
+
+        // the template is not modified
+        TestHelper.assertXMLUnsortedEquals(
+                "<config:config-item-map-entry config:name=\"t2\">" +
+                        "<config:config-item config:name=\"a\" config:type=\"int\">0" +
+                        "</config:config-item>" +
+                        "<config:config-item config:name=\"b\" config:type=\"short\">100" +
+                        "</config:config-item>" +
+                        "</config:config-item-map-entry>", entry2);
+    }
+
+    @Test
+    public void testPut() {
+        final ConfigItemMapEntryLazySet entry = this.template.createEntry("t");
+        entry.put(new ConfigItem("a", "int", "1"));
+        Assert.assertTrue(entry.isMaterialized());
+        Assert.assertEquals(2, entry.size());
+        Assert.assertEquals("0", this.template.getValue("a"));
+    }
+
+    @Test
+    public void testAdd() {
+        final ConfigItemMapEntryLazySet entry = this.template.createEntry("t");
+        Assert.assertTrue(entry.add("c", "int", "1"));
+        Assert.assertEquals(3, entry.size());
+        Assert.assertFalse(this.template.contains("c"));
+    }
+
+    @Test
+    public void testRemove() {
+        final ConfigItemMapEntryLazySet entry = this.template.createEntry("t");
+        entry.remove("a");
+        Assert.assertEquals(1, entry.size());
+        Assert.assertEquals(2, this.template.size());
+    }
+
+    @Test
+    public void testIterator() {
+        final ConfigItemMapEntryLazySet entry = this.template.createEntry("t");
+        final Iterator<ConfigBlock> iterator = entry.iterator();
+        Assert.assertTrue(entry.isMaterialized());
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        Assert.assertEquals(2, count);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.style;
+
+import com.github.jferard.fastods.attribute.SimpleColor;
+import com.github.jferard.fastods.datastyle.BooleanStyleBuilder;
+import com.github.jferard.fastods.datastyle.DataStyle;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Locale;
+
+public class TableCellStyleRegistryTest {
+    private TableCellStyleRegistry registry;
+
+    @Before
+    public void setUp() {
+        this.registry = TableCellStyleRegistry.create();
+    }
+
+    @Test
+    public void testSameProperties() {
+        final TableCellStyle style1 = this.red("red-1");
+        final TableCellStyle style2 = this.red("red-2");
+
+        Assert.assertSame(style1, this.registry.canonical(style1));
+        Assert.assertSame(style1, this.registry.canonical(style2));
+        Assert.assertSame(style1, this.registry.canonical(style2));
+        Assert.assertEquals(2, this.registry.size()); // + the default parent style
+    }
+
+    @Test
+    public void testDifferentProperties() {
+        final TableCellStyle style1 = this.red("red");
+        final TableCellStyle style2 = TableCellStyle.builder("red-bold")
+                .backgroundColor(SimpleColor.RED).fontWeightBold().build();
+        final TableCellStyle style3 = TableCellStyle.builder("blue")
+                .backgroundColor(SimpleColor.LIGHTBLUE).build();
+        final TableCellStyle style4 = TableCellStyle.builder("red-hidden")
+                .backgroundColor(SimpleColor.RED).hidden().build();
+
+        Assert.assertSame(style1, this.registry.canonical(style1));
+        Assert.assertSame(style2, this.registry.canonical(style2));
+        Assert.assertSame(style3, this.registry.canonical(style3));
+        Assert.assertSame(style4, this.registry.canonical(style4));
+        Assert.assertEquals(5, this.registry.size()); // + the default parent style
+    }
+
+    @Test
+    public void testDataStyle() {
+        final DataStyle ds1 = new BooleanStyleBuilder("bs1", Locale.US).build();
+        final DataStyle ds2 = new BooleanStyleBuilder("bs2", Locale.US).build();
+        final TableCellStyle style1 = TableCellStyle.builder("s1").dataStyle(ds1).build();
+        final TableCellStyle style2 = TableCellStyle.builder("s2").dataStyle(ds2).build();
+        final TableCellStyle style3 = TableCellStyle.builder("s3").dataStyle(ds1).build();
+
+        Assert.assertSame(style1, this.registry.canonical(style1));
+        Assert.assertSame(style2, this.registry.canonical(style2));
+        Assert.assertSame(style1, this.registry.canonical(style3));
+    }
+
+    @Test
+    public void testParent() {
+        final TableCellStyle parent1 = this.red("parent-1");
+        final TableCellStyle parent2 = this.red("parent-2");
+        final TableCellStyle child1 = TableCellStyle.builder("child-1").parentCellStyle(parent1)
+                .fontWeightBold().build();
+        final TableCellStyle child2 = TableCellStyle.builder("child-2").parentCellStyle(parent2)
+                .fontWeightBold().build();
+
+        Assert.assertSame(parent1, this.registry.canonical(parent1));
+        Assert.assertSame(child1, this.registry.canonical(child1));
+        Assert.assertSame(child1, this.registry.canonical(child2));
+    }
+
+    @Test
+    public void testParentRewritten() {
+        final TableCellStyle parent1 = this.red("parent-1");
+        final TableCellStyle parent2 = this.red("parent-2");
+        final TableCellStyle child2 = TableCellStyle.builder("child-2").parentCellStyle(parent2)
+                .fontWeightBold().build();
+
+        Assert.assertSame(parent1, this.registry.canonical(parent1));
+        final TableCellStyle canonicalChild = this.registry.canonical(child2);
+        Assert.assertNotSame(child2, canonicalChild);
+        Assert.assertEquals("child-2", canonicalChild.getName());
+        Assert.assertSame(parent1, canonicalChild.getParentCellStyle());
+        Assert.assertSame(canonicalChild, this.registry.canonical(child2));
+    }
+
+    private TableCellStyle red(final String name) {
+        return TableCellStyle.builder(name).backgroundColor(SimpleColor.RED).build();
+    }
+}
@@ -51,6 +51,14 @@ public class TableCellStyleTest {
         this.util = XMLUtil.create();
     }
 
+    @Test
+    public final void testAppendStyleNameAttribute() throws IOException {
+        final TableCellStyle tcs = TableCellStyle.builder("cell-1").build();
+        final StringBuilder sb = new StringBuilder();
+        tcs.appendStyleNameAttribute(this.util, sb);
+        Assert.assertEquals(" table:style-name=\"cell-1\"", sb.toString());
+    }
+
     @Test
     public final void testAllBorders() throws IOException {
         final TableCellStyle tcs = TableCellStyle.builder("test")
@@ -63,6 +63,16 @@ public class TableRowStyleTest {
                 ":style>", style);
     }
 
+    @Test
+    public final void testAppendStyleNameAttribute() throws IOException {
+        final TableRowStyle style = TableRowStyle.builder("row-1").build();
+        final StringBuilder sb = new StringBuilder();
+        style.appendStyleNameAttribute(this.util, sb);
+        style.appendStyleNameAttribute(this.util, sb);
+        Assert.assertEquals(" table:style-name=\"row-1\" table:style-name=\"row-1\"",
+                sb.toString());
+    }
+
     @Test
     public final void testGetters() {
         StyleTestHelper.testGettersHidden(TableRowStyle.builder("test"));
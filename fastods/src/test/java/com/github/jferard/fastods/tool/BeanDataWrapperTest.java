@@ -0,0 +1,311 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.tool;
+
+import com.github.jferard.fastods.StringValue;
+import com.github.jferard.fastods.Table;
+import com.github.jferard.fastods.TableCellWalker;
+import com.github.jferard.fastods.style.TableCellStyle;
+import org.easymock.EasyMock;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.powermock.api.easymock.PowerMock;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Locale;
+
+public class BeanDataWrapperTest {
+    private TableCellWalker walker;
+
+    @Before
+    public void setUp() {
+        this.walker = PowerMock.createMock(TableCellWalker.class);
+    }
+
+    @Test
+    public void testPublicBean() throws IOException {
+        final Date date = new Date(0);
+        final BeanDataWrapper<PublicBean> wrapper =
+                BeanDataWrapper.builder(PublicBean.class,
+                        Arrays.asList(new PublicBean("a", 1.5, 2, true, date),
+                                new PublicBean(null, 3.0, 4, false, null)).stream())
+                        .noHeaderStyle().build();
+
+        PowerMock.resetAll();
+        EasyMock.expect(this.walker.rowIndex()).andReturn(0);
+        EasyMock.expect(this.walker.colIndex()).andReturn(0);
+        // header: amount, count, date, name, valid
+        this.walker.setStringValue("amount");
+        this.walker.setStringValue("count");
+        this.walker.setStringValue("date");
+        this.walker.setStringValue("name");
+        this.walker.setStringValue("valid");
+        this.walker.next();
+        EasyMock.expectLastCall().times(12);
+        this.walker.nextRow();
+        EasyMock.expectLastCall().times(3);
+        this.walker.to(0);
+        EasyMock.expectLastCall().times(2);
+        this.walker.setFloatValue(1.5);
+        this.walker.setFloatValue(2);
+        this.walker.setDateValue(date);
+        this.walker.setStringValue("a");
+        this.walker.setBooleanValue(true);
+        this.walker.setFloatValue(3.0);
+        this.walker.setFloatValue(4);
+        this.walker.setBooleanValue(false);
+
+        PowerMock.replayAll();
+        Assert.assertEquals(5, wrapper.getColumnCount());
+        Assert.assertTrue(wrapper.addToTable(this.walker));
+
+        PowerMock.verifyAll();
+    }
+
+    @Test
+    public void testAnnotatedBean() throws IOException {
+        final TableCellStyle headerStyle = TableCellStyle.builder("h").build();
+        final TableCellStyle redStyle = TableCellStyle.builder("red").build();
+        final Table table = PowerMock.createMock(Table.class);
+        final BeanDataWrapper<AnnotatedBean> wrapper =
+                BeanDataWrapper.builder(AnnotatedBean.class,
+                        Collections.singletonList(new AnnotatedBean()).iterator())
+                        .headerStyle(headerStyle).style("red", redStyle).autoFilter("range")
+                        .build();
+
+        PowerMock.resetAll();
+        EasyMock.expect(this.walker.rowIndex()).andReturn(10);
+        EasyMock.expect(this.walker.colIndex()).andReturn(2);
+        this.walker.setStringValue("Total");
+        this.walker.setStringValue("Label");
+        this.walker.setStringValue("url");
+        this.walker.setStyle(headerStyle);
+        EasyMock.expectLastCall().times(3);
+        this.walker.next();
+        EasyMock.expectLastCall().times(4);
+        this.walker.nextRow();
+        EasyMock.expectLastCall().times(2);
+        this.walker.to(2);
+        this.walker.setFloatValue(10L);
+        this.walker.setStyle(redStyle);
+        this.walker.setStringValue("l");
+        this.walker.setCellValue(new StringValue("fr_FR"));
+        EasyMock.expect(this.walker.rowIndex()).andReturn(11);
+        EasyMock.expect(this.walker.getTable()).andReturn(table);
+        table.addAutoFilter("range", 10, 2, 11, 4);
+
+        PowerMock.replayAll();
+        Assert.assertTrue(wrapper.addToTable(this.walker));
+
+        PowerMock.verifyAll();
+    }
+
+    @Test
+    public void testPackagePrivateBeanNoHeader() throws IOException {
+        final BeanDataWrapper<PrivateBean> wrapper =
+                BeanDataWrapper.builder(PrivateBean.class,
+                        Collections.singletonList(new PrivateBean()).spliterator()).noHeader()
+                        .build();
+
+        PowerMock.resetAll();
+        EasyMock.expect(this.walker.rowIndex()).andReturn(0);
+        EasyMock.expect(this.walker.colIndex()).andReturn(0);
+        this.walker.setFloatValue(7.0);
+        this.walker.next();
+        this.walker.setStringValue("p");
+        this.walker.nextRow();
+
+        PowerMock.replayAll();
+        Assert.assertTrue(wrapper.addToTable(this.walker));
+
+        PowerMock.verifyAll();
+    }
+
+    @Test
+    public void testPrimitiveWidening() throws IOException {
+        final BeanDataWrapper<ShortBean> wrapper =
+                BeanDataWrapper.builder(ShortBean.class,
+                        Collections.singletonList(new ShortBean()).iterator()).noHeader()
+                        .build();
+
+        PowerMock.resetAll();
+        EasyMock.expect(this.walker.rowIndex()).andReturn(0);
+        EasyMock.expect(this.walker.colIndex()).andReturn(0);
+        this.walker.setFloatValue(2.5);
+        this.walker.next();
+        this.walker.setFloatValue(3);
+        this.walker.next();
+        this.walker.setCellValue(new StringValue("c"));
+        this.walker.nextRow();
+
+        PowerMock.replayAll();
+        Assert.assertTrue(wrapper.addToTable(this.walker));
+
+        PowerMock.verifyAll();
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        final BeanDataWrapper<PrivateBean> wrapper =
+                BeanDataWrapper.builder(PrivateBean.class,
+                        Collections.<PrivateBean>emptyList().iterator()).noHeader()
+                        .autoFilter("range").build();
+
+        PowerMock.resetAll();
+        EasyMock.expect(this.walker.rowIndex()).andReturn(0);
+        EasyMock.expect(this.walker.colIndex()).andReturn(0);
+        this.walker.nextRow();
+
+        PowerMock.replayAll();
+        Assert.assertFalse(wrapper.addToTable(this.walker));
+
+        PowerMock.verifyAll();
+    }
+
+    @Test
+    public void testEmptyWithHeader() throws IOException {
+        final BeanDataWrapper<PrivateBean> wrapper =
+                BeanDataWrapper.builder(PrivateBean.class,
+                        Collections.<PrivateBean>emptyList().iterator())
+                        .autoFilter("range").build();
+
+        PowerMock.resetAll();
+        EasyMock.expect(this.walker.rowIndex()).andReturn(0);
+        EasyMock.expect(this.walker.colIndex()).andReturn(0);
+        this.walker.setStringValue(EasyMock.anyString());
+        EasyMock.expectLastCall().times(wrapper.getColumnCount());
+        this.walker.setStyle(EasyMock.<TableCellStyle>anyObject());
+        EasyMock.expectLastCall().times(wrapper.getColumnCount());
+        this.walker.next();
+        EasyMock.expectLastCall().times(wrapper.getColumnCount() - 1);
+        this.walker.nextRow();
+
+        PowerMock.replayAll();
+        Assert.assertTrue(wrapper.addToTable(this.walker));
+
+        PowerMock.verifyAll();
+    }
+
+    @Test
+    public void testUnknownStyle() {
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> BeanDataWrapper.builder(AnnotatedBean.class,
+                        Collections.<AnnotatedBean>emptyList().iterator()).build());
+    }
+
+    public static class PublicBean {
+        private final String name;
+        private final double amount;
+        private final int count;
+        private final boolean valid;
+        private final Date date;
+
+        public PublicBean(final String name, final double amount, final int count,
+                          final boolean valid, final Date date) {
+            this.name = name;
+            this.amount = amount;
+            this.count = count;
+            this.valid = valid;
+            this.date = date;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public double getAmount() {
+            return this.amount;
+        }
+
+        public int getCount() {
+            return this.count;
+        }
+
+        public boolean isValid() {
+            return this.valid;
+        }
+
+        public Date getDate() {
+            return this.date;
+        }
+
+        public static String getStatic() {
+            return "static";
+        }
+
+        public String getWithParam(final int i) {
+            return "param";
+        }
+    }
+
+    public static class AnnotatedBean {
+        @OdsColumn(header = "Total", order = 1, style = "red")
+        public long getTotal() {
+            return 10L;
+        }
+
+        @OdsColumn(header = "Label", order = 2)
+        public String getLabel() {
+            return "l";
+        }
+
+        public Locale getUrl() {
+            return Locale.FRANCE;
+        }
+
+        @OdsColumn(ignore = true)
+        public String getHidden() {
+            return "hidden";
+        }
+    }
+
+    public static class ShortBean {
+        public float getA() {
+            return 2.5f;
+        }
+
+        public short getB() {
+            return 3;
+        }
+
+        public char getC() {
+            return 'c';
+        }
+    }
+
+    static class PrivateBean {
+        public float getF() {
+            return 7.0f;
+        }
+
+        public String getP() {
+            return "p";
+        }
+    }
+}
@@ -100,4 +100,27 @@ public class FastOdsBusTest {
 
         Assert.assertEquals("java.lang.InterruptedException", sb.toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCloseWakesUpConsumer() throws InterruptedException {
+        final FastOdsBus<Integer> b = new FastOdsBus<Integer>();
+        final StringBuilder sb = new StringBuilder();
+        final Thread t1 = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    b.get();
+                } catch (final NoSuchElementException e) {
+                    sb.append("closed");
+                }
+            }
+        };
+        t1.start();
+        Thread.sleep(100);
+        b.close();
+        t1.join(5000);
+
+        Assert.assertFalse(t1.isAlive());
+        Assert.assertEquals("closed", sb.toString());
+    }
+}
@@ -30,6 +30,7 @@ import com.github.jferard.fastods.Table;
 import com.github.jferard.fastods.TestHelper;
 import com.github.jferard.fastods.odselement.ManifestElement;
 import com.github.jferard.fastods.style.GraphicStyle;
+import com.github.jferard.fastods.util.InputStreamSupplier;
 import com.github.jferard.fastods.util.SVGRectangle;
 import com.github.jferard.fastods.util.XMLUtil;
 import org.easymock.Capture;
@@ -43,6 +44,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -66,7 +68,9 @@ public class InsertHelperTest {
         final Capture<DrawFrame> df = EasyMock.newCapture();
 
         PowerMock.resetAll();
-        this.document.addExtraFile("Pictures/dest1.foo", "image/jpeg", new byte[0]);
+        EasyMock.expect(this.document.addSharedExtraFile("Pictures/dest1.foo", "image/jpeg",
+                source.toPath()))
+                .andReturn("Pictures/dest1.foo");
         this.table.addShape(EasyMock.capture(df));
 
         PowerMock.replayAll();
@@ -87,7 +91,9 @@ public class InsertHelperTest {
         final Capture<DrawFrame> df = EasyMock.newCapture();
 
         PowerMock.resetAll();
-        this.document.addExtraFile("Pictures/dest1.foo", "image/foo", new byte[0]);
+        EasyMock.expect(this.document.addSharedExtraFile("Pictures/dest1.foo", "image/foo",
+                new byte[0]))
+                .andReturn("Pictures/dest1.foo");
         this.table.addShape(EasyMock.capture(df));
 
         PowerMock.replayAll();
@@ -102,10 +108,85 @@ public class InsertHelperTest {
                 df.getValue());
     }
 
+    @Test
+    public void testInsertImageSupplier() throws IOException {
+        final SVGRectangle rectangle = SVGRectangle.cm(0, 1, 2, 3);
+        final InputStreamSupplier supplier = () -> new ByteArrayInputStream(new byte[0]);
+        final Capture<DrawFrame> df = EasyMock.newCapture();
+
+        PowerMock.resetAll();
+        EasyMock.expect(this.document.addSharedExtraFile("Pictures/dest1.png", "image/png",
+                supplier))
+                .andReturn("Pictures/dest1.png");
+        this.table.addShape(EasyMock.capture(df));
+
+        PowerMock.replayAll();
+        this.ih.insertImage(this.document, this.table, "frame", supplier, "dest1.png",
+                rectangle);
+
+        PowerMock.verifyAll();
+        TestHelper.assertXMLEquals(
+                "<draw:frame draw:name=\"frame\" draw:z-index=\"0\" svg:x=\"0cm\" svg:y=\"1cm\" svg:width=\"2cm\" svg:height=\"3cm\">" +
+                        "<draw:image xlink:href=\"Pictures/dest1.png\" xlink:type=\"simple\" xlink:show=\"embed\" xlink:actuate=\"onLoad\"/>" +
+                        "</draw:frame>",
+                df.getValue());
+    }
+
+    @Test
+    public void testInsertImageShared() throws IOException {
+        final SVGRectangle rectangle = SVGRectangle.cm(0, 1, 2, 3);
+        final Capture<DrawFrame> df = EasyMock.newCapture();
+
+        PowerMock.resetAll();
+        EasyMock.expect(this.document.addSharedExtraFile("Pictures/dest2.png", "image/png",
+                new byte[0])).andReturn("Pictures/dest1.png");
+        this.table.addShape(EasyMock.capture(df));
+
+        PowerMock.replayAll();
+        this.ih.insertImage(this.document, this.table, "frame",
+                new ByteArrayInputStream(new byte[0]), "dest2.png", rectangle);
+
+        PowerMock.verifyAll();
+        TestHelper.assertXMLEquals(
+                "<draw:frame draw:name=\"frame\" draw:z-index=\"0\" svg:x=\"0cm\" svg:y=\"1cm\" svg:width=\"2cm\" svg:height=\"3cm\">" +
+                        "<draw:image xlink:href=\"Pictures/dest1.png\" xlink:type=\"simple\" xlink:show=\"embed\" xlink:actuate=\"onLoad\"/>" +
+                        "</draw:frame>",
+                df.getValue());
+    }
+
+    @Test
+    public void testCreateDrawFillImagePath() throws IOException {
+        final Path path = File.createTempFile("image1", ".png").toPath();
+
+        PowerMock.resetAll();
+        EasyMock.expect(this.document.addSharedExtraFile("ref.png", "image/png", path))
+                .andReturn("ref.png");
+
+        PowerMock.replayAll();
+        this.ih.createDrawFillImage(this.document, path, "name", "ref.png");
+
+        PowerMock.verifyAll();
+    }
+
+    @Test
+    public void testCreateDrawFillImageSupplier() throws IOException {
+        final InputStreamSupplier supplier = () -> new ByteArrayInputStream(new byte[0]);
+
+        PowerMock.resetAll();
+        EasyMock.expect(this.document.addSharedExtraFile("ref.jpg", "image/jpeg", supplier))
+                .andReturn("ref.jpg");
+
+        PowerMock.replayAll();
+        this.ih.createDrawFillImage(this.document, supplier, "name", "ref.jpg");
+
+        PowerMock.verifyAll();
+    }
+
     @Test
     public void testCreateDrawFillImage() throws IOException {
         PowerMock.resetAll();
-        this.document.addExtraFile("ref", "image/ref", new byte[0]);
+        EasyMock.expect(this.document.addSharedExtraFile("ref", "image/ref", new byte[0]))
+                .andReturn("ref");
 
         PowerMock.replayAll();
         this.ih.createDrawFillImage(this.document, new ByteArrayInputStream(new byte[0]), "name",
@@ -0,0 +1,72 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+public class AsynchronousFileChannelOutputStreamTest {
+    @Test
+    public void testWrite() throws IOException {
+        final File file = File.createTempFile("fastods-async", ".bin");
+        file.deleteOnExit();
+        final AsynchronousFileChannel channel =
+                AsynchronousFileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+        final AsynchronousFileChannelOutputStream out =
+                new AsynchronousFileChannelOutputStream(channel, 0, 7);
+        final byte[] bytes = new byte[1000];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (i * 17);
+        }
+        out.write(bytes[0]);
+        out.write(bytes, 1, 500);
+        out.flush();
+        out.write(bytes, 501, 499);
+        out.close();
+        Assert.assertArrayEquals(bytes, Files.readAllBytes(file.toPath()));
+        Assert.assertFalse(channel.isOpen());
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        final File file = File.createTempFile("fastods-async", ".bin");
+        file.deleteOnExit();
+        final AsynchronousFileChannel channel =
+                AsynchronousFileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+        new AsynchronousFileChannelOutputStream(channel).close();
+        Assert.assertEquals(0, file.length());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBlockSize() throws IOException {
+        new AsynchronousFileChannelOutputStream(null, 0, 0);
+    }
+}
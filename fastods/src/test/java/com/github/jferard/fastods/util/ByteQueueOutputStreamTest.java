@@ -0,0 +1,74 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class ByteQueueOutputStreamTest {
+    @Test
+    public void testDrain() {
+        final ByteQueueOutputStream queue = new ByteQueueOutputStream();
+        Assert.assertTrue(queue.isEmpty());
+        queue.write('a');
+        queue.write(new byte[]{'x', 'b', 'c', 'd', 'y'}, 1, 3);
+        Assert.assertEquals(4, queue.size());
+
+        final ByteBuffer buffer = ByteBuffer.allocate(3);
+        Assert.assertEquals(3, queue.drainTo(buffer));
+        Assert.assertArrayEquals(new byte[]{'a', 'b', 'c'}, buffer.array());
+        Assert.assertEquals(0, queue.drainTo(buffer));
+        Assert.assertEquals(1, queue.size());
+
+        buffer.clear();
+        Assert.assertEquals(1, queue.drainTo(buffer));
+        Assert.assertEquals('d', buffer.get(0));
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testGrow() {
+        final ByteQueueOutputStream queue = new ByteQueueOutputStream();
+        final byte[] bytes = new byte[10000];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        queue.write(bytes, 0, 5000);
+        final ByteBuffer buffer = ByteBuffer.allocate(10000);
+        buffer.limit(1000);
+        Assert.assertEquals(1000, queue.drainTo(buffer));
+        queue.write(bytes, 5000, 5000);
+        Assert.assertEquals(9000, queue.size());
+
+        buffer.limit(10000);
+        Assert.assertEquals(9000, queue.drainTo(buffer));
+        buffer.flip();
+        final byte[] actual = new byte[10000];
+        buffer.get(actual);
+        Assert.assertArrayEquals(bytes, actual);
+    }
+}
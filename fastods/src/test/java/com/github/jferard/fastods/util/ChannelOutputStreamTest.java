@@ -0,0 +1,132 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.channels.WritableByteChannel;
+
+public class ChannelOutputStreamTest {
+    @Test
+    public void testBlockingChannel() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final ChannelOutputStream out = new ChannelOutputStream(Channels.newChannel(bos));
+        out.write('a');
+        out.write(new byte[]{'x', 'b', 'c', 'y'}, 1, 2);
+        out.close();
+        Assert.assertArrayEquals(new byte[]{'a', 'b', 'c'}, bos.toByteArray());
+    }
+
+    @Test
+    public void testPartialWrites() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final WritableByteChannel channel = new WritableByteChannel() {
+            @Override
+            public int write(final ByteBuffer src) {
+                final int count = Math.min(3, src.remaining());
+                for (int i = 0; i < count; i++) {
+                    bos.write(src.get());
+                }
+                return count;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        final byte[] bytes = this.getBytes(100);
+        final ChannelOutputStream out = new ChannelOutputStream(channel);
+        out.write(bytes);
+        out.close();
+        Assert.assertArrayEquals(bytes, bos.toByteArray());
+    }
+
+    @Test(expected = IOException.class)
+    public void testChannelAcceptsNoByte() throws IOException {
+        final WritableByteChannel channel = new WritableByteChannel() {
+            @Override
+            public int write(final ByteBuffer src) {
+                return 0;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        final ChannelOutputStream out = new ChannelOutputStream(channel);
+        out.write('a');
+    }
+
+    @Test
+    public void testNonBlockingChannel() throws IOException, InterruptedException {
+        final Pipe pipe = Pipe.open();
+        pipe.sink().configureBlocking(false);
+        final byte[] bytes = this.getBytes(1024 * 1024);
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final Thread reader = new Thread(() -> {
+            final ByteBuffer buffer = ByteBuffer.allocate(1024);
+            try {
+                while (pipe.source().read(buffer) != -1) {
+                    buffer.flip();
+                    bos.write(buffer.array(), 0, buffer.limit());
+                    buffer.clear();
+                }
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        reader.start();
+        final ChannelOutputStream out = new ChannelOutputStream(pipe.sink());
+        out.write(bytes);
+        out.close();
+        reader.join();
+        Assert.assertArrayEquals(bytes, bos.toByteArray());
+        Assert.assertFalse(pipe.sink().isOpen());
+    }
+
+    private byte[] getBytes(final int size) {
+        final byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (i * 31);
+        }
+        return bytes;
+    }
+}
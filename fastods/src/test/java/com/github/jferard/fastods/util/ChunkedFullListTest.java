@@ -0,0 +1,134 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+public class ChunkedFullListTest {
+    @Test
+    public final void testSet() {
+        final ChunkedFullList<String> fl = ChunkedFullList.newListWithCapacity(10);
+
+        Assert.assertEquals(0, fl.usedSize());
+        Assert.assertNull(fl.get(100));
+
+        for (int i = 0; i < 100; i++) {
+            fl.set(i, "non blank");
+            Assert.assertEquals(i + 1, fl.usedSize());
+        }
+        fl.set(100, null);
+        Assert.assertEquals(100, fl.usedSize());
+    }
+
+    @Test
+    public final void testSparse() {
+        final ChunkedFullList<String> fl = ChunkedFullList.newListWithCapacity(10);
+        fl.set(1000000, "a");
+        fl.set(3, "b");
+        Assert.assertEquals(1000001, fl.usedSize());
+        Assert.assertEquals("a", fl.get(1000000));
+        Assert.assertEquals("b", fl.get(3));
+        Assert.assertNull(fl.get(999999));
+        Assert.assertNull(fl.get(500000));
+
+        fl.set(1000000, null);
+        Assert.assertEquals(4, fl.usedSize());
+        fl.set(3, null);
+        Assert.assertEquals(0, fl.usedSize());
+    }
+
+    @Test
+    public final void testRemoveTrail() {
+        final ChunkedFullList<String> fl = ChunkedFullList.newListWithCapacity(10);
+        fl.set(10, "10");
+        fl.set(10, "20");
+        fl.set(5, "5");
+        fl.set(10, null);
+        Assert.assertEquals(6, fl.usedSize());
+    }
+
+    @Test
+    public final void testRemoveTrail0() {
+        final ChunkedFullList<String> fl = ChunkedFullList.newListWithCapacity(10);
+        fl.set(0, "10");
+        fl.set(0, null);
+        Assert.assertEquals(0, fl.usedSize());
+    }
+
+    @Test
+    public final void testSubList() {
+        final ChunkedFullList<String> fl = ChunkedFullList.newList("a", "b", "c", "d");
+        final List<String> subList = fl.subList(1, 3);
+        Assert.assertEquals(Arrays.asList("b", "c"), subList);
+
+        Collections.fill(subList, null);
+        Assert.assertNull(fl.get(1));
+        Assert.assertNull(fl.get(2));
+        Assert.assertEquals("d", fl.get(3));
+        Assert.assertEquals(4, fl.usedSize());
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> subList.get(2));
+    }
+
+    @Test
+    public final void testSubListOutOfBounds() {
+        final ChunkedFullList<String> fl = ChunkedFullList.newList("a");
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> fl.subList(2, 1));
+    }
+
+    @Test
+    public final void testReleasedPage() {
+        final ChunkedFullList<String> fl = ChunkedFullList.newListWithCapacity(16);
+        for (int i = 0; i < 40; i++) {
+            fl.set(i, String.valueOf(i));
+        }
+        Collections.fill(fl.subList(0, 32), null);
+        Assert.assertNull(fl.get(0));
+        Assert.assertNull(fl.get(31));
+        Assert.assertEquals("32", fl.get(32));
+        fl.set(0, "0");
+        Assert.assertEquals("0", fl.get(0));
+        Assert.assertEquals(40, fl.usedSize());
+    }
+
+    @Test
+    public final void testIterator() {
+        final ChunkedFullList<String> fl = ChunkedFullList.newListWithCapacity(16);
+        fl.set(0, "a");
+        fl.set(40, "b");
+        final Iterator<String> it = fl.iterator();
+        Assert.assertEquals("a", it.next());
+        for (int i = 1; i < 40; i++) {
+            Assert.assertNull(it.next());
+        }
+        Assert.assertEquals("b", it.next());
+        Assert.assertFalse(it.hasNext());
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class ContentHashTest {
+    private static final byte[] ABC = "abc".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    public void testBytes() {
+        final ContentHash hash = ContentHash.of(ABC);
+        Assert.assertEquals(
+                "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                hash.toHex());
+        Assert.assertEquals(0x352441C2L, hash.getCrc32());
+        Assert.assertEquals(3, hash.getSize());
+    }
+
+    @Test
+    public void testStream() throws IOException {
+        final ContentHash hash = ContentHash.of(() -> new ByteArrayInputStream(ABC));
+        Assert.assertEquals(ContentHash.of(ABC), hash);
+        Assert.assertEquals(ContentHash.of(ABC).hashCode(), hash.hashCode());
+        Assert.assertNotEquals(ContentHash.of(new byte[0]), hash);
+        Assert.assertNotEquals(hash, "abc");
+        Assert.assertEquals(hash, hash);
+    }
+
+    @Test
+    public void testToString() {
+        Assert.assertEquals("ContentHash[sha256=" +
+                        "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855, size=0]",
+                ContentHash.of(new byte[0]).toString());
+    }
+}
@@ -68,6 +68,36 @@ public class MultiContainerTest {
                 this.container.getValues(Dest.STYLES_COMMON_STYLES).iterator().hasNext());
     }
 
+    @Test
+    public final void testAddSameValueTwice() {
+        final Integer value = 1000;
+        Assert.assertTrue(this.container.add("a", Dest.CONTENT_AUTOMATIC_STYLES, value));
+        Assert.assertTrue(this.container.add("a", Dest.CONTENT_AUTOMATIC_STYLES, value));
+        this.container.setMode(Container.Mode.CREATE);
+        Assert.assertFalse(this.container.add("a", Dest.CONTENT_AUTOMATIC_STYLES, value));
+        this.container.setMode(Container.Mode.UPDATE);
+        Assert.assertTrue(this.container.add("a", Dest.CONTENT_AUTOMATIC_STYLES, value));
+        this.container.freeze();
+        Assert.assertTrue(this.container.add("a", Dest.CONTENT_AUTOMATIC_STYLES, value));
+    }
+
+    @Test
+    public final void testReplacedValueIsAddedAgain() {
+        final Integer value1 = 1000;
+        final Integer value2 = 2000;
+        Assert.assertTrue(this.container.add("a", Dest.CONTENT_AUTOMATIC_STYLES, value1));
+        Assert.assertTrue(this.container.add("a", Dest.CONTENT_AUTOMATIC_STYLES, value2));
+        Assert.assertTrue(this.container.add("a", Dest.CONTENT_AUTOMATIC_STYLES, value1));
+        Assert.assertEquals(value1,
+                this.container.getValues(Dest.CONTENT_AUTOMATIC_STYLES).iterator().next());
+        Assert.assertTrue(this.container.add("a", Dest.STYLES_COMMON_STYLES, value1));
+        Assert.assertFalse(
+                this.container.getValues(Dest.CONTENT_AUTOMATIC_STYLES).iterator().hasNext());
+        Assert.assertTrue(this.container.add("a", Dest.CONTENT_AUTOMATIC_STYLES, value1));
+        Assert.assertEquals(value1,
+                this.container.getValues(Dest.CONTENT_AUTOMATIC_STYLES).iterator().next());
+    }
+
     @Test
     public final void testCreateTwice() {
         Assert.assertTrue(this.container.add("a", Dest.CONTENT_AUTOMATIC_STYLES, 1));
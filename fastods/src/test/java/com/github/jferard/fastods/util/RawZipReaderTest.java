@@ -0,0 +1,152 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+public class RawZipReaderTest {
+    static final byte[] MIMETYPE =
+            "application/vnd.oasis.opendocument.spreadsheet".getBytes(StandardCharsets.UTF_8);
+    static final byte[] TEXT = "Some text, some text, some text".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * @return a zip file with a stored entry and a deflated entry.
+     * @throws IOException if an I/O error occurs
+     */
+    static File createZip() throws IOException {
+        final File file = File.createTempFile("fastods-raw", ".zip");
+        file.deleteOnExit();
+        final ZipOutputStream zipStream = new ZipOutputStream(new FileOutputStream(file));
+        try {
+            final ZipEntry stored = new ZipEntry("mimetype");
+            stored.setMethod(ZipEntry.STORED);
+            stored.setSize(MIMETYPE.length);
+            final CRC32 crc = new CRC32();
+            crc.update(MIMETYPE);
+            stored.setCrc(crc.getValue());
+            zipStream.putNextEntry(stored);
+            zipStream.write(MIMETYPE);
+            zipStream.closeEntry();
+            zipStream.putNextEntry(new ZipEntry("dir/text.txt"));
+            zipStream.write(TEXT);
+            zipStream.closeEntry();
+            zipStream.setComment("a comment");
+        } finally {
+            zipStream.close();
+        }
+        return file;
+    }
+
+    static byte[] readAll(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int count = in.read(buffer);
+        while (count != -1) {
+            out.write(buffer, 0, count);
+            count = in.read(buffer);
+        }
+        in.close();
+        return out.toByteArray();
+    }
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        this.file = createZip();
+    }
+
+    @Test
+    public void testEntries() throws IOException {
+        final RawZipReader reader = RawZipReader.open(this.file);
+        try {
+            final List<RawZipEntry> entries = reader.getEntries();
+            Assert.assertEquals(2, entries.size());
+            final RawZipEntry mimetype = entries.get(0);
+            Assert.assertEquals("mimetype", mimetype.getName());
+            Assert.assertEquals(ZipEntry.STORED, mimetype.getMethod());
+            Assert.assertEquals(MIMETYPE.length, mimetype.getSize());
+            Assert.assertEquals(MIMETYPE.length, mimetype.getCompressedSize());
+            final RawZipEntry text = entries.get(1);
+            Assert.assertEquals("dir/text.txt", text.getName());
+            Assert.assertEquals(ZipEntry.DEFLATED, text.getMethod());
+            Assert.assertEquals(TEXT.length, text.getSize());
+            Assert.assertSame(text, reader.getEntry("dir/text.txt"));
+            Assert.assertNull(reader.getEntry("foo"));
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void testOpenInflated() throws IOException {
+        final RawZipReader reader = RawZipReader.open(this.file);
+        try {
+            Assert.assertArrayEquals(MIMETYPE,
+                    readAll(reader.openInflated(reader.getEntry("mimetype"))));
+            Assert.assertArrayEquals(TEXT,
+                    readAll(reader.openInflated(reader.getEntry("dir/text.txt"))));
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void testCopyRawData() throws IOException {
+        final RawZipReader reader = RawZipReader.open(this.file);
+        try {
+            final RawZipEntry entry = reader.getEntry("dir/text.txt");
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            reader.copyRawData(entry, out);
+            Assert.assertEquals(entry.getCompressedSize(), out.size());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test(expected = ZipException.class)
+    public void testNotAZip() throws IOException {
+        final File notAZip = File.createTempFile("fastods-raw", ".txt");
+        notAZip.deleteOnExit();
+        final FileOutputStream out = new FileOutputStream(notAZip);
+        out.write(new byte[100]);
+        out.close();
+        RawZipReader.open(notAZip);
+    }
+}
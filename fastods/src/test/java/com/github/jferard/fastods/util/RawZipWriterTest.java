@@ -0,0 +1,125 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Calendar;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+public class RawZipWriterTest {
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        this.file = RawZipReaderTest.createZip();
+    }
+
+    @Test
+    public void testCopyAndDeflate() throws IOException {
+        final File copy = File.createTempFile("fastods-raw", ".zip");
+        copy.deleteOnExit();
+        final byte[] newText = "A new text".getBytes(StandardCharsets.UTF_8);
+
+        final RawZipReader reader = RawZipReader.open(this.file);
+        final RawZipWriter writer = new RawZipWriter(new FileOutputStream(copy));
+        try {
+            for (final RawZipEntry entry : reader.getEntries()) {
+                writer.copyRawEntry(reader, entry);
+            }
+            final OutputStream entryStream = writer.openDeflatedEntry("new.txt");
+            entryStream.write(newText);
+            entryStream.close();
+        } finally {
+            writer.close();
+            reader.close();
+        }
+
+        final ZipFile source = new ZipFile(this.file);
+        final ZipFile zipFile = new ZipFile(copy);
+        try {
+            Assert.assertEquals(3, zipFile.size());
+            for (final String name : new String[]{"mimetype", "dir/text.txt"}) {
+                final ZipEntry expected = source.getEntry(name);
+                final ZipEntry actual = zipFile.getEntry(name);
+                Assert.assertEquals(expected.getMethod(), actual.getMethod());
+                Assert.assertEquals(expected.getCrc(), actual.getCrc());
+                Assert.assertEquals(expected.getCompressedSize(), actual.getCompressedSize());
+            }
+            Assert.assertArrayEquals(RawZipReaderTest.TEXT, RawZipReaderTest
+                    .readAll(zipFile.getInputStream(zipFile.getEntry("dir/text.txt"))));
+            Assert.assertArrayEquals(newText, RawZipReaderTest
+                    .readAll(zipFile.getInputStream(zipFile.getEntry("new.txt"))));
+        } finally {
+            source.close();
+            zipFile.close();
+        }
+
+        final RawZipReader copyReader = RawZipReader.open(copy);
+        try {
+            Assert.assertEquals(newText.length, copyReader.getEntry("new.txt").getSize());
+        } finally {
+            copyReader.close();
+        }
+    }
+
+    @Test(expected = ZipException.class)
+    public void testEntryStillOpen() throws IOException {
+        final RawZipWriter writer = new RawZipWriter(new ByteArrayOutputStream());
+        writer.openDeflatedEntry("a");
+        writer.openDeflatedEntry("b");
+    }
+
+    @Test(expected = ZipException.class)
+    public void testFinished() throws IOException {
+        final RawZipWriter writer = new RawZipWriter(new ByteArrayOutputStream());
+        writer.finish();
+        writer.openDeflatedEntry("a");
+    }
+
+    @Test
+    public void testDosDateTime() {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2020, Calendar.MARCH, 15, 10, 20, 30);
+        final int dosDateTime = RawZipWriter.toDosDateTime(calendar.getTimeInMillis());
+        Assert.assertEquals((40 << 9) | (3 << 5) | 15, dosDateTime >>> 16);
+        Assert.assertEquals((10 << 11) | (20 << 5) | 15, dosDateTime & 0xFFFF);
+
+        calendar.set(1970, Calendar.JANUARY, 1);
+        Assert.assertEquals((1 << 5) | 1,
+                RawZipWriter.toDosDateTime(calendar.getTimeInMillis()) >>> 16);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+public class SyncFlushZipOutputStreamTest {
+    private static final byte[] DATA = "<row>some data</row>".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testBytes() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final ZipOutputStream zipOut = new SyncFlushZipOutputStream(bos, 100, 0);
+        zipOut.putNextEntry(new ZipEntry("a"));
+        final int headerSize = bos.size();
+        for (int i = 0; i < 10; i++) {
+            zipOut.write(DATA);
+        }
+        Assert.assertTrue(bos.size() > headerSize);
+        zipOut.closeEntry();
+        zipOut.close();
+        this.checkZip(bos, 10);
+    }
+
+    @Test
+    public void testNoSyncFlush() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final ZipOutputStream zipOut = new ZipOutputStream(bos);
+        zipOut.putNextEntry(new ZipEntry("a"));
+        final int headerSize = bos.size();
+        for (int i = 0; i < 10; i++) {
+            zipOut.write(DATA);
+        }
+        Assert.assertEquals(headerSize, bos.size());
+        zipOut.close();
+    }
+
+    @Test
+    public void testTime() throws IOException, InterruptedException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final ZipOutputStream zipOut = new SyncFlushZipOutputStream(bos, 0, 1);
+        zipOut.putNextEntry(new ZipEntry("a"));
+        final int headerSize = bos.size();
+        Thread.sleep(5);
+        zipOut.write(DATA);
+        Assert.assertTrue(bos.size() > headerSize);
+        zipOut.close();
+        this.checkZip(bos, 1);
+    }
+
+    @Test
+    public void testStored() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final ZipOutputStream zipOut = new SyncFlushZipOutputStream(bos, 1, 0);
+        final ZipEntry entry = new ZipEntry("a");
+        entry.setMethod(ZipEntry.STORED);
+        final CRC32 crc32 = new CRC32();
+        crc32.update(DATA);
+        entry.setCrc(crc32.getValue());
+        entry.setSize(DATA.length);
+        entry.setCompressedSize(DATA.length);
+        zipOut.putNextEntry(entry);
+        zipOut.write(DATA);
+        zipOut.close();
+        this.checkZip(bos, 1);
+    }
+
+    private void checkZip(final ByteArrayOutputStream bos, final int count) throws IOException {
+        final ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(bos.toByteArray()));
+        Assert.assertEquals("a", in.getNextEntry().getName());
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int n = in.read(buffer);
+        while (n != -1) {
+            content.write(buffer, 0, n);
+            n = in.read(buffer);
+        }
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (int i = 0; i < count; i++) {
+            expected.write(DATA);
+        }
+        Assert.assertArrayEquals(expected.toByteArray(), content.toByteArray());
+        Assert.assertNull(in.getNextEntry());
+    }
+}
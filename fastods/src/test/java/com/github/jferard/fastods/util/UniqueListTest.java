@@ -28,6 +28,7 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.junit.function.ThrowingRunnable;
 
+import java.util.Collections;
 import java.util.List;
 
 public class UniqueListTest {
@@ -135,6 +136,64 @@ public class UniqueListTest {
                 });
     }
 
+    @Test()
+    public final void testIndexOfName() {
+        final UniqueList<FirstLetter> ul = new UniqueList<FirstLetter>();
+        final FirstLetter f = new FirstLetter("FastODS");
+        final FirstLetter g = new FirstLetter("GastODS");
+        final FirstLetter h = new FirstLetter("HastODS");
+        ul.add(f);
+        ul.add(g);
+        Assert.assertEquals(0, ul.indexOfName("F"));
+        Assert.assertEquals(1, ul.indexOfName("G"));
+        Assert.assertEquals(-1, ul.indexOfName("H"));
+
+        ul.add(0, h);
+        Assert.assertEquals(0, ul.indexOfName("H"));
+        Assert.assertEquals(2, ul.indexOf(g));
+        Assert.assertEquals(-1, ul.indexOf(new FirstLetter("Gabc")));
+        Assert.assertEquals(-1, ul.indexOf("G"));
+        Assert.assertTrue(ul.contains(f));
+        Assert.assertFalse(ul.contains(new FirstLetter("Fabc")));
+
+        ul.remove(0);
+        Assert.assertEquals(0, ul.indexOfName("F"));
+        Assert.assertEquals(-1, ul.indexOfName("H"));
+        Assert.assertEquals(g, ul.get(1));
+    }
+
+    @Test
+    public final void testRemoveRenamed() {
+        final UniqueList<Renamable> ul = new UniqueList<Renamable>();
+        final Renamable a = new Renamable("a");
+        final Renamable b = new Renamable("b");
+        ul.add(a);
+        ul.add(b);
+        a.name = "c";
+
+        Assert.assertTrue(ul.contains(a));
+        Assert.assertEquals(0, ul.indexOf(a));
+        Assert.assertTrue(ul.remove(a));
+        Assert.assertEquals(Collections.singletonList(b), ul);
+        Assert.assertFalse(ul.remove(a));
+        Assert.assertFalse(ul.nameSet().contains("a"));
+        ul.add(new Renamable("a"));
+        Assert.assertEquals(2, ul.size());
+    }
+
+    private static class Renamable implements NamedObject {
+        private String name;
+
+        Renamable(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+    }
+
     private static class FirstLetter implements NamedObject {
         private final String s;
 
@@ -0,0 +1,183 @@
+/*
+ * FastODS - A very fast and lightweight (no dependency) library for creating ODS
+ *    (Open Document Spreadsheet, mainly for Calc) files in Java.
+ *    It's a Martin Schulz's SimpleODS fork
+ *    Copyright (C) 2016-2023 J. Férard <https://github.com/jferard>
+ * SimpleODS - A lightweight java library to create simple OpenOffice spreadsheets
+ *    Copyright (C) 2008-2013 Martin Schulz <mtschulz at users.sourceforge.net>
+ *
+ * This file is part of FastODS.
+ *
+ * FastODS is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * FastODS is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.jferard.fastods.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+public class XMLSinkTest {
+    @Test
+    public void testAppend() {
+        final XMLSink sink = new XMLSink(1);
+        sink.append("<a").append(' ').append(new StringBuilder("b=\"c\""), 0, 5).append('>');
+        Assert.assertEquals("<a b=\"c\">", sink.toString());
+        Assert.assertEquals(9, sink.length());
+        Assert.assertEquals('b', sink.charAt(3));
+        Assert.assertEquals("b=\"c\"", sink.subSequence(3, 8));
+    }
+
+    @Test
+    public void testAppendLiteral() {
+        final XMLSink sink = XMLSink.create();
+        sink.appendLiteral("<table:table-cell/>".toCharArray());
+        Assert.assertEquals("<table:table-cell/>", sink.toString());
+    }
+
+    @Test
+    public void testAppendAsciiLiteral() {
+        final XMLSink sink = new XMLSink(1);
+        sink.appendAsciiLiteral("<table:table-row".getBytes(StandardCharsets.US_ASCII));
+        Assert.assertEquals("<table:table-row", sink.toString());
+    }
+
+    @Test
+    public void testAppendEscaped() {
+        final FastOdsXMLEscaper escaper = FastOdsXMLEscaper.create();
+        final String[] values = {"", "abc", "<a href=\"x\">'&'</a>", "\t\n\r\u0001", "é>"};
+        for (final String value : values) {
+            final XMLSink sink = new XMLSink(1);
+            sink.appendEscaped(value);
+            Assert.assertEquals(escaper.escapeXMLAttribute(value), sink.toString());
+
+            final XMLSink contentSink = new XMLSink(1);
+            contentSink.appendEscapedContent("[" + value + "]", 1, value.length() + 1);
+            Assert.assertEquals(escaper.escapeXMLContent(value), contentSink.toString());
+        }
+    }
+
+    @Test
+    public void testAppendEscapedNull() {
+        final XMLSink sink = XMLSink.create();
+        XMLUtil.create().appendEAttribute(sink, "attr", null);
+        Assert.assertEquals(" attr=\"null\"", sink.toString());
+    }
+
+    @Test
+    public void testAppendInt() {
+        final int[] values = {0, 1, -1, 9, 10, 99, 100, -1000, 123456789, 999999999, 1000000000,
+                Integer.MAX_VALUE, Integer.MIN_VALUE};
+        for (final int value : values) {
+            final XMLSink sink = new XMLSink(1);
+            sink.appendInt(value);
+            Assert.assertEquals(Integer.toString(value), sink.toString());
+        }
+    }
+
+    @Test
+    public void testAppendLong() {
+        final long[] values = {0L, -7L, 2147483648L, -2147483649L, 1234567890123456789L,
+                Long.MAX_VALUE, Long.MIN_VALUE};
+        for (final long value : values) {
+            final XMLSink sink = new XMLSink(1);
+            sink.appendLong(value);
+            Assert.assertEquals(Long.toString(value), sink.toString());
+        }
+    }
+
+    @Test
+    public void testAppendDouble() {
+        final double[] values = {0.0, -0.0, 1.5, -1.5, 0.1, 0.001, 0.002, 0.0001, 123.456,
+                9999999.0, 1.0E7, 1.0E-5, Double.MAX_VALUE, Double.MIN_VALUE, Double.NaN,
+                Double.POSITIVE_INFINITY, 1.0 / 3};
+        for (final double value : values) {
+            final XMLSink sink = new XMLSink(1);
+            sink.appendDouble(value);
+            Assert.assertEquals(Double.toString(value), sink.toString());
+        }
+    }
+
+    @Test
+    public void testAppendDoubleRandom() {
+        final Random random = new Random(1);
+        for (int i = 0; i < 100000; i++) {
+            final double value;
+            if (i % 2 == 0) {
+                value = random.nextInt(100000000) / Math.pow(10, random.nextInt(8));
+            } else {
+                value = Double.longBitsToDouble(random.nextLong());
+            }
+            final XMLSink sink = XMLSink.create();
+            sink.appendDouble(value);
+            Assert.assertEquals(Double.toString(value), sink.toString());
+        }
+    }
+
+    @Test
+    public void testAppendFloat() {
+        final float[] values = {0.0f, -0.0f, 1.5f, -1.5f, 0.1f, 0.001f, 9.999f, 1.0E7f,
+                1.0E-5f, Float.MAX_VALUE, Float.MIN_VALUE, Float.NaN, Float.NEGATIVE_INFINITY};
+        for (final float value : values) {
+            final XMLSink sink = new XMLSink(1);
+            sink.appendFloat(value);
+            Assert.assertEquals(Float.toString(value), sink.toString());
+        }
+    }
+
+    @Test
+    public void testAppendFloatRandom() {
+        final Random random = new Random(1);
+        for (int i = 0; i < 100000; i++) {
+            final float value;
+            if (i % 2 == 0) {
+                value = (float) (random.nextInt(10000000) / Math.pow(10, random.nextInt(8)));
+            } else {
+                value = Float.intBitsToFloat(random.nextInt());
+            }
+            final XMLSink sink = XMLSink.create();
+            sink.appendFloat(value);
+            Assert.assertEquals(Float.toString(value), sink.toString());
+        }
+    }
+
+    @Test
+    public void testDrainTo() throws IOException {
+        final XMLSink sink = XMLSink.create();
+        final StringBuilder sb = new StringBuilder();
+        sink.append("foo");
+        sink.drainTo(sb);
+        sink.append("bar");
+        sink.drainTo(sb);
+        sink.drainTo(sb);
+        Assert.assertEquals("foobar", sb.toString());
+        Assert.assertEquals(0, sink.length());
+    }
+
+    @Test
+    public void testIntAttribute() throws IOException {
+        final XMLSink sink = XMLSink.create();
+        XMLUtil.create().appendAttribute(sink, "attr", -17);
+        Assert.assertEquals(" attr=\"-17\"", sink.toString());
+    }
+
+    @Test
+    public void testCharAtOutOfBounds() {
+        final XMLSink sink = XMLSink.create();
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> sink.charAt(0));
+    }
+}
@@ -33,8 +33,13 @@ import org.powermock.api.easymock.PowerMock;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.zip.ZipInputStream;
 
 public class ZipUTF8WriterBuilderTest {
@@ -61,6 +66,48 @@ public class ZipUTF8WriterBuilderTest {
         Assert.assertEquals(C_SIZE, this.out.size());
     }
 
+    @Test
+    public final void testChannel() throws IOException {
+        final ZipUTF8Writer writer = this.builder.build(Channels.newChannel(this.out));
+        writer.putAndRegisterNextEntry(this.getManifestEntry());
+        writer.append('c');
+        writer.close();
+        this.checkZipFile();
+        Assert.assertEquals(C_SIZE, this.out.size());
+    }
+
+    @Test
+    public final void testAsynchronousFileChannel() throws IOException {
+        final File file = File.createTempFile("fastods-async", ".zip");
+        file.deleteOnExit();
+        final ZipUTF8Writer writer = this.builder.build(
+                AsynchronousFileChannel.open(file.toPath(), StandardOpenOption.WRITE));
+        writer.putAndRegisterNextEntry(this.getManifestEntry());
+        writer.append('c');
+        writer.close();
+        this.out.write(Files.readAllBytes(file.toPath()));
+        this.checkZipFile();
+        Assert.assertEquals(C_SIZE, this.out.size());
+    }
+
+    @Test
+    public final void testSyncFlush() throws IOException {
+        final ZipUTF8Writer writer = this.builder.syncFlush(1, 0).noWriterBuffer()
+                .build(this.out);
+        writer.putAndRegisterNextEntry(this.getManifestEntry());
+        final int size = this.out.size();
+        writer.append("some text");
+        writer.flush();
+        Assert.assertTrue(this.out.size() > size);
+        writer.close();
+        this.checkZipFile();
+    }
+
+    @Test
+    public final void testNegativeSyncFlush() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> this.builder.syncFlush(-1, 0));
+    }
+
     private void checkZipFile() throws IOException {
         final ZipInputStream zs =
                 new ZipInputStream(new ByteArrayInputStream(this.out.toByteArray()));